@@ -8,6 +8,7 @@ public class Main {
 		LwjglApplicationConfiguration cfg = new LwjglApplicationConfiguration();
 		cfg.title = "codebird-cave";
 		cfg.useGL20 = true;
+		cfg.smoothDeltaTime = true;
 		//cfg.width = 480;
 		//cfg.height = 320;
 		cfg.width = 1080;
@@ -0,0 +1,342 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.badlogic.gdx.backends.headless;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Audio;
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.LifecycleListener;
+import com.badlogic.gdx.Net;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.backends.lwjgl.FrameScheduler;
+import com.badlogic.gdx.backends.lwjgl.FrameScheduler.Phase;
+import com.badlogic.gdx.backends.lwjgl.LwjglClipboard;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.badlogic.gdx.backends.lwjgl.LwjglNet;
+import com.badlogic.gdx.backends.lwjgl.LwjglPreferences;
+import com.badlogic.gdx.backends.lwjgl.UnsafeFieldAccessor;
+import com.badlogic.gdx.graphics.FrameTimings;
+import com.badlogic.gdx.graphics.FrameTimings.Section;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Clipboard;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** An application without a display, for running game logic on servers and in automated tests. Graphics use a {@link MockGL}
+ * that draws nothing but counts calls, audio plays nothing and input has no devices. Files, networking and preferences are the
+ * same as {@link com.badlogic.gdx.backends.lwjgl.LwjglApplication}. No LWJGL or OpenAL natives are needed.
+ * <p>
+ * Each frame advances time by exactly 1 / {@link HeadlessApplicationConfiguration#updatesPerSecond}. Frames are paced to real
+ * time, or run as fast as possible when {@link HeadlessApplicationConfiguration#realTime} is false. */
+public class HeadlessApplication implements Application {
+	protected final HeadlessGraphics graphics;
+	protected final HeadlessAudio audio;
+	protected final LwjglFiles files;
+	protected final HeadlessInput input;
+	protected final LwjglNet net;
+	protected final ApplicationListener listener;
+	protected Thread mainLoopThread;
+	protected volatile boolean running = true;
+	protected final FrameScheduler scheduler = new FrameScheduler();
+	protected final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
+	protected int logLevel = LOG_INFO;
+	final HeadlessApplicationConfiguration config;
+
+	public HeadlessApplication (ApplicationListener listener) {
+		this(listener, new HeadlessApplicationConfiguration());
+	}
+
+	public HeadlessApplication (ApplicationListener listener, HeadlessApplicationConfiguration config) {
+		GdxNativesLoader.load();
+		UnsafeFieldAccessor.install();
+
+		this.config = config;
+		graphics = new HeadlessGraphics(config);
+		audio = new HeadlessAudio();
+		files = new LwjglFiles();
+		input = new HeadlessInput();
+		net = new LwjglNet();
+		this.listener = listener;
+		scheduler.setBudget((long)(config.runnableBudget * 1000000));
+
+		Gdx.app = this;
+		Gdx.graphics = graphics;
+		Gdx.audio = audio;
+		Gdx.files = files;
+		Gdx.input = input;
+		Gdx.net = net;
+		Gdx.gl = graphics.getGLCommon();
+		Gdx.gl10 = graphics.getGL10();
+		Gdx.gl11 = graphics.getGL11();
+		Gdx.gl20 = graphics.getGL20();
+		initialize();
+	}
+
+	private void initialize () {
+		mainLoopThread = new Thread("Headless Application") {
+			public void run () {
+				try {
+					HeadlessApplication.this.mainLoop();
+				} catch (Throwable t) {
+					if (t instanceof RuntimeException)
+						throw (RuntimeException)t;
+					else
+						throw new GdxRuntimeException(t);
+				}
+			}
+		};
+		mainLoopThread.start();
+	}
+
+	void mainLoop () {
+		boolean created = false;
+		try {
+			listener.create();
+			created = true;
+			int lastWidth = graphics.getWidth();
+			int lastHeight = graphics.getHeight();
+			listener.resize(lastWidth, lastHeight);
+
+			FrameTimings timings = graphics.timings;
+			while (running) {
+				timings.begin();
+				scheduler.beginFrame();
+				scheduler.run(Phase.preInput);
+				timings.mark(Section.runnables);
+				// If one of the runnables set running to false, for example after an exit().
+				if (!running) break;
+
+				if (lastWidth != graphics.getWidth() || lastHeight != graphics.getHeight()) {
+					lastWidth = graphics.getWidth();
+					lastHeight = graphics.getHeight();
+					Gdx.gl.glViewport(0, 0, lastWidth, lastHeight);
+					listener.resize(lastWidth, lastHeight);
+				}
+
+				scheduler.run(Phase.preRender);
+				timings.mark(Section.runnables);
+				if (!running) break;
+
+				graphics.updateTime();
+				listener.render();
+				timings.mark(Section.render);
+				scheduler.run(Phase.postRender);
+				timings.mark(Section.runnables);
+				if (config.realTime) {
+					graphics.pacer.sync(config.updatesPerSecond);
+					timings.mark(Section.sleep);
+				}
+				timings.end();
+				if (config.maxFrames > 0 && graphics.frameId + 1 >= config.maxFrames) break;
+			}
+		} finally {
+			// Listeners are disposed even when resize, render or a runnable throws. A listener whose create threw was never set up,
+			// so it is not paused or disposed.
+			running = false;
+			Array<LifecycleListener> listeners = lifecycleListeners;
+			synchronized (listeners) {
+				for (LifecycleListener listener : listeners) {
+					listener.pause();
+					listener.dispose();
+				}
+			}
+			if (created) {
+				listener.pause();
+				listener.dispose();
+			}
+		}
+	}
+
+	@Override
+	public ApplicationListener getApplicationListener () {
+		return listener;
+	}
+
+	@Override
+	public HeadlessGraphics getGraphics () {
+		return graphics;
+	}
+
+	@Override
+	public Audio getAudio () {
+		return audio;
+	}
+
+	@Override
+	public Input getInput () {
+		return input;
+	}
+
+	@Override
+	public Files getFiles () {
+		return files;
+	}
+
+	@Override
+	public Net getNet () {
+		return net;
+	}
+
+	@Override
+	public ApplicationType getType () {
+		return ApplicationType.HeadlessDesktop;
+	}
+
+	@Override
+	public int getVersion () {
+		return 0;
+	}
+
+	/** Stops the main loop after the current frame and waits for the application to be disposed. */
+	public void stop () {
+		running = false;
+		join();
+	}
+
+	/** Waits for the main loop to end, for example after {@link HeadlessApplicationConfiguration#maxFrames} frames or
+	 * {@link #exit()}. */
+	public void join () {
+		try {
+			mainLoopThread.join();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public long getJavaHeap () {
+		return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+	}
+
+	@Override
+	public long getNativeHeap () {
+		return getJavaHeap();
+	}
+
+	Map<String, Preferences> preferences = new HashMap<String, Preferences>();
+
+	@Override
+	public Preferences getPreferences (String name) {
+		synchronized (preferences) {
+			Preferences prefs = preferences.get(name);
+			if (prefs == null) {
+				prefs = new LwjglPreferences(name);
+				preferences.put(name, prefs);
+			}
+			return prefs;
+		}
+	}
+
+	@Override
+	public Clipboard getClipboard () {
+		return new LwjglClipboard();
+	}
+
+	@Override
+	public void postRunnable (Runnable runnable) {
+		scheduler.post(runnable, Phase.preInput);
+	}
+
+	/** Posts a runnable to be run on the main loop thread at the given phase of the next frame. */
+	public void postRunnable (Runnable runnable, Phase phase) {
+		scheduler.post(runnable, phase);
+	}
+
+	/** Returns the scheduler that runs posted runnables, which has the queue depth and the time spent per frame. */
+	public FrameScheduler getScheduler () {
+		return scheduler;
+	}
+
+	@Override
+	public void debug (String tag, String message) {
+		if (logLevel >= LOG_DEBUG) {
+			System.out.println(tag + ": " + message);
+		}
+	}
+
+	@Override
+	public void debug (String tag, String message, Throwable exception) {
+		if (logLevel >= LOG_DEBUG) {
+			System.out.println(tag + ": " + message);
+			exception.printStackTrace(System.out);
+		}
+	}
+
+	@Override
+	public void log (String tag, String message) {
+		if (logLevel >= LOG_INFO) {
+			System.out.println(tag + ": " + message);
+		}
+	}
+
+	@Override
+	public void log (String tag, String message, Exception exception) {
+		if (logLevel >= LOG_INFO) {
+			System.out.println(tag + ": " + message);
+			exception.printStackTrace(System.out);
+		}
+	}
+
+	@Override
+	public void error (String tag, String message) {
+		if (logLevel >= LOG_ERROR) {
+			System.err.println(tag + ": " + message);
+		}
+	}
+
+	@Override
+	public void error (String tag, String message, Throwable exception) {
+		if (logLevel >= LOG_ERROR) {
+			System.err.println(tag + ": " + message);
+			exception.printStackTrace(System.err);
+		}
+	}
+
+	@Override
+	public void setLogLevel (int logLevel) {
+		this.logLevel = logLevel;
+	}
+
+	@Override
+	public void exit () {
+		postRunnable(new Runnable() {
+			@Override
+			public void run () {
+				running = false;
+			}
+		});
+	}
+
+	@Override
+	public void addLifecycleListener (LifecycleListener listener) {
+		synchronized (lifecycleListeners) {
+			lifecycleListeners.add(listener);
+		}
+	}
+
+	@Override
+	public void removeLifecycleListener (LifecycleListener listener) {
+		synchronized (lifecycleListeners) {
+			lifecycleListeners.removeValue(listener, true);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.badlogic.gdx.backends.headless;
+
+public class HeadlessApplicationConfiguration {
+	/** whether the {@link MockGL} is used as GL20 rather than GL10 and GL11. default: false **/
+	public boolean useGL20 = false;
+	/** width & height reported by the graphics **/
+	public int width = 640, height = 480;
+	/** Number of frames per simulated second. Every frame advances the delta time by exactly 1 / updatesPerSecond, so runs are
+	 * deterministic. **/
+	public int updatesPerSecond = 60;
+	/** If false, frames are run one after another as fast as possible rather than paced to updatesPerSecond in real time. **/
+	public boolean realTime = true;
+	/** Number of frames to run before exiting, 0 for no limit. **/
+	public long maxFrames = 0;
+	/** Maximum milliseconds per frame spent running posted runnables, the rest are run on later frames. Use 0 for no limit. **/
+	public float runnableBudget = 0;
+}
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package com.badlogic.gdx.backends.headless;
+
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.backends.lwjgl.FramePacer;
+import com.badlogic.gdx.graphics.FrameTimings;
+import com.badlogic.gdx.graphics.GL10;
+import com.badlogic.gdx.graphics.GL11;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GLCommon;
+
+/** Graphics without a display. Time advances by a fixed step each frame and the GL is a {@link MockGL}. */
+public class HeadlessGraphics implements Graphics {
+	final HeadlessApplicationConfiguration config;
+	final MockGL gl = new MockGL();
+	final FramePacer pacer = new FramePacer();
+	final FrameTimings timings = new FrameTimings(120);
+	final float deltaTime;
+	int width, height;
+	long frameId = -1;
+	boolean isContinuous = true;
+
+	long frameStart = System.nanoTime();
+	int frames, fps;
+
+	HeadlessGraphics (HeadlessApplicationConfiguration config) {
+		if (config.updatesPerSecond <= 0)
+			throw new IllegalArgumentException("updatesPerSecond must be > 0: " + config.updatesPerSecond);
+		this.config = config;
+		width = config.width;
+		height = config.height;
+		deltaTime = 1f / config.updatesPerSecond;
+	}
+
+	void updateTime () {
+		frameId++;
+		long time = System.nanoTime();
+		if (time - frameStart >= 1000000000) {
+			fps = frames;
+			frames = 0;
+			frameStart = time;
+		}
+		frames++;
+	}
+
+	/** Returns the mock GL, which counts the calls made to it. */
+	public MockGL getMockGL () {
+		return gl;
+	}
+
+	/** Returns the number of frames rendered before the current one. */
+	public long getFrameId () {
+		return frameId;
+	}
+
+	public boolean isGL11Available () {
+		return !config.useGL20;
+	}
+
+	public boolean isGL20Available () {
+		return config.useGL20;
+	}
+
+	public GLCommon getGLCommon () {
+		return gl;
+	}
+
+	public GL10 getGL10 () {
+		return config.useGL20 ? null : gl;
+	}
+
+	public GL11 getGL11 () {
+		return config.useGL20 ? null : gl;
+	}
+
+	public GL20 getGL20 () {
+		return config.useGL20 ? gl : null;
+	}
+
+	public int getWidth () {
+		return width;
+	}
+
+	public int getHeight () {
+		return height;
+	}
+
+	/** Returns 1 / {@link HeadlessApplicationConfiguration#updatesPerSecond}, regardless of how long the frame took. */
+	public float getDeltaTime () {
+		return deltaTime;
+	}
+
+	public float getRawDeltaTime () {
+		return deltaTime;
+	}
+
+	/** Returns the number of frames actually run in the last second of real time. */
+	public int getFramesPerSecond () {
+		return fps;
+	}
+
+	public GraphicsType getType () {
+		return GraphicsType.Mock;
+	}
+
+	public float getPpiX () {
+		return 96;
+	}
+
+	public float getPpiY () {
+		return 96;
+	}
+
+	public float getPpcX () {
+		return 96 / 2.54f;
+	}
+
+	public float getPpcY () {
+		return 96 / 2.54f;
+	}
+
+	public float getDensity () {
+		return 96 / 160f;
+	}
+
+	public boolean supportsDisplayModeChange () {
+		return false;
+	}
+
+	public DisplayMode[] getDisplayModes () {
+		return new DisplayMode[] {getDesktopDisplayMode()};
+	}
+
+	public DisplayMode getDesktopDisplayMode () {
+		return new DisplayMode(width, height, config.updatesPerSecond, 32) {
+		};
+	}
+
+	public boolean setDisplayMode (DisplayMode displayMode) {
+		return false;
+	}
+
+	/** Changes the size reported by the graphics. The application listener is resized before the next frame. */
+	public boolean setDisplayMode (int width, int height, boolean fullscreen) {
+		if (fullscreen) return false;
+		this.width = width;
+		this.height = height;
+		return true;
+	}
+
+	public void setTitle (String title) {
+	}
+
+	public void setVSync (boolean vsync) {
+	}
+
+	public BufferFormat getBufferFormat () {
+		return new BufferFormat(8, 8, 8, 8, 16, 0, 0, false);
+	}
+
+	public boolean supportsExtension (String extension) {
+		return false;
+	}
+
+	/** Has no effect, a frame is always rendered every update. */
+	public void setContinuousRendering (boolean isContinuous) {
+		this.isContinuous = isContinuous;
+	}
+
+	public boolean isContinuousRendering () {
+		return isContinuous;
+	}
+
+	public void requestRendering () {
+	}
+
+	public boolean isFullscreen () {
+		return false;
+	}
+
+	/** Returns the pacer that limits the frame rate when {@link HeadlessApplicationConfiguration#realTime} is true. */
+	public FramePacer getFramePacer () {
+		return pacer;
+	}
+
+	/** Returns the frame timings. There is no input or swap, so those sections are always 0. */
+	public FrameTimings getFrameTimings () {
+		return timings;
+	}
+}
@@ -0,0 +1,1031 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.headless;
+
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.graphics.GL11;
+import com.badlogic.gdx.graphics.GL20;
+
+/** An implementation of the {@link GL11} and {@link GL20} interfaces that draws nothing and counts the calls made to it. Handles
+ * are generated, shaders always compile and link, framebuffers are always complete and queries return zero, so textures, meshes,
+ * shaders and framebuffers can be created and used without a GPU. */
+public class MockGL implements GL11, GL20 {
+	int calls, drawCalls, vertices, textureBindings, programBindings;
+	private int lastHandle;
+
+	/** Returns the number of GL calls since the last {@link #reset()}. */
+	public int getCalls () {
+		return calls;
+	}
+
+	/** Returns the number of glDrawArrays and glDrawElements calls since the last {@link #reset()}. */
+	public int getDrawCalls () {
+		return drawCalls;
+	}
+
+	/** Returns the number of vertices or indices drawn since the last {@link #reset()}. */
+	public int getVertices () {
+		return vertices;
+	}
+
+	/** Returns the number of glBindTexture calls since the last {@link #reset()}. */
+	public int getTextureBindings () {
+		return textureBindings;
+	}
+
+	/** Returns the number of glUseProgram calls since the last {@link #reset()}. */
+	public int getProgramBindings () {
+		return programBindings;
+	}
+
+	/** Sets all counters to zero. */
+	public void reset () {
+		calls = 0;
+		drawCalls = 0;
+		vertices = 0;
+		textureBindings = 0;
+		programBindings = 0;
+	}
+
+	private void generate (int n, IntBuffer handles) {
+		int position = handles.position();
+		for (int i = 0; i < n; i++)
+			handles.put(position + i, ++lastHandle);
+	}
+
+	private int getInteger (int name) {
+		switch (name) {
+		case GL20.GL_MAX_TEXTURE_SIZE:
+			return 4096;
+		case GL20.GL_MAX_TEXTURE_IMAGE_UNITS:
+		case GL20.GL_MAX_COMBINED_TEXTURE_IMAGE_UNITS:
+		case GL20.GL_MAX_VERTEX_ATTRIBS:
+		case GL11.GL_MAX_TEXTURE_UNITS:
+			return 16;
+		}
+		return 0;
+	}
+
+	private String getString (int name) {
+		switch (name) {
+		case GL20.GL_VENDOR:
+			return "libgdx";
+		case GL20.GL_RENDERER:
+			return "Mock";
+		case GL20.GL_VERSION:
+			return "2.0";
+		}
+		return "";
+	}
+
+	public void glActiveTexture (int texture) {
+		calls++;
+	}
+
+	public void glAlphaFunc (int func, float ref) {
+		calls++;
+	}
+
+	public void glAttachShader (int program, int shader) {
+		calls++;
+	}
+
+	public void glBindAttribLocation (int program, int index, String name) {
+		calls++;
+	}
+
+	public void glBindBuffer (int target, int buffer) {
+		calls++;
+	}
+
+	public void glBindFramebuffer (int target, int framebuffer) {
+		calls++;
+	}
+
+	public void glBindRenderbuffer (int target, int renderbuffer) {
+		calls++;
+	}
+
+	public void glBindTexture (int target, int texture) {
+		calls++;
+		textureBindings++;
+	}
+
+	public void glBlendColor (float red, float green, float blue, float alpha) {
+		calls++;
+	}
+
+	public void glBlendEquation (int mode) {
+		calls++;
+	}
+
+	public void glBlendEquationSeparate (int modeRGB, int modeAlpha) {
+		calls++;
+	}
+
+	public void glBlendFunc (int sfactor, int dfactor) {
+		calls++;
+	}
+
+	public void glBlendFuncSeparate (int srcRGB, int dstRGB, int srcAlpha, int dstAlpha) {
+		calls++;
+	}
+
+	public void glBufferData (int target, int size, Buffer data, int usage) {
+		calls++;
+	}
+
+	public void glBufferSubData (int target, int offset, int size, Buffer data) {
+		calls++;
+	}
+
+	public int glCheckFramebufferStatus (int target) {
+		calls++;
+		return GL20.GL_FRAMEBUFFER_COMPLETE;
+	}
+
+	public void glClear (int mask) {
+		calls++;
+	}
+
+	public void glClearColor (float red, float green, float blue, float alpha) {
+		calls++;
+	}
+
+	public void glClearDepthf (float depth) {
+		calls++;
+	}
+
+	public void glClearStencil (int s) {
+		calls++;
+	}
+
+	public void glClientActiveTexture (int texture) {
+		calls++;
+	}
+
+	public void glClipPlanef (int plane, FloatBuffer equation) {
+		calls++;
+	}
+
+	public void glClipPlanef (int plane, float[] equation, int offset) {
+		calls++;
+	}
+
+	public void glColor4f (float red, float green, float blue, float alpha) {
+		calls++;
+	}
+
+	public void glColor4ub (byte red, byte green, byte blue, byte alpha) {
+		calls++;
+	}
+
+	public void glColorMask (boolean red, boolean green, boolean blue, boolean alpha) {
+		calls++;
+	}
+
+	public void glColorPointer (int size, int type, int stride, Buffer pointer) {
+		calls++;
+	}
+
+	public void glColorPointer (int size, int type, int stride, int pointer) {
+		calls++;
+	}
+
+	public void glCompileShader (int shader) {
+		calls++;
+	}
+
+	public void glCompressedTexImage2D (int target, int level, int internalformat, int width, int height, int border,
+		int imageSize, Buffer data) {
+		calls++;
+	}
+
+	public void glCompressedTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height,
+		int format, int imageSize, Buffer data) {
+		calls++;
+	}
+
+	public void glCopyTexImage2D (int target, int level, int internalformat, int x, int y, int width, int height, int border) {
+		calls++;
+	}
+
+	public void glCopyTexSubImage2D (int target, int level, int xoffset, int yoffset, int x, int y, int width, int height) {
+		calls++;
+	}
+
+	public int glCreateProgram () {
+		calls++;
+		return ++lastHandle;
+	}
+
+	public int glCreateShader (int type) {
+		calls++;
+		return ++lastHandle;
+	}
+
+	public void glCullFace (int mode) {
+		calls++;
+	}
+
+	public void glDeleteBuffers (int n, IntBuffer buffers) {
+		calls++;
+	}
+
+	public void glDeleteBuffers (int n, int[] buffers, int offset) {
+		calls++;
+	}
+
+	public void glDeleteFramebuffers (int n, IntBuffer framebuffers) {
+		calls++;
+	}
+
+	public void glDeleteProgram (int program) {
+		calls++;
+	}
+
+	public void glDeleteRenderbuffers (int n, IntBuffer renderbuffers) {
+		calls++;
+	}
+
+	public void glDeleteShader (int shader) {
+		calls++;
+	}
+
+	public void glDeleteTextures (int n, IntBuffer textures) {
+		calls++;
+	}
+
+	public void glDeleteTextures (int n, int[] textures, int offset) {
+		calls++;
+	}
+
+	public void glDepthFunc (int func) {
+		calls++;
+	}
+
+	public void glDepthMask (boolean flag) {
+		calls++;
+	}
+
+	public void glDepthRangef (float zNear, float zFar) {
+		calls++;
+	}
+
+	public void glDetachShader (int program, int shader) {
+		calls++;
+	}
+
+	public void glDisable (int cap) {
+		calls++;
+	}
+
+	public void glDisableClientState (int array) {
+		calls++;
+	}
+
+	public void glDisableVertexAttribArray (int index) {
+		calls++;
+	}
+
+	public void glDrawArrays (int mode, int first, int count) {
+		calls++;
+		drawCalls++;
+		vertices += count;
+	}
+
+	public void glDrawElements (int mode, int count, int type, Buffer indices) {
+		calls++;
+		drawCalls++;
+		vertices += count;
+	}
+
+	public void glDrawElements (int mode, int count, int type, int indices) {
+		calls++;
+		drawCalls++;
+		vertices += count;
+	}
+
+	public void glEnable (int cap) {
+		calls++;
+	}
+
+	public void glEnableClientState (int array) {
+		calls++;
+	}
+
+	public void glEnableVertexAttribArray (int index) {
+		calls++;
+	}
+
+	public void glFinish () {
+		calls++;
+	}
+
+	public void glFlush () {
+		calls++;
+	}
+
+	public void glFogf (int pname, float param) {
+		calls++;
+	}
+
+	public void glFogfv (int pname, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glFogfv (int pname, float[] params, int offset) {
+		calls++;
+	}
+
+	public void glFramebufferRenderbuffer (int target, int attachment, int renderbuffertarget, int renderbuffer) {
+		calls++;
+	}
+
+	public void glFramebufferTexture2D (int target, int attachment, int textarget, int texture, int level) {
+		calls++;
+	}
+
+	public void glFrontFace (int mode) {
+		calls++;
+	}
+
+	public void glFrustumf (float left, float right, float bottom, float top, float zNear, float zFar) {
+		calls++;
+	}
+
+	public void glGenBuffers (int n, IntBuffer buffers) {
+		calls++;
+		generate(n, buffers);
+	}
+
+	public void glGenBuffers (int n, int[] buffers, int offset) {
+		calls++;
+		for (int i = 0; i < n; i++)
+			buffers[offset + i] = ++lastHandle;
+	}
+
+	public void glGenFramebuffers (int n, IntBuffer framebuffers) {
+		calls++;
+		generate(n, framebuffers);
+	}
+
+	public void glGenRenderbuffers (int n, IntBuffer renderbuffers) {
+		calls++;
+		generate(n, renderbuffers);
+	}
+
+	public void glGenTextures (int n, IntBuffer textures) {
+		calls++;
+		generate(n, textures);
+	}
+
+	public void glGenTextures (int n, int[] textures, int offset) {
+		calls++;
+		for (int i = 0; i < n; i++)
+			textures[offset + i] = ++lastHandle;
+	}
+
+	public void glGenerateMipmap (int target) {
+		calls++;
+	}
+
+	public String glGetActiveAttrib (int program, int index, IntBuffer size, Buffer type) {
+		calls++;
+		return "";
+	}
+
+	public String glGetActiveUniform (int program, int index, IntBuffer size, Buffer type) {
+		calls++;
+		return "";
+	}
+
+	public void glGetAttachedShaders (int program, int maxcount, Buffer count, IntBuffer shaders) {
+		calls++;
+	}
+
+	public int glGetAttribLocation (int program, String name) {
+		calls++;
+		return 0;
+	}
+
+	public void glGetBooleanv (int pname, Buffer params) {
+		calls++;
+	}
+
+	public void glGetBooleanv (int pname, IntBuffer params) {
+		calls++;
+	}
+
+	public void glGetBooleanv (int pname, boolean[] params, int offset) {
+		calls++;
+	}
+
+	public void glGetBufferParameteriv (int target, int pname, IntBuffer params) {
+		calls++;
+	}
+
+	public void glGetBufferParameteriv (int target, int pname, int[] params, int offset) {
+		calls++;
+	}
+
+	public void glGetClipPlanef (int pname, FloatBuffer eqn) {
+		calls++;
+	}
+
+	public void glGetClipPlanef (int pname, float[] eqn, int offset) {
+		calls++;
+	}
+
+	public int glGetError () {
+		calls++;
+		return GL20.GL_NO_ERROR;
+	}
+
+	public void glGetFloatv (int pname, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glGetFloatv (int pname, float[] params, int offset) {
+		calls++;
+	}
+
+	public void glGetFramebufferAttachmentParameteriv (int target, int attachment, int pname, IntBuffer params) {
+		calls++;
+	}
+
+	public void glGetIntegerv (int pname, IntBuffer params) {
+		calls++;
+		params.put(params.position(), getInteger(pname));
+	}
+
+	public void glGetIntegerv (int pname, int[] params, int offset) {
+		calls++;
+		params[offset] = getInteger(pname);
+	}
+
+	public void glGetLightfv (int light, int pname, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glGetLightfv (int light, int pname, float[] params, int offset) {
+		calls++;
+	}
+
+	public void glGetMaterialfv (int face, int pname, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glGetMaterialfv (int face, int pname, float[] params, int offset) {
+		calls++;
+	}
+
+	public void glGetPointerv (int pname, Buffer[] params) {
+		calls++;
+	}
+
+	public String glGetProgramInfoLog (int program) {
+		calls++;
+		return "";
+	}
+
+	public void glGetProgramiv (int program, int pname, IntBuffer params) {
+		calls++;
+		params.put(params.position(), pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS ? GL20.GL_TRUE : 0);
+	}
+
+	public void glGetRenderbufferParameteriv (int target, int pname, IntBuffer params) {
+		calls++;
+	}
+
+	public String glGetShaderInfoLog (int shader) {
+		calls++;
+		return "";
+	}
+
+	public void glGetShaderPrecisionFormat (int shadertype, int precisiontype, IntBuffer range, IntBuffer precision) {
+		calls++;
+	}
+
+	public void glGetShaderSource (int shader, int bufsize, Buffer length, String source) {
+		calls++;
+	}
+
+	public void glGetShaderiv (int shader, int pname, IntBuffer params) {
+		calls++;
+		params.put(params.position(), pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS ? GL20.GL_TRUE : 0);
+	}
+
+	public String glGetString (int name) {
+		calls++;
+		return getString(name);
+	}
+
+	public void glGetTexEnviv (int env, int pname, IntBuffer params) {
+		calls++;
+	}
+
+	public void glGetTexEnviv (int env, int pname, int[] params, int offset) {
+		calls++;
+	}
+
+	public void glGetTexParameterfv (int target, int pname, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glGetTexParameterfv (int target, int pname, float[] params, int offset) {
+		calls++;
+	}
+
+	public void glGetTexParameteriv (int target, int pname, IntBuffer params) {
+		calls++;
+	}
+
+	public void glGetTexParameteriv (int target, int pname, int[] params, int offset) {
+		calls++;
+	}
+
+	public int glGetUniformLocation (int program, String name) {
+		calls++;
+		return 0;
+	}
+
+	public void glGetUniformfv (int program, int location, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glGetUniformiv (int program, int location, IntBuffer params) {
+		calls++;
+	}
+
+	public void glGetVertexAttribPointerv (int index, int pname, Buffer pointer) {
+		calls++;
+	}
+
+	public void glGetVertexAttribfv (int index, int pname, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glGetVertexAttribiv (int index, int pname, IntBuffer params) {
+		calls++;
+	}
+
+	public void glHint (int target, int mode) {
+		calls++;
+	}
+
+	public boolean glIsBuffer (int buffer) {
+		calls++;
+		return buffer != 0;
+	}
+
+	public boolean glIsEnabled (int cap) {
+		calls++;
+		return false;
+	}
+
+	public boolean glIsFramebuffer (int framebuffer) {
+		calls++;
+		return framebuffer != 0;
+	}
+
+	public boolean glIsProgram (int program) {
+		calls++;
+		return program != 0;
+	}
+
+	public boolean glIsRenderbuffer (int renderbuffer) {
+		calls++;
+		return renderbuffer != 0;
+	}
+
+	public boolean glIsShader (int shader) {
+		calls++;
+		return shader != 0;
+	}
+
+	public boolean glIsTexture (int texture) {
+		calls++;
+		return texture != 0;
+	}
+
+	public void glLightModelf (int pname, float param) {
+		calls++;
+	}
+
+	public void glLightModelfv (int pname, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glLightModelfv (int pname, float[] params, int offset) {
+		calls++;
+	}
+
+	public void glLightf (int light, int pname, float param) {
+		calls++;
+	}
+
+	public void glLightfv (int light, int pname, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glLightfv (int light, int pname, float[] params, int offset) {
+		calls++;
+	}
+
+	public void glLineWidth (float width) {
+		calls++;
+	}
+
+	public void glLinkProgram (int program) {
+		calls++;
+	}
+
+	public void glLoadIdentity () {
+		calls++;
+	}
+
+	public void glLoadMatrixf (FloatBuffer m) {
+		calls++;
+	}
+
+	public void glLoadMatrixf (float[] m, int offset) {
+		calls++;
+	}
+
+	public void glLogicOp (int opcode) {
+		calls++;
+	}
+
+	public void glMaterialf (int face, int pname, float param) {
+		calls++;
+	}
+
+	public void glMaterialfv (int face, int pname, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glMaterialfv (int face, int pname, float[] params, int offset) {
+		calls++;
+	}
+
+	public void glMatrixMode (int mode) {
+		calls++;
+	}
+
+	public void glMultMatrixf (FloatBuffer m) {
+		calls++;
+	}
+
+	public void glMultMatrixf (float[] m, int offset) {
+		calls++;
+	}
+
+	public void glMultiTexCoord4f (int target, float s, float t, float r, float q) {
+		calls++;
+	}
+
+	public void glNormal3f (float nx, float ny, float nz) {
+		calls++;
+	}
+
+	public void glNormalPointer (int type, int stride, Buffer pointer) {
+		calls++;
+	}
+
+	public void glNormalPointer (int type, int stride, int pointer) {
+		calls++;
+	}
+
+	public void glOrthof (float left, float right, float bottom, float top, float zNear, float zFar) {
+		calls++;
+	}
+
+	public void glPixelStorei (int pname, int param) {
+		calls++;
+	}
+
+	public void glPointParameterf (int pname, float param) {
+		calls++;
+	}
+
+	public void glPointParameterfv (int pname, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glPointParameterfv (int pname, float[] params, int offset) {
+		calls++;
+	}
+
+	public void glPointSize (float size) {
+		calls++;
+	}
+
+	public void glPointSizePointerOES (int type, int stride, Buffer pointer) {
+		calls++;
+	}
+
+	public void glPolygonMode (int face, int mode) {
+		calls++;
+	}
+
+	public void glPolygonOffset (float factor, float units) {
+		calls++;
+	}
+
+	public void glPopMatrix () {
+		calls++;
+	}
+
+	public void glPushMatrix () {
+		calls++;
+	}
+
+	public void glReadPixels (int x, int y, int width, int height, int format, int type, Buffer pixels) {
+		calls++;
+	}
+
+	public void glReleaseShaderCompiler () {
+		calls++;
+	}
+
+	public void glRenderbufferStorage (int target, int internalformat, int width, int height) {
+		calls++;
+	}
+
+	public void glRotatef (float angle, float x, float y, float z) {
+		calls++;
+	}
+
+	public void glSampleCoverage (float value, boolean invert) {
+		calls++;
+	}
+
+	public void glScalef (float x, float y, float z) {
+		calls++;
+	}
+
+	public void glScissor (int x, int y, int width, int height) {
+		calls++;
+	}
+
+	public void glShadeModel (int mode) {
+		calls++;
+	}
+
+	public void glShaderBinary (int n, IntBuffer shaders, int binaryformat, Buffer binary, int length) {
+		calls++;
+	}
+
+	public void glShaderSource (int shader, String string) {
+		calls++;
+	}
+
+	public void glStencilFunc (int func, int ref, int mask) {
+		calls++;
+	}
+
+	public void glStencilFuncSeparate (int face, int func, int ref, int mask) {
+		calls++;
+	}
+
+	public void glStencilMask (int mask) {
+		calls++;
+	}
+
+	public void glStencilMaskSeparate (int face, int mask) {
+		calls++;
+	}
+
+	public void glStencilOp (int fail, int zfail, int zpass) {
+		calls++;
+	}
+
+	public void glStencilOpSeparate (int face, int fail, int zfail, int zpass) {
+		calls++;
+	}
+
+	public void glTexCoordPointer (int size, int type, int stride, Buffer pointer) {
+		calls++;
+	}
+
+	public void glTexCoordPointer (int size, int type, int stride, int pointer) {
+		calls++;
+	}
+
+	public void glTexEnvf (int target, int pname, float param) {
+		calls++;
+	}
+
+	public void glTexEnvfv (int target, int pname, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glTexEnvfv (int target, int pname, float[] params, int offset) {
+		calls++;
+	}
+
+	public void glTexEnvi (int target, int pname, int param) {
+		calls++;
+	}
+
+	public void glTexEnviv (int target, int pname, IntBuffer params) {
+		calls++;
+	}
+
+	public void glTexEnviv (int target, int pname, int[] params, int offset) {
+		calls++;
+	}
+
+	public void glTexImage2D (int target, int level, int internalformat, int width, int height, int border, int format,
+		int type, Buffer pixels) {
+		calls++;
+	}
+
+	public void glTexParameterf (int target, int pname, float param) {
+		calls++;
+	}
+
+	public void glTexParameterfv (int target, int pname, FloatBuffer params) {
+		calls++;
+	}
+
+	public void glTexParameterfv (int target, int pname, float[] params, int offset) {
+		calls++;
+	}
+
+	public void glTexParameteri (int target, int pname, int param) {
+		calls++;
+	}
+
+	public void glTexParameteriv (int target, int pname, IntBuffer params) {
+		calls++;
+	}
+
+	public void glTexParameteriv (int target, int pname, int[] params, int offset) {
+		calls++;
+	}
+
+	public void glTexSubImage2D (int target, int level, int xoffset, int yoffset, int width, int height, int format,
+		int type, Buffer pixels) {
+		calls++;
+	}
+
+	public void glTranslatef (float x, float y, float z) {
+		calls++;
+	}
+
+	public void glUniform1f (int location, float x) {
+		calls++;
+	}
+
+	public void glUniform1fv (int location, int count, FloatBuffer v) {
+		calls++;
+	}
+
+	public void glUniform1i (int location, int x) {
+		calls++;
+	}
+
+	public void glUniform1iv (int location, int count, IntBuffer v) {
+		calls++;
+	}
+
+	public void glUniform2f (int location, float x, float y) {
+		calls++;
+	}
+
+	public void glUniform2fv (int location, int count, FloatBuffer v) {
+		calls++;
+	}
+
+	public void glUniform2i (int location, int x, int y) {
+		calls++;
+	}
+
+	public void glUniform2iv (int location, int count, IntBuffer v) {
+		calls++;
+	}
+
+	public void glUniform3f (int location, float x, float y, float z) {
+		calls++;
+	}
+
+	public void glUniform3fv (int location, int count, FloatBuffer v) {
+		calls++;
+	}
+
+	public void glUniform3i (int location, int x, int y, int z) {
+		calls++;
+	}
+
+	public void glUniform3iv (int location, int count, IntBuffer v) {
+		calls++;
+	}
+
+	public void glUniform4f (int location, float x, float y, float z, float w) {
+		calls++;
+	}
+
+	public void glUniform4fv (int location, int count, FloatBuffer v) {
+		calls++;
+	}
+
+	public void glUniform4i (int location, int x, int y, int z, int w) {
+		calls++;
+	}
+
+	public void glUniform4iv (int location, int count, IntBuffer v) {
+		calls++;
+	}
+
+	public void glUniformMatrix2fv (int location, int count, boolean transpose, FloatBuffer value) {
+		calls++;
+	}
+
+	public void glUniformMatrix3fv (int location, int count, boolean transpose, FloatBuffer value) {
+		calls++;
+	}
+
+	public void glUniformMatrix4fv (int location, int count, boolean transpose, FloatBuffer value) {
+		calls++;
+	}
+
+	public void glUseProgram (int program) {
+		calls++;
+		programBindings++;
+	}
+
+	public void glValidateProgram (int program) {
+		calls++;
+	}
+
+	public void glVertexAttrib1f (int indx, float x) {
+		calls++;
+	}
+
+	public void glVertexAttrib1fv (int indx, FloatBuffer values) {
+		calls++;
+	}
+
+	public void glVertexAttrib2f (int indx, float x, float y) {
+		calls++;
+	}
+
+	public void glVertexAttrib2fv (int indx, FloatBuffer values) {
+		calls++;
+	}
+
+	public void glVertexAttrib3f (int indx, float x, float y, float z) {
+		calls++;
+	}
+
+	public void glVertexAttrib3fv (int indx, FloatBuffer values) {
+		calls++;
+	}
+
+	public void glVertexAttrib4f (int indx, float x, float y, float z, float w) {
+		calls++;
+	}
+
+	public void glVertexAttrib4fv (int indx, FloatBuffer values) {
+		calls++;
+	}
+
+	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, Buffer ptr) {
+		calls++;
+	}
+
+	public void glVertexAttribPointer (int indx, int size, int type, boolean normalized, int stride, int ptr) {
+		calls++;
+	}
+
+	public void glVertexPointer (int size, int type, int stride, Buffer pointer) {
+		calls++;
+	}
+
+	public void glVertexPointer (int size, int type, int stride, int pointer) {
+		calls++;
+	}
+
+	public void glViewport (int x, int y, int width, int height) {
+		calls++;
+	}
+}
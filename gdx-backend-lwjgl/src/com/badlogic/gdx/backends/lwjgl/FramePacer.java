@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.lwjgl;
+
+/** Limits the frame rate and optionally smooths the delta time.
+ * <p>
+ * {@link #sync(int)} waits until the next frame is due. It sleeps while the remaining time is longer than the longest recent
+ * {@link Thread#sleep(long)} overshoot, then yields until the deadline, so it wakes within microseconds of the deadline at the
+ * cost of spinning briefly. Deadlines advance by exactly one frame interval, so a frame that ends late is followed by a shorter
+ * wait. When more than a frame behind, the schedule restarts instead of rendering frames back to back to catch up.
+ * <p>
+ * {@link #smooth(float)} averages the delta over the last few frames, ignoring deltas that are less than half or more than
+ * double the median, such as a single frame after a garbage collection or loading hitch. A lasting change in frame rate moves
+ * the median, so the smoothed delta follows it within a few frames. */
+public class FramePacer {
+	static private final long maxSleepOvershoot = 20000000;
+
+	private long deadline;
+	private long sleepOvershoot = 2000000;
+
+	private final float[] deltas, sorted;
+	private int deltaCount, deltaIndex, outliers;
+
+	public FramePacer () {
+		this(8);
+	}
+
+	/** @param window The number of deltas to smooth over. */
+	public FramePacer (int window) {
+		if (window < 1) throw new IllegalArgumentException("window must be > 0: " + window);
+		deltas = new float[window];
+		sorted = new float[window];
+	}
+
+	/** Waits until the next frame at the given frame rate is due.
+	 * @param fps The target frames per second. If <= 0, returns immediately. */
+	public void sync (int fps) {
+		if (fps <= 0) {
+			deadline = 0;
+			return;
+		}
+		long interval = 1000000000L / fps;
+		long time = System.nanoTime();
+		deadline += interval;
+		if (time - deadline > interval) {
+			// First frame or far behind.
+			deadline = time;
+			return;
+		}
+		while (true) {
+			long remaining = deadline - time;
+			if (remaining <= 0) break;
+			if (remaining > sleepOvershoot + 1000000) {
+				try {
+					Thread.sleep(1);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				long slept = System.nanoTime() - time;
+				// Track the worst recent overshoot, slowly forgetting it.
+				sleepOvershoot = Math.min(maxSleepOvershoot, Math.max(sleepOvershoot - sleepOvershoot / 64, slept - 1000000));
+			} else
+				Thread.yield();
+			time = System.nanoTime();
+		}
+	}
+
+	/** Forgets the frame schedule so the next {@link #sync(int)} doesn't wait. */
+	public void reset () {
+		deadline = 0;
+	}
+
+	/** Returns the longest recent time a 1ms sleep took beyond 1ms, in nanoseconds. {@link #sync(int)} spins for this long before
+	 * each deadline. */
+	public long getSleepOvershoot () {
+		return sleepOvershoot;
+	}
+
+	/** Adds the delta to the window and returns the average of the deltas in the window that are within a factor of 2 of the
+	 * median. */
+	public float smooth (float delta) {
+		float[] deltas = this.deltas, sorted = this.sorted;
+		deltas[deltaIndex] = delta;
+		deltaIndex = (deltaIndex + 1) % deltas.length;
+		int count = deltaCount = Math.min(deltaCount + 1, deltas.length);
+
+		// Insertion sort, the window is small.
+		for (int i = 0; i < count; i++) {
+			float value = deltas[i];
+			int j = i - 1;
+			for (; j >= 0 && sorted[j] > value; j--)
+				sorted[j + 1] = sorted[j];
+			sorted[j + 1] = value;
+		}
+		float median = sorted[count >> 1], min = median * 0.5f, max = median * 2;
+		if (delta < min || delta > max) outliers++;
+
+		float total = 0;
+		int accepted = 0;
+		for (int i = 0; i < count; i++) {
+			float value = sorted[i];
+			if (value < min || value > max) continue;
+			total += value;
+			accepted++;
+		}
+		return total / accepted;
+	}
+
+	/** Returns the number of deltas passed to {@link #smooth(float)} that were left out of the average when they were added. */
+	public int getOutliers () {
+		return outliers;
+	}
+
+	/** Clears the smoothing window, for example after a pause. */
+	public void resetSmoothing () {
+		deltaCount = 0;
+		deltaIndex = 0;
+	}
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.lwjgl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Runs runnables posted from any thread on the rendering thread at a chosen {@link Phase} of the frame. Posting is lock-free:
+ * each phase has a linked queue that many threads can add to and only the rendering thread removes from.
+ * <p>
+ * A {@link #setBudget(long) budget} limits the time spent running posted runnables each frame. When it is used up, the remaining
+ * runnables stay queued in order and run on the next frame. At least one runnable per phase is run each frame, so work posted
+ * faster than it is run still makes progress. Runnables posted while a phase is running are run on the next frame. */
+public class FrameScheduler {
+	private final Queue[] queues;
+	private long budget;
+
+	private long frameTime, lastFrameTime;
+	private int frameExecuted, lastFrameExecuted;
+	private int frameDeferred, lastFrameDeferred;
+
+	public FrameScheduler () {
+		Phase[] phases = Phase.values();
+		queues = new Queue[phases.length];
+		for (int i = 0; i < phases.length; i++)
+			queues[i] = new Queue();
+	}
+
+	/** Adds a runnable to be run on the rendering thread at the given phase of the next frame. May be called from any thread. */
+	public void post (Runnable runnable, Phase phase) {
+		if (runnable == null) throw new IllegalArgumentException("runnable cannot be null.");
+		if (phase == null) throw new IllegalArgumentException("phase cannot be null.");
+		queues[phase.ordinal()].put(runnable);
+	}
+
+	/** Ends the statistics of the previous frame. Must be called on the rendering thread before any phase is run. */
+	public void beginFrame () {
+		lastFrameTime = frameTime;
+		lastFrameExecuted = frameExecuted;
+		lastFrameDeferred = frameDeferred;
+		frameTime = 0;
+		frameExecuted = 0;
+		frameDeferred = 0;
+	}
+
+	/** Runs the runnables queued for the phase, within what remains of the frame's budget. Must be called on the rendering
+	 * thread.
+	 * @return true if any runnable was run. */
+	public boolean run (Phase phase) {
+		Queue queue = queues[phase.ordinal()];
+		int count = queue.size.get();
+		if (count == 0) return false;
+		long budget = this.budget, start = System.nanoTime();
+		int executed = 0;
+		try {
+			while (executed < count) {
+				Runnable runnable = queue.poll();
+				if (runnable == null) break; // A put is in progress.
+				executed++;
+				execute(runnable);
+				if (budget > 0 && frameTime + System.nanoTime() - start >= budget) {
+					frameDeferred += count - executed;
+					break;
+				}
+			}
+		} finally {
+			queue.size.addAndGet(-executed);
+			frameTime += System.nanoTime() - start;
+			frameExecuted += executed;
+		}
+		return executed > 0;
+	}
+
+	/** Called on the rendering thread to run each posted runnable. By default exceptions are thrown to the caller of
+	 * {@link #run(Phase)} after the queue is updated. */
+	protected void execute (Runnable runnable) {
+		runnable.run();
+	}
+
+	/** @param budget The maximum nanoseconds per frame to spend running posted runnables, or 0 for no limit. */
+	public void setBudget (long budget) {
+		if (budget < 0) throw new IllegalArgumentException("budget must be >= 0: " + budget);
+		this.budget = budget;
+	}
+
+	public long getBudget () {
+		return budget;
+	}
+
+	/** Returns the number of runnables waiting to be run in all phases. May be called from any thread. */
+	public int getQueued () {
+		int queued = 0;
+		for (int i = 0; i < queues.length; i++)
+			queued += queues[i].size.get();
+		return queued;
+	}
+
+	/** Returns the number of runnables waiting to be run in the phase. May be called from any thread. */
+	public int getQueued (Phase phase) {
+		return queues[phase.ordinal()].size.get();
+	}
+
+	/** Returns the number of runnables run during the previous frame. */
+	public int getExecuted () {
+		return lastFrameExecuted;
+	}
+
+	/** Returns the nanoseconds spent running runnables during the previous frame. */
+	public long getTime () {
+		return lastFrameTime;
+	}
+
+	/** Returns the number of runnables left for a later frame because the previous frame's budget was used up. */
+	public int getDeferred () {
+		return lastFrameDeferred;
+	}
+
+	/** The point in the frame at which a posted runnable is run. */
+	static public enum Phase {
+		/** Before input is polled and events are sent to the input processor. This is when {@link LwjglApplication#postRunnable}
+		 * runnables are run. */
+		preInput,
+		/** After input events have been processed, before {@link com.badlogic.gdx.ApplicationListener#render()}. */
+		preRender,
+		/** After {@link com.badlogic.gdx.ApplicationListener#render()}, when the frame has been submitted. */
+		postRender
+	}
+
+	/** Unbounded linked queue for many producers and a single consumer. A put swaps itself in as the tail with one atomic
+	 * operation, then links the previous tail to it. Until that link is made the consumer sees the queue as ending before it. */
+	static private class Queue {
+		final AtomicInteger size = new AtomicInteger();
+		private final AtomicReference<Node> tail;
+		private Node head;
+
+		Queue () {
+			head = new Node(null);
+			tail = new AtomicReference<Node>(head);
+		}
+
+		void put (Runnable runnable) {
+			Node node = new Node(runnable);
+			size.incrementAndGet();
+			tail.getAndSet(node).next = node;
+		}
+
+		Runnable poll () {
+			Node next = head.next;
+			if (next == null) return null;
+			head = next;
+			Runnable runnable = next.runnable;
+			next.runnable = null;
+			return runnable;
+		}
+	}
+
+	static private class Node {
+		Runnable runnable;
+		volatile Node next;
+
+		Node (Runnable runnable) {
+			this.runnable = runnable;
+		}
+	}
+}
@@ -20,9 +20,7 @@ import java.awt.Canvas;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.GraphicsEnvironment;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.lwjgl.LWJGLException;
@@ -39,7 +37,10 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.LifecycleListener;
 import com.badlogic.gdx.Net;
 import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.backends.lwjgl.FrameScheduler.Phase;
 import com.badlogic.gdx.backends.openal.OpenALAudio;
+import com.badlogic.gdx.graphics.FrameTimings;
+import com.badlogic.gdx.graphics.FrameTimings.Section;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxRuntimeException;
@@ -56,8 +57,15 @@ public class LwjglAWTCanvas implements Application {
 	final LwjglNet net;
 	final ApplicationListener listener;
 	final AWTGLCanvas canvas;
-	final List<Runnable> runnables = new ArrayList();
-	final List<Runnable> executedRunnables = new ArrayList();
+	final FrameScheduler scheduler = new FrameScheduler() {
+		protected void execute (Runnable runnable) {
+			try {
+				runnable.run();
+			} catch (Throwable t) {
+				t.printStackTrace();
+			}
+		}
+	};
 	final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	boolean running = true;
 	int lastWidth;
@@ -92,6 +100,8 @@ public class LwjglAWTCanvas implements Application {
 					try {
 						LwjglAWTCanvas.this.render();
 						swapBuffers();
+						graphics.timings.mark(Section.swap);
+						graphics.timings.end();
 						repaint();
 					} catch (LWJGLException ex) {
 						throw new GdxRuntimeException(ex);
@@ -219,6 +229,8 @@ public class LwjglAWTCanvas implements Application {
 	}
 
 	void render () {
+		FrameTimings timings = graphics.timings;
+		timings.begin();
 		setGlobals();
 		canvas.setCursor(cursor);
 		graphics.updateTime();
@@ -233,27 +245,20 @@ public class LwjglAWTCanvas implements Application {
 			listener.resize(width, height);
 		}
 
-		synchronized (runnables) {
-			executedRunnables.clear();
-			executedRunnables.addAll(runnables);
-			runnables.clear();
-
-			for (int i = 0; i < executedRunnables.size(); i++) {
-				try {
-					executedRunnables.get(i).run();
-				} catch (Throwable t) {
-					t.printStackTrace();
-				}
-			}
-		}
-
+		scheduler.beginFrame();
+		timings.mark(Section.input);
+		scheduler.run(Phase.preInput);
+		timings.mark(Section.runnables);
 		input.processEvents();
+		timings.mark(Section.input);
+		scheduler.run(Phase.preRender);
+		timings.mark(Section.runnables);
 		if (running) {
 			listener.render();
-			if (audio != null) {
-				audio.update();
-			}
 		}
+		timings.mark(Section.render);
+		scheduler.run(Phase.postRender);
+		timings.mark(Section.runnables);
 	}
 
 	/** Called after {@link ApplicationListener} create and resize, but before the game loop iteration. */
@@ -322,9 +327,17 @@ public class LwjglAWTCanvas implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
-		synchronized (runnables) {
-			runnables.add(runnable);
-		}
+		scheduler.post(runnable, Phase.preInput);
+	}
+
+	/** Posts a runnable to be run on the rendering thread at the given phase of the next frame. */
+	public void postRunnable (Runnable runnable, Phase phase) {
+		scheduler.post(runnable, phase);
+	}
+
+	/** Returns the scheduler that runs posted runnables, which has the queue depth and the time spent per frame. */
+	public FrameScheduler getScheduler () {
+		return scheduler;
 	}
 
 	@Override
@@ -21,11 +21,13 @@ import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.Audio;
 import com.badlogic.gdx.Files;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.LifecycleListener;
 import com.badlogic.gdx.Net;
 import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.backends.lwjgl.FrameScheduler.Phase;
 import com.badlogic.gdx.backends.openal.OpenALAudio;
+import com.badlogic.gdx.graphics.FrameTimings;
+import com.badlogic.gdx.graphics.FrameTimings.Section;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxRuntimeException;
@@ -47,8 +49,12 @@ public class LwjglApplication implements Application {
 	protected final ApplicationListener listener;
 	protected Thread mainLoopThread;
 	protected boolean running = true;
-	protected final Array<Runnable> runnables = new Array();
-	protected final Array<Runnable> executedRunnables = new Array();
+	protected final FrameScheduler scheduler = new FrameScheduler();
+	/** @deprecated Use {@link #postRunnable(Runnable)}. Runnables added here, synchronized on the array, are still moved to the
+	 *             {@link #scheduler} each frame and run before input. */
+	@Deprecated protected final Array<Runnable> runnables = new Array();
+	/** @deprecated No longer used, runnables are run by the {@link #scheduler}. */
+	@Deprecated protected final Array<Runnable> executedRunnables = new Array();
 	protected final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	protected int logLevel = LOG_INFO;
 
@@ -74,14 +80,18 @@ public class LwjglApplication implements Application {
 
 	public LwjglApplication (ApplicationListener listener, LwjglApplicationConfiguration config, LwjglGraphics graphics) {
 		LwjglNativesLoader.load();
+		UnsafeFieldAccessor.install();
 
 		this.graphics = graphics;
 		if (!LwjglApplicationConfiguration.disableAudio)
-			audio = new OpenALAudio(16, config.audioDeviceBufferCount, config.audioDeviceBufferSize);
+			audio = new OpenALAudio(16, config.audioDeviceBufferCount, config.audioDeviceBufferSize,
+				config.audioMusicBufferCount, config.audioMusicBufferSize, config.audioMusicDecodeAhead);
 		files = new LwjglFiles();
 		input = new LwjglInput();
+		input.getEventQueue().setCoalesceMoves(config.coalesceMouseMoves);
 		net = new LwjglNet();
 		this.listener = listener;
+		scheduler.setBudget((long)(config.runnableBudget * 1000000));
 
 		Gdx.app = this;
 		Gdx.graphics = graphics;
@@ -136,7 +146,10 @@ public class LwjglApplication implements Application {
 
 		graphics.lastTime = System.nanoTime();
 		boolean wasActive = true;
+		FrameTimings timings = graphics.timings;
 		while (running) {
+			timings.begin();
+			scheduler.beginFrame();
 			Display.processMessages();
 			if (Display.isCloseRequested()) exit();
 
@@ -147,6 +160,8 @@ public class LwjglApplication implements Application {
 			}
 			if (!wasActive && isActive) { // if it's just recently focused from minimized state
 				wasActive = true;
+				// Deltas from before the pause would skew the smoothed delta time after it.
+				graphics.pacer.resetSmoothing();
 				listener.resume();
 			}
 
@@ -176,16 +191,11 @@ public class LwjglApplication implements Application {
 				}
 			}
 
-			synchronized (runnables) {
-				executedRunnables.clear();
-				executedRunnables.addAll(runnables);
-				runnables.clear();
-			}
-
-			for (int i = 0; i < executedRunnables.size; i++) {
-				shouldRender = true;
-				executedRunnables.get(i).run(); // calls out to random app code that could do anything ...
-			}
+			timings.mark(Section.input);
+			if (runnables.size > 0) postDeprecatedRunnables();
+			// Calls out to random app code that could do anything ...
+			if (scheduler.run(Phase.preInput)) shouldRender = true;
+			timings.mark(Section.runnables);
 
 			// If one of the runnables set running to false, for example after an exit().
 			if (!running) break;
@@ -193,21 +203,33 @@ public class LwjglApplication implements Application {
 			input.update();
 			shouldRender |= graphics.shouldRender();
 			input.processEvents();
-			if (audio != null) audio.update();
+			timings.mark(Section.input);
+			if (scheduler.run(Phase.preRender)) shouldRender = true;
+			timings.mark(Section.runnables);
+			if (!running) break;
 
 			if (!isActive && graphics.config.backgroundFPS == -1) shouldRender = false;
 			int frameRate = isActive ? graphics.config.foregroundFPS : graphics.config.backgroundFPS;
 			if (shouldRender) {
 				graphics.updateTime();
 				listener.render();
+				timings.mark(Section.render);
 				Display.update(false);
-			} else {
+				timings.mark(Section.swap);
+			}
+			scheduler.run(Phase.postRender);
+			timings.mark(Section.runnables);
+			// Runnables left over because the budget was used up need another frame.
+			if (scheduler.getQueued() > 0) graphics.requestRendering();
+			if (!shouldRender) {
 				// Sleeps to avoid wasting CPU in an empty loop.
 				if (frameRate == -1) frameRate = 10;
 				if (frameRate == 0) frameRate = graphics.config.backgroundFPS;
 				if (frameRate == 0) frameRate = 30;
 			}
-			if (frameRate > 0) Display.sync(frameRate);
+			graphics.pacer.sync(frameRate);
+			timings.mark(Section.sleep);
+			if (shouldRender) timings.end();
 		}
 
 		Array<LifecycleListener> listeners = lifecycleListeners;
@@ -245,7 +267,7 @@ public class LwjglApplication implements Application {
 	}
 
 	@Override
-	public Input getInput () {
+	public LwjglInput getInput () {
 		return input;
 	}
 
@@ -302,12 +324,28 @@ public class LwjglApplication implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
+		postRunnable(runnable, Phase.preInput);
+	}
+
+	/** Posts a runnable to be run on the rendering thread at the given phase of the next frame. */
+	public void postRunnable (Runnable runnable, Phase phase) {
+		scheduler.post(runnable, phase);
+		graphics.requestRendering();
+	}
+
+	private void postDeprecatedRunnables () {
 		synchronized (runnables) {
-			runnables.add(runnable);
-			Gdx.graphics.requestRendering();
+			for (int i = 0; i < runnables.size; i++)
+				scheduler.post(runnables.get(i), Phase.preInput);
+			runnables.clear();
 		}
 	}
 
+	/** Returns the scheduler that runs posted runnables, which has the queue depth and the time spent per frame. */
+	public FrameScheduler getScheduler () {
+		return scheduler;
+	}
+
 	@Override
 	public void debug (String tag, String message) {
 		if (logLevel >= LOG_DEBUG) {
@@ -58,11 +58,25 @@ public class LwjglApplicationConfiguration {
 	public int audioDeviceBufferSize = 512;
 	/** the audio device buffer count **/
 	public int audioDeviceBufferCount = 9;
+	/** the number of buffers each playing music keeps queued with OpenAL **/
+	public int audioMusicBufferCount = 3;
+	/** the size in bytes of each block of decoded music **/
+	public int audioMusicBufferSize = 4096 * 10;
+	/** the number of music blocks decoded ahead on the streaming thread, at least audioMusicBufferCount **/
+	public int audioMusicDecodeAhead = 8;
 	public Color initialBackgroundColor = Color.BLACK;
 	/** Target framerate when the window is in the foreground. The CPU sleeps as needed. Use 0 to never sleep. **/
 	public int foregroundFPS = 61;
 	/** Target framerate when the window is not in the foreground. The CPU sleeps as needed. Use 0 to never sleep, -1 to not render. **/
 	public int backgroundFPS = 61;
+	/** whether consecutive mouse moves and drags within a frame are delivered as one event with the latest position. default: false
+	 * @see com.badlogic.gdx.InputEventQueue#setCoalesceMoves(boolean) **/
+	public boolean coalesceMouseMoves = false;
+	/** whether {@link Graphics#getDeltaTime()} averages recent frames, ignoring outliers such as a single long frame. The unsmoothed
+	 * value is available from {@link Graphics#getRawDeltaTime()}. default: false **/
+	public boolean smoothDeltaTime = false;
+	/** Maximum milliseconds per frame spent running posted runnables, the rest are run on later frames. Use 0 for no limit. **/
+	public float runnableBudget = 0;
 
 	Array<String> iconPaths = new Array();
 	Array<FileType> iconFileTypes = new Array();
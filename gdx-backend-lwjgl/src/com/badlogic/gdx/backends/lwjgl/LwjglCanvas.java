@@ -33,11 +33,13 @@ import com.badlogic.gdx.Audio;
 import com.badlogic.gdx.Files;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Graphics;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.LifecycleListener;
 import com.badlogic.gdx.Net;
 import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.backends.lwjgl.FrameScheduler.Phase;
 import com.badlogic.gdx.backends.openal.OpenALAudio;
+import com.badlogic.gdx.graphics.FrameTimings;
+import com.badlogic.gdx.graphics.FrameTimings.Section;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Clipboard;
 import com.badlogic.gdx.utils.GdxRuntimeException;
@@ -55,8 +57,20 @@ public class LwjglCanvas implements Application {
 	LwjglNet net;
 	ApplicationListener listener;
 	Canvas canvas;
-	final List<Runnable> runnables = new ArrayList();
-	final List<Runnable> executedRunnables = new ArrayList();
+	final FrameScheduler scheduler = new FrameScheduler() {
+		protected void execute (Runnable runnable) {
+			try {
+				runnable.run();
+			} catch (Throwable t) {
+				t.printStackTrace();
+			}
+		}
+	};
+	/** @deprecated Use {@link #postRunnable(Runnable)}. Runnables added here, synchronized on the list, are still moved to the
+	 *             {@link #scheduler} each frame and run before input. */
+	@Deprecated final List<Runnable> runnables = new ArrayList();
+	/** @deprecated No longer used, runnables are run by the {@link #scheduler}. */
+	@Deprecated final List<Runnable> executedRunnables = new ArrayList();
 	final Array<LifecycleListener> lifecycleListeners = new Array<LifecycleListener>();
 	boolean running = true;
 	int logLevel = LOG_INFO;
@@ -74,6 +88,8 @@ public class LwjglCanvas implements Application {
 
 	private void initialize (ApplicationListener listener, LwjglApplicationConfiguration config) {
 		LwjglNativesLoader.load();
+		UnsafeFieldAccessor.install();
+		scheduler.setBudget((long)(config.runnableBudget * 1000000));
 
 		canvas = new Canvas() {
 			private final Dimension minSize = new Dimension(1, 1);
@@ -124,6 +140,7 @@ public class LwjglCanvas implements Application {
 		if (!LwjglApplicationConfiguration.disableAudio) audio = new OpenALAudio();
 		files = new LwjglFiles();
 		input = new LwjglInput();
+		input.getEventQueue().setCoalesceMoves(config.coalesceMouseMoves);
 		net = new LwjglNet();
 		this.listener = listener;
 
@@ -166,7 +183,7 @@ public class LwjglCanvas implements Application {
 	}
 
 	@Override
-	public Input getInput () {
+	public LwjglInput getInput () {
 		return input;
 	}
 
@@ -210,6 +227,8 @@ public class LwjglCanvas implements Application {
 					return;
 				}
 				try {
+					FrameTimings timings = graphics.timings;
+					timings.begin();
 					graphics.updateTime();
 
 					int width = Math.max(1, graphics.getWidth());
@@ -222,27 +241,26 @@ public class LwjglCanvas implements Application {
 						listener.resize(width, height);
 					}
 
-					synchronized (runnables) {
-						executedRunnables.clear();
-						executedRunnables.addAll(runnables);
-						runnables.clear();
-
-						for (int i = 0; i < executedRunnables.size(); i++) {
-							try {
-								executedRunnables.get(i).run();
-							} catch (Throwable t) {
-								t.printStackTrace();
-							}
-						}
-					}
-
+					scheduler.beginFrame();
+					timings.mark(Section.input);
+					if (!runnables.isEmpty()) postDeprecatedRunnables();
+					scheduler.run(Phase.preInput);
+					timings.mark(Section.runnables);
 					input.update();
 					input.processEvents();
+					timings.mark(Section.input);
+					scheduler.run(Phase.preRender);
+					timings.mark(Section.runnables);
 					listener.render();
-					if (audio != null) audio.update();
+					timings.mark(Section.render);
 					Display.update();
+					timings.mark(Section.swap);
+					scheduler.run(Phase.postRender);
 					canvas.setCursor(cursor);
-					if (graphics.vsync) Display.sync(60);
+					timings.mark(Section.runnables);
+					graphics.pacer.sync(graphics.vsync ? 60 : 0);
+					timings.mark(Section.sleep);
+					timings.end();
 				} catch (Throwable ex) {
 					exception(ex);
 				}
@@ -321,11 +339,27 @@ public class LwjglCanvas implements Application {
 
 	@Override
 	public void postRunnable (Runnable runnable) {
+		scheduler.post(runnable, Phase.preInput);
+	}
+
+	/** Posts a runnable to be run on the rendering thread at the given phase of the next frame. */
+	public void postRunnable (Runnable runnable, Phase phase) {
+		scheduler.post(runnable, phase);
+	}
+
+	private void postDeprecatedRunnables () {
 		synchronized (runnables) {
-			runnables.add(runnable);
+			for (int i = 0; i < runnables.size(); i++)
+				scheduler.post(runnables.get(i), Phase.preInput);
+			runnables.clear();
 		}
 	}
 
+	/** Returns the scheduler that runs posted runnables, which has the queue depth and the time spent per frame. */
+	public FrameScheduler getScheduler () {
+		return scheduler;
+	}
+
 	@Override
 	public void debug (String tag, String message) {
 		if (logLevel >= LOG_DEBUG) {
@@ -18,6 +18,7 @@ package com.badlogic.gdx.backends.lwjgl;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.FrameTimings;
 import com.badlogic.gdx.graphics.GL10;
 import com.badlogic.gdx.graphics.GL11;
 import com.badlogic.gdx.graphics.GL20;
@@ -43,7 +44,7 @@ public class LwjglGraphics implements Graphics {
 	GL10 gl10;
 	GL11 gl11;
 	GL20 gl20;
-	float deltaTime = 0;
+	float deltaTime = 0, rawDeltaTime = 0;
 	long frameStart = 0;
 	int frames = 0;
 	int fps;
@@ -56,6 +57,8 @@ public class LwjglGraphics implements Graphics {
 	String extensions;
 	volatile boolean isContinuous = true;
 	volatile boolean requestRendering = false;
+	final FramePacer pacer = new FramePacer();
+	final FrameTimings timings = new FrameTimings(120);
 
 	LwjglGraphics (LwjglApplicationConfiguration config) {
 		this.config = config;
@@ -113,7 +116,7 @@ public class LwjglGraphics implements Graphics {
 	}
 
 	public float getRawDeltaTime () {
-		return deltaTime;
+		return rawDeltaTime;
 	}
 
 	public GraphicsType getType () {
@@ -131,7 +134,8 @@ public class LwjglGraphics implements Graphics {
 
 	void updateTime () {
 		long time = System.nanoTime();
-		deltaTime = (time - lastTime) / 1000000000.0f;
+		rawDeltaTime = (time - lastTime) / 1000000000.0f;
+		deltaTime = config.smoothDeltaTime ? pacer.smooth(rawDeltaTime) : rawDeltaTime;
 		lastTime = time;
 
 		if (time - frameStart >= 1000000000) {
@@ -142,6 +146,16 @@ public class LwjglGraphics implements Graphics {
 		frames++;
 	}
 
+	/** Returns the pacer that limits the frame rate and smooths the delta time. */
+	public FramePacer getFramePacer () {
+		return pacer;
+	}
+
+	/** Returns the time spent in each section of recent frames, for profiling. */
+	public FrameTimings getFrameTimings () {
+		return timings;
+	}
+
 	void setupDisplay () throws LWJGLException {
 		if (canvas != null) {
 			Display.setParent(canvas);
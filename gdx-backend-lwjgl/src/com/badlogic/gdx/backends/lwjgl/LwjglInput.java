@@ -20,9 +20,7 @@ import java.awt.Color;
 import java.awt.FlowLayout;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowFocusListener;
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 import javax.swing.JDialog;
@@ -42,18 +40,18 @@ import org.lwjgl.input.Mouse;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputEventQueue;
 import com.badlogic.gdx.InputProcessor;
-import com.badlogic.gdx.utils.Pool;
 
-/** An implementation of the {@link Input} interface hooking a LWJGL panel for input.
+/** An implementation of the {@link Input} interface hooking a LWJGL panel for input. Events are stored in an
+ * {@link InputEventQueue} and delivered to the input processor once per frame.
  * 
  * @author mzechner */
-final class LwjglInput implements Input {
+public final class LwjglInput implements Input {
 	static public float keyRepeatInitialTime = 0.4f;
 	static public float keyRepeatTime = 0.1f;
 
-	List<KeyEvent> keyEvents = new ArrayList<KeyEvent>();
-	List<TouchEvent> touchEvents = new ArrayList<TouchEvent>();
+	final InputEventQueue events = new InputEventQueue();
 	boolean mousePressed = false;
 	int mouseX, mouseY;
 	int deltaX, deltaY;
@@ -63,19 +61,6 @@ final class LwjglInput implements Input {
 	InputProcessor processor;
 	char lastKeyCharPressed;
 	float keyRepeatTimer;
-	long currentEventTimeStamp;
-
-	Pool<KeyEvent> usedKeyEvents = new Pool<KeyEvent>(16, 1000) {
-		protected KeyEvent newObject () {
-			return new KeyEvent();
-		}
-	};
-
-	Pool<TouchEvent> usedTouchEvents = new Pool<TouchEvent>(16, 1000) {
-		protected TouchEvent newObject () {
-			return new TouchEvent();
-		}
-	};
 
 	public LwjglInput () {
 		Keyboard.enableRepeatEvents(false);
@@ -266,64 +251,16 @@ final class LwjglInput implements Input {
 
 	void processEvents () {
 		synchronized (this) {
-			if (processor != null) {
-				InputProcessor processor = this.processor;
-				int len = keyEvents.size();
-				for (int i = 0; i < len; i++) {
-					KeyEvent e = keyEvents.get(i);
-					currentEventTimeStamp = e.timeStamp;
-					switch (e.type) {
-					case KeyEvent.KEY_DOWN:
-						processor.keyDown(e.keyCode);
-						break;
-					case KeyEvent.KEY_UP:
-						processor.keyUp(e.keyCode);
-						break;
-					case KeyEvent.KEY_TYPED:
-						processor.keyTyped(e.keyChar);
-					}
-					usedKeyEvents.free(e);
-				}
-
-				len = touchEvents.size();
-				for (int i = 0; i < len; i++) {
-					TouchEvent e = touchEvents.get(i);
-					currentEventTimeStamp = e.timeStamp;
-					switch (e.type) {
-					case TouchEvent.TOUCH_DOWN:
-						processor.touchDown(e.x, e.y, e.pointer, e.button);
-						break;
-					case TouchEvent.TOUCH_UP:
-						processor.touchUp(e.x, e.y, e.pointer, e.button);
-						break;
-					case TouchEvent.TOUCH_DRAGGED:
-						processor.touchDragged(e.x, e.y, e.pointer);
-						break;
-					case TouchEvent.TOUCH_MOVED:
-						processor.mouseMoved(e.x, e.y);
-						break;
-					case TouchEvent.TOUCH_SCROLLED:
-						processor.scrolled(e.scrollAmount);
-					}
-					usedTouchEvents.free(e);
-				}
-			} else {
-				int len = touchEvents.size();
-				for (int i = 0; i < len; i++) {
-					usedTouchEvents.free(touchEvents.get(i));
-				}
-
-				len = keyEvents.size();
-				for (int i = 0; i < len; i++) {
-					usedKeyEvents.free(keyEvents.get(i));
-				}
-			}
-
-			keyEvents.clear();
-			touchEvents.clear();
+			events.drain(processor);
 		}
 	}
 
+	/** Returns the queue events are stored in until they are delivered. It has the number of events added, coalesced and delivered
+	 * and the dispatch time for the last frame, and can coalesce mouse moves and drags. */
+	public InputEventQueue getEventQueue () {
+		return events;
+	}
+
 	public static int getGdxKeyCode (int lwjglKeyCode) {
 		switch (lwjglKeyCode) {
 		case Keyboard.KEY_LBRACKET:
@@ -707,8 +644,9 @@ final class LwjglInput implements Input {
 	}
 
 	public void update () {
-		updateMouse();
+		// Key events are delivered before mouse events.
 		updateKeyboard();
+		updateMouse();
 	}
 
 	private int toGdxButton (int button) {
@@ -722,50 +660,44 @@ final class LwjglInput implements Input {
 	void updateMouse () {
 		justTouched = false;
 		if (Mouse.isCreated()) {
-			int events = 0;
+			int eventCount = 0;
 			while (Mouse.next()) {
-				events++;
+				eventCount++;
 				int x = Mouse.getEventX();
 				int y = Gdx.graphics.getHeight() - Mouse.getEventY() - 1;
 				int button = Mouse.getEventButton();
 
-				TouchEvent event = usedTouchEvents.obtain();
-				event.x = x;
-				event.y = y;
-				event.button = toGdxButton(button);
-				event.pointer = 0;
-				event.timeStamp = Mouse.getEventNanoseconds();
+				int gdxButton = toGdxButton(button);
+				long time = Mouse.getEventNanoseconds();
 
 				// could be drag, scroll or move
 				if (button == -1) {
 					if (Mouse.getEventDWheel() != 0) {
-						event.type = TouchEvent.TOUCH_SCROLLED;
-						event.scrollAmount = (int)-Math.signum(Mouse.getEventDWheel());
+						events.scrolled((int)-Math.signum(Mouse.getEventDWheel()), time);
 					} else if (pressedButtons.size() > 0) {
-						event.type = TouchEvent.TOUCH_DRAGGED;
+						events.touchDragged(x, y, 0, time);
 					} else {
-						event.type = TouchEvent.TOUCH_MOVED;
+						events.mouseMoved(x, y, time);
 					}
 				} else {
 					// nope, it's a down or up event.
 					if (Mouse.getEventButtonState()) {
-						event.type = TouchEvent.TOUCH_DOWN;
-						pressedButtons.add(event.button);
+						events.touchDown(x, y, 0, gdxButton, time);
+						pressedButtons.add(gdxButton);
 						justTouched = true;
 					} else {
-						event.type = TouchEvent.TOUCH_UP;
-						pressedButtons.remove(event.button);
+						events.touchUp(x, y, 0, gdxButton, time);
+						pressedButtons.remove(gdxButton);
 					}
 				}
 
-				touchEvents.add(event);
-				mouseX = event.x;
-				mouseY = event.y;
+				mouseX = x;
+				mouseY = y;
 				deltaX = Mouse.getEventDX();
 				deltaY = Mouse.getEventDY();
 			}
 
-			if (events == 0) {
+			if (eventCount == 0) {
 				deltaX = 0;
 				deltaY = 0;
 			} else {
@@ -780,12 +712,8 @@ final class LwjglInput implements Input {
 			if (keyRepeatTimer < 0) {
 				keyRepeatTimer = keyRepeatTime;
 
-				KeyEvent event = usedKeyEvents.obtain();
-				event.keyCode = 0;
-				event.keyChar = lastKeyCharPressed;
-				event.type = KeyEvent.KEY_TYPED;
-				event.timeStamp = System.nanoTime(); // FIXME this should use the repeat time plus the timestamp of the original
-				keyEvents.add(event);
+				// FIXME this should use the repeat time plus the timestamp of the original
+				events.keyTyped(lastKeyCharPressed, System.nanoTime());
 				Gdx.graphics.requestRendering();
 			}
 		}
@@ -803,19 +731,8 @@ final class LwjglInput implements Input {
 						break;
 					}
 
-					KeyEvent event = usedKeyEvents.obtain();
-					event.keyCode = keyCode;
-					event.keyChar = 0;
-					event.type = KeyEvent.KEY_DOWN;
-					event.timeStamp = timeStamp;
-					keyEvents.add(event);
-
-					event = usedKeyEvents.obtain();
-					event.keyCode = 0;
-					event.keyChar = keyChar;
-					event.type = KeyEvent.KEY_TYPED;
-					event.timeStamp = timeStamp;
-					keyEvents.add(event);
+					events.keyDown(keyCode, timeStamp);
+					events.keyTyped(keyChar, timeStamp);
 
 					pressedKeys++;
 					lastKeyCharPressed = keyChar;
@@ -823,12 +740,7 @@ final class LwjglInput implements Input {
 				} else {
 					int keyCode = LwjglInput.getGdxKeyCode(Keyboard.getEventKey());
 
-					KeyEvent event = usedKeyEvents.obtain();
-					event.keyCode = keyCode;
-					event.keyChar = 0;
-					event.type = KeyEvent.KEY_UP;
-					event.timeStamp = Keyboard.getEventNanoseconds();
-					keyEvents.add(event);
+					events.keyUp(keyCode, Keyboard.getEventNanoseconds());
 
 					pressedKeys--;
 					lastKeyCharPressed = 0;
@@ -960,7 +872,7 @@ final class LwjglInput implements Input {
 
 	@Override
 	public long getCurrentEventTime () {
-		return currentEventTimeStamp;
+		return events.getCurrentEventTime();
 	}
 
 	@Override
@@ -968,31 +880,4 @@ final class LwjglInput implements Input {
 		// TODO Auto-generated method stub
 
 	}
-
-	class KeyEvent {
-		static final int KEY_DOWN = 0;
-		static final int KEY_UP = 1;
-		static final int KEY_TYPED = 2;
-
-		long timeStamp;
-		int type;
-		int keyCode;
-		char keyChar;
-	}
-
-	class TouchEvent {
-		static final int TOUCH_DOWN = 0;
-		static final int TOUCH_UP = 1;
-		static final int TOUCH_DRAGGED = 2;
-		static final int TOUCH_SCROLLED = 3;
-		static final int TOUCH_MOVED = 4;
-
-		long timeStamp;
-		int type;
-		int x;
-		int y;
-		int scrollAmount;
-		int button;
-		int pointer;
-	}
 }
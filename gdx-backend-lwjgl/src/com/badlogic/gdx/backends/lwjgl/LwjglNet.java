@@ -77,4 +77,8 @@ public class LwjglNet implements Net {
 		}
 	}
 
+	/** @return The HTTP client, for its request metrics. */
+	public NetJavaImpl getNetJavaImpl () {
+		return netJavaImpl;
+	}
 }
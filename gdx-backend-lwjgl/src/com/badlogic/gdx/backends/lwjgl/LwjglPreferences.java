@@ -17,24 +17,99 @@
 package com.badlogic.gdx.backends.lwjgl;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.DataInput;
+import com.badlogic.gdx.utils.DataOutput;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
 
+/** Keeps the values typed, without converting them to strings, and stores them in a compact binary format. Files written as XML
+ * by earlier versions are still read.
+ * <p>
+ * {@link #flush()} only copies the values; a background thread shared by all preferences writes them. Flushes made while a
+ * write is pending are coalesced. The file is written to a temporary file which then replaces it, so a crash never leaves a
+ * partially written file. Pending writes are finished when the JVM exits, {@link #finishWrites()} waits for them explicitly. */
 public class LwjglPreferences implements Preferences {
+	static private final int BOOLEAN = 0, INTEGER = 1, LONG = 2, FLOAT = 3, STRING = 4;
+	static private final int MAGIC = 0x67647870, VERSION = 1;
+
+	static private final ExecutorService writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		@Override
+		public Thread newThread (Runnable r) {
+			Thread thread = new Thread(r, "Preferences-Writer");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+	// Files.move(Path, Path, CopyOption...) and its options, null before Java 7.
+	static private Method move, toPath;
+	static private Object atomicMove, replaceExisting;
+	static {
+		try {
+			Class copyOption = Class.forName("java.nio.file.CopyOption");
+			Class standardCopyOption = Class.forName("java.nio.file.StandardCopyOption");
+			Class path = Class.forName("java.nio.file.Path");
+			Method move = Class.forName("java.nio.file.Files").getMethod("move", path, path, Array.newInstance(copyOption, 0).getClass());
+			toPath = File.class.getMethod("toPath");
+			atomicMove = Array.newInstance(copyOption, 1);
+			Array.set(atomicMove, 0, standardCopyOption.getField("ATOMIC_MOVE").get(null));
+			replaceExisting = Array.newInstance(copyOption, 1);
+			Array.set(replaceExisting, 0, standardCopyOption.getField("REPLACE_EXISTING").get(null));
+			LwjglPreferences.move = move;
+		} catch (Exception ignored) {
+		}
+	}
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread("Preferences-Shutdown") {
+			public void run () {
+				finishWrites();
+			}
+		});
+	}
+
 	private final String name;
-	private final Properties properties = new Properties();
 	private final FileHandle file;
+	private boolean syncOnWrite = true;
+
+	// Each value has a slot in the arrays. Booleans, ints, longs and float bits are stored in values.
+	private final ObjectIntMap<String> slots = new ObjectIntMap();
+	private String[] keys = new String[16];
+	private byte[] types = new byte[16];
+	private long[] values = new long[16];
+	private String[] strings = new String[16];
+	private int size;
+	private boolean modified = true;
+
+	// Flush copies into pending. The writer thread swaps it with writing, then encodes writing without holding the lock, so a
+	// flush never waits for an encode. Guarded by lock.
+	private final Object lock = new Object();
+	private Snapshot pending = new Snapshot(), writing = new Snapshot();
+	private boolean queued;
+	private final Runnable write = new Runnable() {
+		public void run () {
+			write();
+		}
+	};
 
 	public LwjglPreferences (String name) {
 		this(new LwjglFileHandle(new File(".prefs/" + name), FileType.External));
@@ -43,11 +118,24 @@ public class LwjglPreferences implements Preferences {
 	public LwjglPreferences (FileHandle file) {
 		this.name = file.name();
 		this.file = file;
-		if (!file.exists()) return;
+		FileHandle source = file;
+		if (!file.exists()) {
+			// A write may have stopped between renaming the file to its backup and renaming the new file.
+			source = new LwjglFileHandle(backup(file.file()), FileType.Absolute);
+			if (!source.exists()) return;
+		}
 		InputStream in = null;
 		try {
-			in = new BufferedInputStream(file.read());
-			properties.loadFromXML(in);
+			in = new BufferedInputStream(source.read());
+			in.mark(4);
+			DataInput input = new DataInput(in);
+			if (input.readInt() == MAGIC)
+				read(input);
+			else {
+				in.reset();
+				readXml(in);
+			}
+			modified = false;
 		} catch (Throwable t) {
 			t.printStackTrace();
 		} finally {
@@ -58,29 +146,100 @@ public class LwjglPreferences implements Preferences {
 		}
 	}
 
+	private void read (DataInput input) throws IOException {
+		int version = input.readUnsignedByte();
+		if (version != VERSION) throw new IOException("Unknown preferences version: " + version);
+		for (int i = 0, n = input.readInt(true); i < n; i++) {
+			int type = input.readUnsignedByte();
+			String key = input.readString();
+			switch (type) {
+			case BOOLEAN:
+				set(key, BOOLEAN, input.readBoolean() ? 1 : 0, null);
+				break;
+			case INTEGER:
+				set(key, INTEGER, input.readInt(false), null);
+				break;
+			case LONG:
+				set(key, LONG, input.readLong(), null);
+				break;
+			case FLOAT:
+				set(key, FLOAT, input.readInt(), null);
+				break;
+			case STRING:
+				set(key, STRING, 0, input.readString());
+				break;
+			default:
+				throw new IOException("Unknown preferences type: " + type);
+			}
+		}
+	}
+
+	private void readXml (InputStream in) throws IOException {
+		Properties properties = new Properties();
+		properties.loadFromXML(in);
+		for (Entry<Object, Object> entry : properties.entrySet())
+			set((String)entry.getKey(), STRING, 0, (String)entry.getValue());
+	}
+
+	/** If true, each write is synced to the storage device before the previous file is replaced. This makes sure the new values
+	 * survive a power failure, at the cost of slower writes on the background thread. Default is true. */
+	public void setSyncOnWrite (boolean syncOnWrite) {
+		synchronized (lock) {
+			this.syncOnWrite = syncOnWrite;
+		}
+	}
+
+	private synchronized void set (String key, int type, long value, String string) {
+		int slot = slots.get(key, -1);
+		if (slot == -1) {
+			slot = size++;
+			if (slot == keys.length) {
+				int capacity = slot * 2;
+				String[] newKeys = new String[capacity];
+				System.arraycopy(keys, 0, newKeys, 0, slot);
+				keys = newKeys;
+				byte[] newTypes = new byte[capacity];
+				System.arraycopy(types, 0, newTypes, 0, slot);
+				types = newTypes;
+				long[] newValues = new long[capacity];
+				System.arraycopy(values, 0, newValues, 0, slot);
+				values = newValues;
+				String[] newStrings = new String[capacity];
+				System.arraycopy(strings, 0, newStrings, 0, slot);
+				strings = newStrings;
+			}
+			slots.put(key, slot);
+			keys[slot] = key;
+		}
+		types[slot] = (byte)type;
+		values[slot] = value;
+		strings[slot] = string;
+		modified = true;
+	}
+
 	@Override
 	public void putBoolean (String key, boolean val) {
-		properties.put(key, Boolean.toString(val));
+		set(key, BOOLEAN, val ? 1 : 0, null);
 	}
 
 	@Override
 	public void putInteger (String key, int val) {
-		properties.put(key, Integer.toString(val));
+		set(key, INTEGER, val, null);
 	}
 
 	@Override
 	public void putLong (String key, long val) {
-		properties.put(key, Long.toString(val));
+		set(key, LONG, val, null);
 	}
 
 	@Override
 	public void putFloat (String key, float val) {
-		properties.put(key, Float.toString(val));
+		set(key, FLOAT, Float.floatToIntBits(val), null);
 	}
 
 	@Override
 	public void putString (String key, String val) {
-		properties.put(key, val);
+		set(key, STRING, 0, val);
 	}
 
 	@Override
@@ -119,74 +278,295 @@ public class LwjglPreferences implements Preferences {
 		return getString(key, "");
 	}
 
+	// Values of another type are converted from their string form, as when all values were stored as strings.
+
 	@Override
-	public boolean getBoolean (String key, boolean defValue) {
-		return Boolean.parseBoolean(properties.getProperty(key, Boolean.toString(defValue)));
+	public synchronized boolean getBoolean (String key, boolean defValue) {
+		int slot = slots.get(key, -1);
+		if (slot == -1) return defValue;
+		if (types[slot] == BOOLEAN) return values[slot] != 0;
+		return Boolean.parseBoolean(toString(slot));
 	}
 
 	@Override
-	public int getInteger (String key, int defValue) {
-		return Integer.parseInt(properties.getProperty(key, Integer.toString(defValue)));
+	public synchronized int getInteger (String key, int defValue) {
+		int slot = slots.get(key, -1);
+		if (slot == -1) return defValue;
+		if (types[slot] == INTEGER) return (int)values[slot];
+		return Integer.parseInt(toString(slot));
 	}
 
 	@Override
-	public long getLong (String key, long defValue) {
-		return Long.parseLong(properties.getProperty(key, Long.toString(defValue)));
+	public synchronized long getLong (String key, long defValue) {
+		int slot = slots.get(key, -1);
+		if (slot == -1) return defValue;
+		if (types[slot] == LONG || types[slot] == INTEGER) return values[slot];
+		return Long.parseLong(toString(slot));
 	}
 
 	@Override
-	public float getFloat (String key, float defValue) {
-		return Float.parseFloat(properties.getProperty(key, Float.toString(defValue)));
+	public synchronized float getFloat (String key, float defValue) {
+		int slot = slots.get(key, -1);
+		if (slot == -1) return defValue;
+		if (types[slot] == FLOAT) return Float.intBitsToFloat((int)values[slot]);
+		return Float.parseFloat(toString(slot));
 	}
 
 	@Override
-	public String getString (String key, String defValue) {
-		return properties.getProperty(key, defValue);
+	public synchronized String getString (String key, String defValue) {
+		int slot = slots.get(key, -1);
+		if (slot == -1) return defValue;
+		return toString(slot);
+	}
+
+	private String toString (int slot) {
+		long value = values[slot];
+		switch (types[slot]) {
+		case BOOLEAN:
+			return Boolean.toString(value != 0);
+		case INTEGER:
+		case LONG:
+			return Long.toString(value);
+		case FLOAT:
+			return Float.toString(Float.intBitsToFloat((int)value));
+		}
+		return strings[slot];
 	}
 
 	@Override
-	public Map<String, ?> get () {
+	public synchronized Map<String, ?> get () {
 		Map<String, Object> map = new HashMap<String, Object>();
-		for (Entry<Object, Object> val : properties.entrySet()) {
-			if (val.getValue() instanceof Boolean)
-				map.put((String)val.getKey(), (Boolean)Boolean.parseBoolean((String)val.getValue()));
-			if (val.getValue() instanceof Integer) map.put((String)val.getKey(), (Integer)Integer.parseInt((String)val.getValue()));
-			if (val.getValue() instanceof Long) map.put((String)val.getKey(), (Long)Long.parseLong((String)val.getValue()));
-			if (val.getValue() instanceof String) map.put((String)val.getKey(), (String)val.getValue());
-			if (val.getValue() instanceof Float) map.put((String)val.getKey(), (Float)Float.parseFloat((String)val.getValue()));
+		for (int i = 0; i < size; i++) {
+			long value = values[i];
+			switch (types[i]) {
+			case BOOLEAN:
+				map.put(keys[i], value != 0);
+				break;
+			case INTEGER:
+				map.put(keys[i], (int)value);
+				break;
+			case LONG:
+				map.put(keys[i], value);
+				break;
+			case FLOAT:
+				map.put(keys[i], Float.intBitsToFloat((int)value));
+				break;
+			case STRING:
+				map.put(keys[i], strings[i]);
+				break;
+			}
 		}
-
 		return map;
 	}
 
 	@Override
-	public boolean contains (String key) {
-		return properties.containsKey(key);
+	public synchronized boolean contains (String key) {
+		return slots.containsKey(key);
 	}
 
 	@Override
-	public void clear () {
-		properties.clear();
+	public synchronized void clear () {
+		slots.clear();
+		for (int i = 0; i < size; i++) {
+			keys[i] = null;
+			strings[i] = null;
+		}
+		size = 0;
+		modified = true;
+	}
+
+	@Override
+	public synchronized void remove (String key) {
+		int slot = slots.remove(key, -1);
+		if (slot == -1) return;
+		// Move the last value into the removed slot.
+		int last = --size;
+		if (slot != last) {
+			keys[slot] = keys[last];
+			types[slot] = types[last];
+			values[slot] = values[last];
+			strings[slot] = strings[last];
+			slots.put(keys[slot], slot);
+		}
+		keys[last] = null;
+		strings[last] = null;
+		modified = true;
 	}
 
+	/** Copies the values and returns, the file is written on a background thread. Does nothing if no value changed since the last
+	 * flush. */
 	@Override
-	public void flush () {
-		OutputStream out = null;
+	public synchronized void flush () {
+		if (!modified) return;
+		modified = false;
+		synchronized (lock) {
+			pending.copy(this);
+			if (queued) return;
+			queued = true;
+		}
+		writer.execute(write);
+	}
+
+	/** Called on the writer thread. Encodes the latest snapshot and replaces the file with it. */
+	void write () {
+		Snapshot snapshot;
+		boolean sync;
+		synchronized (lock) {
+			snapshot = pending;
+			pending = writing;
+			writing = snapshot;
+			queued = false;
+			sync = syncOnWrite;
+		}
+		// The snapshot isn't changed until the next write, which runs on this thread.
 		try {
-			out = new BufferedOutputStream(file.write(false));
-			properties.storeToXML(out, null);
-		} catch (Exception ex) {
-			throw new GdxRuntimeException("Error writing preferences: " + file, ex);
-		} finally {
-			if (out != null) try {
+			snapshot.encode();
+		} catch (IOException ex) {
+			throw new GdxRuntimeException(ex); // Writing to memory.
+		}
+		byte[] bytes = snapshot.bytes.buffer();
+		int length = snapshot.bytes.size();
+		File osFile = file.file();
+		File tempFile = new File(osFile.getPath() + ".tmp");
+		try {
+			File parent = osFile.getParentFile();
+			if (parent != null) parent.mkdirs();
+			FileOutputStream out = new FileOutputStream(tempFile);
+			try {
+				out.write(bytes, 0, length);
+				if (sync) out.getFD().sync();
+			} finally {
 				out.close();
-			} catch (Exception e) {
 			}
+			replace(tempFile, osFile);
+		} catch (Exception ex) {
+			tempFile.delete();
+			error("Error writing preferences: " + file, ex);
 		}
 	}
 
-	@Override
-	public void remove (String key) {
-		properties.remove(key);
+	/** Moves the source over the target. Uses Files.move when running on Java 7 or later, atomically if the file system allows it.
+	 * Otherwise the target is renamed to a backup first, because renaming over an existing file fails on Windows, and the backup is
+	 * only deleted once the source is in place. */
+	static private void replace (File source, File target) throws IOException {
+		if (move != null) {
+			try {
+				try {
+					move.invoke(null, toPath.invoke(source), toPath.invoke(target), atomicMove);
+				} catch (InvocationTargetException ex) {
+					move.invoke(null, toPath.invoke(source), toPath.invoke(target), replaceExisting);
+				}
+				return;
+			} catch (InvocationTargetException ex) {
+				throw new IOException("Unable to replace the file with: " + source, ex.getCause());
+			} catch (IllegalAccessException ex) {
+				throw new IOException("Unable to replace the file with: " + source, ex);
+			}
+		}
+		if (source.renameTo(target)) return;
+		File backup = backup(target);
+		backup.delete();
+		if (target.exists() && !target.renameTo(backup)) throw new IOException("Unable to replace the file with: " + source);
+		if (!source.renameTo(target)) {
+			backup.renameTo(target);
+			throw new IOException("Unable to replace the file with: " + source);
+		}
+		backup.delete();
+	}
+
+	static File backup (File file) {
+		return new File(file.getPath() + ".bak");
+	}
+
+	static private void error (String message, Exception ex) {
+		if (Gdx.app != null)
+			Gdx.app.error("LwjglPreferences", message, ex);
+		else
+			new GdxRuntimeException(message, ex).printStackTrace();
+	}
+
+	/** Blocks until all preferences flushed before this call are written. */
+	static public void finishWrites () {
+		try {
+			writer.submit(new Runnable() {
+				public void run () {
+				}
+			}).get(10, TimeUnit.SECONDS);
+		} catch (Exception ex) {
+			error("Error waiting for preferences to be written.", ex);
+		}
+	}
+
+	static private class Snapshot {
+		String[] keys = {};
+		byte[] types = {};
+		long[] values = {};
+		String[] strings = {};
+		int size;
+		final Bytes bytes = new Bytes();
+		final DataOutput output = new DataOutput(bytes);
+
+		void copy (LwjglPreferences prefs) {
+			int size = prefs.size;
+			if (keys.length < size) {
+				int capacity = prefs.keys.length;
+				keys = new String[capacity];
+				types = new byte[capacity];
+				values = new long[capacity];
+				strings = new String[capacity];
+			}
+			System.arraycopy(prefs.keys, 0, keys, 0, size);
+			System.arraycopy(prefs.types, 0, types, 0, size);
+			System.arraycopy(prefs.values, 0, values, 0, size);
+			System.arraycopy(prefs.strings, 0, strings, 0, size);
+			for (int i = size, n = this.size; i < n; i++) {
+				keys[i] = null;
+				strings[i] = null;
+			}
+			this.size = size;
+		}
+
+		void encode () throws IOException {
+			bytes.reset();
+			DataOutput output = this.output;
+			output.writeInt(MAGIC);
+			output.writeByte(VERSION);
+			output.writeInt(size, true);
+			for (int i = 0; i < size; i++) {
+				int type = types[i];
+				long value = values[i];
+				output.writeByte(type);
+				output.writeString(keys[i]);
+				switch (type) {
+				case BOOLEAN:
+					output.writeBoolean(value != 0);
+					break;
+				case INTEGER:
+					output.writeInt((int)value, false);
+					break;
+				case LONG:
+					output.writeLong(value);
+					break;
+				case FLOAT:
+					output.writeInt((int)value);
+					break;
+				case STRING:
+					output.writeString(strings[i]);
+					break;
+				}
+			}
+			output.flush();
+		}
+	}
+
+	/** Exposes the buffer so it can be written without a copy. */
+	static private class Bytes extends ByteArrayOutputStream {
+		Bytes () {
+			super(256);
+		}
+
+		byte[] buffer () {
+			return buf;
+		}
 	}
 }
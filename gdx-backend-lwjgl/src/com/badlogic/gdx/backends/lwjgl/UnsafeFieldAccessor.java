@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.lwjgl;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import sun.misc.Unsafe;
+
+import com.badlogic.gdx.utils.FieldAccessor;
+import com.badlogic.gdx.utils.Json;
+
+/** A {@link FieldAccessor} that uses sun.misc.Unsafe to access fields of type int, long, float, double and object directly using
+ * the field's offset, which avoids the access checks and boxing of reflection. Other fields use reflection. The desktop and
+ * headless applications {@link #install() install} it when they are created, so {@link Json} uses it for classes it reads or
+ * writes afterward. */
+public class UnsafeFieldAccessor extends FieldAccessor {
+	static private final int OBJECT = 0, INT = 1, LONG = 2, FLOAT = 3, DOUBLE = 4;
+	static private Unsafe unsafe;
+
+	private final int kind;
+	private final long offset;
+
+	private UnsafeFieldAccessor (Field field, int kind, long offset) {
+		super(field);
+		this.kind = kind;
+		this.offset = offset;
+	}
+
+	public Object get (Object object) throws IllegalAccessException {
+		switch (kind) {
+		case OBJECT:
+			return unsafe.getObject(object, offset);
+		case INT:
+			return unsafe.getInt(object, offset);
+		case FLOAT:
+			return Float.intBitsToFloat(unsafe.getInt(object, offset));
+		case LONG:
+			return unsafe.getLong(object, offset);
+		default:
+			return Double.longBitsToDouble(unsafe.getLong(object, offset));
+		}
+	}
+
+	public void set (Object object, Object value) throws IllegalAccessException {
+		switch (kind) {
+		case OBJECT:
+			if (value == null || type.isInstance(value)) {
+				unsafe.putObject(object, offset, value);
+				return;
+			}
+			break;
+		case INT:
+			if (value instanceof Integer) {
+				unsafe.putInt(object, offset, (Integer)value);
+				return;
+			}
+			break;
+		case FLOAT:
+			if (value instanceof Float) {
+				unsafe.putInt(object, offset, Float.floatToRawIntBits((Float)value));
+				return;
+			}
+			break;
+		case LONG:
+			if (value instanceof Long) {
+				unsafe.putLong(object, offset, (Long)value);
+				return;
+			}
+			break;
+		case DOUBLE:
+			if (value instanceof Double) {
+				unsafe.putLong(object, offset, Double.doubleToRawLongBits((Double)value));
+				return;
+			}
+			break;
+		}
+		// Let reflection convert or reject the value.
+		field.set(object, value);
+	}
+
+	public void setInt (Object object, int value) throws IllegalAccessException {
+		if (kind == INT)
+			unsafe.putInt(object, offset, value);
+		else
+			field.setInt(object, value);
+	}
+
+	public void setFloat (Object object, float value) throws IllegalAccessException {
+		if (kind == FLOAT)
+			unsafe.putInt(object, offset, Float.floatToRawIntBits(value));
+		else
+			field.setFloat(object, value);
+	}
+
+	public void setLong (Object object, long value) throws IllegalAccessException {
+		if (kind == LONG)
+			unsafe.putLong(object, offset, value);
+		else
+			field.setLong(object, value);
+	}
+
+	public void setDouble (Object object, double value) throws IllegalAccessException {
+		if (kind == DOUBLE)
+			unsafe.putLong(object, offset, Double.doubleToRawLongBits(value));
+		else
+			field.setDouble(object, value);
+	}
+
+	/** Sets the {@link FieldAccessor#setFactory(FieldAccessor.Factory) factory} to create Unsafe accessors.
+	 * @return false if sun.misc.Unsafe is not available, in which case reflection continues to be used. */
+	static public boolean install () {
+		if (unsafe == null) {
+			try {
+				Field field = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+				field.setAccessible(true);
+				unsafe = (Unsafe)field.get(null);
+			} catch (Throwable ex) {
+				return false;
+			}
+		}
+		FieldAccessor.setFactory(new FieldAccessor.Factory() {
+			public FieldAccessor newAccessor (Field field) {
+				// Volatile fields need the memory semantics of reflection.
+				if (Modifier.isVolatile(field.getModifiers())) return null;
+				Class type = field.getType();
+				int kind;
+				if (!type.isPrimitive())
+					kind = OBJECT;
+				else if (type == int.class)
+					kind = INT;
+				else if (type == float.class)
+					kind = FLOAT;
+				else if (type == long.class)
+					kind = LONG;
+				else if (type == double.class)
+					kind = DOUBLE;
+				else
+					return null;
+				try {
+					return new UnsafeFieldAccessor(field, kind, unsafe.objectFieldOffset(field));
+				} catch (Throwable ex) {
+					return null;
+				}
+			}
+		});
+		return true;
+	}
+}
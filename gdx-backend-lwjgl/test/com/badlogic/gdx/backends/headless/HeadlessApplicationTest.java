@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.backends.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Renders a fixed SpriteBatch workload on the {@link MockGL} and fails if the draw calls, texture bindings, vertices or total GL
+ * calls per frame exceed their budgets, so batching regressions are caught without a GPU or timing noise. Also checks that the
+ * listener is disposed when render throws, but not when create throws. Run with the gdx and gdx-backend-lwjgl classes and the
+ * gdx natives on the classpath. */
+public class HeadlessApplicationTest {
+	static final int frames = 100, sprites = 250, run = 50;
+	// Each run of sprites with the same texture is one draw call of 6 indices per sprite.
+	static final int drawCallBudget = sprites / run, vertexBudget = sprites * 6, textureBindingBudget = sprites / run;
+	// Measured at 79 on GL10 and 77 on GL20, the state setup of begin, end and each flush.
+	static final int callBudget = 80;
+
+	public static void main (String[] args) throws Exception {
+		for (boolean useGL20 : new boolean[] {false, true})
+			workload(useGL20);
+		disposeOnError();
+		System.out.println("Passed.");
+	}
+
+	static void workload (boolean useGL20) {
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.useGL20 = useGL20;
+		config.realTime = false;
+		config.maxFrames = frames;
+		final int[] max = new int[4];
+		HeadlessApplication app = new HeadlessApplication(new ApplicationAdapter() {
+			SpriteBatch batch;
+			Texture[] textures;
+			MockGL gl;
+
+			public void create () {
+				batch = new SpriteBatch(100);
+				textures = new Texture[] {new Texture(8, 8, Format.RGBA8888), new Texture(8, 8, Format.RGBA8888)};
+				gl = ((HeadlessGraphics)Gdx.graphics).getMockGL();
+			}
+
+			public void render () {
+				gl.reset();
+				batch.begin();
+				for (int i = 0; i < sprites; i++)
+					batch.draw(textures[i / run % 2], i % 64, i / 64, 8, 8);
+				batch.end();
+				max[0] = Math.max(max[0], gl.getDrawCalls());
+				max[1] = Math.max(max[1], gl.getVertices());
+				max[2] = Math.max(max[2], gl.getTextureBindings());
+				max[3] = Math.max(max[3], gl.getCalls());
+			}
+
+			public void dispose () {
+				batch.dispose();
+				for (Texture texture : textures)
+					texture.dispose();
+			}
+		}, config);
+		app.join();
+
+		String name = useGL20 ? "GL20" : "GL10";
+		System.out.println(name + ": " + max[0] + " draw calls, " + max[1] + " vertices, " + max[2] + " texture bindings, " + max[3]
+			+ " GL calls per frame");
+		check(name, "draw calls", max[0], drawCallBudget);
+		check(name, "vertices", max[1], vertexBudget);
+		check(name, "texture bindings", max[2], textureBindingBudget);
+		check(name, "GL calls", max[3], callBudget);
+	}
+
+	static void check (String name, String counter, int value, int budget) {
+		if (value > budget) throw new GdxRuntimeException(name + ": " + value + " " + counter + " per frame, budget is " + budget);
+	}
+
+	static void disposeOnError () throws Exception {
+		if (!disposedAfter(false)) throw new GdxRuntimeException("Listener was not disposed after render threw.");
+		if (disposedAfter(true)) throw new GdxRuntimeException("Listener was disposed after create threw.");
+	}
+
+	static boolean disposedAfter (final boolean createThrows) throws Exception {
+		final boolean[] disposed = new boolean[1];
+		Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+		Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			public void uncaughtException (Thread thread, Throwable ex) {
+			}
+		});
+		try {
+			HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+			config.realTime = false;
+			HeadlessApplication app = new HeadlessApplication(new ApplicationAdapter() {
+				public void create () {
+					if (createThrows) throw new IllegalStateException();
+				}
+
+				public void render () {
+					throw new IllegalStateException();
+				}
+
+				public void dispose () {
+					disposed[0] = true;
+				}
+			}, config);
+			app.join();
+		} finally {
+			Thread.setDefaultUncaughtExceptionHandler(handler);
+		}
+		return disposed[0];
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.backends.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.backends.lwjgl.FramePacer;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Runs a {@link HeadlessApplication} paced by its {@link FramePacer} at 60, 120 and 144Hz with a 2ms render, and fails if the
+ * mean frame interval is off by more than 1% or the RMS error of the intervals is over 2ms. Also checks that
+ * {@link FramePacer#smooth(float)} leaves a single hitch out of the average and follows a lasting change in frame rate. Run with
+ * the gdx and gdx-backend-lwjgl classes and the gdx natives on the classpath. */
+public class HeadlessPacingTest {
+	static final int seconds = 2;
+	static final long renderTime = 2000000;
+
+	public static void main (String[] args) throws Exception {
+		for (int hz : new int[] {60, 120, 144})
+			pacing(hz);
+		smoothing();
+		System.out.println("Passed.");
+	}
+
+	static void pacing (final int hz) {
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.updatesPerSecond = hz;
+		config.maxFrames = hz * seconds + 2;
+		final long[] times = new long[(int)config.maxFrames];
+		HeadlessApplication app = new HeadlessApplication(new ApplicationAdapter() {
+			int frame;
+
+			public void render () {
+				long start = System.nanoTime();
+				times[frame++] = start;
+				while (System.nanoTime() - start < renderTime) {
+				}
+			}
+		}, config);
+		app.join();
+
+		// The first sync starts the schedule without waiting, so the first interval is skipped.
+		int intervals = times.length - 2;
+		double target = 1000000000.0 / hz, mean = (times[times.length - 1] - times[1]) / (double)intervals, error = 0;
+		for (int i = 2; i < times.length; i++) {
+			double delta = times[i] - times[i - 1] - target;
+			error += delta * delta;
+		}
+		error = Math.sqrt(error / intervals);
+		System.out.println(hz + "Hz: " + format(mean) + "ms mean interval, " + format(error) + "ms RMS error, target "
+			+ format(target) + "ms");
+		if (Math.abs(mean - target) > target * 0.01)
+			throw new GdxRuntimeException(hz + "Hz: mean interval " + format(mean) + "ms, expected " + format(target) + "ms");
+		if (error > 2000000) throw new GdxRuntimeException(hz + "Hz: RMS error " + format(error) + "ms is over 2ms");
+	}
+
+	static void smoothing () {
+		FramePacer pacer = new FramePacer();
+		float frame = 1 / 60f, smoothed = 0;
+		for (int i = 0; i < 16; i++)
+			smoothed = pacer.smooth(frame);
+		// A single hitch is left out of the average.
+		smoothed = pacer.smooth(0.25f);
+		if (Math.abs(smoothed - frame) > 0.0001f) throw new GdxRuntimeException("Hitch was not left out: " + smoothed);
+		if (pacer.getOutliers() != 1) throw new GdxRuntimeException("Expected 1 outlier: " + pacer.getOutliers());
+		// A lasting drop to 30fps is followed within the window.
+		int frames = 0;
+		do {
+			smoothed = pacer.smooth(1 / 30f);
+			if (++frames > 8) throw new GdxRuntimeException("Smoothed delta did not follow 30fps: " + smoothed);
+		} while (Math.abs(smoothed - 1 / 30f) > 0.0001f);
+		System.out.println("Smoothing followed 30fps after " + frames + " frames.");
+	}
+
+	static String format (double nanos) {
+		return String.valueOf(Math.round(nanos / 1000) / 1000.0);
+	}
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.lwjgl;
+
+import com.badlogic.gdx.backends.lwjgl.FrameScheduler.Phase;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+/** Checks that {@link FrameScheduler} runs the runnables posted by several threads in the order each thread posted them, that
+ * runnables left over when the budget is used up run in order on the next frames, that every phase runs at least one runnable
+ * per frame, that a runnable posted while its phase runs waits for the next frame, and that an exception leaves the rest
+ * queued. Run with the gdx and gdx-backend-lwjgl classes on the classpath, no display is needed. */
+public class FrameSchedulerTest {
+	public static void main (String[] args) throws Exception {
+		checkFifo(4, 100000);
+		checkBudget();
+		checkRepost();
+		checkException();
+		System.out.println("Passed.");
+	}
+
+	/** Runs frames while the threads post, then checks each thread's runnables ran once each, in order. */
+	static void checkFifo (int threads, final int count) throws Exception {
+		final FrameScheduler scheduler = new FrameScheduler();
+		final int[] next = new int[threads];
+		Thread[] posters = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final int thread = t;
+			posters[t] = new Thread() {
+				public void run () {
+					for (int i = 0; i < count; i++) {
+						final int sequence = i;
+						scheduler.post(new Runnable() {
+							public void run () {
+								if (next[thread] != sequence)
+									throw new GdxRuntimeException("Thread " + thread + " runnable " + sequence + " ran, expected: " + next[thread]);
+								next[thread]++;
+							}
+						}, Phase.values()[thread % 3]);
+					}
+				}
+			};
+			posters[t].start();
+		}
+		boolean posting = true;
+		while (posting || scheduler.getQueued() > 0) {
+			posting = false;
+			for (Thread poster : posters)
+				if (poster.isAlive()) posting = true;
+			scheduler.beginFrame();
+			for (Phase phase : Phase.values())
+				scheduler.run(phase);
+		}
+		for (int t = 0; t < threads; t++)
+			if (next[t] != count) throw new GdxRuntimeException("Thread " + t + " ran " + next[t] + " of " + count);
+	}
+
+	/** Posts runnables that each take 0.1ms with a 2ms budget, then checks they are spread over frames in order. */
+	static void checkBudget () {
+		FrameScheduler scheduler = new FrameScheduler();
+		scheduler.setBudget(2000000);
+		final IntArray order = new IntArray();
+		int count = 100;
+		for (int i = 0; i < count; i++)
+			scheduler.post(new Task(order, i, 100000), Phase.preInput);
+		scheduler.post(new Task(order, -1, 0), Phase.preRender);
+
+		scheduler.beginFrame();
+		scheduler.run(Phase.preInput);
+		scheduler.run(Phase.preRender);
+		scheduler.beginFrame();
+		int executed = scheduler.getExecuted();
+		// The preRender runnable runs although preInput used up the budget.
+		if (order.peek() != -1) throw new GdxRuntimeException("Phase without budget ran nothing.");
+		if (executed < 3 || executed > count / 2) throw new GdxRuntimeException("Runnables run in the first frame: " + executed);
+		if (scheduler.getDeferred() != count + 1 - executed)
+			throw new GdxRuntimeException("Deferred: " + scheduler.getDeferred() + ", expected: " + (count + 1 - executed));
+		if (scheduler.getQueued() != count + 1 - executed) throw new GdxRuntimeException("Queued: " + scheduler.getQueued());
+		if (scheduler.getTime() < 2000000) throw new GdxRuntimeException("Time: " + scheduler.getTime());
+		order.pop();
+
+		int frames = 1;
+		while (scheduler.getQueued() > 0) {
+			scheduler.run(Phase.preInput);
+			scheduler.beginFrame();
+			if (scheduler.getExecuted() == 0) throw new GdxRuntimeException("A frame ran nothing.");
+			frames++;
+		}
+		if (frames < 3) throw new GdxRuntimeException("Budget ignored, frames: " + frames);
+		for (int i = 0; i < count; i++)
+			if (order.get(i) != i) throw new GdxRuntimeException("Runnable " + order.get(i) + " ran at " + i);
+	}
+
+	/** A runnable that posts itself again runs once per frame. */
+	static void checkRepost () {
+		final FrameScheduler scheduler = new FrameScheduler();
+		final int[] runs = new int[1];
+		scheduler.post(new Runnable() {
+			public void run () {
+				runs[0]++;
+				scheduler.post(this, Phase.preInput);
+			}
+		}, Phase.preInput);
+		for (int frame = 1; frame <= 3; frame++) {
+			scheduler.beginFrame();
+			scheduler.run(Phase.preInput);
+			if (runs[0] != frame) throw new GdxRuntimeException("Reposted runnable ran " + runs[0] + " times in " + frame + " frames.");
+		}
+	}
+
+	/** The runnable that throws is removed, the others stay queued. */
+	static void checkException () {
+		FrameScheduler scheduler = new FrameScheduler();
+		IntArray order = new IntArray();
+		scheduler.post(new Task(order, 0, 0), Phase.postRender);
+		scheduler.post(new Runnable() {
+			public void run () {
+				throw new IllegalStateException();
+			}
+		}, Phase.postRender);
+		scheduler.post(new Task(order, 2, 0), Phase.postRender);
+		scheduler.beginFrame();
+		try {
+			scheduler.run(Phase.postRender);
+			throw new GdxRuntimeException("Exception not thrown.");
+		} catch (IllegalStateException expected) {
+		}
+		if (scheduler.getQueued() != 1) throw new GdxRuntimeException("Queued after exception: " + scheduler.getQueued());
+		scheduler.run(Phase.postRender);
+		if (order.size != 2 || order.get(1) != 2) throw new GdxRuntimeException("Order after exception: " + order);
+	}
+
+	static class Task implements Runnable {
+		final IntArray order;
+		final int id;
+		final long nanos;
+
+		Task (IntArray order, int id, long nanos) {
+			this.order = order;
+			this.id = id;
+			this.nanos = nanos;
+		}
+
+		public void run () {
+			long end = System.nanoTime() + nanos;
+			while (System.nanoTime() < end) {
+			}
+			order.add(id);
+		}
+	}
+}
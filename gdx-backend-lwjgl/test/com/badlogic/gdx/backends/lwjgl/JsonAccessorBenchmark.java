@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.backends.lwjgl;
+
+import java.util.Random;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FieldAccessor;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Json;
+
+/** Writes and reads a document of many small objects with {@link Json}, first with the reflection {@link FieldAccessor} and then
+ * with {@link UnsafeFieldAccessor}. Fails if the objects read differ from the objects written. Run with the gdx and LWJGL backend
+ * classes on the classpath, no natives are needed. */
+public class JsonAccessorBenchmark {
+	static final int objects = 20000, rounds = 10;
+
+	public static void main (String[] args) {
+		Random random = new Random(1);
+		Document document = new Document();
+		for (int i = 0; i < objects; i++) {
+			Item item = new Item();
+			item.id = random.nextInt();
+			item.count = random.nextLong();
+			item.x = random.nextFloat();
+			item.y = random.nextFloat();
+			item.weight = random.nextFloat() * 1000; // JsonReader keeps the precision of a float.
+			item.visible = random.nextBoolean();
+			item.name = "item" + i;
+			document.items.add(item);
+		}
+
+		// Alternate so both accessors are timed after the JIT has warmed up.
+		for (int pass = 0; pass < 3; pass++) {
+			FieldAccessor.setFactory(null);
+			long[] reflection = time(document);
+			if (!UnsafeFieldAccessor.install()) throw new GdxRuntimeException("sun.misc.Unsafe is not available.");
+			long[] unsafe = time(document);
+			System.out.printf("pass %d: reflection write %.1f ms, read %.1f ms; unsafe write %.1f ms, read %.1f ms%n", pass,
+				reflection[0] / 1e6, reflection[1] / 1e6, unsafe[0] / 1e6, unsafe[1] / 1e6);
+		}
+	}
+
+	/** Returns the best write and read times. A new Json is used so the accessors are created with the current factory. */
+	static long[] time (Document document) {
+		Json json = new Json();
+		json.setElementType(Document.class, "items", Item.class);
+		long bestWrite = Long.MAX_VALUE, bestRead = Long.MAX_VALUE;
+		for (int round = 0; round < rounds; round++) {
+			long start = System.nanoTime();
+			String text = json.toJson(document);
+			bestWrite = Math.min(bestWrite, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			Document read = json.fromJson(Document.class, text);
+			bestRead = Math.min(bestRead, System.nanoTime() - start);
+
+			if (read.items.size != document.items.size) throw new GdxRuntimeException("Read " + read.items.size + " items.");
+			for (int i = 0; i < read.items.size; i++)
+				if (!read.items.get(i).equals(document.items.get(i))) throw new GdxRuntimeException("Item " + i + " differs.");
+		}
+		return new long[] {bestWrite, bestRead};
+	}
+
+	static public class Document {
+		public Array<Item> items = new Array<Item>();
+	}
+
+	static public class Item {
+		public int id;
+		public long count;
+		public float x, y;
+		public double weight;
+		public boolean visible;
+		public String name;
+
+		public boolean equals (Object object) {
+			Item other = (Item)object;
+			return id == other.id && count == other.count && x == other.x && y == other.y && weight == other.weight
+				&& visible == other.visible && name.equals(other.name);
+		}
+	}
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.lwjgl;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Compares the time flush() takes on the calling thread with the XML file that was written on that thread before, and checks
+ * that preferences written as XML are read, that all value types survive being written in the binary format and read back, and
+ * that preferences are read from the backup file when a write stopped after renaming the file to its backup. Run with the gdx
+ * and gdx-backend-lwjgl classes on the classpath, no natives are needed. */
+public class LwjglPreferencesTest {
+	static final int values = 3000, flushes = 300;
+
+	public static void main (String[] args) throws Exception {
+		File directory = File.createTempFile("prefs", "");
+		directory.delete();
+		directory.mkdirs();
+		try {
+			oldXml(new File(directory, "xml"));
+			roundTrip(new File(directory, "binary"));
+			backup(new File(directory, "backup"));
+			latency(new File(directory, "latency"));
+		} finally {
+			for (File file : directory.listFiles())
+				file.delete();
+			directory.delete();
+		}
+		System.out.println("Passed.");
+	}
+
+	static LwjglPreferences open (File file) {
+		return new LwjglPreferences(new LwjglFileHandle(file, FileType.Absolute));
+	}
+
+	static void oldXml (File file) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty("name", "player");
+		properties.setProperty("level", "12");
+		properties.setProperty("volume", "0.5");
+		properties.setProperty("fullscreen", "true");
+		properties.setProperty("seed", "123456789012");
+		OutputStream output = new FileOutputStream(file);
+		try {
+			properties.storeToXML(output, null);
+		} finally {
+			output.close();
+		}
+
+		LwjglPreferences prefs = open(file);
+		check("XML string", prefs.getString("name"), "player");
+		check("XML int", prefs.getInteger("level"), 12);
+		check("XML float", prefs.getFloat("volume"), 0.5f);
+		check("XML boolean", prefs.getBoolean("fullscreen"), true);
+		check("XML long", prefs.getLong("seed"), 123456789012L);
+		check("XML missing", prefs.getInteger("missing", 7), 7);
+
+		// Flushing rewrites the file in the binary format.
+		prefs.putInteger("level", 13);
+		prefs.flush();
+		LwjglPreferences.finishWrites();
+		checkMagic(file);
+		check("XML rewritten", open(file).getInteger("level"), 13);
+	}
+
+	static void roundTrip (File file) throws IOException {
+		LwjglPreferences prefs = open(file);
+		prefs.putBoolean("boolean", true);
+		prefs.putInteger("int", -123456);
+		prefs.putLong("long", Long.MIN_VALUE + 1);
+		prefs.putFloat("float", -0.1f);
+		prefs.putFloat("nan", Float.NaN);
+		prefs.putString("string", "\u00e9t\u00e9 \u65e5\u672c");
+		prefs.putString("empty", "");
+		prefs.putInteger("removed", 1);
+		prefs.remove("removed");
+		prefs.flush();
+		LwjglPreferences.finishWrites();
+		checkMagic(file);
+
+		LwjglPreferences read = open(file);
+		check("boolean", read.getBoolean("boolean"), true);
+		check("int", read.getInteger("int"), -123456);
+		check("long", read.getLong("long"), Long.MIN_VALUE + 1);
+		check("float", read.getFloat("float"), -0.1f);
+		if (!Float.isNaN(read.getFloat("nan"))) throw new GdxRuntimeException("NaN read as: " + read.getFloat("nan"));
+		check("string", read.getString("string"), "\u00e9t\u00e9 \u65e5\u672c");
+		check("empty", read.getString("empty", "default"), "");
+		check("removed", read.contains("removed"), false);
+		Map<String, ?> map = read.get();
+		check("map size", map.size(), 7);
+		check("map int", map.get("int"), Integer.valueOf(-123456));
+		check("map long", map.get("long"), Long.valueOf(Long.MIN_VALUE + 1));
+		check("map boolean", map.get("boolean"), Boolean.TRUE);
+		if (new File(file.getPath() + ".tmp").exists()) throw new GdxRuntimeException("Temporary file left behind.");
+	}
+
+	static void backup (File file) {
+		LwjglPreferences prefs = open(file);
+		prefs.putString("saved", "yes");
+		prefs.flush();
+		LwjglPreferences.finishWrites();
+		// As if the process stopped between renaming the file to its backup and renaming the new file.
+		File backup = LwjglPreferences.backup(file);
+		if (!file.renameTo(backup)) throw new GdxRuntimeException("Unable to rename to the backup.");
+		LwjglPreferences read = open(file);
+		check("backup", read.getString("saved"), "yes");
+
+		// The next write puts the file back in place.
+		read.putString("saved", "again");
+		read.flush();
+		LwjglPreferences.finishWrites();
+		check("after backup", open(file).getString("saved"), "again");
+		backup.delete();
+	}
+
+	/** Changes one value and flushes, timing the flush, for the XML written before and the current preferences. */
+	static void latency (File file) throws IOException {
+		Properties properties = new Properties();
+		LwjglPreferences prefs = open(file);
+		for (int i = 0; i < values; i++) {
+			properties.setProperty("key" + i, String.valueOf(i));
+			prefs.putInteger("key" + i, i);
+		}
+		File xmlFile = new File(file.getPath() + ".xml");
+		long[] xmlTimes = new long[flushes], times = new long[flushes];
+		for (int i = 0; i < flushes; i++) {
+			properties.setProperty("key" + i, String.valueOf(-i));
+			long start = System.nanoTime();
+			OutputStream output = new BufferedOutputStream(new FileOutputStream(xmlFile));
+			try {
+				properties.storeToXML(output, null);
+			} finally {
+				output.close();
+			}
+			xmlTimes[i] = System.nanoTime() - start;
+
+			prefs.putInteger("key" + i, -i);
+			start = System.nanoTime();
+			prefs.flush();
+			times[i] = System.nanoTime() - start;
+		}
+		LwjglPreferences.finishWrites();
+		check("latency value", open(file).getInteger("key" + (flushes - 1)), -(flushes - 1));
+		System.out.println(values + " values, XML before: " + stats(xmlTimes) + ", " + xmlFile.length() + " bytes");
+		System.out.println(values + " values, now: " + stats(times) + ", " + file.length() + " bytes");
+	}
+
+	static String stats (long[] times) {
+		Arrays.sort(times);
+		return String.format("flush median %.3f ms, 99%% %.3f ms", times[times.length / 2] / 1e6f,
+			times[times.length * 99 / 100] / 1e6f);
+	}
+
+	static void checkMagic (File file) throws IOException {
+		DataInputStream input = new DataInputStream(new FileInputStream(file));
+		try {
+			if (input.readInt() != 0x67647870) throw new GdxRuntimeException("Not written in the binary format: " + file);
+		} finally {
+			input.close();
+		}
+	}
+
+	static void check (String name, Object actual, Object expected) {
+		if (!actual.equals(expected)) throw new GdxRuntimeException(name + ": " + actual + ", expected: " + expected);
+	}
+}
@@ -16,14 +16,14 @@
 
 package com.badlogic.gdx.backends.openal;
 
-import java.io.ByteArrayOutputStream;
-
 import javazoom.jl.decoder.Bitstream;
 import javazoom.jl.decoder.BitstreamException;
 import javazoom.jl.decoder.Header;
 import javazoom.jl.decoder.MP3Decoder;
 import javazoom.jl.decoder.OutputBuffer;
 
+import com.badlogic.gdx.backends.openal.OpenALSound.Pcm;
+import com.badlogic.gdx.backends.openal.OpenALSound.PcmOutput;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
@@ -102,18 +102,23 @@ public class Mp3 {
 	}
 
 	static public class Sound extends OpenALSound {
-		// Note: This uses a slightly modified version of JLayer.
-
 		public Sound (OpenALAudio audio, FileHandle file) {
 			super(audio);
 			if (audio.noDevice) return;
-			ByteArrayOutputStream output = new ByteArrayOutputStream(4096);
+			setup(audio.decodeSound(file, soundDecoder));
+		}
+	}
 
+	static final OpenALSound.Decoder soundDecoder = new OpenALSound.Decoder() {
+		// Note: This uses a slightly modified version of JLayer.
+
+		public Pcm decode (FileHandle file) {
 			Bitstream bitstream = new Bitstream(file.read());
 			MP3Decoder decoder = new MP3Decoder();
 
 			try {
 				OutputBuffer outputBuffer = null;
+				PcmOutput output = null;
 				int sampleRate = -1, channels = -1;
 				while (true) {
 					Header header = bitstream.readFrame();
@@ -123,6 +128,9 @@ public class Mp3 {
 						outputBuffer = new OutputBuffer(channels, false);
 						decoder.setOutputBuffer(outputBuffer);
 						sampleRate = header.getSampleRate();
+						// The first frame's bitrate gives the length, exactly unless the bitrate is variable.
+						float seconds = header.total_ms((int)Math.min(file.length(), Integer.MAX_VALUE)) / 1000;
+						output = new PcmOutput((long)(seconds * sampleRate) * channels * 2 + OutputBuffer.BUFFERSIZE * 2);
 					}
 					try {
 						decoder.decodeFrame(header, bitstream);
@@ -133,10 +141,11 @@ public class Mp3 {
 					output.write(outputBuffer.getBuffer(), 0, outputBuffer.reset());
 				}
 				bitstream.close();
-				setup(output.toByteArray(), channels, sampleRate);
+				if (output == null) throw new GdxRuntimeException("Empty MP3 file.");
+				return output.toPcm(channels, sampleRate);
 			} catch (Throwable ex) {
-				throw new GdxRuntimeException("Error reading audio data.", ex);
+				throw new GdxRuntimeException("Error reading audio data: " + file, ex);
 			}
 		}
-	}
+	};
 }
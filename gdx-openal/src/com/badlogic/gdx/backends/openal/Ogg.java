@@ -16,8 +16,11 @@
 
 package com.badlogic.gdx.backends.openal;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
+import com.badlogic.gdx.backends.openal.OpenALSound.Pcm;
+import com.badlogic.gdx.backends.openal.OpenALSound.PcmOutput;
 import com.badlogic.gdx.files.FileHandle;
 
 /** @author Nathan Sweet */
@@ -51,15 +54,68 @@ public class Ogg {
 		public Sound (OpenALAudio audio, FileHandle file) {
 			super(audio);
 			if (audio.noDevice) return;
+			setup(audio.decodeSound(file, soundDecoder));
+		}
+	}
+
+	static final OpenALSound.Decoder soundDecoder = new OpenALSound.Decoder() {
+		public Pcm decode (FileHandle file) {
 			OggInputStream input = new OggInputStream(file.read());
-			ByteArrayOutputStream output = new ByteArrayOutputStream(4096);
-			byte[] buffer = new byte[2048];
-			while (!input.atEnd()) {
-				int length = input.read(buffer);
-				if (length == -1) break;
-				output.write(buffer, 0, length);
+			try {
+				long samples = sampleCount(file);
+				long bytes = samples * input.getChannels() * 2;
+				// A corrupt granule position would reserve a huge buffer, so it is only trusted within 256:1 compression.
+				PcmOutput output = samples > 0 && bytes / 256 < file.length() ? new PcmOutput(bytes) : new PcmOutput();
+				byte[] buffer = new byte[4096 * 4];
+				while (!input.atEnd()) {
+					int length = input.read(buffer);
+					if (length == -1) break;
+					output.write(buffer, 0, length);
+				}
+				return output.toPcm(input.getChannels(), input.getSampleRate());
+			} finally {
+				input.close();
 			}
-			setup(output.toByteArray(), input.getChannels(), input.getSampleRate());
 		}
+	};
+
+	/** Returns the granule position of the last page, which for Vorbis is the number of samples per channel, or -1 if the file
+	 * can't be read that way. Only the last page is read, so the decoded length is known without decoding. */
+	static long sampleCount (FileHandle file) {
+		long length = file.length();
+		if (length <= 0) return -1;
+		// A page is at most 65307 bytes.
+		int tail = (int)Math.min(length, 65307);
+		byte[] bytes = new byte[tail];
+		InputStream input = file.read();
+		try {
+			long skip = length - tail;
+			while (skip > 0) {
+				long skipped = input.skip(skip);
+				if (skipped <= 0) return -1;
+				skip -= skipped;
+			}
+			int offset = 0;
+			while (offset < tail) {
+				int count = input.read(bytes, offset, tail - offset);
+				if (count == -1) return -1;
+				offset += count;
+			}
+		} catch (IOException ex) {
+			return -1;
+		} finally {
+			try {
+				input.close();
+			} catch (IOException ignored) {
+			}
+		}
+		for (int i = tail - 27; i >= 0; i--) {
+			if (bytes[i] != 'O' || bytes[i + 1] != 'g' || bytes[i + 2] != 'g' || bytes[i + 3] != 'S' || bytes[i + 4] != 0) continue;
+			long granule = 0;
+			for (int b = 13; b >= 6; b--)
+				granule = granule << 8 | (bytes[i + b] & 0xff);
+			return granule;
+		}
+		return -1;
 	}
 }
@@ -17,6 +17,12 @@
 package com.badlogic.gdx.backends.openal;
 
 import java.nio.FloatBuffer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.lwjgl.BufferUtils;
 import org.lwjgl.LWJGLException;
@@ -24,6 +30,7 @@ import org.lwjgl.openal.AL;
 import org.lwjgl.openal.AL10;
 
 import com.badlogic.gdx.Audio;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.AudioDevice;
 import com.badlogic.gdx.audio.AudioRecorder;
 import com.badlogic.gdx.files.FileHandle;
@@ -39,6 +46,9 @@ import static org.lwjgl.openal.AL10.*;
 
 /** @author Nathan Sweet */
 public class OpenALAudio implements Audio {
+	/** Milliseconds between updates of the music on the streaming thread. */
+	static private final int streamInterval = 5;
+
 	private final int deviceBufferSize;
 	private final int deviceBufferCount;
 	private IntArray idleSources, allSources;
@@ -47,7 +57,14 @@ public class OpenALAudio implements Audio {
 	private long nextSoundId = 0;
 	private ObjectMap<String, Class<? extends OpenALSound>> extensionToSoundClass = new ObjectMap();
 	private ObjectMap<String, Class<? extends OpenALMusic>> extensionToMusicClass = new ObjectMap();
+	private ObjectMap<String, OpenALSound.Decoder> extensionToSoundDecoder = new ObjectMap();
+	private volatile PcmCache soundCache;
+	private ExecutorService soundDecodeThreads;
+
+	private Thread streamThread;
+	private volatile boolean streaming;
 
+	final int musicBufferCount, musicBufferSize, musicDecodeAhead;
 	Array<OpenALMusic> music = new Array(false, 1, OpenALMusic.class);
 	boolean noDevice = false;
 
@@ -56,8 +73,23 @@ public class OpenALAudio implements Audio {
 	}
 
 	public OpenALAudio (int simultaneousSources, int deviceBufferCount, int deviceBufferSize) {
+		this(simultaneousSources, deviceBufferCount, deviceBufferSize, 3, 4096 * 10, 8);
+	}
+
+	/** @param musicBufferCount The number of buffers each playing music keeps queued with OpenAL.
+	 * @param musicBufferSize The size in bytes of each block of decoded music.
+	 * @param musicDecodeAhead The number of blocks each playing music decodes ahead on the streaming thread. Must be >=
+	 *           musicBufferCount. */
+	public OpenALAudio (int simultaneousSources, int deviceBufferCount, int deviceBufferSize, int musicBufferCount,
+		int musicBufferSize, int musicDecodeAhead) {
+		if (musicBufferCount < 1) throw new IllegalArgumentException("musicBufferCount must be > 0: " + musicBufferCount);
+		if (musicDecodeAhead < musicBufferCount)
+			throw new IllegalArgumentException("musicDecodeAhead must be >= musicBufferCount: " + musicDecodeAhead);
 		this.deviceBufferSize = deviceBufferSize;
 		this.deviceBufferCount = deviceBufferCount;
+		this.musicBufferCount = musicBufferCount;
+		this.musicBufferSize = musicBufferSize;
+		this.musicDecodeAhead = musicDecodeAhead;
 
 		registerSound("ogg", Ogg.Sound.class);
 		registerMusic("ogg", Ogg.Music.class);
@@ -65,6 +97,11 @@ public class OpenALAudio implements Audio {
 		registerMusic("wav", Wav.Music.class);
 		registerSound("mp3", Mp3.Sound.class);
 		registerMusic("mp3", Mp3.Music.class);
+		registerSoundDecoder("ogg", Ogg.soundDecoder);
+		registerSoundDecoder("wav", Wav.soundDecoder);
+		registerSoundDecoder("mp3", Mp3.soundDecoder);
+
+		startStreaming();
 
 		try {
 			AL.create();
@@ -72,6 +109,11 @@ public class OpenALAudio implements Audio {
 			noDevice = true;
 			ex.printStackTrace();
 			return;
+		} catch (LinkageError ex) {
+			// The LWJGL natives are not loaded, eg when running headless.
+			noDevice = true;
+			ex.printStackTrace();
+			return;
 		}
 
 		allSources = new IntArray(false, simultaneousSources);
@@ -105,6 +147,100 @@ public class OpenALAudio implements Audio {
 		extensionToMusicClass.put(extension, musicClass);
 	}
 
+	/** Registers the decoder {@link #newSounds(FileHandle...)} and {@link SoftwareMixer#newSound(FileHandle)} use for files with
+	 * the extension. */
+	public void registerSoundDecoder (String extension, OpenALSound.Decoder decoder) {
+		if (extension == null) throw new IllegalArgumentException("extension cannot be null.");
+		if (decoder == null) throw new IllegalArgumentException("decoder cannot be null.");
+		extensionToSoundDecoder.put(extension, decoder);
+	}
+
+	/** Sets a directory where decoded sounds are stored, so later sounds with the same file contents, even in later runs, are
+	 * memory mapped and given to OpenAL without decoding them. WAV files aren't cached. The directory is created if needed.
+	 * @param directory May be null to not cache decoded sounds. */
+	public void setSoundCache (FileHandle directory) {
+		if (directory == null) {
+			soundCache = null;
+			return;
+		}
+		directory.mkdirs();
+		soundCache = new PcmCache(directory.file());
+	}
+
+	OpenALSound.Decoder getSoundDecoder (String extension) {
+		return extensionToSoundDecoder.get(extension);
+	}
+
+	/** Decodes the file with the decoder, or uses the sound cache if set. Can be called on any thread. */
+	OpenALSound.Pcm decodeSound (FileHandle file, OpenALSound.Decoder decoder) {
+		PcmCache soundCache = this.soundCache;
+		// Decoding WAV only copies the data, which is faster than hashing the file to find it in the cache.
+		if (soundCache == null || decoder == Wav.soundDecoder) return decoder.decode(file);
+		return soundCache.decode(file, decoder);
+	}
+
+	/** Creates sounds for all the files, decoding them in parallel on a thread per processor. The sound cache is used if set.
+	 * Files with an extension that has no {@link #registerSoundDecoder(String, OpenALSound.Decoder) decoder} are created with
+	 * {@link #newSound(FileHandle)}. If an exception is thrown, the sounds already created are disposed.
+	 * @return The sounds in the same order as the files. */
+	public Array<OpenALSound> newSounds (FileHandle... files) {
+		Array<OpenALSound> sounds = new Array(true, files.length, OpenALSound.class);
+		if (noDevice) {
+			for (FileHandle file : files)
+				sounds.add(newSound(file));
+			return sounds;
+		}
+
+		ExecutorService threads = soundDecodeThreads();
+		Future<OpenALSound.Pcm>[] decoding = new Future[files.length];
+		for (int i = 0; i < files.length; i++) {
+			final FileHandle file = files[i];
+			if (file == null) throw new IllegalArgumentException("files cannot contain null.");
+			final OpenALSound.Decoder decoder = extensionToSoundDecoder.get(file.extension());
+			if (decoder == null) continue;
+			decoding[i] = threads.submit(new Callable<OpenALSound.Pcm>() {
+				public OpenALSound.Pcm call () {
+					return decodeSound(file, decoder);
+				}
+			});
+		}
+
+		int i = 0;
+		try {
+			for (; i < files.length; i++) {
+				if (decoding[i] == null) {
+					sounds.add(newSound(files[i]));
+					continue;
+				}
+				OpenALSound sound = new OpenALSound(this);
+				sound.setup(decoding[i].get());
+				sounds.add(sound);
+			}
+			return sounds;
+		} catch (Throwable ex) {
+			for (int ii = i; ii < files.length; ii++)
+				if (decoding[ii] != null) decoding[ii].cancel(false);
+			for (int ii = 0; ii < sounds.size; ii++)
+				sounds.get(ii).dispose();
+			if (ex instanceof InterruptedException) Thread.currentThread().interrupt();
+			Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+			throw new GdxRuntimeException("Error creating sound for file: " + files[i], cause);
+		}
+	}
+
+	private synchronized ExecutorService soundDecodeThreads () {
+		if (soundDecodeThreads == null) {
+			soundDecodeThreads = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+				public Thread newThread (Runnable runnable) {
+					Thread thread = new Thread(runnable, "OpenALSound");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return soundDecodeThreads;
+	}
+
 	public OpenALSound newSound (FileHandle file) {
 		if (file == null) throw new IllegalArgumentException("file cannot be null.");
 		Class<? extends OpenALSound> soundClass = extensionToSoundClass.get(file.extension());
@@ -127,7 +263,7 @@ public class OpenALAudio implements Audio {
 		}
 	}
 
-	int obtainSource (boolean isMusic) {
+	synchronized int obtainSource (boolean isMusic) {
 		if (noDevice) return 0;
 		for (int i = 0, n = idleSources.size; i < n; i++) {
 			int sourceId = idleSources.get(i);
@@ -157,7 +293,7 @@ public class OpenALAudio implements Audio {
 		return -1;
 	}
 
-	void freeSource (int sourceID) {
+	synchronized void freeSource (int sourceID) {
 		if (noDevice) return;
 		alSourceStop(sourceID);
 		alSourcei(sourceID, AL_BUFFER, 0);
@@ -168,7 +304,7 @@ public class OpenALAudio implements Audio {
 		idleSources.add(sourceID);
 	}
 
-	void freeBuffer (int bufferID) {
+	synchronized void freeBuffer (int bufferID) {
 		if (noDevice) return;
 		for (int i = 0, n = idleSources.size; i < n; i++) {
 			int sourceID = idleSources.get(i);
@@ -183,7 +319,7 @@ public class OpenALAudio implements Audio {
 		}
 	}
 
-	void stopSourcesWithBuffer (int bufferID) {
+	synchronized void stopSourcesWithBuffer (int bufferID) {
 		if (noDevice) return;
 		for (int i = 0, n = idleSources.size; i < n; i++) {
 			int sourceID = idleSources.get(i);
@@ -197,42 +333,92 @@ public class OpenALAudio implements Audio {
 		}
 	}
 
+	/** @deprecated Music is streamed on its own thread, this does nothing. */
 	public void update () {
-		if (noDevice) return;
-		for (int i = 0; i < music.size; i++)
-			music.items[i].update();
 	}
 
-	public long getSoundId (int sourceId) {
+	/** Starts a daemon thread that calls {@link OpenALMusic#update()} for all playing music, independently of the frame rate. It
+	 * also runs without a device, where music is consumed in real time but not heard. The thread waits while no music is
+	 * playing. */
+	private void startStreaming () {
+		streaming = true;
+		streamThread = new Thread("OpenALMusic") {
+			public void run () {
+				Array<OpenALMusic> items = new Array(false, 16, OpenALMusic.class);
+				while (streaming) {
+					synchronized (music) {
+						for (int i = 0, n = music.size; i < n; i++)
+							if (music.items[i].isPlaying()) items.add(music.items[i]);
+						if (items.size == 0) {
+							// Woken by wakeStreaming when music is played, or interrupted by dispose.
+							try {
+								music.wait();
+							} catch (InterruptedException ignored) {
+							}
+							continue;
+						}
+					}
+					for (int i = 0; i < items.size; i++) {
+						OpenALMusic item = items.items[i];
+						try {
+							item.update();
+						} catch (Throwable ex) {
+							if (Gdx.app != null)
+								Gdx.app.error("OpenALMusic", "Error streaming music: " + item.file, ex);
+							else
+								ex.printStackTrace();
+							item.stop();
+						}
+					}
+					items.clear();
+					try {
+						Thread.sleep(streamInterval);
+					} catch (InterruptedException ignored) {
+					}
+				}
+			}
+		};
+		streamThread.setDaemon(true);
+		streamThread.start();
+	}
+
+	/** Wakes the streaming thread if it is waiting because no music was playing. */
+	void wakeStreaming () {
+		synchronized (music) {
+			music.notifyAll();
+		}
+	}
+
+	public synchronized long getSoundId (int sourceId) {
 		if (!sourceToSoundId.containsKey(sourceId)) return -1;
 		return sourceToSoundId.get(sourceId);
 	}
 
-	public void stopSound (long soundId) {
+	public synchronized void stopSound (long soundId) {
 		if (!soundIdToSource.containsKey(soundId)) return;
 		int sourceId = soundIdToSource.get(soundId);
 		alSourceStop(sourceId);
 	}
 
-	public void setSoundGain (long soundId, float volume) {
+	public synchronized void setSoundGain (long soundId, float volume) {
 		if (!soundIdToSource.containsKey(soundId)) return;
 		int sourceId = soundIdToSource.get(soundId);
 		AL10.alSourcef(sourceId, AL10.AL_GAIN, volume);
 	}
 
-	public void setSoundLooping (long soundId, boolean looping) {
+	public synchronized void setSoundLooping (long soundId, boolean looping) {
 		if (!soundIdToSource.containsKey(soundId)) return;
 		int sourceId = soundIdToSource.get(soundId);
 		alSourcei(sourceId, AL10.AL_LOOPING, looping ? AL10.AL_TRUE : AL10.AL_FALSE);
 	}
 
-	public void setSoundPitch (long soundId, float pitch) {
+	public synchronized void setSoundPitch (long soundId, float pitch) {
 		if (!soundIdToSource.containsKey(soundId)) return;
 		int sourceId = soundIdToSource.get(soundId);
 		AL10.alSourcef(sourceId, AL10.AL_PITCH, pitch);
 	}
 
-	public void setSoundPan (long soundId, float pan, float volume) {
+	public synchronized void setSoundPan (long soundId, float pan, float volume) {
 		if (!soundIdToSource.containsKey(soundId)) return;
 		int sourceId = soundIdToSource.get(soundId);
 
@@ -242,6 +428,16 @@ public class OpenALAudio implements Audio {
 	}
 
 	public void dispose () {
+		streaming = false;
+		streamThread.interrupt();
+		try {
+			streamThread.join();
+		} catch (InterruptedException ignored) {
+		}
+		synchronized (this) {
+			if (soundDecodeThreads != null) soundDecodeThreads.shutdown();
+		}
+
 		if (noDevice) return;
 		for (int i = 0, n = allSources.size; i < n; i++) {
 			int sourceID = allSources.get(i);
@@ -25,24 +25,50 @@ import org.lwjgl.openal.AL11;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
 
 import static org.lwjgl.openal.AL10.*;
 
-/** @author Nathan Sweet */
+/** Streams music from a file. {@link #update()} is called regularly on {@link OpenALAudio}'s streaming thread, which decodes
+ * blocks of PCM data ahead into a ring and queues them to an OpenAL source as it consumes them, so playback doesn't depend on
+ * the frame rate. Without an audio device the blocks are consumed in real time, so the music behaves the same but is silent.
+ * @author Nathan Sweet */
 public abstract class OpenALMusic implements Music {
-	static private final int bufferSize = 4096 * 10;
-	static private final int bufferCount = 3;
 	static private final int bytesPerSample = 2;
-	static private final byte[] tempBytes = new byte[bufferSize];
-	static private final ByteBuffer tempBuffer = BufferUtils.createByteBuffer(bufferSize);
 
 	private final OpenALAudio audio;
 	private IntBuffer buffers;
+	private ByteBuffer tempBuffer;
+	private final IntArray idleBuffers = new IntArray();
 	private int sourceID = -1;
 	private int format, sampleRate;
 	private boolean isLooping, isPlaying;
 	private float volume = 1;
-	private float renderedSeconds, secondsPerBuffer;
+	private float renderedSeconds;
+	private int underflows, stalls;
+	private boolean stalled;
+
+	/** Lengths of the blocks given to OpenAL that haven't finished playing. Negative marks a block that starts a loop. */
+	private final IntArray queuedLengths = new IntArray();
+	/** Without a device, the nanoTime the current block started and ends and when it was paused. 0 if not applicable. */
+	private long blockStart, blockEnd, pauseTime;
+
+	/** Decoded blocks not yet given to OpenAL. Negative lengths mark a block that starts a loop. */
+	private byte[][] blocks;
+	private int[] blockLengths;
+	/** Without a device, the nanoTime each block was decoded. */
+	private long[] blockTimes;
+	private int blockFirst, blockCount;
+	private boolean decodeEnded;
+	/** Set by stop so the stream is reset by the next decode, since stop must not wait for a decode in progress. */
+	private boolean resetPending;
+	/** Incremented by stop, so a block read while stopping is discarded. */
+	private int generation;
+	/** True after play until the first block is given to OpenAL, so the wait for it is not counted as a stall or underflow. */
+	private boolean starting;
+	/** Held while the stream is read or reset, so decoding doesn't hold the music's monitor. Acquired before the monitor. Only
+	 * taken by decoding, so play and stop never wait for a decode. */
+	private final Object decodeLock = new Object();
 
 	protected final FileHandle file;
 
@@ -50,88 +76,139 @@ public abstract class OpenALMusic implements Music {
 		this.audio = audio;
 		this.file = file;
 		if (audio != null) {
-			if (!audio.noDevice) audio.music.add(this);
+			synchronized (audio.music) {
+				audio.music.add(this);
+			}
 		}
 	}
 
 	protected void setup (int channels, int sampleRate) {
 		this.format = channels > 1 ? AL_FORMAT_STEREO16 : AL_FORMAT_MONO16;
 		this.sampleRate = sampleRate;
-		secondsPerBuffer = (float)bufferSize / bytesPerSample / channels / sampleRate;
 	}
 
+	/** Starts or resumes playback. The first blocks are decoded and queued by the streaming thread, so this does not wait for
+	 * the decoder. */
 	public void play () {
-		if (audio.noDevice) return;
-		if (sourceID == -1) {
-			sourceID = audio.obtainSource(true);
-			if (sourceID == -1) return;
-			if (buffers == null) {
-				buffers = BufferUtils.createIntBuffer(bufferCount);
-				alGenBuffers(buffers);
-				if (alGetError() != AL_NO_ERROR) throw new GdxRuntimeException("Unabe to allocate audio buffers.");
+		boolean error = false;
+		synchronized (this) {
+			if (sourceID == -1) {
+				sourceID = audio.obtainSource(true);
+				if (sourceID == -1) return;
+				if (blocks == null) {
+					blocks = new byte[audio.musicDecodeAhead][audio.musicBufferSize];
+					blockLengths = new int[blocks.length];
+					blockTimes = new long[blocks.length];
+				}
+				if (!audio.noDevice) {
+					if (buffers == null) {
+						buffers = BufferUtils.createIntBuffer(audio.musicBufferCount);
+						alGenBuffers(buffers);
+						if (alGetError() != AL_NO_ERROR) throw new GdxRuntimeException("Unabe to allocate audio buffers.");
+						tempBuffer = BufferUtils.createByteBuffer(audio.musicBufferSize);
+					}
+					idleBuffers.clear();
+					for (int i = 0, n = buffers.capacity(); i < n; i++)
+						idleBuffers.add(buffers.get(i));
+					alSourcei(sourceID, AL_LOOPING, AL_FALSE);
+					alSourcef(sourceID, AL_GAIN, volume);
+				}
+				starting = true;
 			}
-			alSourcei(sourceID, AL_LOOPING, AL_FALSE);
-			alSourcef(sourceID, AL_GAIN, volume);
-			for (int i = 0; i < bufferCount; i++) {
-				int bufferID = buffers.get(i);
-				if (!fill(bufferID)) break;
-				alSourceQueueBuffers(sourceID, bufferID);
-			}
-			if (alGetError() != AL_NO_ERROR) {
-				stop();
-				return;
+			isPlaying = true;
+			if (audio.noDevice) {
+				if (pauseTime != 0 && blockEnd != 0) {
+					long pausedTime = System.nanoTime() - pauseTime;
+					blockStart += pausedTime;
+					blockEnd += pausedTime;
+				}
+				pauseTime = 0;
+			} else if (!starting) {
+				// Resume the blocks that were queued when paused.
+				alSourcePlay(sourceID);
+				error = alGetError() != AL_NO_ERROR;
 			}
 		}
-		alSourcePlay(sourceID);
-		isPlaying = true;
+		if (error)
+			stop();
+		else
+			audio.wakeStreaming();
 	}
 
+	/** Stops playback. The stream is reset by the next decode, so this does not wait for the decoder. */
 	public void stop () {
-		if (audio.noDevice) return;
-		if (sourceID == -1) return;
-		reset();
-		audio.freeSource(sourceID);
-		sourceID = -1;
-		renderedSeconds = 0;
-		isPlaying = false;
+		synchronized (this) {
+			if (sourceID == -1) return;
+			audio.freeSource(sourceID);
+			sourceID = -1;
+			generation++;
+			resetPending = true;
+			blockFirst = 0;
+			blockCount = 0;
+			decodeEnded = false;
+			starting = false;
+			queuedLengths.clear();
+			blockStart = blockEnd = pauseTime = 0;
+			stalled = false;
+			renderedSeconds = 0;
+			isPlaying = false;
+		}
 	}
 
-	public void pause () {
-		if (audio.noDevice) return;
-		if (sourceID != -1) alSourcePause(sourceID);
+	public synchronized void pause () {
+		if (sourceID != -1) {
+			if (audio.noDevice) {
+				if (isPlaying) pauseTime = System.nanoTime();
+			} else
+				alSourcePause(sourceID);
+		}
 		isPlaying = false;
 	}
 
-	public boolean isPlaying () {
-		if (audio.noDevice) return false;
+	public synchronized boolean isPlaying () {
 		if (sourceID == -1) return false;
 		return isPlaying;
 	}
 
-	public void setLooping (boolean isLooping) {
+	public synchronized void setLooping (boolean isLooping) {
 		this.isLooping = isLooping;
 	}
 
-	public boolean isLooping () {
+	public synchronized boolean isLooping () {
 		return isLooping;
 	}
 
-	public void setVolume (float volume) {
+	public synchronized void setVolume (float volume) {
 		this.volume = volume;
 		if (audio.noDevice) return;
 		if (sourceID != -1) alSourcef(sourceID, AL_GAIN, volume);
 	}
-	
-	public float getVolume() {
+
+	public float getVolume () {
 		return this.volume;
 	}
 
-	public float getPosition () {
-		if (audio.noDevice) return 0;
+	public synchronized float getPosition () {
 		if (sourceID == -1) return 0;
+		if (audio.noDevice) {
+			if (blockEnd == 0) return renderedSeconds;
+			long time = Math.min(isPlaying ? System.nanoTime() : pauseTime, blockEnd);
+			return renderedSeconds + (time - blockStart) / 1000000000f;
+		}
 		return renderedSeconds + alGetSourcef(sourceID, AL11.AL_SEC_OFFSET);
 	}
 
+	/** Returns the number of times the source ran out of decoded data while playing, which is heard as a gap. */
+	public synchronized int getUnderflows () {
+		return underflows;
+	}
+
+	/** Returns the number of times OpenAL could have been given a block but none had been decoded, meaning decoding fell
+	 * behind. With a device this is heard only if it lasts long enough to also cause an underflow. */
+	public synchronized int getStalls () {
+		return stalls;
+	}
+
 	/** Fills as much of the buffer as possible and returns the number of bytes filled. Returns <= 0 to indicate the end of the
 	 * stream. */
 	abstract public int read (byte[] buffer);
@@ -147,55 +224,172 @@ public abstract class OpenALMusic implements Music {
 		return sampleRate;
 	}
 
+	/** Decodes ahead and gives decoded blocks to OpenAL. This is called by {@link OpenALAudio}'s streaming thread, but can be
+	 * called on any thread. */
 	public void update () {
-		if (audio.noDevice) return;
-		if (sourceID == -1) return;
+		for (int i = 0;; i++) {
+			boolean ended;
+			synchronized (this) {
+				if (sourceID == -1) return;
+				ended = audio.noDevice ? consume() : queue();
+			}
+			if (ended) {
+				stop();
+				return;
+			}
+			// Feed after each block so slow decoding doesn't delay the blocks already decoded. At most a ring's worth of blocks
+			// are decoded, so a decoder slower than playback doesn't keep the other music from being updated.
+			if (i == blocks.length || !decode(1)) return;
+		}
+	}
+
+	/** Decodes up to the specified number of blocks, stopping early if the ring is full or the stream ended.
+	 * @return true if any blocks were decoded. */
+	private boolean decode (int count) {
+		boolean decoded = false;
+		for (; count > 0; count--) {
+			synchronized (decodeLock) {
+				byte[] block;
+				boolean isLooping, reset;
+				int generation;
+				synchronized (this) {
+					if (sourceID == -1 || decodeEnded || blockCount == blocks.length) return decoded;
+					block = blocks[(blockFirst + blockCount) % blocks.length];
+					isLooping = this.isLooping;
+					reset = resetPending;
+					resetPending = false;
+					generation = this.generation;
+				}
+				if (reset) reset();
+				boolean loop = false;
+				int length = read(block);
+				if (length <= 0 && isLooping) {
+					reset();
+					loop = true;
+					length = read(block);
+				}
+				synchronized (this) {
+					// Stopped while reading, the stream will be reset by the next decode.
+					if (generation != this.generation) return decoded;
+					if (length <= 0) {
+						decodeEnded = true;
+						return decoded;
+					}
+					int index = (blockFirst + blockCount++) % blocks.length;
+					blockLengths[index] = loop ? -length : length;
+					if (audio.noDevice) blockTimes[index] = System.nanoTime();
+					decoded = true;
+				}
+			}
+		}
+		return decoded;
+	}
+
+	/** Removes the oldest decoded block and records it as queued.
+	 * @return The block's index, its length is in blockLengths. */
+	private int nextBlock () {
+		int index = blockFirst;
+		blockFirst = (blockFirst + 1) % blocks.length;
+		blockCount--;
+		int length = blockLengths[index];
+		if (length < 0 && queuedLengths.size == 0) renderedSeconds = 0;
+		queuedLengths.add(length);
+		return index;
+	}
+
+	/** Records that the oldest queued block finished playing. */
+	private void played () {
+		renderedSeconds += seconds(Math.abs(queuedLengths.removeIndex(0)));
+		if (queuedLengths.size > 0 && queuedLengths.get(0) < 0) renderedSeconds = 0;
+	}
 
-		boolean end = false;
-		int buffers = alGetSourcei(sourceID, AL_BUFFERS_PROCESSED);
-		while (buffers-- > 0) {
+	private float seconds (int length) {
+		return (float)length / bytesPerSample / getChannels() / sampleRate;
+	}
+
+	/** Unqueues processed buffers and refills them with decoded blocks.
+	 * @return true if the stream ended and everything has been played. */
+	private boolean queue () {
+		int processed = alGetSourcei(sourceID, AL_BUFFERS_PROCESSED);
+		while (processed-- > 0) {
 			int bufferID = alSourceUnqueueBuffers(sourceID);
 			if (bufferID == AL_INVALID_VALUE) break;
-			renderedSeconds += secondsPerBuffer;
-			if (end) continue;
-			if (fill(bufferID))
-				alSourceQueueBuffers(sourceID, bufferID);
-			else
-				end = true;
+			idleBuffers.add(bufferID);
+			played();
 		}
-		if (end && alGetSourcei(sourceID, AL_BUFFERS_QUEUED) == 0) stop();
+		if (idleBuffers.size > 0 && blockCount == 0 && !decodeEnded && !starting) {
+			if (!stalled) stalls++;
+			stalled = true;
+		} else
+			stalled = false;
+		while (idleBuffers.size > 0 && blockCount > 0) {
+			int bufferID = idleBuffers.pop();
+			int index = nextBlock();
+			tempBuffer.clear();
+			tempBuffer.put(blocks[index], 0, Math.abs(blockLengths[index])).flip();
+			alBufferData(bufferID, format, tempBuffer, sampleRate);
+			alSourceQueueBuffers(sourceID, bufferID);
+		}
+		if (queuedLengths.size == 0) return decodeEnded;
 
-		// A buffer underflow will cause the source to stop.
-		if (isPlaying && alGetSourcei(sourceID, AL_SOURCE_STATE) != AL_PLAYING) alSourcePlay(sourceID);
+		if (starting) {
+			if (isPlaying) {
+				starting = false;
+				alSourcePlay(sourceID);
+			}
+		} else if (isPlaying && alGetSourcei(sourceID, AL_SOURCE_STATE) != AL_PLAYING) {
+			// A buffer underflow will cause the source to stop.
+			underflows++;
+			alSourcePlay(sourceID);
+		}
+		return false;
 	}
 
-	private boolean fill (int bufferID) {
-		tempBuffer.clear();
-		int length = read(tempBytes);
-		if (length <= 0) {
-			if (isLooping) {
-				reset();
-				renderedSeconds = 0;
-				length = read(tempBytes);
-				if (length <= 0) return false;
-			} else
+	/** Without a device, consumes decoded blocks at the rate they would be played. There is no OpenAL queue between the ring and
+	 * playback, so running out of decoded blocks counts as both a stall and an underflow.
+	 * @return true if the stream ended and everything has been played. */
+	private boolean consume () {
+		if (!isPlaying) return false;
+		long time = System.nanoTime();
+		while (time >= blockEnd) {
+			if (queuedLengths.size > 0) played();
+			if (blockCount == 0) {
+				blockEnd = 0;
+				if (decodeEnded) return true;
+				if (starting) return false;
+				if (!stalled) {
+					stalls++;
+					underflows++;
+				}
+				stalled = true;
 				return false;
+			}
+			int index = nextBlock();
+			starting = false;
+			blockStart = blockEnd == 0 ? time : blockEnd;
+			if (blockTimes[index] > blockStart) {
+				// Decoded after the previous block finished playing, while this thread was busy decoding.
+				blockStart = blockTimes[index];
+				if (!stalled) {
+					stalls++;
+					underflows++;
+				}
+			}
+			stalled = false;
+			blockEnd = blockStart + (long)(seconds(Math.abs(blockLengths[index])) * 1000000000);
 		}
-		tempBuffer.put(tempBytes, 0, length).flip();
-		alBufferData(bufferID, format, tempBuffer, sampleRate);
-		return true;
+		return false;
 	}
 
 	public void dispose () {
-		if (audio.noDevice) return;
-		if (buffers == null) return;
-		if (sourceID != -1) {
-			reset();
+		stop();
+		synchronized (audio.music) {
 			audio.music.removeValue(this, true);
-			audio.freeSource(sourceID);
-			sourceID = -1;
 		}
-		alDeleteBuffers(buffers);
-		buffers = null;
+		synchronized (this) {
+			if (buffers == null) return;
+			alDeleteBuffers(buffers);
+			buffers = null;
+		}
 	}
 }
@@ -17,9 +17,9 @@
 package com.badlogic.gdx.backends.openal;
 
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 
 import static org.lwjgl.openal.AL10.*;
 
@@ -33,19 +33,18 @@ public class OpenALSound implements Sound {
 		this.audio = audio;
 	}
 
-	void setup (byte[] pcm, int channels, int sampleRate) {
-		int bytes = pcm.length - (pcm.length % (channels > 1 ? 4 : 2));
+	void setup (Pcm pcm) {
+		int channels = pcm.channels;
+		int bytes = pcm.data.remaining() - (pcm.data.remaining() % (channels > 1 ? 4 : 2));
 		int samples = bytes / (2 * channels);
-		duration = samples / (float)sampleRate;
+		duration = samples / (float)pcm.sampleRate;
 
-		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes);
-		buffer.order(ByteOrder.nativeOrder());
-		buffer.put(pcm, 0, bytes);
-		buffer.flip();
+		ByteBuffer buffer = pcm.data.duplicate();
+		buffer.limit(buffer.position() + bytes);
 
 		if (bufferID == -1) {
 			bufferID = alGenBuffers();
-			alBufferData(bufferID, channels > 1 ? AL_FORMAT_STEREO16 : AL_FORMAT_MONO16, buffer.asShortBuffer(), sampleRate);
+			alBufferData(bufferID, channels > 1 ? AL_FORMAT_STEREO16 : AL_FORMAT_MONO16, buffer, pcm.sampleRate);
 		}
 	}
 
@@ -150,4 +149,75 @@ public class OpenALSound implements Sound {
 	public void setPriority (long soundId, int priority) {
 		// TODO Auto-generated method stub
 	}
+
+	/** 16 bit little endian PCM data decoded from a sound file. */
+	static public class Pcm {
+		/** A direct buffer with the data between its position and limit. */
+		public final ByteBuffer data;
+		public final int channels, sampleRate;
+
+		public Pcm (ByteBuffer data, int channels, int sampleRate) {
+			if (!data.isDirect()) throw new IllegalArgumentException("data must be a direct buffer.");
+			this.data = data;
+			this.channels = channels;
+			this.sampleRate = sampleRate;
+		}
+	}
+
+	/** Decodes a sound file to PCM. A decoder is used by multiple threads at once.
+	 * @see OpenALAudio#registerSoundDecoder(String, Decoder) */
+	static public interface Decoder {
+		public Pcm decode (FileHandle file);
+	}
+
+	/** Collects decoded PCM. When the length is known, the data is written directly to a direct buffer of that size, which is only
+	 * grown if the estimate was too small. Otherwise it is collected in a growing byte array and copied once to an exactly sized
+	 * direct buffer, so no direct memory is wasted on a guess. */
+	static class PcmOutput {
+		private ByteBuffer buffer;
+		private byte[] bytes;
+		private int size;
+
+		/** For when the length is not known before decoding. */
+		PcmOutput () {
+			bytes = new byte[1 << 16];
+		}
+
+		PcmOutput (long estimatedBytes) {
+			buffer = ByteBuffer.allocateDirect((int)Math.min(Math.max(estimatedBytes, 4096), Integer.MAX_VALUE - 8));
+		}
+
+		void write (byte[] bytes, int offset, int length) {
+			if (buffer == null) {
+				if (this.bytes.length - size < length) {
+					long capacity = Math.max(size + (long)length, size * 2L);
+					byte[] newBytes = new byte[(int)Math.min(capacity, Integer.MAX_VALUE - 8)];
+					System.arraycopy(this.bytes, 0, newBytes, 0, size);
+					this.bytes = newBytes;
+				}
+				System.arraycopy(bytes, offset, this.bytes, size, length);
+				size += length;
+				return;
+			}
+			if (buffer.remaining() < length) {
+				int position = buffer.position();
+				long capacity = Math.max(position + (long)length, position * 2L);
+				ByteBuffer newBuffer = ByteBuffer.allocateDirect((int)Math.min(capacity, Integer.MAX_VALUE - 8));
+				buffer.flip();
+				newBuffer.put(buffer);
+				buffer = newBuffer;
+			}
+			buffer.put(bytes, offset, length);
+		}
+
+		Pcm toPcm (int channels, int sampleRate) {
+			if (buffer == null) {
+				buffer = ByteBuffer.allocateDirect(Math.max(size, 1));
+				buffer.put(bytes, 0, size);
+				bytes = null;
+			}
+			buffer.flip();
+			return new Pcm(buffer, channels, sampleRate);
+		}
+	}
 }
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.openal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.badlogic.gdx.backends.openal.OpenALSound.Decoder;
+import com.badlogic.gdx.backends.openal.OpenALSound.Pcm;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Stores decoded PCM in a directory, named by a hash of the sound file's contents. A cached file is memory mapped, so its PCM
+ * goes to OpenAL without being decoded or copied. Used by multiple threads at once.
+ * @see OpenALAudio#setSoundCache(FileHandle) */
+class PcmCache {
+	static private final int magic = 0x50434d31; // PCM1
+	static private final int headerSize = 12;
+	static private final char[] hexDigits = "0123456789abcdef".toCharArray();
+
+	private final File directory;
+
+	PcmCache (File directory) {
+		this.directory = directory;
+	}
+
+	Pcm decode (FileHandle file, Decoder decoder) {
+		String name = hash(file) + ".pcm";
+		File cached = new File(directory, name);
+		if (cached.isFile()) {
+			try {
+				Pcm pcm = read(cached);
+				if (pcm != null) return pcm;
+			} catch (IOException ignored) {
+			}
+			cached.delete();
+		}
+		Pcm pcm = decoder.decode(file);
+		// Written to a temporary file first so another thread or process never maps a partial file.
+		File temp = new File(directory, name + "." + Thread.currentThread().getId() + ".tmp");
+		try {
+			write(temp, pcm);
+			if (!temp.renameTo(cached)) temp.delete();
+		} catch (IOException ignored) {
+			// The cache is only an optimization.
+			temp.delete();
+		}
+		return pcm;
+	}
+
+	/** @return null if the file is not a valid cache file. */
+	private Pcm read (File file) throws IOException {
+		RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = input.getChannel();
+			long size = channel.size();
+			if (size < headerSize || size > Integer.MAX_VALUE) return null;
+			ByteBuffer header = ByteBuffer.allocate(headerSize);
+			while (header.hasRemaining())
+				if (channel.read(header) == -1) return null;
+			header.flip();
+			if (header.getInt() != magic) return null;
+			int channels = header.getInt(), sampleRate = header.getInt();
+			if (channels < 1 || channels > 2 || sampleRate < 1) return null;
+			return new Pcm(channel.map(MapMode.READ_ONLY, headerSize, size - headerSize), channels, sampleRate);
+		} finally {
+			input.close();
+		}
+	}
+
+	private void write (File file, Pcm pcm) throws IOException {
+		RandomAccessFile output = new RandomAccessFile(file, "rw");
+		try {
+			output.setLength(0);
+			FileChannel channel = output.getChannel();
+			ByteBuffer header = ByteBuffer.allocate(headerSize);
+			header.putInt(magic).putInt(pcm.channels).putInt(pcm.sampleRate).flip();
+			while (header.hasRemaining())
+				channel.write(header);
+			ByteBuffer data = pcm.data.duplicate();
+			while (data.hasRemaining())
+				channel.write(data);
+		} finally {
+			output.close();
+		}
+	}
+
+	private String hash (FileHandle file) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException ex) {
+			throw new GdxRuntimeException(ex);
+		}
+		InputStream input = file.read();
+		try {
+			byte[] buffer = new byte[8192];
+			while (true) {
+				int length = input.read(buffer);
+				if (length == -1) break;
+				digest.update(buffer, 0, length);
+			}
+		} catch (IOException ex) {
+			throw new GdxRuntimeException("Error reading file: " + file, ex);
+		} finally {
+			try {
+				input.close();
+			} catch (IOException ignored) {
+			}
+		}
+		byte[] bytes = digest.digest();
+		char[] chars = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			chars[i * 2] = hexDigits[(bytes[i] >> 4) & 0xf];
+			chars[i * 2 + 1] = hexDigits[bytes[i] & 0xf];
+		}
+		return new String(chars);
+	}
+}
@@ -0,0 +1,501 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.openal;
+
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import com.badlogic.gdx.audio.AudioDevice;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Sort;
+
+/** Mixes any number of sounds in Java and plays the result through a single {@link AudioDevice}, so playing a sound doesn't use
+ * an OpenAL source and sounds aren't dropped when OpenAL runs out of sources. A voice is virtualized, meaning it keeps its place
+ * but isn't mixed, while it would be inaudible or while more than the maximum number of voices are audible, in which case the
+ * voices with the lowest priority and then the lowest volume are virtualized.
+ * <p>
+ * {@link #start()} mixes on a thread and plays the result. {@link #mix(float[], int, int)} renders to a buffer, which doesn't
+ * need an audio device. Methods can be called on any thread. */
+public class SoftwareMixer implements Disposable {
+	static private final int bufferFrames = 256;
+
+	private final OpenALAudio audio;
+	private final int sampleRate;
+	private int maxVoices;
+	private float audibleVolume = 0.001f;
+	private float referenceDistance = 1, rolloff = 1;
+
+	private final Array<Voice> voices = new Array(false, 64, Voice.class);
+	private final LongMap<Voice> idToVoice = new LongMap();
+	private final Pool<Voice> voicePool = new Pool<Voice>() {
+		protected Voice newObject () {
+			return new Voice();
+		}
+	};
+	private long nextId;
+	private int audibleVoices;
+	private final Sort sort = new Sort();
+	private float[] left = new float[bufferFrames], right = new float[bufferFrames];
+
+	private Thread thread;
+	private volatile boolean running;
+
+	/** @param audio Used to decode files and to play the mix. May be null if only {@link #newSound(OpenALSound.Pcm)} and
+	 *           {@link #mix(float[], int, int)} are used.
+	 * @param sampleRate The sample rate of the mix. Sounds with a different rate are resampled.
+	 * @param maxVoices The maximum number of voices mixed at once. */
+	public SoftwareMixer (OpenALAudio audio, int sampleRate, int maxVoices) {
+		if (sampleRate < 1) throw new IllegalArgumentException("sampleRate must be > 0: " + sampleRate);
+		this.audio = audio;
+		this.sampleRate = sampleRate;
+		setMaxVoices(maxVoices);
+	}
+
+	public MixerSound newSound (FileHandle file) {
+		if (file == null) throw new IllegalArgumentException("file cannot be null.");
+		OpenALSound.Decoder decoder = audio.getSoundDecoder(file.extension());
+		if (decoder == null) throw new GdxRuntimeException("Unknown file extension for sound: " + file);
+		return newSound(audio.decodeSound(file, decoder));
+	}
+
+	public MixerSound newSound (OpenALSound.Pcm pcm) {
+		ShortBuffer data = pcm.data.duplicate().order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+		// Converted to float once, since converting while mixing is slower than the mixing itself.
+		float[] samples = new float[data.remaining() - data.remaining() % pcm.channels];
+		for (int i = 0, n = samples.length; i < n; i++)
+			samples[i] = data.get() * (1 / 32768f);
+		return new MixerSound(this, samples, pcm.channels, pcm.sampleRate);
+	}
+
+	/** Creates a stereo {@link AudioDevice} and mixes into it on a daemon thread until {@link #stop()}. Without an audio device,
+	 * the voices are still mixed in real time but nothing is heard. */
+	public synchronized void start () {
+		if (thread != null) return;
+		final AudioDevice device = audio.newAudioDevice(sampleRate, false);
+		final boolean pace = audio.noDevice;
+		running = true;
+		thread = new Thread("SoftwareMixer") {
+			public void run () {
+				float[] buffer = new float[bufferFrames * 2];
+				long bufferNanos = bufferFrames * 1000000000L / sampleRate, time = System.nanoTime();
+				try {
+					while (running) {
+						mix(buffer, 0, bufferFrames);
+						device.writeSamples(buffer, 0, buffer.length);
+						if (pace) {
+							// The device doesn't block, so wait as long as the samples would take to play.
+							time += bufferNanos;
+							long wait = time - System.nanoTime();
+							if (wait > 0) Thread.sleep(wait / 1000000, (int)(wait % 1000000));
+						}
+					}
+				} catch (InterruptedException ignored) {
+				} finally {
+					device.dispose();
+				}
+			}
+		};
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/** Stops the thread started by {@link #start()}. The voices keep their place. */
+	public void stop () {
+		Thread thread;
+		synchronized (this) {
+			thread = this.thread;
+			if (thread == null) return;
+			this.thread = null;
+			running = false;
+		}
+		try {
+			thread.join();
+		} catch (InterruptedException ignored) {
+		}
+	}
+
+	/** Mixes the voices into stereo samples, interleaved left then right, and advances them.
+	 * @param frames The number of sample pairs to write. */
+	public synchronized void mix (float[] output, int offset, int frames) {
+		if (left.length < frames) {
+			left = new float[frames];
+			right = new float[frames];
+		}
+		float[] left = this.left, right = this.right;
+		Arrays.fill(left, 0, frames, 0);
+		Arrays.fill(right, 0, frames, 0);
+
+		int audible = 0;
+		Voice[] items = voices.items;
+		for (int i = voices.size - 1; i >= 0; i--) {
+			Voice voice = items[i];
+			if (voice.sound == null) {
+				voices.removeIndex(i);
+				voicePool.free(voice);
+				continue;
+			}
+			float distance = Math.max(voice.distance, referenceDistance);
+			float volume = voice.volume * referenceDistance / (referenceDistance + rolloff * (distance - referenceDistance));
+			voice.loudness = volume;
+			voice.audible = volume >= audibleVolume;
+			if (voice.audible) audible++;
+			voice.gainLeft = volume * Math.min(1, 1 - voice.pan);
+			voice.gainRight = volume * Math.min(1, 1 + voice.pan);
+		}
+		if (audible > maxVoices) {
+			sort.sort(items, importance, 0, voices.size);
+			for (int i = maxVoices, n = voices.size; i < n; i++)
+				items[i].audible = false;
+			audible = maxVoices;
+		}
+		audibleVoices = audible;
+
+		for (int i = 0, n = voices.size; i < n; i++) {
+			Voice voice = items[i];
+			if (voice.audible ? mix(voice, left, right, frames) : skip(voice, frames)) continue;
+			idToVoice.remove(voice.id);
+			voice.sound = null;
+		}
+
+		for (int i = 0, o = offset; i < frames; i++) {
+			output[o++] = Math.max(-1, Math.min(1, left[i]));
+			output[o++] = Math.max(-1, Math.min(1, right[i]));
+		}
+	}
+
+	/** Adds the voice to the mix and advances it.
+	 * @return false if the voice ended. */
+	private boolean mix (Voice voice, float[] left, float[] right, int frames) {
+		MixerSound sound = voice.sound;
+		float[] samples = sound.samples;
+		boolean stereo = sound.channels == 2;
+		float gainLeft = voice.gainLeft, gainRight = voice.gainRight;
+		long step = step(voice), position = voice.position, end = (long)sound.frames << 32;
+		for (int offset = 0; offset < frames;) {
+			if (position >= end) {
+				if (!voice.looping) return false;
+				position %= end;
+			}
+			// The number of frames before the end of the sound.
+			int count = frames - offset;
+			count = (int)Math.min(count, (end - position + step - 1) / step);
+			if (step == 1L << 32 && (int)position == 0) {
+				int start = (int)(position >>> 32);
+				if (stereo)
+					mixStereo(samples, start, left, right, offset, count, gainLeft, gainRight);
+				else
+					mixMono(samples, start, left, right, offset, count, gainLeft, gainRight);
+				position += (long)count << 32;
+			} else {
+				// Frames before passing the last sample, where the next sample to interpolate with is the following one.
+				int last = sound.frames - 1, inner = count;
+				long lastPosition = (long)last << 32;
+				inner = (int)Math.min(count, Math.max(0, (lastPosition - position + step - 1) / step));
+				if (stereo)
+					resampleStereo(samples, position, step, left, right, offset, inner, gainLeft, gainRight);
+				else
+					resampleMono(samples, position, step, left, right, offset, inner, gainLeft, gainRight);
+				position += inner * step;
+				int next = voice.looping ? 0 : last;
+				for (int i = offset + inner, n = offset + count; i < n; i++, position += step) {
+					float alpha = (position - lastPosition) * (1f / (1L << 32));
+					if (stereo) {
+						float l = samples[last * 2], r = samples[last * 2 + 1];
+						left[i] += (l + (samples[next * 2] - l) * alpha) * gainLeft;
+						right[i] += (r + (samples[next * 2 + 1] - r) * alpha) * gainRight;
+					} else {
+						float sample = samples[last];
+						sample += (samples[next] - sample) * alpha;
+						left[i] += sample * gainLeft;
+						right[i] += sample * gainRight;
+					}
+				}
+			}
+			offset += count;
+		}
+		voice.position = position;
+		return true;
+	}
+
+	/** Returns the number of sound frames the voice advances per mixed frame, as 32.32 fixed point. At least 1, so a voice with a
+	 * pitch of 0 still reaches the end of its last sample and the mix loops never read past it. */
+	private long step (Voice voice) {
+		return Math.max(1, (long)((double)voice.pitch * voice.sound.sampleRate / sampleRate * (1L << 32)));
+	}
+
+	static private void mixMono (float[] samples, int start, float[] left, float[] right, int offset, int count, float gainLeft,
+		float gainRight) {
+		for (int i = 0; i < count; i++) {
+			float sample = samples[start + i];
+			left[offset + i] += sample * gainLeft;
+			right[offset + i] += sample * gainRight;
+		}
+	}
+
+	static private void mixStereo (float[] samples, int start, float[] left, float[] right, int offset, int count,
+		float gainLeft, float gainRight) {
+		start *= 2;
+		for (int i = 0; i < count; i++) {
+			left[offset + i] += samples[start + i * 2] * gainLeft;
+			right[offset + i] += samples[start + i * 2 + 1] * gainRight;
+		}
+	}
+
+	/** Mixes with linear interpolation. The position must not reach the last sample. The fraction of the position is turned into
+	 * a float by setting the mantissa bits of 1, which avoids an int to float conversion that is slow in this loop. */
+	static private void resampleMono (float[] samples, long position, long step, float[] left, float[] right, int offset,
+		int count, float gainLeft, float gainRight) {
+		for (int i = offset, n = offset + count; i < n; i++, position += step) {
+			int index = (int)(position >>> 32);
+			float sample = samples[index];
+			sample += (samples[index + 1] - sample) * (Float.intBitsToFloat(0x3f800000 | (int)position >>> 9) - 1);
+			left[i] += sample * gainLeft;
+			right[i] += sample * gainRight;
+		}
+	}
+
+	/** @see #resampleMono(float[], long, long, float[], float[], int, int, float, float) */
+	static private void resampleStereo (float[] samples, long position, long step, float[] left, float[] right, int offset,
+		int count, float gainLeft, float gainRight) {
+		for (int i = offset, n = offset + count; i < n; i++, position += step) {
+			int index = (int)(position >>> 32) * 2;
+			float alpha = Float.intBitsToFloat(0x3f800000 | (int)position >>> 9) - 1, l = samples[index], r = samples[index + 1];
+			left[i] += (l + (samples[index + 2] - l) * alpha) * gainLeft;
+			right[i] += (r + (samples[index + 3] - r) * alpha) * gainRight;
+		}
+	}
+
+	/** Advances a virtual voice without mixing it.
+	 * @return false if the voice ended. */
+	private boolean skip (Voice voice, int frames) {
+		long position = voice.position + frames * step(voice), end = (long)voice.sound.frames << 32;
+		if (position >= end) {
+			if (!voice.looping) return false;
+			position %= end;
+		}
+		voice.position = position;
+		return true;
+	}
+
+	synchronized long play (MixerSound sound, float volume, float pitch, float pan, boolean looping) {
+		if (sound.frames == 0) return -1;
+		Voice voice = voicePool.obtain();
+		voice.sound = sound;
+		voice.id = nextId++;
+		voice.position = 0;
+		voice.volume = volume;
+		voice.pitch = Math.max(0, pitch);
+		voice.pan = pan;
+		voice.distance = 0;
+		voice.priority = 0;
+		voice.looping = looping;
+		voices.add(voice);
+		idToVoice.put(voice.id, voice);
+		return voice.id;
+	}
+
+	synchronized void stop (long soundId) {
+		Voice voice = idToVoice.remove(soundId);
+		if (voice != null) voice.sound = null;
+	}
+
+	synchronized void stop (MixerSound sound) {
+		Voice[] items = voices.items;
+		for (int i = 0, n = voices.size; i < n; i++) {
+			Voice voice = items[i];
+			if (voice.sound != sound) continue;
+			idToVoice.remove(voice.id);
+			voice.sound = null;
+		}
+	}
+
+	/** Sets the maximum number of voices mixed at once. */
+	public synchronized void setMaxVoices (int maxVoices) {
+		if (maxVoices < 1) throw new IllegalArgumentException("maxVoices must be > 0: " + maxVoices);
+		this.maxVoices = maxVoices;
+	}
+
+	/** Sets the volume below which a voice is virtualized. Default is 0.001 (-60dB). */
+	public synchronized void setAudibleVolume (float audibleVolume) {
+		this.audibleVolume = audibleVolume;
+	}
+
+	/** Sets how distance attenuates volume, which is multiplied by referenceDistance / (referenceDistance + rolloff * (distance -
+	 * referenceDistance)) for distances beyond the reference distance. Default is 1, 1. */
+	public synchronized void setDistanceModel (float referenceDistance, float rolloff) {
+		if (referenceDistance <= 0) throw new IllegalArgumentException("referenceDistance must be > 0: " + referenceDistance);
+		this.referenceDistance = referenceDistance;
+		this.rolloff = rolloff;
+	}
+
+	public int getSampleRate () {
+		return sampleRate;
+	}
+
+	/** Returns the number of voices playing, audible or virtual. */
+	public synchronized int getVoices () {
+		return idToVoice.size;
+	}
+
+	/** Returns the number of voices audible in the last mix. */
+	public synchronized int getAudibleVoices () {
+		return audibleVoices;
+	}
+
+	/** Stops the thread and all voices. */
+	public void dispose () {
+		stop();
+		synchronized (this) {
+			Voice[] items = voices.items;
+			for (int i = 0, n = voices.size; i < n; i++)
+				items[i].sound = null;
+			idToVoice.clear();
+		}
+	}
+
+	/** Audible voices first, then highest priority, then loudest. */
+	static private final Comparator<Voice> importance = new Comparator<Voice>() {
+		public int compare (Voice voice1, Voice voice2) {
+			if (voice1.audible != voice2.audible) return voice1.audible ? -1 : 1;
+			if (voice1.priority != voice2.priority) return voice1.priority > voice2.priority ? -1 : 1;
+			return Float.compare(voice2.loudness, voice1.loudness);
+		}
+	};
+
+	static class Voice {
+		MixerSound sound;
+		long id;
+		/** In sound frames, as 32.32 fixed point. */
+		long position;
+		float volume, pitch, pan, distance;
+		int priority;
+		boolean looping, audible;
+		float loudness, gainLeft, gainRight;
+	}
+
+	/** A sound played by a {@link SoftwareMixer}. The sound IDs are only valid for the mixer that created the sound. */
+	static public class MixerSound implements Sound {
+		final SoftwareMixer mixer;
+		final float[] samples;
+		final int channels, sampleRate, frames;
+
+		MixerSound (SoftwareMixer mixer, float[] samples, int channels, int sampleRate) {
+			if (channels != 1 && channels != 2) throw new IllegalArgumentException("channels must be 1 or 2: " + channels);
+			this.mixer = mixer;
+			this.samples = samples;
+			this.channels = channels;
+			this.sampleRate = sampleRate;
+			frames = samples.length / channels;
+		}
+
+		public long play () {
+			return mixer.play(this, 1, 1, 0, false);
+		}
+
+		public long play (float volume) {
+			return mixer.play(this, volume, 1, 0, false);
+		}
+
+		public long play (float volume, float pitch, float pan) {
+			return mixer.play(this, volume, pitch, pan, false);
+		}
+
+		public long loop () {
+			return mixer.play(this, 1, 1, 0, true);
+		}
+
+		public long loop (float volume) {
+			return mixer.play(this, volume, 1, 0, true);
+		}
+
+		public long loop (float volume, float pitch, float pan) {
+			return mixer.play(this, volume, pitch, pan, true);
+		}
+
+		public void stop () {
+			mixer.stop(this);
+		}
+
+		public void dispose () {
+			mixer.stop(this);
+		}
+
+		public void stop (long soundId) {
+			mixer.stop(soundId);
+		}
+
+		public void setLooping (long soundId, boolean looping) {
+			synchronized (mixer) {
+				Voice voice = mixer.idToVoice.get(soundId);
+				if (voice != null) voice.looping = looping;
+			}
+		}
+
+		public void setPitch (long soundId, float pitch) {
+			synchronized (mixer) {
+				Voice voice = mixer.idToVoice.get(soundId);
+				if (voice != null) voice.pitch = Math.max(0, pitch);
+			}
+		}
+
+		public void setVolume (long soundId, float volume) {
+			synchronized (mixer) {
+				Voice voice = mixer.idToVoice.get(soundId);
+				if (voice != null) voice.volume = volume;
+			}
+		}
+
+		public void setPan (long soundId, float pan, float volume) {
+			synchronized (mixer) {
+				Voice voice = mixer.idToVoice.get(soundId);
+				if (voice == null) return;
+				voice.pan = pan;
+				voice.volume = volume;
+			}
+		}
+
+		/** Higher priority voices are virtualized last when more than the maximum number of voices are audible. */
+		public void setPriority (long soundId, int priority) {
+			synchronized (mixer) {
+				Voice voice = mixer.idToVoice.get(soundId);
+				if (voice != null) voice.priority = priority;
+			}
+		}
+
+		/** Sets the distance from the listener, which attenuates the volume.
+		 * @see SoftwareMixer#setDistanceModel(float, float) */
+		public void setDistance (long soundId, float distance) {
+			synchronized (mixer) {
+				Voice voice = mixer.idToVoice.get(soundId);
+				if (voice != null) voice.distance = distance;
+			}
+		}
+
+		/** Returns the length of the sound in seconds. */
+		public float duration () {
+			return frames / (float)sampleRate;
+		}
+	}
+}
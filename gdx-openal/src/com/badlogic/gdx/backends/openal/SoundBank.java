@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.openal;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** A group of sounds loaded together by {@link SoundBankLoader}, looked up by file name. Disposing the bank disposes its
+ * sounds. */
+public class SoundBank implements Disposable {
+	final ObjectMap<String, Sound> sounds = new ObjectMap();
+
+	/** @param name The file name, relative to the bank's directory or as listed in
+	 *           {@link SoundBankLoader.SoundBankParameter#files}. */
+	public Sound get (String name) {
+		Sound sound = sounds.get(name);
+		if (sound == null) throw new GdxRuntimeException("Sound not found in bank: " + name);
+		return sound;
+	}
+
+	public boolean contains (String name) {
+		return sounds.containsKey(name);
+	}
+
+	public ObjectMap.Keys<String> getNames () {
+		return sounds.keys();
+	}
+
+	public void dispose () {
+		for (Sound sound : sounds.values())
+			sound.dispose();
+		sounds.clear();
+	}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.openal;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+
+/** Loads a {@link SoundBank} on the {@link AssetManager}'s loader thread, decoding its sounds in parallel with
+ * {@link OpenALAudio#newSounds(FileHandle...)}. The file name is a directory whose files with a registered sound decoder are
+ * loaded, or {@link SoundBankParameter#files} lists the files. Register it with
+ * <code>manager.setLoader(SoundBank.class, new SoundBankLoader(resolver))</code>. With another {@link Gdx#audio} the sounds are
+ * created one at a time. */
+public class SoundBankLoader extends AsynchronousAssetLoader<SoundBank, SoundBankLoader.SoundBankParameter> {
+	private SoundBank bank;
+
+	public SoundBankLoader (FileHandleResolver resolver) {
+		super(resolver);
+	}
+
+	@Override
+	public void loadAsync (AssetManager manager, String fileName, SoundBankParameter parameter) {
+		Array<String> names = new Array();
+		Array<FileHandle> files = new Array();
+		if (parameter != null && parameter.files != null) {
+			for (String name : parameter.files) {
+				names.add(name);
+				files.add(resolve(name));
+			}
+		} else {
+			OpenALAudio audio = Gdx.audio instanceof OpenALAudio ? (OpenALAudio)Gdx.audio : null;
+			for (FileHandle file : resolve(fileName).list()) {
+				if (file.isDirectory()) continue;
+				if (audio != null ? audio.getSoundDecoder(file.extension()) == null : !isSound(file)) continue;
+				names.add(file.name());
+				files.add(file);
+			}
+		}
+
+		bank = new SoundBank();
+		FileHandle[] fileArray = files.toArray(FileHandle.class);
+		if (Gdx.audio instanceof OpenALAudio) {
+			Array<OpenALSound> sounds = ((OpenALAudio)Gdx.audio).newSounds(fileArray);
+			for (int i = 0; i < sounds.size; i++)
+				bank.sounds.put(names.get(i), sounds.get(i));
+		} else {
+			try {
+				for (int i = 0; i < fileArray.length; i++)
+					bank.sounds.put(names.get(i), Gdx.audio.newSound(fileArray[i]));
+			} catch (RuntimeException ex) {
+				bank.dispose();
+				bank = null;
+				throw ex;
+			}
+		}
+	}
+
+	private boolean isSound (FileHandle file) {
+		String extension = file.extension();
+		return extension.equals("wav") || extension.equals("ogg") || extension.equals("mp3");
+	}
+
+	@Override
+	public SoundBank loadSync (AssetManager manager, String fileName, SoundBankParameter parameter) {
+		SoundBank bank = this.bank;
+		this.bank = null;
+		return bank;
+	}
+
+	@Override
+	public Array<AssetDescriptor> getDependencies (String fileName, SoundBankParameter parameter) {
+		return null;
+	}
+
+	static public class SoundBankParameter extends AssetLoaderParameters<SoundBank> {
+		/** The files to load, resolved with the loader's resolver. If null, the files in the directory are loaded. */
+		public String[] files;
+	}
+}
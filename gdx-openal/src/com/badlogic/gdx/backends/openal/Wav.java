@@ -16,11 +16,12 @@
 
 package com.badlogic.gdx.backends.openal;
 
-import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.FilterInputStream;
 import java.io.IOException;
 
+import com.badlogic.gdx.backends.openal.OpenALSound.Pcm;
+import com.badlogic.gdx.backends.openal.OpenALSound.PcmOutput;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
@@ -31,7 +32,6 @@ public class Wav {
 		public Music (OpenALAudio audio, FileHandle file) {
 			super(audio, file);
 			input = new WavInputStream(file);
-			if (audio.noDevice) return;
 			setup(input.channels, input.sampleRate);
 		}
 
@@ -61,22 +61,32 @@ public class Wav {
 		public Sound (OpenALAudio audio, FileHandle file) {
 			super(audio);
 			if (audio.noDevice) return;
+			setup(audio.decodeSound(file, soundDecoder));
+		}
+	}
 
+	static final OpenALSound.Decoder soundDecoder = new OpenALSound.Decoder() {
+		public Pcm decode (FileHandle file) {
 			WavInputStream input = new WavInputStream(file);
-			ByteArrayOutputStream output = new ByteArrayOutputStream(4096);
 			try {
-				byte[] buffer = new byte[2048];
+				PcmOutput output = new PcmOutput(input.dataRemaining);
+				byte[] buffer = new byte[4096 * 4];
 				while (true) {
 					int length = input.readData(buffer);
 					if (length == -1) break;
 					output.write(buffer, 0, length);
 				}
+				return output.toPcm(input.channels, input.sampleRate);
 			} catch (IOException ex) {
 				throw new GdxRuntimeException("Error reading WAV file: " + file, ex);
+			} finally {
+				try {
+					input.close();
+				} catch (IOException ignored) {
+				}
 			}
-			setup(output.toByteArray(), input.channels, input.sampleRate);
 		}
-	}
+	};
 
 	/** @author Nathan Sweet */
 	static private class WavInputStream extends FilterInputStream {
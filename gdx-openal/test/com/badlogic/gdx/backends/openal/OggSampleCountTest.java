@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.openal;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Checks that {@link Ogg#sampleCount(FileHandle)} finds the granule position of the last page, used to size the decoded PCM
+ * without growing it, and that it gives up on files without a page. The files only have the page headers, not Vorbis data. Run
+ * with the gdx and gdx-openal classes on the classpath, no audio device is needed. */
+public class OggSampleCountTest {
+	public static void main (String[] args) throws Exception {
+		File file = File.createTempFile("samples", ".ogg");
+		file.deleteOnExit();
+
+		// The first page starts before the 65307 byte tail that is read.
+		write(file, new long[] {1000, 44100 * 3 + 17}, 40000);
+		check(file, 44100 * 3 + 17);
+		write(file, new long[] {1L << 40}, 10);
+		check(file, 1L << 40);
+		write(file, new long[0], 100);
+		check(file, -1);
+		write(file, new long[0], 0);
+		check(file, -1);
+		System.out.println("Passed.");
+	}
+
+	static void check (File file, long expected) {
+		long count = Ogg.sampleCount(new FileHandle(file));
+		if (count != expected) throw new GdxRuntimeException("Sample count: " + count + ", expected: " + expected);
+	}
+
+	/** Writes a page header for each granule position, each followed by the padding. */
+	static void write (File file, long[] granules, int padding) throws IOException {
+		FileOutputStream output = new FileOutputStream(file);
+		try {
+			for (long granule : granules) {
+				byte[] header = new byte[27];
+				header[0] = 'O';
+				header[1] = 'g';
+				header[2] = 'g';
+				header[3] = 'S';
+				for (int i = 0; i < 8; i++)
+					header[6 + i] = (byte)(granule >>> i * 8);
+				output.write(header);
+				output.write(new byte[padding]);
+			}
+			if (granules.length == 0) output.write(new byte[padding]);
+		} finally {
+			output.close();
+		}
+	}
+}
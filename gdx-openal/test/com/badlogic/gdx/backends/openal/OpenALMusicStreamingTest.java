@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.backends.openal;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Streams a one second WAV file on {@link OpenALAudio}'s music thread without an audio device, where music is consumed in real
+ * time. Checks the position while playing, paused, stopped and looping, that the music ends on time, that no stalls or
+ * underflows are counted, that the thread waits while nothing plays, and that dispose ends the thread. Run with the gdx and
+ * gdx-openal classes and the LWJGL jar on the classpath, without the LWJGL natives. */
+public class OpenALMusicStreamingTest {
+	static final int rate = 22050;
+	static final float tolerance = 0.15f;
+
+	public static void main (String[] args) throws Exception {
+		File file = File.createTempFile("streaming", ".wav");
+		file.deleteOnExit();
+		writeWav(file, rate);
+
+		OpenALAudio audio = new OpenALAudio();
+		if (!audio.noDevice) throw new GdxRuntimeException("An audio device is available, run without the LWJGL natives.");
+		Thread thread = null;
+		for (Thread candidate : Thread.getAllStackTraces().keySet())
+			if (candidate.getName().equals("OpenALMusic")) thread = candidate;
+		if (thread == null) throw new GdxRuntimeException("Streaming thread not started.");
+		Thread.sleep(50);
+		checkWaiting(thread);
+
+		OpenALMusic music = audio.newMusic(new FileHandle(file));
+		music.play();
+		Thread.sleep(300);
+		if (!music.isPlaying()) throw new GdxRuntimeException("Not playing.");
+		check("playing", music.getPosition(), 0.3f);
+
+		music.pause();
+		float paused = music.getPosition();
+		Thread.sleep(200);
+		check("paused", music.getPosition(), paused);
+		music.play();
+		Thread.sleep(200);
+		check("resumed", music.getPosition(), paused + 0.2f);
+
+		music.stop();
+		check("stopped", music.getPosition(), 0);
+		music.play();
+		Thread.sleep(1300);
+		if (music.isPlaying()) throw new GdxRuntimeException("Still playing after the end.");
+		if (music.getStalls() != 0 || music.getUnderflows() != 0)
+			throw new GdxRuntimeException("Stalls: " + music.getStalls() + ", underflows: " + music.getUnderflows());
+		Thread.sleep(50);
+		checkWaiting(thread);
+
+		music.setLooping(true);
+		music.play();
+		Thread.sleep(1300);
+		if (!music.isPlaying()) throw new GdxRuntimeException("Looping music stopped.");
+		check("looped", music.getPosition(), 0.3f);
+		music.stop();
+
+		music.dispose();
+		audio.dispose();
+		if (thread.isAlive()) throw new GdxRuntimeException("Streaming thread still running after dispose.");
+		System.out.println("Passed.");
+	}
+
+	static void check (String name, float position, float expected) {
+		if (Math.abs(position - expected) > tolerance)
+			throw new GdxRuntimeException("Position " + name + ": " + position + ", expected: " + expected);
+	}
+
+	static void checkWaiting (Thread thread) {
+		if (thread.getState() != Thread.State.WAITING)
+			throw new GdxRuntimeException("Streaming thread is not waiting while idle: " + thread.getState());
+	}
+
+	/** Writes one second of silent 16 bit mono PCM. */
+	static void writeWav (File file, int rate) throws IOException {
+		DataOutputStream output = new DataOutputStream(new FileOutputStream(file));
+		try {
+			output.writeBytes("RIFF");
+			output.writeInt(Integer.reverseBytes(36 + rate * 2));
+			output.writeBytes("WAVEfmt ");
+			output.writeInt(Integer.reverseBytes(16));
+			output.writeShort(Short.reverseBytes((short)1)); // PCM
+			output.writeShort(Short.reverseBytes((short)1)); // Channels
+			output.writeInt(Integer.reverseBytes(rate));
+			output.writeInt(Integer.reverseBytes(rate * 2));
+			output.writeShort(Short.reverseBytes((short)2)); // Bytes per frame
+			output.writeShort(Short.reverseBytes((short)16));
+			output.writeBytes("data");
+			output.writeInt(Integer.reverseBytes(rate * 2));
+			output.write(new byte[rate * 2]);
+		} finally {
+			output.close();
+		}
+	}
+}
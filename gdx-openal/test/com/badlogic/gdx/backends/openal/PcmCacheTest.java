@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.openal;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.backends.openal.OpenALSound.Decoder;
+import com.badlogic.gdx.backends.openal.OpenALSound.Pcm;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Decodes a file through {@link PcmCache} twice and checks that the second time the PCM is memory mapped from the cache file
+ * without decoding. Then corrupts the cache file by changing its header and by truncating it, and checks that each time the
+ * file is decoded again and the cache file is rewritten. Run with the gdx and gdx-openal classes on the classpath, no audio
+ * device is needed. */
+public class PcmCacheTest {
+	static int decodes;
+	static ByteBuffer decoded;
+
+	public static void main (String[] args) throws Exception {
+		File directory = File.createTempFile("pcmcache", "");
+		directory.delete();
+		directory.mkdirs();
+		File source = new File(directory, "sound.raw");
+		byte[] samples = new byte[10000];
+		for (int i = 0; i < samples.length; i++)
+			samples[i] = (byte)(i * 31);
+		FileOutputStream output = new FileOutputStream(source);
+		output.write(samples);
+		output.close();
+
+		Decoder decoder = new Decoder() {
+			public Pcm decode (FileHandle file) {
+				decodes++;
+				byte[] bytes = file.readBytes();
+				ByteBuffer data = ByteBuffer.allocateDirect(bytes.length);
+				data.put(bytes).flip();
+				decoded = data;
+				return new Pcm(data, 2, 22050);
+			}
+		};
+		PcmCache cache = new PcmCache(directory);
+		FileHandle file = new FileHandle(source);
+
+		check("decoded", cache.decode(file, decoder), samples, 1, false);
+		File cached = cacheFile(directory);
+		if (cached.length() != 12 + samples.length) throw new GdxRuntimeException("Cache file length: " + cached.length());
+		check("cached", cache.decode(file, decoder), samples, 1, true);
+
+		RandomAccessFile corrupt = new RandomAccessFile(cached, "rw");
+		corrupt.writeInt(0x12345678);
+		corrupt.close();
+		check("bad header", cache.decode(file, decoder), samples, 2, false);
+		check("rewritten after bad header", cache.decode(file, decoder), samples, 2, true);
+
+		corrupt = new RandomAccessFile(cached, "rw");
+		corrupt.setLength(5);
+		corrupt.close();
+		check("truncated", cache.decode(file, decoder), samples, 3, false);
+		check("rewritten after truncation", cache.decode(file, decoder), samples, 3, true);
+
+		for (File child : directory.listFiles())
+			child.delete();
+		directory.delete();
+		System.out.println("Passed.");
+	}
+
+	static File cacheFile (File directory) {
+		File found = null;
+		for (File child : directory.listFiles()) {
+			if (!child.getName().endsWith(".pcm")) continue;
+			if (found != null) throw new GdxRuntimeException("More than one cache file.");
+			found = child;
+		}
+		if (found == null) throw new GdxRuntimeException("No cache file written.");
+		return found;
+	}
+
+	static void check (String name, Pcm pcm, byte[] samples, int expectedDecodes, boolean mapped) {
+		if (decodes != expectedDecodes)
+			throw new GdxRuntimeException(name + ": decoded " + decodes + " times, expected: " + expectedDecodes);
+		if (mapped == (pcm.data == decoded)) throw new GdxRuntimeException(name + ": mapped should be " + mapped);
+		if (pcm.channels != 2 || pcm.sampleRate != 22050)
+			throw new GdxRuntimeException(name + ": format " + pcm.channels + ", " + pcm.sampleRate);
+		ByteBuffer data = pcm.data.duplicate();
+		if (data.remaining() != samples.length) throw new GdxRuntimeException(name + ": length " + data.remaining());
+		for (int i = 0; i < samples.length; i++)
+			if (data.get() != samples[i]) throw new GdxRuntimeException(name + ": data differs at " + i);
+	}
+}
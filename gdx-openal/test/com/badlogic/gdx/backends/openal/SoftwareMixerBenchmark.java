@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.backends.openal;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import com.badlogic.gdx.backends.openal.SoftwareMixer.MixerSound;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Checks {@link SoftwareMixer} against a straightforward double precision mixer for random mono and stereo sounds, sample rates,
+ * pitches (including 0) and loop settings, then compares the time per voice per output frame of both for pitch 1 and for
+ * resampled voices. Fails if any output sample differs by more than 1e-4. Run with the gdx and gdx-openal classes on the
+ * classpath, no audio device is needed. */
+public class SoftwareMixerBenchmark {
+	static final int mixRate = 44100, blockFrames = 256;
+
+	public static void main (String[] args) {
+		Random random = new Random(1);
+		float maxError = 0;
+		for (int test = 0; test < 300; test++)
+			maxError = Math.max(maxError, compare(random));
+		if (maxError > 1e-4f) throw new GdxRuntimeException("Mix differs from the reference by: " + maxError);
+		System.out.println("Max error against the reference: " + maxError);
+		pitchZeroAtEnd();
+
+		for (int round = 0; round < 3; round++) {
+			// The first rounds warm up the JIT.
+			boolean print = round == 2;
+			if (print) System.out.println("ns per voice per frame, " + blockFrames + " frame blocks:");
+			for (int voices : new int[] {64, 256, 1024}) {
+				float pitch1 = time(random, voices, false), resampled = time(random, voices, true);
+				float reference = timeReference(random, voices);
+				if (print) {
+					System.out.println("  " + voices + " voices: pitch 1 " + pitch1 + ", resampled " + resampled + ", reference "
+						+ reference);
+				}
+			}
+		}
+	}
+
+	/** Mixes a few random voices with both mixers and returns the largest difference. */
+	static float compare (Random random) {
+		SoftwareMixer mixer = new SoftwareMixer(null, mixRate, 64);
+		mixer.setAudibleVolume(0);
+		int count = 1 + random.nextInt(6);
+		Reference[] references = new Reference[count];
+		for (int i = 0; i < count; i++) {
+			int channels = 1 + random.nextInt(2), rate = random.nextBoolean() ? mixRate : 8000 + random.nextInt(40000);
+			float[] samples = samples(random, channels, 1 + random.nextInt(3000));
+			float pitch = random.nextInt(8) == 0 ? 0 : random.nextInt(4) == 0 ? 1 : 0.25f + random.nextFloat() * 3;
+			boolean looping = random.nextBoolean();
+			float volume = 1f / count;
+			MixerSound sound = mixer.newSound(pcm(samples, channels, rate));
+			if (looping)
+				sound.loop(volume, pitch, 0);
+			else
+				sound.play(volume, pitch, 0);
+			references[i] = new Reference(samples, channels, rate, pitch, volume, looping);
+		}
+		float maxError = 0;
+		float[] output = new float[blockFrames * 2], expected = new float[blockFrames * 2];
+		for (int block = 0; block < 40; block++) {
+			mixer.mix(output, 0, blockFrames);
+			java.util.Arrays.fill(expected, 0);
+			for (Reference reference : references)
+				reference.mix(expected, blockFrames);
+			for (int i = 0; i < output.length; i++)
+				maxError = Math.max(maxError, Math.abs(output[i] - Math.max(-1, Math.min(1, expected[i]))));
+		}
+		return maxError;
+	}
+
+	/** Stops a voice on its last sample by setting the pitch to 0, where the next sample to interpolate with is past the end. */
+	static void pitchZeroAtEnd () {
+		for (int channels = 1; channels <= 2; channels++) {
+			SoftwareMixer mixer = new SoftwareMixer(null, mixRate, 1);
+			float[] samples = samples(new Random(channels), channels, blockFrames + 1);
+			MixerSound sound = mixer.newSound(pcm(samples, channels, mixRate));
+			long id = sound.play(1, 1, 0);
+			float[] output = new float[blockFrames * 2];
+			mixer.mix(output, 0, blockFrames);
+			sound.setPitch(id, 0);
+			mixer.mix(output, 0, blockFrames);
+			float last = samples[blockFrames * channels];
+			if (Math.abs(output[0] - last) > 1e-4f || Math.abs(output[output.length - 2] - last) > 1e-4f)
+				throw new GdxRuntimeException("Pitch 0 on the last sample should hold it: " + output[0] + " != " + last);
+		}
+	}
+
+	static float time (Random random, int voices, boolean resampled) {
+		SoftwareMixer mixer = new SoftwareMixer(null, mixRate, voices);
+		mixer.setAudibleVolume(0);
+		for (int i = 0; i < voices; i++) {
+			int channels = 1 + (i & 1);
+			MixerSound sound = mixer.newSound(pcm(samples(random, channels, mixRate), channels, mixRate));
+			sound.loop(1f / voices, resampled ? 0.5f + random.nextFloat() : 1, 0);
+		}
+		float[] output = new float[blockFrames * 2];
+		int blocks = Math.max(20, 200000 / voices);
+		long start = System.nanoTime();
+		for (int i = 0; i < blocks; i++)
+			mixer.mix(output, 0, blockFrames);
+		return nsPerVoiceFrame(System.nanoTime() - start, blocks, voices);
+	}
+
+	static float timeReference (Random random, int voices) {
+		Reference[] references = new Reference[voices];
+		for (int i = 0; i < voices; i++) {
+			int channels = 1 + (i & 1);
+			references[i] = new Reference(samples(random, channels, mixRate), channels, mixRate, 0.5f + random.nextFloat(),
+				1f / voices, true);
+		}
+		float[] output = new float[blockFrames * 2];
+		int blocks = Math.max(20, 200000 / voices);
+		long start = System.nanoTime();
+		for (int i = 0; i < blocks; i++)
+			for (Reference reference : references)
+				reference.mix(output, blockFrames);
+		return nsPerVoiceFrame(System.nanoTime() - start, blocks, voices);
+	}
+
+	static float nsPerVoiceFrame (long nanos, int blocks, int voices) {
+		return Math.round(nanos * 100f / blocks / blockFrames / voices) / 100f;
+	}
+
+	/** Returns samples quantized to 16 bits, the same as the mixer converts them. */
+	static float[] samples (Random random, int channels, int frames) {
+		float[] samples = new float[frames * channels];
+		for (int i = 0; i < samples.length; i++)
+			samples[i] = (short)(random.nextFloat() * 65535 - 32768) / 32768f;
+		return samples;
+	}
+
+	static OpenALSound.Pcm pcm (float[] samples, int channels, int rate) {
+		ByteBuffer data = ByteBuffer.allocateDirect(samples.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+		for (float sample : samples)
+			data.putShort((short)Math.round(sample * 32768));
+		data.flip();
+		return new OpenALSound.Pcm(data, channels, rate);
+	}
+
+	/** Mixes one voice with linear interpolation in double precision. */
+	static class Reference {
+		final float[] samples;
+		final int channels, frames;
+		final double step;
+		final float volume;
+		final boolean looping;
+		double position;
+		boolean ended;
+
+		Reference (float[] samples, int channels, int rate, float pitch, float volume, boolean looping) {
+			this.samples = samples;
+			this.channels = channels;
+			this.volume = volume;
+			this.looping = looping;
+			frames = samples.length / channels;
+			// The mixer advances at least this much per frame.
+			step = Math.max(pitch * (double)rate / mixRate, 1.0 / (1L << 32));
+		}
+
+		void mix (float[] output, int count) {
+			for (int i = 0; i < count && !ended; i++, position += step) {
+				if (position >= frames) {
+					if (!looping) {
+						ended = true;
+						break;
+					}
+					position %= frames;
+				}
+				int index = (int)position, next = index + 1;
+				if (next == frames) next = looping ? 0 : index;
+				double alpha = position - index;
+				for (int c = 0; c < 2; c++) {
+					int channel = channels == 2 ? c : 0;
+					double a = samples[index * channels + channel], b = samples[next * channels + channel];
+					output[i * 2 + c] += (float)((a + (b - a) * alpha) * volume);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Stores input events as primitive records and later delivers them to an {@link InputProcessor} in the order they were added.
+ * Adding an event does not allocate once the backing array has grown to the number of events per frame.
+ * <p>
+ * When {@link #setCoalesceMoves(boolean) coalescing} is enabled, a mouse move or touch drag replaces the previous move or drag
+ * of the same pointer if no other kind of event was added in between, so only the latest position is delivered. A 1000 Hz mouse
+ * can otherwise deliver dozens of moves per frame, each of which may cause a hit test.
+ * <p>
+ * Events can also be read without a processor using {@link #size()} and the getters that take an event index. The counters
+ * describe the last {@link #drain(InputProcessor)}. Not thread safe.
+ * @see InputProcessorQueue */
+public class InputEventQueue {
+	static public final int KEY_DOWN = 0;
+	static public final int KEY_UP = 1;
+	static public final int KEY_TYPED = 2;
+	static public final int TOUCH_DOWN = 3;
+	static public final int TOUCH_UP = 4;
+	static public final int TOUCH_DRAGGED = 5;
+	static public final int MOUSE_MOVED = 6;
+	static public final int SCROLLED = 7;
+
+	// type, time high, time low, then up to 4 values.
+	static private final int stride = 7;
+
+	private int[] events = new int[stride * 32];
+	private int size;
+	private boolean coalesceMoves;
+	private final int[] lastDrag = new int[20];
+	private int lastMove = -1;
+	private int added, coalesced;
+
+	private long currentEventTime;
+	private int lastAdded, lastDelivered, lastCoalesced;
+	private long lastDispatchTime;
+
+	public InputEventQueue () {
+		resetMoves();
+	}
+
+	public void keyDown (int keycode, long time) {
+		add(KEY_DOWN, time, keycode, 0, 0, 0);
+	}
+
+	public void keyUp (int keycode, long time) {
+		add(KEY_UP, time, keycode, 0, 0, 0);
+	}
+
+	public void keyTyped (char character, long time) {
+		add(KEY_TYPED, time, character, 0, 0, 0);
+	}
+
+	public void touchDown (int screenX, int screenY, int pointer, int button, long time) {
+		add(TOUCH_DOWN, time, screenX, screenY, pointer, button);
+	}
+
+	public void touchUp (int screenX, int screenY, int pointer, int button, long time) {
+		add(TOUCH_UP, time, screenX, screenY, pointer, button);
+	}
+
+	public void touchDragged (int screenX, int screenY, int pointer, long time) {
+		if (coalesceMoves && pointer >= 0 && pointer < lastDrag.length) {
+			int index = lastDrag[pointer];
+			if (index != -1) {
+				replace(index, time, screenX, screenY);
+				return;
+			}
+			add(TOUCH_DRAGGED, time, screenX, screenY, pointer, 0);
+			lastDrag[pointer] = size - 1;
+			return;
+		}
+		add(TOUCH_DRAGGED, time, screenX, screenY, pointer, 0);
+	}
+
+	public void mouseMoved (int screenX, int screenY, long time) {
+		if (coalesceMoves) {
+			if (lastMove != -1) {
+				replace(lastMove, time, screenX, screenY);
+				return;
+			}
+			add(MOUSE_MOVED, time, screenX, screenY, 0, 0);
+			lastMove = size - 1;
+			return;
+		}
+		add(MOUSE_MOVED, time, screenX, screenY, 0, 0);
+	}
+
+	public void scrolled (int amount, long time) {
+		add(SCROLLED, time, amount, 0, 0, 0);
+	}
+
+	private void add (int type, long time, int value1, int value2, int value3, int value4) {
+		if (coalesceMoves) {
+			// A drag of one pointer doesn't end another pointer's run of drags.
+			if (type == TOUCH_DRAGGED)
+				lastMove = -1;
+			else
+				resetMoves();
+		}
+		int[] events = this.events;
+		int i = size * stride;
+		if (i + stride > events.length) {
+			int[] newEvents = new int[Math.max(i + stride, (int)(events.length * 1.75f))];
+			System.arraycopy(events, 0, newEvents, 0, i);
+			this.events = events = newEvents;
+		}
+		events[i] = type;
+		events[i + 1] = (int)(time >> 32);
+		events[i + 2] = (int)time;
+		events[i + 3] = value1;
+		events[i + 4] = value2;
+		events[i + 5] = value3;
+		events[i + 6] = value4;
+		size++;
+		added++;
+	}
+
+	/** Adds all events of the other queue in order, coalescing moves and drags as if they were added one at a time. */
+	public void addAll (InputEventQueue queue) {
+		int[] q = queue.events;
+		for (int i = 0, n = queue.size * stride; i < n; i += stride) {
+			long time = (long)q[i + 1] << 32 | q[i + 2] & 0xFFFFFFFFL;
+			switch (q[i]) {
+			case TOUCH_DRAGGED:
+				touchDragged(q[i + 3], q[i + 4], q[i + 5], time);
+				break;
+			case MOUSE_MOVED:
+				mouseMoved(q[i + 3], q[i + 4], time);
+				break;
+			default:
+				add(q[i], time, q[i + 3], q[i + 4], q[i + 5], q[i + 6]);
+			}
+		}
+	}
+
+	private void replace (int index, long time, int screenX, int screenY) {
+		int[] events = this.events;
+		int i = index * stride;
+		events[i + 1] = (int)(time >> 32);
+		events[i + 2] = (int)time;
+		events[i + 3] = screenX;
+		events[i + 4] = screenY;
+		added++;
+		coalesced++;
+	}
+
+	private void resetMoves () {
+		int[] lastDrag = this.lastDrag;
+		for (int i = 0; i < lastDrag.length; i++)
+			lastDrag[i] = -1;
+		lastMove = -1;
+	}
+
+	/** Sends all events to the processor in a single pass, then clears the queue. If the processor is null the events are
+	 * discarded. */
+	public void drain (InputProcessor processor) {
+		long start = TimeUtils.nanoTime();
+		int[] q = events;
+		int delivered = 0;
+		if (processor != null) {
+			for (int i = 0, n = size * stride; i < n; i += stride) {
+				currentEventTime = (long)q[i + 1] << 32 | q[i + 2] & 0xFFFFFFFFL;
+				switch (q[i]) {
+				case KEY_DOWN:
+					processor.keyDown(q[i + 3]);
+					break;
+				case KEY_UP:
+					processor.keyUp(q[i + 3]);
+					break;
+				case KEY_TYPED:
+					processor.keyTyped((char)q[i + 3]);
+					break;
+				case TOUCH_DOWN:
+					processor.touchDown(q[i + 3], q[i + 4], q[i + 5], q[i + 6]);
+					break;
+				case TOUCH_UP:
+					processor.touchUp(q[i + 3], q[i + 4], q[i + 5], q[i + 6]);
+					break;
+				case TOUCH_DRAGGED:
+					processor.touchDragged(q[i + 3], q[i + 4], q[i + 5]);
+					break;
+				case MOUSE_MOVED:
+					processor.mouseMoved(q[i + 3], q[i + 4]);
+					break;
+				case SCROLLED:
+					processor.scrolled(q[i + 3]);
+					break;
+				}
+			}
+			delivered = size;
+		}
+		lastAdded = added;
+		lastDelivered = delivered;
+		lastCoalesced = coalesced;
+		clear();
+		lastDispatchTime = TimeUtils.nanoTime() - start;
+	}
+
+	/** Removes all events without delivering them. */
+	public void clear () {
+		size = 0;
+		added = 0;
+		coalesced = 0;
+		resetMoves();
+	}
+
+	public void setCoalesceMoves (boolean coalesceMoves) {
+		this.coalesceMoves = coalesceMoves;
+		resetMoves();
+	}
+
+	public boolean getCoalesceMoves () {
+		return coalesceMoves;
+	}
+
+	/** Returns the number of events in the queue. */
+	public int size () {
+		return size;
+	}
+
+	/** Returns the type of the event, one of the constants in this class. */
+	public int getType (int index) {
+		return events[check(index)];
+	}
+
+	/** Returns the time of the event, in nanoseconds. */
+	public long getTime (int index) {
+		int i = check(index);
+		return (long)events[i + 1] << 32 | events[i + 2] & 0xFFFFFFFFL;
+	}
+
+	/** Returns the key code of a key down or up event. */
+	public int getKeyCode (int index) {
+		return events[check(index) + 3];
+	}
+
+	/** Returns the character of a key typed event. */
+	public char getCharacter (int index) {
+		return (char)events[check(index) + 3];
+	}
+
+	/** Returns the amount of a scrolled event. */
+	public int getScrollAmount (int index) {
+		return events[check(index) + 3];
+	}
+
+	/** Returns the x coordinate of a touch or mouse event. */
+	public int getX (int index) {
+		return events[check(index) + 3];
+	}
+
+	/** Returns the y coordinate of a touch or mouse event. */
+	public int getY (int index) {
+		return events[check(index) + 4];
+	}
+
+	/** Returns the pointer of a touch event. */
+	public int getPointer (int index) {
+		return events[check(index) + 5];
+	}
+
+	/** Returns the button of a touch down or up event. */
+	public int getButton (int index) {
+		return events[check(index) + 6];
+	}
+
+	private int check (int index) {
+		if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+		return index * stride;
+	}
+
+	/** Returns the time of the event being delivered, or of the last event delivered. */
+	public long getCurrentEventTime () {
+		return currentEventTime;
+	}
+
+	/** Returns the number of events added before the last drain, including those that were coalesced. */
+	public int getEventsAdded () {
+		return lastAdded;
+	}
+
+	/** Returns the number of events delivered by the last drain. */
+	public int getEventsDelivered () {
+		return lastDelivered;
+	}
+
+	/** Returns the number of events that were merged into an earlier move or drag before the last drain. */
+	public int getEventsCoalesced () {
+		return lastCoalesced;
+	}
+
+	/** Returns the nanoseconds the last drain took. */
+	public long getDispatchTime () {
+		return lastDispatchTime;
+	}
+}
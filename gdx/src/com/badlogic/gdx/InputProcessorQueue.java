@@ -1,25 +1,14 @@
 
 package com.badlogic.gdx;
 
-import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.TimeUtils;
 
 /** Queues events that are later passed to the wrapped {@link InputProcessor}.
  * @author Nathan Sweet */
 public class InputProcessorQueue implements InputProcessor {
-	static private final int KEY_DOWN = 0;
-	static private final int KEY_UP = 1;
-	static private final int KEY_TYPED = 2;
-	static private final int TOUCH_DOWN = 3;
-	static private final int TOUCH_UP = 4;
-	static private final int TOUCH_DRAGGED = 5;
-	static private final int MOUSE_MOVED = 6;
-	static private final int SCROLLED = 7;
-
 	private InputProcessor processor;
-	private final IntArray queue = new IntArray();
-	private final IntArray processingQueue = new IntArray();
-	private long currentEventTime;
+	private InputEventQueue queue = new InputEventQueue();
+	private InputEventQueue processingQueue = new InputEventQueue();
 
 	public InputProcessorQueue () {
 	}
@@ -36,120 +25,67 @@ public class InputProcessorQueue implements InputProcessor {
 		return processor;
 	}
 
+	/** @see InputEventQueue#setCoalesceMoves(boolean) */
+	public synchronized void setCoalesceMoves (boolean coalesceMoves) {
+		queue.setCoalesceMoves(coalesceMoves);
+		processingQueue.setCoalesceMoves(coalesceMoves);
+	}
+
 	public void drain () {
-		IntArray q = processingQueue;
+		InputEventQueue q;
 		synchronized (this) {
 			if (processor == null) {
 				queue.clear();
 				return;
 			}
-			q.addAll(queue);
-			queue.clear();
+			q = queue;
+			queue = processingQueue;
+			processingQueue = q;
 		}
-		for (int i = 0, n = q.size; i < n;) {
-			currentEventTime = (long)q.get(i++) << 32 | q.get(i++) & 0xFFFFFFFFL;
-			switch (q.get(i++)) {
-			case KEY_DOWN:
-				processor.keyDown(q.get(i++));
-				break;
-			case KEY_UP:
-				processor.keyUp(q.get(i++));
-				break;
-			case KEY_TYPED:
-				processor.keyTyped((char)q.get(i++));
-				break;
-			case TOUCH_DOWN:
-				processor.touchDown(q.get(i++), q.get(i++), q.get(i++), q.get(i++));
-				break;
-			case TOUCH_UP:
-				processor.touchUp(q.get(i++), q.get(i++), q.get(i++), q.get(i++));
-				break;
-			case TOUCH_DRAGGED:
-				processor.touchDragged(q.get(i++), q.get(i++), q.get(i++));
-				break;
-			case MOUSE_MOVED:
-				processor.mouseMoved(q.get(i++), q.get(i++));
-				break;
-			case SCROLLED:
-				processor.scrolled(q.get(i++));
-				break;
-			}
-		}
-		q.clear();
-	}
-
-	private void queueTime () {
-		long time = TimeUtils.nanoTime();
-		queue.add((int)(time >> 32));
-		queue.add((int)time);
+		q.drain(processor);
 	}
 
 	public synchronized boolean keyDown (int keycode) {
-		queueTime();
-		queue.add(KEY_DOWN);
-		queue.add(keycode);
+		queue.keyDown(keycode, TimeUtils.nanoTime());
 		return false;
 	}
 
 	public synchronized boolean keyUp (int keycode) {
-		queueTime();
-		queue.add(KEY_UP);
-		queue.add(keycode);
+		queue.keyUp(keycode, TimeUtils.nanoTime());
 		return false;
 	}
 
 	public synchronized boolean keyTyped (char character) {
-		queueTime();
-		queue.add(KEY_TYPED);
-		queue.add(character);
+		queue.keyTyped(character, TimeUtils.nanoTime());
 		return false;
 	}
 
 	public synchronized boolean touchDown (int screenX, int screenY, int pointer, int button) {
-		queueTime();
-		queue.add(TOUCH_DOWN);
-		queue.add(screenX);
-		queue.add(screenY);
-		queue.add(pointer);
-		queue.add(button);
+		queue.touchDown(screenX, screenY, pointer, button, TimeUtils.nanoTime());
 		return false;
 	}
 
 	public synchronized boolean touchUp (int screenX, int screenY, int pointer, int button) {
-		queueTime();
-		queue.add(TOUCH_UP);
-		queue.add(screenX);
-		queue.add(screenY);
-		queue.add(pointer);
-		queue.add(button);
+		queue.touchUp(screenX, screenY, pointer, button, TimeUtils.nanoTime());
 		return false;
 	}
 
 	public synchronized boolean touchDragged (int screenX, int screenY, int pointer) {
-		queueTime();
-		queue.add(TOUCH_DRAGGED);
-		queue.add(screenX);
-		queue.add(screenY);
-		queue.add(pointer);
+		queue.touchDragged(screenX, screenY, pointer, TimeUtils.nanoTime());
 		return false;
 	}
 
 	public synchronized boolean mouseMoved (int screenX, int screenY) {
-		queueTime();
-		queue.add(MOUSE_MOVED);
-		queue.add(screenX);
-		queue.add(screenY);
+		queue.mouseMoved(screenX, screenY, TimeUtils.nanoTime());
 		return false;
 	}
 
 	public synchronized boolean scrolled (int amount) {
-		queueTime();
-		queue.add(SCROLLED);
-		queue.add(amount);
+		queue.scrolled(amount, TimeUtils.nanoTime());
 		return false;
 	}
 
 	public long getCurrentEventTime () {
-		return currentEventTime;
+		return processingQueue.getCurrentEventTime();
 	}
 }
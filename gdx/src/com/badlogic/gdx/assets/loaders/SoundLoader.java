@@ -16,6 +16,7 @@
 
 package com.badlogic.gdx.assets.loaders;
 
+import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
@@ -23,16 +24,33 @@ import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.utils.Array;
 
-/** {@link AssetLoader} to load {@link Sound} instances.
+/** {@link AssetLoader} to load {@link Sound} instances. On the desktop backends, whose audio can be used from any thread, the
+ * Sound is loaded asynchronously so decoding it doesn't block the rendering thread. On other backends it is loaded on the
+ * rendering thread.
  * @author mzechner */
-public class SoundLoader extends SynchronousAssetLoader<Sound, SoundLoader.SoundParameter> {
+public class SoundLoader extends AsynchronousAssetLoader<Sound, SoundLoader.SoundParameter> {
+	private Sound sound;
+
 	public SoundLoader (FileHandleResolver resolver) {
 		super(resolver);
 	}
 
 	@Override
-	public Sound load (AssetManager assetManager, String fileName, SoundParameter parameter) {
-		return Gdx.audio.newSound(resolve(fileName));
+	public void loadAsync (AssetManager manager, String fileName, SoundParameter parameter) {
+		if (isAsync()) sound = Gdx.audio.newSound(resolve(fileName));
+	}
+
+	@Override
+	public Sound loadSync (AssetManager manager, String fileName, SoundParameter parameter) {
+		if (!isAsync()) return Gdx.audio.newSound(resolve(fileName));
+		Sound sound = this.sound;
+		this.sound = null;
+		return sound;
+	}
+
+	private boolean isAsync () {
+		ApplicationType type = Gdx.app.getType();
+		return type == ApplicationType.Desktop || type == ApplicationType.Applet;
 	}
 
 	@Override
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Records how long each {@link Section} of recent frames took, in nanoseconds. The backend calls {@link #begin()} at the start
+ * of each frame, {@link #mark(Section)} after each section and {@link #end()} when the frame is done. A section may be marked
+ * more than once per frame, its times are summed. Frames are numbered from 0, the most recently ended frame, to
+ * {@link #getSize()} - 1. Not thread safe, it is meant to be used on the rendering thread. The backends that record timings
+ * return them from their graphics class, eg LwjglGraphics#getFrameTimings(). */
+public class FrameTimings {
+	static private final Section[] sections = Section.values();
+
+	private final long[] times, frameTimes;
+	private final long[] current = new long[sections.length];
+	private int size, index;
+	private long frameStart, lastMark;
+
+	/** @param history The number of frames to keep. */
+	public FrameTimings (int history) {
+		if (history < 1) throw new IllegalArgumentException("history must be > 0: " + history);
+		times = new long[history * sections.length];
+		frameTimes = new long[history];
+	}
+
+	public void begin () {
+		frameStart = lastMark = TimeUtils.nanoTime();
+		long[] current = this.current;
+		for (int i = 0; i < current.length; i++)
+			current[i] = 0;
+	}
+
+	/** Adds the time since the last mark, or since {@link #begin()}, to the section. */
+	public void mark (Section section) {
+		long time = TimeUtils.nanoTime();
+		current[section.ordinal()] += time - lastMark;
+		lastMark = time;
+	}
+
+	/** Adds the frame to the history. The frame time is from {@link #begin()} until now, including time not in any section. */
+	public void end () {
+		System.arraycopy(current, 0, times, index * sections.length, sections.length);
+		frameTimes[index] = TimeUtils.nanoTime() - frameStart;
+		index = (index + 1) % frameTimes.length;
+		if (size < frameTimes.length) size++;
+	}
+
+	/** Removes all frames from the history. */
+	public void clear () {
+		size = 0;
+		index = 0;
+	}
+
+	/** Returns the number of frames in the history. */
+	public int getSize () {
+		return size;
+	}
+
+	/** Returns the number of frames the history can hold. */
+	public int getHistory () {
+		return frameTimes.length;
+	}
+
+	private int slot (int frame) {
+		if (frame < 0 || frame >= size) throw new IndexOutOfBoundsException("frame can't be >= size: " + frame + " >= " + size);
+		int slot = index - 1 - frame;
+		return slot < 0 ? slot + frameTimes.length : slot;
+	}
+
+	/** @param frame 0 for the most recently ended frame.
+	 * @return The nanoseconds spent in the section during the frame. */
+	public long getTime (int frame, Section section) {
+		return times[slot(frame) * sections.length + section.ordinal()];
+	}
+
+	/** @param frame 0 for the most recently ended frame.
+	 * @return The nanoseconds from the start to the end of the frame. */
+	public long getFrameTime (int frame) {
+		return frameTimes[slot(frame)];
+	}
+
+	/** Returns the average nanoseconds spent in the section over the history, or 0 if it is empty. */
+	public long getAverage (Section section) {
+		if (size == 0) return 0;
+		long total = 0;
+		for (int i = 0, n = size; i < n; i++)
+			total += times[i * sections.length + section.ordinal()];
+		return total / size;
+	}
+
+	/** Returns the most nanoseconds spent in the section by a frame in the history. */
+	public long getMaximum (Section section) {
+		long max = 0;
+		for (int i = 0, n = size; i < n; i++)
+			max = Math.max(max, times[i * sections.length + section.ordinal()]);
+		return max;
+	}
+
+	/** Returns the average frame time over the history, or 0 if it is empty. */
+	public long getAverageFrameTime () {
+		if (size == 0) return 0;
+		long total = 0;
+		for (int i = 0, n = size; i < n; i++)
+			total += frameTimes[i];
+		return total / size;
+	}
+
+	/** Returns the longest frame time in the history. */
+	public long getMaximumFrameTime () {
+		long max = 0;
+		for (int i = 0, n = size; i < n; i++)
+			max = Math.max(max, frameTimes[i]);
+		return max;
+	}
+
+	/** A part of a frame. */
+	static public enum Section {
+		/** Processing window messages, polling input and sending events to the input processor. */
+		input,
+		/** Running runnables posted with {@link com.badlogic.gdx.Application#postRunnable(Runnable)}. */
+		runnables,
+		/** {@link com.badlogic.gdx.ApplicationListener#render()}. */
+		render,
+		/** Presenting the frame, which may wait for vsync. */
+		swap,
+		/** Waiting to limit the frame rate. */
+		sleep
+	}
+}
@@ -106,7 +106,11 @@ public class SpriteBatch implements Disposable {
 
 	/** the maximum number of sprites rendered in one batch so far **/
 	public int maxSpritesInBatch = 0;
+
+	/** number of vertices rendered since last {@link #begin()} **/
+	public int renderedVertices = 0;
 	private ShaderProgram customShader = null;
+	private SpriteRecording recording;
 
 	/** Constructs a new SpriteBatch. Sets the projection matrix to an orthographic projection with y-axis point upwards, x-axis
 	 * point to the right and the origin being in the bottom left corner of the screen. The projection will be pixel perfect with
@@ -243,6 +247,7 @@ public class SpriteBatch implements Disposable {
 	public void begin () {
 		if (drawing) throw new IllegalStateException("you have to call SpriteBatch.end() first");
 		renderCalls = 0;
+		renderedVertices = 0;
 
 		Gdx.gl.glDepthMask(false);
 		if (Gdx.graphics.isGL20Available()) {
@@ -264,6 +269,7 @@ public class SpriteBatch implements Disposable {
 	 * {@link #begin()} */
 	public void end () {
 		if (!drawing) throw new IllegalStateException("SpriteBatch.begin must be called before end.");
+		if (recording != null) recording.complete = false;
 		if (idx > 0) renderMesh();
 		lastTexture = null;
 		idx = 0;
@@ -1028,9 +1034,37 @@ public class SpriteBatch implements Disposable {
 
 	/** Causes any pending sprites to be rendered, without ending the SpriteBatch. */
 	public void flush () {
+		if (recording != null) recording.complete = false;
 		renderMesh();
 	}
 
+	/** Flushes the batch and captures the vertices of all sprites drawn until {@link #endRecording()}, so they can be drawn again
+	 * with {@link SpriteRecording#draw(SpriteBatch)}. The sprites are still rendered as usual while recording. Any previous
+	 * contents of the recording are discarded.
+	 * @see SpriteRecording#isComplete() */
+	public void beginRecording (SpriteRecording recording) {
+		if (!drawing) throw new IllegalStateException("SpriteBatch.begin must be called before beginRecording.");
+		if (this.recording != null) throw new IllegalStateException("SpriteBatch.endRecording must be called first.");
+		renderMesh();
+		recording.begin();
+		this.recording = recording;
+	}
+
+	/** Flushes the batch and stops capturing vertices.
+	 * @return the recording passed to {@link #beginRecording(SpriteRecording)}. */
+	public SpriteRecording endRecording () {
+		SpriteRecording recording = this.recording;
+		if (recording == null) throw new IllegalStateException("SpriteBatch.beginRecording must be called first.");
+		renderMesh();
+		this.recording = null;
+		return recording;
+	}
+
+	/** Returns true between {@link #beginRecording(SpriteRecording)} and {@link #endRecording()}. */
+	public boolean isRecording () {
+		return recording != null;
+	}
+
 	private void renderMesh () {
 		if (idx == 0) return;
 
@@ -1038,6 +1072,8 @@ public class SpriteBatch implements Disposable {
 		totalRenderCalls++;
 		int spritesInBatch = idx / 20;
 		if (spritesInBatch > maxSpritesInBatch) maxSpritesInBatch = spritesInBatch;
+		renderedVertices += spritesInBatch * 4;
+		if (recording != null) recording.add(lastTexture, vertices, idx);
 
 		lastTexture.bind();
 		mesh.setVertices(vertices, 0, idx);
@@ -1069,6 +1105,7 @@ public class SpriteBatch implements Disposable {
 	/** Disables blending for drawing sprites. */
 	public void disableBlending () {
 		if (blendingDisabled) return;
+		if (recording != null) recording.complete = false;
 		renderMesh();
 		blendingDisabled = true;
 	}
@@ -1076,6 +1113,7 @@ public class SpriteBatch implements Disposable {
 	/** Enables blending for sprites */
 	public void enableBlending () {
 		if (!blendingDisabled) return;
+		if (recording != null) recording.complete = false;
 		renderMesh();
 		blendingDisabled = false;
 	}
@@ -1085,6 +1123,7 @@ public class SpriteBatch implements Disposable {
 	 * @param srcFunc the source function, e.g. GL11.GL_SRC_ALPHA. If set to -1, SpriteBatch won't change the blending function.
 	 * @param dstFunc the destination function, e.g. GL11.GL_ONE_MINUS_SRC_ALPHA */
 	public void setBlendFunction (int srcFunc, int dstFunc) {
+		if (recording != null) recording.complete = false;
 		renderMesh();
 		blendSrcFunc = srcFunc;
 		blendDstFunc = dstFunc;
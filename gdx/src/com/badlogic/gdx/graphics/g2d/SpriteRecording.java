@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+
+/** Holds the vertices of sprites captured by {@link SpriteBatch#beginRecording(SpriteRecording)} so they can be drawn again
+ * without recomputing them. The vertices are stored as they were submitted to the batch, so they are drawn with whatever
+ * transform matrix the batch has when {@link #draw(SpriteBatch)} is called.
+ * <p>
+ * A recording is only {@link #isComplete() complete} if nothing changed the batch state while recording. Flushing the batch,
+ * changing the blending, shader or matrices, or ending the batch makes the recording incomplete, since that state is not
+ * captured. */
+public class SpriteRecording {
+	final Array<Texture> textures = new Array();
+	final Array<float[]> vertices = new Array();
+	boolean complete;
+	int vertexCount;
+
+	void begin () {
+		clear();
+		complete = true;
+	}
+
+	void add (Texture texture, float[] batchVertices, int count) {
+		float[] copy = new float[count];
+		System.arraycopy(batchVertices, 0, copy, 0, count);
+		textures.add(texture);
+		vertices.add(copy);
+		vertexCount += count / Sprite.VERTEX_SIZE;
+	}
+
+	/** Draws the recorded sprites. {@link SpriteBatch#begin()} must have been called. */
+	public void draw (SpriteBatch batch) {
+		Array<Texture> textures = this.textures;
+		Array<float[]> vertices = this.vertices;
+		for (int i = 0, n = textures.size; i < n; i++) {
+			float[] spriteVertices = vertices.get(i);
+			batch.draw(textures.get(i), spriteVertices, 0, spriteVertices.length);
+		}
+	}
+
+	/** Returns true if the recording captured everything drawn between {@link SpriteBatch#beginRecording(SpriteRecording)} and
+	 * {@link SpriteBatch#endRecording()}. */
+	public boolean isComplete () {
+		return complete;
+	}
+
+	/** Returns the number of vertices in the recording. */
+	public int getVertexCount () {
+		return vertexCount;
+	}
+
+	public void clear () {
+		textures.clear();
+		vertices.clear();
+		vertexCount = 0;
+		complete = false;
+	}
+}
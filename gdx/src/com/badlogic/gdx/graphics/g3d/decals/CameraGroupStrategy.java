@@ -22,10 +22,13 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.GL10;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Sort;
 
 /** <p>
  * Minimalistic grouping strategy that splits decals into opaque and transparent ones enabling and disabling blending as needed.
@@ -94,18 +97,13 @@ public class CameraGroupStrategy implements GroupStrategy, Disposable {
 	Camera camera;
 	ShaderProgram shader;
 	private final Comparator<Decal> cameraSorter;
+	private final FloatArray distances = new FloatArray();
 
-	public CameraGroupStrategy (final Camera camera) {
-		this(camera, new Comparator<Decal>() {
-			@Override
-			public int compare (Decal o1, Decal o2) {
-				float dist1 = camera.position.dst(o1.position);
-				float dist2 = camera.position.dst(o2.position);
-				return (int)Math.signum(dist2 - dist1);
-			}
-		});
+	public CameraGroupStrategy (Camera camera) {
+		this(camera, null);
 	}
-	
+
+	/** @param sorter Sorts the blended decals, or null to sort them back to front by their distance to the camera. */
 	public CameraGroupStrategy(Camera camera, Comparator<Decal> sorter) {
 		this.camera = camera;
 		this.cameraSorter = sorter;
@@ -130,7 +128,10 @@ public class CameraGroupStrategy implements GroupStrategy, Disposable {
 	public void beforeGroup (int group, Array<Decal> contents) {
 		if (group == GROUP_BLEND) {
 			Gdx.gl.glEnable(GL10.GL_BLEND);
-			contents.sort(cameraSorter);
+			if (cameraSorter != null)
+				contents.sort(cameraSorter);
+			else
+				sortByDistance(contents);
 		} else {
 			for (int i = 0, n = contents.size; i < n; i++) {
 				Decal decal = contents.get(i);
@@ -155,6 +156,16 @@ public class CameraGroupStrategy implements GroupStrategy, Disposable {
 		}
 	}
 
+	/** Sorts the decals back to front, computing the distance of each decal once rather than on every comparison. */
+	private void sortByDistance (Array<Decal> contents) {
+		FloatArray distances = this.distances;
+		distances.clear();
+		Vector3 position = camera.position;
+		for (int i = 0, n = contents.size; i < n; i++)
+			distances.add(-position.dst2(contents.get(i).position));
+		Sort.instance().sort(contents, distances);
+	}
+
 	@Override
 	public void afterGroup (int group) {
 		if (group == GROUP_BLEND) {
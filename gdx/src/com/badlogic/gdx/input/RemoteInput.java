@@ -16,17 +16,18 @@
 
 package com.badlogic.gdx.input;
 
-import java.io.DataInputStream;
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.util.HashSet;
-import java.util.Set;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputEventQueue;
 import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.utils.DataInput;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
 /** <p>
@@ -52,113 +53,39 @@ public class RemoteInput implements Runnable, Input {
 		void onDisconnected();
 	}
 	
-	class KeyEvent {
-		static final int KEY_DOWN = 0;
-		static final int KEY_UP = 1;
-		static final int KEY_TYPED = 2;
-
-		long timeStamp;
-		int type;
-		int keyCode;
-		char keyChar;
-	}
-
-	class TouchEvent {
-		static final int TOUCH_DOWN = 0;
-		static final int TOUCH_UP = 1;
-		static final int TOUCH_DRAGGED = 2;
-
-		long timeStamp;
-		int type;
-		int x;
-		int y;
-		int pointer;
-	}
-
-	class EventTrigger implements Runnable {
-		TouchEvent touchEvent;
-		KeyEvent keyEvent;
-
-		public EventTrigger (TouchEvent touchEvent, KeyEvent keyEvent) {
-			this.touchEvent = touchEvent;
-			this.keyEvent = keyEvent;
-		}
-
-		@Override
-		public void run () {
-			justTouched = false;
-			if (processor != null) {
-				if (touchEvent != null) {
-					touchX[touchEvent.pointer] = touchEvent.x;
-					touchY[touchEvent.pointer] = touchEvent.y;
-					switch (touchEvent.type) {
-					case TouchEvent.TOUCH_DOWN:
-						processor.touchDown(touchEvent.x, touchEvent.y, touchEvent.pointer, Input.Buttons.LEFT);
-						isTouched[touchEvent.pointer] = true;
-						justTouched = true;
-						break;
-					case TouchEvent.TOUCH_UP:
-						processor.touchUp(touchEvent.x, touchEvent.y, touchEvent.pointer, Input.Buttons.LEFT);
-						isTouched[touchEvent.pointer] = false;
-						break;
-					case TouchEvent.TOUCH_DRAGGED:
-						processor.touchDragged(touchEvent.x, touchEvent.y, touchEvent.pointer);
-						break;
-					}
-				}
-				if (keyEvent != null) {
-					switch (keyEvent.type) {
-					case KeyEvent.KEY_DOWN:
-						processor.keyDown(keyEvent.keyCode);
-						keys.add(keyEvent.keyCode);
-						break;
-					case KeyEvent.KEY_UP:
-						processor.keyUp(keyEvent.keyCode);
-						keys.remove(keyEvent.keyCode);
-						break;
-					case KeyEvent.KEY_TYPED:
-						processor.keyTyped(keyEvent.keyChar);
-						break;
-					}
-				}
-			} else {
-				if (touchEvent != null) {
-					touchX[touchEvent.pointer] = touchEvent.x;
-					touchY[touchEvent.pointer] = touchEvent.y;
-					if (touchEvent.type == TouchEvent.TOUCH_DOWN) {
-						isTouched[touchEvent.pointer] = true;
-						justTouched = true;
-					}
-					if (touchEvent.type == TouchEvent.TOUCH_UP) {
-						isTouched[touchEvent.pointer] = false;
-					}
-				}
-				if (keyEvent != null) {
-					if (keyEvent.type == KeyEvent.KEY_DOWN) keys.add(keyEvent.keyCode);
-					if (keyEvent.type == KeyEvent.KEY_UP) keys.remove(keyEvent.keyCode);
-				}
-			}
-		}
-	}
-
 	public static int DEFAULT_PORT = 8190;
 	private ServerSocket serverSocket;
-	private float[] accel = new float[3];
-	private float[] compass = new float[3];
-	private boolean multiTouch = false;
+	/** Replaced rather than written in place, so other threads always see a complete sample. */
+	private volatile float[] accel = new float[3];
+	private volatile float[] compass = new float[3];
+	private volatile boolean multiTouch = false;
 	private float remoteWidth = 0;
 	private float remoteHeight = 0;
-	private boolean connected = false;
+	private volatile boolean connected = false;
 	private RemoteInputListener listener;
-	Set<Integer> keys = new HashSet<Integer>();
+	boolean[] keys = new boolean[256];
 	int[] touchX = new int[20];
 	int[] touchY = new int[20];
 	boolean isTouched[] = new boolean[20];
 	boolean justTouched = false;
+	long currentEventTime;
 	InputProcessor processor = null;
 	private final int port;
 	public final String[] ips;
 
+	/** Decoded into by the network thread without holding the lock, then appended to {@link #received}. */
+	private final InputEventQueue reading = new InputEventQueue();
+	/** Filled by the network thread, swapped with {@link #delivering} once per frame. */
+	private InputEventQueue received = new InputEventQueue();
+	private InputEventQueue delivering = new InputEventQueue();
+	private boolean deliveryPosted;
+	private final int[] lastX = new int[20], lastY = new int[20];
+	private final Runnable delivery = new Runnable() {
+		public void run () {
+			deliver();
+		}
+	};
+
 	public RemoteInput () {
 		this(DEFAULT_PORT);
 	}
@@ -207,73 +134,218 @@ public class RemoteInput implements Runnable, Input {
 				if (listener != null)
 					listener.onConnected();
 
-				DataInputStream in = new DataInputStream(socket.getInputStream());
-				multiTouch = in.readBoolean();
-				while (true) {
-					int event = in.readInt();
-					KeyEvent keyEvent = null;
-					TouchEvent touchEvent = null;
-					switch (event) {
-					case RemoteSender.ACCEL:
-						accel[0] = in.readFloat();
-						accel[1] = in.readFloat();
-						accel[2] = in.readFloat();
-						break;
-					case RemoteSender.COMPASS:
-						compass[0] = in.readFloat();
-						compass[1] = in.readFloat();
-						compass[2] = in.readFloat();
-						break;
-					case RemoteSender.SIZE:
-						remoteWidth = in.readFloat();
-						remoteHeight = in.readFloat();
-						break;
-					case RemoteSender.KEY_DOWN:
-						keyEvent = new KeyEvent();
-						keyEvent.keyCode = in.readInt();
-						keyEvent.type = KeyEvent.KEY_DOWN;
-						break;
-					case RemoteSender.KEY_UP:
-						keyEvent = new KeyEvent();
-						keyEvent.keyCode = in.readInt();
-						keyEvent.type = KeyEvent.KEY_UP;
-						break;
-					case RemoteSender.KEY_TYPED:
-						keyEvent = new KeyEvent();
-						keyEvent.keyChar = in.readChar();
-						keyEvent.type = KeyEvent.KEY_TYPED;
-						break;
-					case RemoteSender.TOUCH_DOWN:
-						touchEvent = new TouchEvent();
-						touchEvent.x = (int)((in.readInt() / remoteWidth) * Gdx.graphics.getWidth());
-						touchEvent.y = (int)((in.readInt() / remoteHeight) * Gdx.graphics.getHeight());
-						touchEvent.pointer = in.readInt();
-						touchEvent.type = TouchEvent.TOUCH_DOWN;
-						break;
-					case RemoteSender.TOUCH_UP:
-						touchEvent = new TouchEvent();
-						touchEvent.x = (int)((in.readInt() / remoteWidth) * Gdx.graphics.getWidth());
-						touchEvent.y = (int)((in.readInt() / remoteHeight) * Gdx.graphics.getHeight());
-						touchEvent.pointer = in.readInt();
-						touchEvent.type = TouchEvent.TOUCH_UP;
-						break;
-					case RemoteSender.TOUCH_DRAGGED:
-						touchEvent = new TouchEvent();
-						touchEvent.x = (int)((in.readInt() / remoteWidth) * Gdx.graphics.getWidth());
-						touchEvent.y = (int)((in.readInt() / remoteHeight) * Gdx.graphics.getHeight());
-						touchEvent.pointer = in.readInt();
-						touchEvent.type = TouchEvent.TOUCH_DRAGGED;
-						break;
-					}
-
-					Gdx.app.postRunnable(new EventTrigger(touchEvent, keyEvent));
+				// Tells the sender it may batch. Older senders never read it.
+				OutputStream output = socket.getOutputStream();
+				output.write(RemoteSender.VERSION);
+				output.flush();
+				DataInput in = new DataInput(new BufferedInputStream(socket.getInputStream(), 4096));
+				int handshake = in.readUnsignedByte();
+				multiTouch = (handshake & 1) != 0;
+				int[] lastX = this.lastX, lastY = this.lastY;
+				for (int i = 0; i < lastX.length; i++) {
+					lastX[i] = 0;
+					lastY[i] = 0;
 				}
+				reading.clear();
+				if ((handshake & RemoteSender.BATCHED) != 0) {
+					while (true)
+						readFrame(in);
+				}
+				while (true)
+					readEvent(in);
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
 		}
 	}
-	
+
+	/** Reads a frame written by {@link RemoteSender#sendUpdate()}: a header byte with a bit per sensor sample that follows, then
+	 * the number of events and the events. Touch coordinates are relative to the pointer's previous position. */
+	private void readFrame (DataInput in) throws IOException {
+		int flags = in.readUnsignedByte();
+		if ((flags & RemoteSender.ACCEL_CHANGED) != 0) accel = new float[] {in.readFloat(), in.readFloat(), in.readFloat()};
+		if ((flags & RemoteSender.COMPASS_CHANGED) != 0) compass = new float[] {in.readFloat(), in.readFloat(), in.readFloat()};
+		if ((flags & RemoteSender.SIZE_CHANGED) != 0) {
+			remoteWidth = in.readFloat();
+			remoteHeight = in.readFloat();
+		}
+		int count = in.readInt(true);
+		if (count == 0) return;
+		int[] lastX = this.lastX, lastY = this.lastY;
+		long time = System.nanoTime();
+		InputEventQueue reading = this.reading;
+		for (int i = 0; i < count; i++) {
+			int type = in.readUnsignedByte();
+			switch (type) {
+			case RemoteSender.KEY_DOWN:
+				reading.keyDown(in.readInt(true), time);
+				break;
+			case RemoteSender.KEY_UP:
+				reading.keyUp(in.readInt(true), time);
+				break;
+			case RemoteSender.KEY_TYPED:
+				reading.keyTyped((char)in.readInt(true), time);
+				break;
+			case RemoteSender.TOUCH_DOWN:
+			case RemoteSender.TOUCH_UP:
+			case RemoteSender.TOUCH_DRAGGED:
+				int pointer = in.readInt(true);
+				int x = in.readInt(false), y = in.readInt(false);
+				if (pointer < lastX.length) {
+					x += lastX[pointer];
+					y += lastY[pointer];
+					lastX[pointer] = x;
+					lastY[pointer] = y;
+				}
+				addTouch(type, x, y, pointer, time);
+				break;
+			default:
+				throw new IOException("Unknown remote event: " + type);
+			}
+		}
+		addReading();
+	}
+
+	/** Reads a single event written by senders that don't batch. */
+	private void readEvent (DataInput in) throws IOException {
+		int event = in.readInt();
+		long time = System.nanoTime();
+		switch (event) {
+		case RemoteSender.ACCEL:
+			accel = new float[] {in.readFloat(), in.readFloat(), in.readFloat()};
+			return;
+		case RemoteSender.COMPASS:
+			compass = new float[] {in.readFloat(), in.readFloat(), in.readFloat()};
+			return;
+		case RemoteSender.SIZE:
+			remoteWidth = in.readFloat();
+			remoteHeight = in.readFloat();
+			return;
+		case RemoteSender.KEY_DOWN:
+			reading.keyDown(in.readInt(), time);
+			break;
+		case RemoteSender.KEY_UP:
+			reading.keyUp(in.readInt(), time);
+			break;
+		case RemoteSender.KEY_TYPED:
+			reading.keyTyped(in.readChar(), time);
+			break;
+		case RemoteSender.TOUCH_DOWN:
+		case RemoteSender.TOUCH_UP:
+		case RemoteSender.TOUCH_DRAGGED:
+			int x = in.readInt(), y = in.readInt();
+			addTouch(event, x, y, in.readInt(), time);
+			break;
+		}
+		addReading();
+	}
+
+	/** Appends the decoded events to the events waiting for delivery. Only the copy is done while holding the lock, never a read
+	 * from the socket. */
+	private void addReading () {
+		InputEventQueue reading = this.reading;
+		if (reading.size() == 0) return;
+		synchronized (this) {
+			received.addAll(reading);
+			postDelivery();
+		}
+		reading.clear();
+	}
+
+	/** Scales the coordinates to the local screen and decodes the event into {@link #reading}. */
+	private void addTouch (int type, int x, int y, int pointer, long time) {
+		if (remoteWidth > 0 && remoteHeight > 0) {
+			x = (int)((x / remoteWidth) * Gdx.graphics.getWidth());
+			y = (int)((y / remoteHeight) * Gdx.graphics.getHeight());
+		}
+		switch (type) {
+		case RemoteSender.TOUCH_DOWN:
+			reading.touchDown(x, y, pointer, Buttons.LEFT, time);
+			break;
+		case RemoteSender.TOUCH_UP:
+			reading.touchUp(x, y, pointer, Buttons.LEFT, time);
+			break;
+		default:
+			reading.touchDragged(x, y, pointer, time);
+		}
+	}
+
+	/** Posts {@link #deliver()} unless it is already pending, so the application runs at most one runnable per frame no matter how
+	 * many events arrive. Must be called while synchronized on this. */
+	private void postDelivery () {
+		if (deliveryPosted || received.size() == 0) return;
+		deliveryPosted = true;
+		Gdx.app.postRunnable(delivery);
+	}
+
+	/** Updates the input state and sends the events received since the last delivery to the processor. Called on the rendering
+	 * thread. */
+	void deliver () {
+		InputEventQueue events;
+		synchronized (this) {
+			events = received;
+			received = delivering;
+			delivering = events;
+			deliveryPosted = false;
+		}
+		InputProcessor processor = this.processor;
+		boolean[] keys = this.keys;
+		justTouched = false;
+		for (int i = 0, n = events.size(); i < n; i++) {
+			currentEventTime = events.getTime(i);
+			switch (events.getType(i)) {
+			case InputEventQueue.KEY_DOWN: {
+				int keycode = events.getKeyCode(i);
+				if (keycode >= 0 && keycode < keys.length) keys[keycode] = true;
+				if (processor != null) processor.keyDown(keycode);
+				break;
+			}
+			case InputEventQueue.KEY_UP: {
+				int keycode = events.getKeyCode(i);
+				if (keycode >= 0 && keycode < keys.length) keys[keycode] = false;
+				if (processor != null) processor.keyUp(keycode);
+				break;
+			}
+			case InputEventQueue.KEY_TYPED:
+				if (processor != null) processor.keyTyped(events.getCharacter(i));
+				break;
+			case InputEventQueue.TOUCH_DOWN: {
+				int x = events.getX(i), y = events.getY(i), pointer = events.getPointer(i);
+				touchX[pointer] = x;
+				touchY[pointer] = y;
+				isTouched[pointer] = true;
+				justTouched = true;
+				if (processor != null) processor.touchDown(x, y, pointer, Buttons.LEFT);
+				break;
+			}
+			case InputEventQueue.TOUCH_UP: {
+				int x = events.getX(i), y = events.getY(i), pointer = events.getPointer(i);
+				touchX[pointer] = x;
+				touchY[pointer] = y;
+				isTouched[pointer] = false;
+				if (processor != null) processor.touchUp(x, y, pointer, Buttons.LEFT);
+				break;
+			}
+			case InputEventQueue.TOUCH_DRAGGED: {
+				int x = events.getX(i), y = events.getY(i), pointer = events.getPointer(i);
+				touchX[pointer] = x;
+				touchY[pointer] = y;
+				if (processor != null) processor.touchDragged(x, y, pointer);
+				break;
+			}
+			}
+		}
+		events.clear();
+	}
+
+	/** If true, consecutive drags of a pointer received between two frames are merged into the last one. Default is false. */
+	public void setCoalesceDrags (boolean coalesceDrags) {
+		synchronized (this) {
+			received.setCoalesceMoves(coalesceDrags);
+			delivering.setCoalesceMoves(coalesceDrags);
+		}
+	}
+
 	public boolean isConnected() {
 		return connected;
 	}
@@ -338,7 +410,7 @@ public class RemoteInput implements Runnable, Input {
 
 	@Override
 	public boolean isKeyPressed (int key) {
-		return keys.contains(key);
+		return key >= 0 && key < keys.length && keys[key];
 	}
 
 	@Override
@@ -466,8 +538,7 @@ public class RemoteInput implements Runnable, Input {
 
 	@Override
 	public long getCurrentEventTime () {
-		// TODO Auto-generated method stub
-		return 0;
+		return currentEventTime;
 	}
 
 	@Override
@@ -16,19 +16,32 @@
 
 package com.badlogic.gdx.input;
 
-import java.io.DataOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Peripheral;
 import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.utils.DataOutput;
 
 /** Sends all inputs from touch, key, accelerometer and compass to a {@link RemoteInput} at the given ip/port. Instantiate this and
- * call sendUpdate() periodically.
+ * call sendUpdate() once per frame.
+ * <p>
+ * Events are buffered and sent by {@link #sendUpdate()} as a single frame. Key codes and characters are written as varints and
+ * touch coordinates as the difference to the pointer's previous position. The accelerometer, compass and screen size are
+ * sampled once per frame and only sent when they changed. If sendUpdate() isn't called, events are sent once
+ * {@link #maxFrameEvents} have been buffered.
+ * <p>
+ * A {@link RemoteInput} that understands frames sends its protocol version as soon as it accepts the connection. If no version
+ * arrives within the handshake timeout, one second by default, the receiver is an older one and events are written one at a
+ * time as before.
  * 
  * @author mzechner */
 public class RemoteSender implements InputProcessor {
-	private DataOutputStream out;
+	private DataOutput out;
 	private boolean connected = false;
 
 	public static final int KEY_DOWN = 0;
@@ -43,13 +56,53 @@ public class RemoteSender implements InputProcessor {
 	public static final int COMPASS = 7;
 	public static final int SIZE = 8;
 
+	/** Set in the handshake byte, next to the multitouch bit, when the sender uses batched frames. Senders without it write one
+	 * event at a time, see {@link RemoteInput}. */
+	static final int BATCHED = 2;
+
+	/** Written by the receiver when it accepts a connection. Frames are only sent to receivers of at least this version. */
+	static final int VERSION = 1;
+
+	/** Set in a frame's header byte for each sensor sample that follows it. */
+	static final int ACCEL_CHANGED = 1;
+	static final int COMPASS_CHANGED = 2;
+	static final int SIZE_CHANGED = 4;
+
+	public static int maxFrameEvents = 1024;
+
+	private final ByteArrayOutputStream frame = new ByteArrayOutputStream(256);
+	private final DataOutput frameOut = new DataOutput(frame);
+	private int frameEvents;
+	private final int[] lastX = new int[20], lastY = new int[20];
+	private final float[] sent = new float[8];
+	private boolean sentSize;
+	private boolean batched;
+
+	/** Connects with a one second handshake timeout. See {@link #RemoteSender(String, int, int)}. */
 	public RemoteSender (String ip, int port) {
+		this(ip, port, 1000);
+	}
+
+	/** Connects to the receiver and waits for its protocol version. This blocks for the full handshake timeout when the receiver
+	 * is an older one that never sends a version.
+	 * @param handshakeTimeout The milliseconds to wait for the receiver's version, or 0 to not wait and always write one event at
+	 *           a time. */
+	public RemoteSender (String ip, int port, int handshakeTimeout) {
 		try {
 			Socket socket = new Socket(ip, port);
 			socket.setTcpNoDelay(true);
+			// Older receivers never write, so their senders must not set BATCHED.
+			if (handshakeTimeout > 0) {
+				socket.setSoTimeout(handshakeTimeout);
+				try {
+					batched = socket.getInputStream().read() >= VERSION;
+				} catch (SocketTimeoutException ignored) {
+				}
+			}
 			socket.setSoTimeout(3000);
-			out = new DataOutputStream(socket.getOutputStream());
-			out.writeBoolean(Gdx.input.isPeripheralAvailable(Peripheral.MultitouchScreen));
+			out = new DataOutput(new BufferedOutputStream(socket.getOutputStream(), 4096));
+			out.writeByte((Gdx.input.isPeripheralAvailable(Peripheral.MultitouchScreen) ? 1 : 0) | (batched ? BATCHED : 0));
+			out.flush();
 			connected = true;
 			Gdx.input.setInputProcessor(this);
 		} catch (Exception e) {
@@ -57,133 +110,178 @@ public class RemoteSender implements InputProcessor {
 		}
 	}
 
+	/** Samples the sensors and sends the events buffered since the last call as one frame. A frame is sent even if nothing
+	 * changed, so the receiver doesn't time out. */
 	public void sendUpdate () {
 		synchronized (this) {
 			if (!connected) return;
-		}
-		try {
-			out.writeInt(ACCEL);
-			out.writeFloat(Gdx.input.getAccelerometerX());
-			out.writeFloat(Gdx.input.getAccelerometerY());
-			out.writeFloat(Gdx.input.getAccelerometerZ());
-			out.writeInt(COMPASS);
-			out.writeFloat(Gdx.input.getAzimuth());
-			out.writeFloat(Gdx.input.getPitch());
-			out.writeFloat(Gdx.input.getRoll());
-			out.writeInt(SIZE);
-			out.writeFloat(Gdx.graphics.getWidth());
-			out.writeFloat(Gdx.graphics.getHeight());
-		} catch (Throwable t) {
-			out = null;
-			connected = false;
+			try {
+				if (!batched) {
+					writeSensors();
+					return;
+				}
+				float[] sent = this.sent;
+				int flags = 0;
+				if (changed(0, Gdx.input.getAccelerometerX(), Gdx.input.getAccelerometerY(), Gdx.input.getAccelerometerZ()))
+					flags |= ACCEL_CHANGED;
+				if (changed(3, Gdx.input.getAzimuth(), Gdx.input.getPitch(), Gdx.input.getRoll())) flags |= COMPASS_CHANGED;
+				float width = Gdx.graphics.getWidth(), height = Gdx.graphics.getHeight();
+				if (!sentSize || sent[6] != width || sent[7] != height) {
+					flags |= SIZE_CHANGED;
+					sent[6] = width;
+					sent[7] = height;
+					sentSize = true;
+				}
+				out.writeByte(flags);
+				if ((flags & ACCEL_CHANGED) != 0) {
+					out.writeFloat(sent[0]);
+					out.writeFloat(sent[1]);
+					out.writeFloat(sent[2]);
+				}
+				if ((flags & COMPASS_CHANGED) != 0) {
+					out.writeFloat(sent[3]);
+					out.writeFloat(sent[4]);
+					out.writeFloat(sent[5]);
+				}
+				if ((flags & SIZE_CHANGED) != 0) {
+					out.writeFloat(sent[6]);
+					out.writeFloat(sent[7]);
+				}
+				writeEvents();
+			} catch (Throwable t) {
+				disconnect();
+			}
 		}
 	}
 
-	@Override
-	public boolean keyDown (int keycode) {
+	/** Writes the sensors as separate events, for older receivers. */
+	private void writeSensors () throws IOException {
+		out.writeInt(ACCEL);
+		out.writeFloat(Gdx.input.getAccelerometerX());
+		out.writeFloat(Gdx.input.getAccelerometerY());
+		out.writeFloat(Gdx.input.getAccelerometerZ());
+		out.writeInt(COMPASS);
+		out.writeFloat(Gdx.input.getAzimuth());
+		out.writeFloat(Gdx.input.getPitch());
+		out.writeFloat(Gdx.input.getRoll());
+		out.writeInt(SIZE);
+		out.writeFloat(Gdx.graphics.getWidth());
+		out.writeFloat(Gdx.graphics.getHeight());
+		out.flush();
+	}
+
+	private boolean changed (int index, float value1, float value2, float value3) {
+		float[] sent = this.sent;
+		if (sent[index] == value1 && sent[index + 1] == value2 && sent[index + 2] == value3) return false;
+		sent[index] = value1;
+		sent[index + 1] = value2;
+		sent[index + 2] = value3;
+		return true;
+	}
+
+	private void writeEvents () throws IOException {
+		out.writeInt(frameEvents, true);
+		frame.writeTo(out);
+		out.flush();
+		frame.reset();
+		frameEvents = 0;
+	}
+
+	private void disconnect () {
+		out = null;
+		connected = false;
+	}
+
+	private void key (int type, int value) {
 		synchronized (this) {
-			if (!connected) return false;
+			if (!connected) return;
+			try {
+				if (!batched) {
+					out.writeInt(type);
+					if (type == KEY_TYPED)
+						out.writeChar(value);
+					else
+						out.writeInt(value);
+					return;
+				}
+				frameOut.writeByte(type);
+				frameOut.writeInt(value, true);
+				eventAdded();
+			} catch (Throwable t) {
+				disconnect();
+			}
 		}
+	}
 
-		try {
-			out.writeInt(KEY_DOWN);
-			out.writeInt(keycode);
-		} catch (Throwable t) {
-			synchronized (this) {
-				connected = false;
+	private void touch (int type, int x, int y, int pointer) {
+		synchronized (this) {
+			if (!connected) return;
+			try {
+				if (!batched) {
+					out.writeInt(type);
+					out.writeInt(x);
+					out.writeInt(y);
+					out.writeInt(pointer);
+					return;
+				}
+				int dx = x, dy = y;
+				if (pointer >= 0 && pointer < lastX.length) {
+					dx -= lastX[pointer];
+					dy -= lastY[pointer];
+					lastX[pointer] = x;
+					lastY[pointer] = y;
+				}
+				frameOut.writeByte(type);
+				frameOut.writeInt(pointer, true);
+				frameOut.writeInt(dx, false);
+				frameOut.writeInt(dy, false);
+				eventAdded();
+			} catch (Throwable t) {
+				disconnect();
 			}
 		}
+	}
+
+	private void eventAdded () throws IOException {
+		if (++frameEvents < maxFrameEvents) return;
+		// A frame without sensor samples.
+		out.writeByte(0);
+		writeEvents();
+	}
+
+	@Override
+	public boolean keyDown (int keycode) {
+		key(KEY_DOWN, keycode);
 		return false;
 	}
 
 	@Override
 	public boolean keyUp (int keycode) {
-		synchronized (this) {
-			if (!connected) return false;
-		}
-
-		try {
-			out.writeInt(KEY_UP);
-			out.writeInt(keycode);
-		} catch (Throwable t) {
-			synchronized (this) {
-				connected = false;
-			}
-		}
+		key(KEY_UP, keycode);
 		return false;
 	}
 
 	@Override
 	public boolean keyTyped (char character) {
-		synchronized (this) {
-			if (!connected) return false;
-		}
-
-		try {
-			out.writeInt(KEY_TYPED);
-			out.writeChar(character);
-		} catch (Throwable t) {
-			synchronized (this) {
-				connected = false;
-			}
-		}
+		key(KEY_TYPED, character);
 		return false;
 	}
 
 	@Override
 	public boolean touchDown (int x, int y, int pointer, int button) {
-		synchronized (this) {
-			if (!connected) return false;
-		}
-
-		try {
-			out.writeInt(TOUCH_DOWN);
-			out.writeInt(x);
-			out.writeInt(y);
-			out.writeInt(pointer);
-		} catch (Throwable t) {
-			synchronized (this) {
-				connected = false;
-			}
-		}
+		touch(TOUCH_DOWN, x, y, pointer);
 		return false;
 	}
 
 	@Override
 	public boolean touchUp (int x, int y, int pointer, int button) {
-		synchronized (this) {
-			if (!connected) return false;
-		}
-
-		try {
-			out.writeInt(TOUCH_UP);
-			out.writeInt(x);
-			out.writeInt(y);
-			out.writeInt(pointer);
-		} catch (Throwable t) {
-			synchronized (this) {
-				connected = false;
-			}
-		}
+		touch(TOUCH_UP, x, y, pointer);
 		return false;
 	}
 
 	@Override
 	public boolean touchDragged (int x, int y, int pointer) {
-		synchronized (this) {
-			if (!connected) return false;
-		}
-
-		try {
-			out.writeInt(TOUCH_DRAGGED);
-			out.writeInt(x);
-			out.writeInt(y);
-			out.writeInt(pointer);
-		} catch (Throwable t) {
-			synchronized (this) {
-				connected = false;
-			}
-		}
+		touch(TOUCH_DRAGGED, x, y, pointer);
 		return false;
 	}
 
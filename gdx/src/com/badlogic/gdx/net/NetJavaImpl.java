@@ -1,7 +1,10 @@
 package com.badlogic.gdx.net;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -11,8 +14,11 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Net;
@@ -20,11 +26,18 @@ import com.badlogic.gdx.Net.HttpMethods;
 import com.badlogic.gdx.Net.HttpRequest;
 import com.badlogic.gdx.Net.HttpResponse;
 import com.badlogic.gdx.Net.HttpResponseListener;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.StreamUtils;
 
 /** Implements part of the {@link Net} API using {@link HttpURLConnection}, to be easily reused between the Android and Desktop
  * backends.
+ * <p>
+ * Requests run on a bounded thread pool. At most {@link #getMaxRequestsPerHost()} requests per host wait for a response at
+ * once, the others wait in a queue for that host. Responses are closed instead of disconnected, so HttpURLConnection keeps the
+ * connection alive and reuses it for the next request to the host. See {@link #setMaxBufferedBody(int)} for when a response is
+ * closed.
  * @author acoppes */
 public class NetJavaImpl {
 
@@ -33,6 +46,7 @@ public class NetJavaImpl {
 		private HttpURLConnection connection;
 		private HttpStatus status;
 		private InputStream inputStream;
+		private byte[] body;
 
 		public HttpClientResponse (HttpURLConnection connection) throws IOException {
 			this.connection = connection;
@@ -49,9 +63,54 @@ public class NetJavaImpl {
 			}
 		}
 
+		/** Reads the body if its length is known and at most maxBufferedBody, then closes the connection's stream so the
+		 * connection can be reused right away.
+		 * @return true if the body was read. */
+		boolean buffer (int maxBufferedBody) throws IOException {
+			int length = connection.getContentLength();
+			if (inputStream == null || length < 0 || length > maxBufferedBody) return false;
+			byte[] body = new byte[length];
+			DataInputStream input = new DataInputStream(inputStream);
+			try {
+				input.readFully(body);
+			} finally {
+				input.close();
+			}
+			this.body = body;
+			inputStream = new ByteArrayInputStream(body);
+			return true;
+		}
+
+		/** Makes closing the body, which reads what is left of it, run on the executor rather than on the thread that closes the
+		 * stream. */
+		void closeOn (final Executor executor) {
+			if (inputStream == null) return;
+			inputStream = new FilterInputStream(inputStream) {
+				private boolean closed;
+
+				@Override
+				public void close () {
+					if (closed) return;
+					closed = true;
+					executor.execute(new Runnable() {
+						public void run () {
+							try {
+								in.close();
+							} catch (IOException ignored) {
+							}
+						}
+					});
+				}
+			};
+		}
+
 		@Override
 		public byte[] getResult () {
-			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			if (body != null) return body;
+			if (inputStream == null) return new byte[0];
+			// Sized from the Content-Length, if known, so the body is read without growing the buffer.
+			int length = connection.getContentLength();
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(length > 0 ? length : 16384);
 
 			int nRead;
 			byte[] data = new byte[16384];
@@ -69,18 +128,21 @@ public class NetJavaImpl {
 
 		@Override
 		public String getResultAsString () {
+			if (inputStream == null) return "";
 			BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-			String tmp, line = "";
+			StringBuilder lines = new StringBuilder(Math.max(connection.getContentLength(), 16));
+			String line;
 			try {
-				while ((tmp = reader.readLine()) != null)
-					line += tmp;
+				while ((line = reader.readLine()) != null)
+					lines.append(line);
 				reader.close();
-				return line;
+				return lines.toString();
 			} catch (IOException e) {
 				return "";
 			}
 		}
 
+		/** Unless the body is small enough to have been read already, it is read from the connection as the stream is read. */
 		@Override
 		public InputStream getResultAsStream () {
 			return inputStream;
@@ -91,12 +153,137 @@ public class NetJavaImpl {
 			return status;
 		}
 
+		/** Closes the body, reading what is left of it, so the connection can be reused. */
+		void close () {
+			if (inputStream == null) return;
+			try {
+				inputStream.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	/** A request and the state needed to send it once its host has a free slot. */
+	class Request implements Runnable {
+		final HttpRequest httpRequest;
+		final HttpResponseListener httpResponseListener;
+		final HttpURLConnection connection;
+		final boolean doingOutPut;
+		final Host host;
+		long startTime;
+
+		Request (HttpRequest httpRequest, HttpResponseListener httpResponseListener, HttpURLConnection connection,
+			boolean doingOutPut, Host host) {
+			this.httpRequest = httpRequest;
+			this.httpResponseListener = httpResponseListener;
+			this.connection = connection;
+			this.doingOutPut = doingOutPut;
+			this.host = host;
+		}
+
+		@Override
+		public void run () {
+			int maxBufferedBody;
+			synchronized (NetJavaImpl.this) {
+				maxBufferedBody = NetJavaImpl.this.maxBufferedBody;
+			}
+			try {
+				startTime = System.nanoTime();
+
+				// Set the content for POST and PUT (GET has the information embedded in the URL)
+				if (doingOutPut) {
+					// we probably need to use the content as stream here instead of using it as a string.
+					String contentAsString = httpRequest.getContent();
+					InputStream contentAsStream = httpRequest.getContentStream();
+
+					OutputStream outputStream = connection.getOutputStream();
+					if (contentAsString != null) {
+						OutputStreamWriter writer = new OutputStreamWriter(outputStream);
+						writer.write(contentAsString);
+						writer.flush();
+						writer.close();
+					} else if (contentAsStream != null) {
+						StreamUtils.copyStream(contentAsStream, outputStream);
+						outputStream.flush();
+						outputStream.close();
+					}
+				}
+
+				connection.connect();
+
+				final HttpClientResponse clientResponse = new HttpClientResponse(connection);
+				responded(System.nanoTime() - startTime);
+				// A small body is read here. A larger one is left to the listener, and whatever it doesn't read is drained on a
+				// worker thread. Either way the next request for the host doesn't wait on the listener.
+				if (!clientResponse.buffer(maxBufferedBody)) clientResponse.closeOn(executorService);
+				finished(this, false);
+				// post a runnable to sync the handler with the main thread
+				Gdx.app.postRunnable(new Runnable() {
+					@Override
+					public void run () {
+						try {
+							httpResponseListener.handleHttpResponse(clientResponse);
+						} finally {
+							clientResponse.close();
+						}
+					}
+				});
+			} catch (final Exception e) {
+				// The connection may be in any state, don't let it be reused.
+				connection.disconnect();
+				finished(this, true);
+				// post a runnable to sync the handler with the main thread
+				Gdx.app.postRunnable(new Runnable() {
+					@Override
+					public void run () {
+						httpResponseListener.failed(e);
+					}
+				});
+			}
+		}
+	}
+
+	static class Host {
+		final String name;
+		int active;
+		final Array<Request> queued = new Array();
+
+		Host (String name) {
+			this.name = name;
+		}
 	}
 
-	private final ExecutorService executorService;
+	private final ThreadPoolExecutor executorService;
+	private final int maxRequestsPerHost;
+	private int maxBufferedBody = 64 * 1024;
+	private final ObjectMap<String, Host> hosts = new ObjectMap();
+	private int queued, active;
+	private long completed, failed;
+	private long latencyTotal, latencyMax, responses;
+	private long startTime = System.nanoTime();
 
+	/** Uses 8 threads and at most 5 requests per host, the number of connections per host HttpURLConnection keeps alive by
+	 * default. */
 	public NetJavaImpl () {
-		executorService = Executors.newCachedThreadPool();
+		this(8, 5);
+	}
+
+	/** @param maxThreads The number of requests waiting for a response at once, over all hosts.
+	 * @param maxRequestsPerHost The number of requests in flight at once for each host. */
+	public NetJavaImpl (int maxThreads, int maxRequestsPerHost) {
+		if (maxThreads < 1) throw new IllegalArgumentException("maxThreads must be > 0: " + maxThreads);
+		if (maxRequestsPerHost < 1) throw new IllegalArgumentException("maxRequestsPerHost must be > 0: " + maxRequestsPerHost);
+		this.maxRequestsPerHost = maxRequestsPerHost;
+		executorService = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+			new ThreadFactory() {
+				@Override
+				public Thread newThread (Runnable r) {
+					Thread thread = new Thread(r, "NetThread");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		executorService.allowCoreThreadTimeOut(true);
 	}
 
 	public void sendHttpRequest (final HttpRequest httpRequest, final HttpResponseListener httpResponseListener) {
@@ -136,64 +323,107 @@ public class NetJavaImpl {
 			connection.setConnectTimeout(httpRequest.getTimeOut());
 			connection.setReadTimeout(httpRequest.getTimeOut());
 
-			executorService.submit(new Runnable() {
-				@Override
-				public void run () {
-					try {
-
-						// Set the content for POST and PUT (GET has the information embedded in the URL)
-						if (doingOutPut) {
-							// we probably need to use the content as stream here instead of using it as a string.
-							String contentAsString = httpRequest.getContent();
-							InputStream contentAsStream = httpRequest.getContentStream();
-
-							OutputStream outputStream = connection.getOutputStream();
-							if (contentAsString != null) {
-								OutputStreamWriter writer = new OutputStreamWriter(outputStream);
-								writer.write(contentAsString);
-								writer.flush();
-								writer.close();
-							} else if (contentAsStream != null) {
-								StreamUtils.copyStream(contentAsStream, outputStream);
-								outputStream.flush();
-								outputStream.close();
-							}
-						}
-
-						connection.connect();
-
-						final HttpClientResponse clientResponse = new HttpClientResponse(connection);
-						// post a runnable to sync the handler with the main thread
-						Gdx.app.postRunnable(new Runnable() {
-							@Override
-							public void run () {
-								try {
-									httpResponseListener.handleHttpResponse(clientResponse);
-								} finally {
-									connection.disconnect();
-								}
-							}
-						});
-					} catch (final Exception e) {
-						// post a runnable to sync the handler with the main thread
-						Gdx.app.postRunnable(new Runnable() {
-							@Override
-							public void run () {
-								connection.disconnect();
-								httpResponseListener.failed(e);
-							}
-						});
-					}
-// finally {
-// connection.disconnect();
-// }
+			String hostName = url.getHost() + ":" + (url.getPort() == -1 ? url.getDefaultPort() : url.getPort());
+			synchronized (this) {
+				Host host = hosts.get(hostName);
+				if (host == null) hosts.put(hostName, host = new Host(hostName));
+				Request request = new Request(httpRequest, httpResponseListener, connection, doingOutPut, host);
+				if (host.active < maxRequestsPerHost) {
+					host.active++;
+					active++;
+					executorService.execute(request);
+				} else {
+					host.queued.add(request);
+					queued++;
 				}
-			});
-
+			}
 		} catch (Exception e) {
 			httpResponseListener.failed(e);
 			return;
 		}
 	}
 
+	synchronized void responded (long latency) {
+		responses++;
+		latencyTotal += latency;
+		if (latency > latencyMax) latencyMax = latency;
+	}
+
+	/** Called when a request is done, to start the next request queued for its host. */
+	synchronized void finished (Request request, boolean failed) {
+		if (failed)
+			this.failed++;
+		else
+			completed++;
+		Host host = request.host;
+		if (host.queued.size > 0) {
+			queued--;
+			executorService.execute(host.queued.removeIndex(0));
+		} else {
+			host.active--;
+			active--;
+			if (host.active == 0) hosts.remove(host.name);
+		}
+	}
+
+	/** @return The number of hosts with requests in flight. */
+	synchronized int getHosts () {
+		return hosts.size;
+	}
+
+	/** Response bodies with a known length of at most this many bytes are read on the request's thread, before the listener is
+	 * called. Larger bodies, or bodies of unknown length, are streamed to the listener. When it returns or closes the stream,
+	 * what is left of the body is read on a pool thread so the connection can be reused. Default is 64KB. */
+	public synchronized void setMaxBufferedBody (int maxBufferedBody) {
+		this.maxBufferedBody = maxBufferedBody;
+	}
+
+	public int getMaxRequestsPerHost () {
+		return maxRequestsPerHost;
+	}
+
+	/** @return The number of requests sent and not yet finished. */
+	public synchronized int getActiveRequests () {
+		return active;
+	}
+
+	/** @return The number of requests waiting for their host to have a free slot. */
+	public synchronized int getQueuedRequests () {
+		return queued;
+	}
+
+	/** @return The number of requests whose listener received a response since the last {@link #resetMetrics()}. */
+	public synchronized long getCompletedRequests () {
+		return completed;
+	}
+
+	/** @return The number of requests that failed since the last {@link #resetMetrics()}. */
+	public synchronized long getFailedRequests () {
+		return failed;
+	}
+
+	/** @return Completed requests per second since the last {@link #resetMetrics()}. */
+	public synchronized float getThroughput () {
+		long time = System.nanoTime() - startTime;
+		return time == 0 ? 0 : completed / (time / 1000000000f);
+	}
+
+	/** @return The average time in milliseconds from a request being sent to its response's status and headers being received. */
+	public synchronized float getAverageLatency () {
+		return responses == 0 ? 0 : latencyTotal / (float)responses / 1000000f;
+	}
+
+	/** @return The longest time in milliseconds from a request being sent to its response's status and headers being received. */
+	public synchronized float getMaximumLatency () {
+		return latencyMax / 1000000f;
+	}
+
+	public synchronized void resetMetrics () {
+		completed = 0;
+		failed = 0;
+		responses = 0;
+		latencyTotal = 0;
+		latencyMax = 0;
+		startTime = System.nanoTime();
+	}
 }
@@ -335,6 +335,7 @@ public class Actor {
 	/** If false, the actor will not be drawn and will not receive touch events. Default is true. */
 	public void setVisible (boolean visible) {
 		this.visible = visible;
+		if (parent != null) parent.childChanged(this);
 	}
 
 	public float getX () {
@@ -343,6 +344,7 @@ public class Actor {
 
 	public void setX (float x) {
 		this.x = x;
+		boundsChanged();
 	}
 
 	public float getY () {
@@ -351,17 +353,20 @@ public class Actor {
 
 	public void setY (float y) {
 		this.y = y;
+		boundsChanged();
 	}
 
 	/** Sets the x and y. */
 	public void setPosition (float x, float y) {
 		this.x = x;
 		this.y = y;
+		boundsChanged();
 	}
 
 	public void translate (float x, float y) {
 		this.x += x;
 		this.y += y;
+		boundsChanged();
 	}
 
 	public float getWidth () {
@@ -370,6 +375,7 @@ public class Actor {
 
 	public void setWidth (float width) {
 		this.width = width;
+		boundsChanged();
 	}
 
 	public float getHeight () {
@@ -378,6 +384,7 @@ public class Actor {
 
 	public void setHeight (float height) {
 		this.height = height;
+		boundsChanged();
 	}
 
 	/** Returns y plus height. */
@@ -394,18 +401,21 @@ public class Actor {
 	public void setSize (float width, float height) {
 		this.width = width;
 		this.height = height;
+		boundsChanged();
 	}
 
 	/** Adds the specified size to the current size. */
 	public void size (float size) {
 		width += size;
 		height += size;
+		boundsChanged();
 	}
 
 	/** Adds the specified size to the current size. */
 	public void size (float width, float height) {
 		this.width += width;
 		this.height += height;
+		boundsChanged();
 	}
 
 	/** Set bounds the x, y, width, and height. */
@@ -414,6 +424,7 @@ public class Actor {
 		this.y = y;
 		this.width = width;
 		this.height = height;
+		boundsChanged();
 	}
 
 	public float getOriginX () {
@@ -422,6 +433,7 @@ public class Actor {
 
 	public void setOriginX (float originX) {
 		this.originX = originX;
+		boundsChanged();
 	}
 
 	public float getOriginY () {
@@ -430,12 +442,14 @@ public class Actor {
 
 	public void setOriginY (float originY) {
 		this.originY = originY;
+		boundsChanged();
 	}
 
 	/** Sets the originx and originy. */
 	public void setOrigin (float originX, float originY) {
 		this.originX = originX;
 		this.originY = originY;
+		boundsChanged();
 	}
 
 	public float getScaleX () {
@@ -444,6 +458,7 @@ public class Actor {
 
 	public void setScaleX (float scaleX) {
 		this.scaleX = scaleX;
+		boundsChanged();
 	}
 
 	public float getScaleY () {
@@ -452,30 +467,35 @@ public class Actor {
 
 	public void setScaleY (float scaleY) {
 		this.scaleY = scaleY;
+		boundsChanged();
 	}
 
 	/** Sets the scalex and scaley. */
 	public void setScale (float scale) {
 		this.scaleX = scale;
 		this.scaleY = scale;
+		boundsChanged();
 	}
 
 	/** Sets the scalex and scaley. */
 	public void setScale (float scaleX, float scaleY) {
 		this.scaleX = scaleX;
 		this.scaleY = scaleY;
+		boundsChanged();
 	}
 
 	/** Adds the specified scale to the current scale. */
 	public void scale (float scale) {
 		scaleX += scale;
 		scaleY += scale;
+		boundsChanged();
 	}
 
 	/** Adds the specified scale to the current scale. */
 	public void scale (float scaleX, float scaleY) {
 		this.scaleX += scaleX;
 		this.scaleY += scaleY;
+		boundsChanged();
 	}
 
 	public float getRotation () {
@@ -484,11 +504,13 @@ public class Actor {
 
 	public void setRotation (float degrees) {
 		this.rotation = degrees;
+		boundsChanged();
 	}
 
 	/** Adds the specified rotation to the current rotation. */
 	public void rotate (float amountInDegrees) {
 		rotation += amountInDegrees;
+		boundsChanged();
 	}
 
 	public void setColor (Color color) {
@@ -538,6 +560,7 @@ public class Actor {
 			children.add(this);
 		else
 			children.insert(index, this);
+		parent.childOrderChanged();
 	}
 
 	/** Returns the z-index of this actor.
@@ -595,7 +618,8 @@ public class Actor {
 	/** Transforms the specified point in the actor's coordinates to be in the stage's coordinates.
 	 * @see Stage#toScreenCoordinates(Vector2, com.badlogic.gdx.math.Matrix4) */
 	public Vector2 localToStageCoordinates (Vector2 localCoords) {
-		return localToAscendantCoordinates(null, localCoords);
+		if (parent == null) return localCoords;
+		return parent.localToStageCoordinates(localToParentCoordinates(localCoords));
 	}
 
 	/** Transforms the specified point in the actor's coordinates to be in the parent's coordinates. */
@@ -620,10 +644,10 @@ public class Actor {
 			final float sin = (float)Math.sin(rotation * MathUtils.degreesToRadians);
 			final float originX = this.originX;
 			final float originY = this.originY;
-			final float tox = localCoords.x - originX;
-			final float toy = localCoords.y - originY;
-			localCoords.x = (tox * cos + toy * sin) * scaleX + originX + x;
-			localCoords.y = (tox * -sin + toy * cos) * scaleY + originY + y;
+			final float tox = (localCoords.x - originX) * scaleX;
+			final float toy = (localCoords.y - originY) * scaleY;
+			localCoords.x = (tox * cos + toy * sin) + originX + x;
+			localCoords.y = (tox * -sin + toy * cos) + originY + y;
 		}
 		return localCoords;
 	}
@@ -669,6 +693,42 @@ public class Actor {
 		return parentCoords;
 	}
 
+	/** Sets the bounds to the axis aligned bounds, in the parent's coordinate system, of the specified rectangle in this actor's
+	 * coordinate system. This is the inverse of {@link #parentToLocalCoordinates(Vector2)}. */
+	void localToParentBounds (float x, float y, float width, float height, Rectangle bounds) {
+		float left = Math.min(x, x + width), right = Math.max(x, x + width);
+		float bottom = Math.min(y, y + height), top = Math.max(y, y + height);
+		final float rotation = this.rotation;
+		final float scaleX = this.scaleX;
+		final float scaleY = this.scaleY;
+		if (rotation == 0 && scaleX == 1 && scaleY == 1) {
+			bounds.set(left + this.x, bottom + this.y, right - left, top - bottom);
+			return;
+		}
+		final float cos = rotation == 0 ? 1 : (float)Math.cos(rotation * MathUtils.degreesToRadians);
+		final float sin = rotation == 0 ? 0 : (float)Math.sin(rotation * MathUtils.degreesToRadians);
+		final float originX = this.originX;
+		final float originY = this.originY;
+		final float offsetX = originX + this.x, offsetY = originY + this.y;
+		final float x1 = (left - originX) * scaleX, x2 = (right - originX) * scaleX;
+		final float y1 = (bottom - originY) * scaleY, y2 = (top - originY) * scaleY;
+		final float ax = x1 * cos - y1 * sin, ay = x1 * sin + y1 * cos;
+		final float bx = x2 * cos - y1 * sin, by = x2 * sin + y1 * cos;
+		final float cx = x2 * cos - y2 * sin, cy = x2 * sin + y2 * cos;
+		final float dx = x1 * cos - y2 * sin, dy = x1 * sin + y2 * cos;
+		left = Math.min(Math.min(ax, bx), Math.min(cx, dx));
+		right = Math.max(Math.max(ax, bx), Math.max(cx, dx));
+		bottom = Math.min(Math.min(ay, by), Math.min(cy, dy));
+		top = Math.max(Math.max(ay, by), Math.max(cy, dy));
+		bounds.set(left + offsetX, bottom + offsetY, right - left, top - bottom);
+	}
+
+	/** Called when the position, size, origin, rotation or scale of this actor changes. */
+	void boundsChanged () {
+		Group parent = this.parent;
+		if (parent != null) parent.childChanged(this);
+	}
+
 	public String toString () {
 		String name = this.name;
 		if (name == null) {
@@ -17,6 +17,8 @@
 package com.badlogic.gdx.scenes.scene2d;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteRecording;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Matrix3;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Rectangle;
@@ -39,6 +41,24 @@ public class Group extends Actor implements Cullable {
 	private final Matrix4 oldBatchTransform = new Matrix4();
 	private boolean transform = true;
 	private Rectangle cullingArea;
+	private final Rectangle autoCullingArea = new Rectangle();
+	private final Rectangle cullingBounds = new Rectangle();
+	private final Rectangle childBounds = new Rectangle();
+	private boolean cullingBoundsValid;
+	// True once a cache of this group depends on its descendants. A group without it has no valid caches and neither do its
+	// ancestors, so contentChanged stops there.
+	private boolean contentValid;
+	private SpriteRecording retained;
+	private boolean retainedValid;
+	private float retainedAlpha, retainedX, retainedY;
+	private HitGrid hitGrid;
+	private boolean transformDirty = true;
+	private float transformX, transformY;
+	private Group worldTransformParent;
+	private int worldTransformVersion, worldTransformParentVersion = -1;
+	// When a group's stage transform is dirty, so are the stage transforms of all groups below it.
+	private boolean stageTransformDirty = true;
+	private float stageA, stageB, stageC, stageD, stageX, stageY, stageTransformX, stageTransformY;
 	private final Vector2 point = new Vector2();
 
 	public void act (float delta) {
@@ -61,12 +81,51 @@ public class Group extends Actor implements Cullable {
 	 * {@link #resetTransform(SpriteBatch)} after this method if {@link #setTransform(boolean) transform} is true. If
 	 * {@link #setTransform(boolean) transform} is false these methods don't need to be called, children positions are temporarily
 	 * offset by the group position when drawn. This method avoids drawing children completely outside the
-	 * {@link #setCullingArea(Rectangle) culling area}, if set. */
+	 * {@link #setCullingArea(Rectangle) culling area}, if set, or outside the visible area of the stage if
+	 * {@link Stage#setAutoCulling(boolean) auto culling} is enabled. If this group is {@link #setRetained(boolean) retained}, the
+	 * sprites drawn by the children the last time are drawn again if nothing changed. */
 	protected void drawChildren (SpriteBatch batch, float parentAlpha) {
 		parentAlpha *= this.color.a;
+		SpriteRecording retained = this.retained;
+		if (retained != null && !batch.isRecording()) {
+			if (!retainedValid || retainedAlpha != parentAlpha || (!transform && (retainedX != x || retainedY != y))) {
+				// Draw all children, capturing the sprites they draw.
+				batch.beginRecording(retained);
+				drawChildren(batch, parentAlpha, null, false);
+				batch.endRecording();
+				retainedValid = true;
+				validateContent();
+				retainedAlpha = parentAlpha;
+				retainedX = x;
+				retainedY = y;
+				if (transform) batch.flush();
+				return;
+			}
+			if (retained.isComplete()) {
+				retained.draw(batch);
+				if (transform) batch.flush();
+				return;
+			}
+			// The children changed the batch state while recording, draw them normally until something changes.
+		}
+
+		Rectangle cullingArea = this.cullingArea;
+		boolean autoCulling = false;
+		if (cullingArea == null && !batch.isRecording()) {
+			Stage stage = getStage();
+			if (stage != null && stage.isAutoCulling() && calculateAutoCullingArea(batch, stage.visibleArea)) {
+				cullingArea = autoCullingArea;
+				autoCulling = true;
+			}
+		}
+		drawChildren(batch, parentAlpha, cullingArea, autoCulling);
+		if (transform && !batch.isRecording()) batch.flush();
+	}
+
+	private void drawChildren (SpriteBatch batch, float parentAlpha, Rectangle cullingArea, boolean autoCulling) {
 		SnapshotArray<Actor> children = this.children;
 		Actor[] actors = children.begin();
-		Rectangle cullingArea = this.cullingArea;
+		int drawn = 0;
 		if (cullingArea != null) {
 			// Draw children only if inside culling area.
 			float cullLeft = cullingArea.x;
@@ -77,11 +136,17 @@ public class Group extends Actor implements Cullable {
 				for (int i = 0, n = children.size; i < n; i++) {
 					Actor child = actors[i];
 					if (!child.isVisible()) continue;
-					float cx = child.x, cy = child.y;
-					if (cx <= cullRight && cy <= cullTop && cx + child.width >= cullLeft && cy + child.height >= cullBottom)
-						child.draw(batch, parentAlpha);
+					if (autoCulling) {
+						Rectangle bounds = childCullingBounds(child);
+						if (bounds.x > cullRight || bounds.y > cullTop || bounds.x + bounds.width < cullLeft
+							|| bounds.y + bounds.height < cullBottom) continue;
+					} else {
+						float cx = child.x, cy = child.y;
+						if (cx > cullRight || cy > cullTop || cx + child.width < cullLeft || cy + child.height < cullBottom) continue;
+					}
+					child.draw(batch, parentAlpha);
+					drawn++;
 				}
-				batch.flush();
 			} else {
 				// No transform for this group, offset each child.
 				float offsetX = x, offsetY = y;
@@ -91,13 +156,18 @@ public class Group extends Actor implements Cullable {
 					Actor child = actors[i];
 					if (!child.isVisible()) continue;
 					float cx = child.x, cy = child.y;
-					if (cx <= cullRight && cy <= cullTop && cx + child.width >= cullLeft && cy + child.height >= cullBottom) {
-						child.x = cx + offsetX;
-						child.y = cy + offsetY;
-						child.draw(batch, parentAlpha);
-						child.x = cx;
-						child.y = cy;
-					}
+					if (autoCulling) {
+						Rectangle bounds = childCullingBounds(child);
+						if (bounds.x > cullRight || bounds.y > cullTop || bounds.x + bounds.width < cullLeft
+							|| bounds.y + bounds.height < cullBottom) continue;
+					} else if (cx > cullRight || cy > cullTop || cx + child.width < cullLeft || cy + child.height < cullBottom)
+						continue;
+					child.x = cx + offsetX;
+					child.y = cy + offsetY;
+					child.draw(batch, parentAlpha);
+					child.x = cx;
+					child.y = cy;
+					drawn++;
 				}
 				x = offsetX;
 				y = offsetY;
@@ -109,8 +179,8 @@ public class Group extends Actor implements Cullable {
 					Actor child = actors[i];
 					if (!child.isVisible()) continue;
 					child.draw(batch, parentAlpha);
+					drawn++;
 				}
-				batch.flush();
 			} else {
 				// No transform for this group, offset each child.
 				float offsetX = x, offsetY = y;
@@ -125,12 +195,78 @@ public class Group extends Actor implements Cullable {
 					child.draw(batch, parentAlpha);
 					child.x = cx;
 					child.y = cy;
+					drawn++;
 				}
 				x = offsetX;
 				y = offsetY;
 			}
 		}
 		children.end();
+		Stage stage = getStage();
+		if (stage != null) stage.actorsDrawn += drawn;
+	}
+
+	/** Sets the auto culling area to the stage's visible area in the coordinate system of the children. The batch transform maps
+	 * the batch coordinates to stage coordinates, so its inverse maps the visible area back.
+	 * @return false if the batch transform can't be inverted. */
+	private boolean calculateAutoCullingArea (SpriteBatch batch, Rectangle visibleArea) {
+		float[] val = batch.getTransformMatrix().val;
+		float m00 = val[Matrix4.M00], m01 = val[Matrix4.M01], m03 = val[Matrix4.M03];
+		float m10 = val[Matrix4.M10], m11 = val[Matrix4.M11], m13 = val[Matrix4.M13];
+		float det = m00 * m11 - m01 * m10;
+		if (det == 0) return false;
+		float invDet = 1 / det;
+		float i00 = m11 * invDet, i01 = -m01 * invDet, i10 = -m10 * invDet, i11 = m00 * invDet;
+		float left = visibleArea.x - m03, bottom = visibleArea.y - m13;
+		float right = left + visibleArea.width, top = bottom + visibleArea.height;
+		float ax = i00 * left + i01 * bottom, ay = i10 * left + i11 * bottom;
+		float bx = i00 * right + i01 * bottom, by = i10 * right + i11 * bottom;
+		float cx = i00 * right + i01 * top, cy = i10 * right + i11 * top;
+		float dx = i00 * left + i01 * top, dy = i10 * left + i11 * top;
+		float minX = Math.min(Math.min(ax, bx), Math.min(cx, dx)), maxX = Math.max(Math.max(ax, bx), Math.max(cx, dx));
+		float minY = Math.min(Math.min(ay, by), Math.min(cy, dy)), maxY = Math.max(Math.max(ay, by), Math.max(cy, dy));
+		// Without a transform, children are drawn offset by the group position.
+		if (!transform) {
+			minX -= x;
+			maxX -= x;
+			minY -= y;
+			maxY -= y;
+		}
+		autoCullingArea.set(minX, minY, maxX - minX, maxY - minY);
+		return true;
+	}
+
+	/** Returns the bounds of a child and its descendants in this group's coordinate system. */
+	private Rectangle childCullingBounds (Actor child) {
+		if (child instanceof Group) return ((Group)child).getCullingBounds();
+		child.localToParentBounds(0, 0, child.width, child.height, childBounds);
+		return childBounds;
+	}
+
+	/** Returns the bounds of this group and its visible descendants in the parent's coordinate system. The bounds are cached until
+	 * this group or a descendant changes. */
+	Rectangle getCullingBounds () {
+		if (cullingBoundsValid) return cullingBounds;
+		float left = Math.min(0, width), right = Math.max(0, width);
+		float bottom = Math.min(0, height), top = Math.max(0, height);
+		SnapshotArray<Actor> children = this.children;
+		Actor[] actors = children.items;
+		for (int i = 0, n = children.size; i < n; i++) {
+			Actor child = actors[i];
+			if (!child.isVisible()) continue;
+			Rectangle bounds = childCullingBounds(child);
+			left = Math.min(left, bounds.x);
+			bottom = Math.min(bottom, bounds.y);
+			right = Math.max(right, bounds.x + bounds.width);
+			top = Math.max(top, bounds.y + bounds.height);
+		}
+		if (transform)
+			localToParentBounds(left, bottom, right - left, top - bottom, cullingBounds);
+		else
+			cullingBounds.set(left + x, bottom + y, right - left, top - bottom);
+		cullingBoundsValid = true;
+		contentValid = true;
+		return cullingBounds;
 	}
 
 	/** Set the SpriteBatch's transformation matrix, often with the result of {@link #computeTransform()}. Note this causes the
@@ -140,43 +276,140 @@ public class Group extends Actor implements Cullable {
 		batch.setTransformMatrix(transform);
 	}
 
-	/** Returns the transform for this group's coordinate system. */
+	/** Returns the transform for this group's coordinate system, using the transform last computed by the first parent that
+	 * transforms. The transform is cached and only recomputed when this group's position, rotation, scale or origin changed, or
+	 * the parent's transform changed. */
 	protected Matrix4 computeTransform () {
-		Matrix3 temp = worldTransform;
-
-		float originX = this.originX;
-		float originY = this.originY;
-		float rotation = this.rotation;
-		float scaleX = this.scaleX;
-		float scaleY = this.scaleY;
-
-		if (originX != 0 || originY != 0)
-			localTransform.setToTranslation(originX, originY);
-		else
-			localTransform.idt();
-		if (rotation != 0) localTransform.rotate(rotation);
-		if (scaleX != 1 || scaleY != 1) localTransform.scale(scaleX, scaleY);
-		if (originX != 0 || originY != 0) localTransform.translate(-originX, -originY);
-		localTransform.trn(x, y);
-
 		// Find the first parent that transforms.
 		Group parentGroup = getParent();
 		while (parentGroup != null) {
 			if (parentGroup.transform) break;
 			parentGroup = parentGroup.getParent();
 		}
-
-		if (parentGroup != null) {
-			worldTransform.set(parentGroup.worldTransform);
-			worldTransform.mul(localTransform);
-		} else {
-			worldTransform.set(localTransform);
+		// Drawing computes a parent's transform before its children's, so the parent's cached transform is current.
+		int parentVersion = parentGroup != null ? parentGroup.worldTransformVersion : 0;
+
+		// The position is compared because untransformed parents offset it while drawing.
+		boolean localChanged = transformDirty || x != transformX || y != transformY;
+		if (localChanged) {
+			float originX = this.originX;
+			float originY = this.originY;
+			float rotation = this.rotation;
+			float scaleX = this.scaleX;
+			float scaleY = this.scaleY;
+
+			if (originX != 0 || originY != 0)
+				localTransform.setToTranslation(originX, originY);
+			else
+				localTransform.idt();
+			if (rotation != 0) localTransform.rotate(rotation);
+			if (scaleX != 1 || scaleY != 1) localTransform.scale(scaleX, scaleY);
+			if (originX != 0 || originY != 0) localTransform.translate(-originX, -originY);
+			localTransform.trn(x, y);
+
+			transformDirty = false;
+			transformX = x;
+			transformY = y;
 		}
 
-		batchTransform.set(worldTransform);
+		if (localChanged || parentGroup != worldTransformParent || parentVersion != worldTransformParentVersion) {
+			if (parentGroup != null) {
+				worldTransform.set(parentGroup.worldTransform);
+				worldTransform.mul(localTransform);
+			} else {
+				worldTransform.set(localTransform);
+			}
+			batchTransform.set(worldTransform);
+			worldTransformParent = parentGroup;
+			worldTransformParentVersion = parentVersion;
+			worldTransformVersion++;
+		}
 		return batchTransform;
 	}
 
+	/** Updates the cached transform from this group's coordinate system to the stage's coordinate system, if needed. This uses the
+	 * same transform as {@link #localToParentCoordinates(Vector2)} for each ancestor. Only groups whose transform is dirty, and
+	 * their dirty ancestors, are recomputed. */
+	private void validateStageTransform () {
+		// The position is compared because untransformed parents offset it while drawing.
+		if (!stageTransformDirty) {
+			if (x == stageTransformX && y == stageTransformY) return;
+			invalidateStageTransform();
+		}
+		Group parent = getParent();
+		if (parent == null) {
+			stageA = 1;
+			stageB = 0;
+			stageC = 0;
+			stageD = 1;
+			stageX = 0;
+			stageY = 0;
+			stageTransformDirty = false;
+			stageTransformX = x;
+			stageTransformY = y;
+			return;
+		}
+		parent.validateStageTransform();
+
+		float cos = 1, sin = 0;
+		if (rotation != 0) {
+			cos = (float)Math.cos(rotation * MathUtils.degreesToRadians);
+			sin = (float)Math.sin(rotation * MathUtils.degreesToRadians);
+		}
+		float a = cos * scaleX, b = -sin * scaleY, c = sin * scaleX, d = cos * scaleY;
+		float tx = originX + x - (a * originX + b * originY), ty = originY + y - (c * originX + d * originY);
+
+		float pa = parent.stageA, pb = parent.stageB, pc = parent.stageC, pd = parent.stageD;
+		stageA = pa * a + pb * c;
+		stageB = pa * b + pb * d;
+		stageC = pc * a + pd * c;
+		stageD = pc * b + pd * d;
+		stageX = pa * tx + pb * ty + parent.stageX;
+		stageY = pc * tx + pd * ty + parent.stageY;
+
+		stageTransformDirty = false;
+		stageTransformX = x;
+		stageTransformY = y;
+	}
+
+	/** Marks the stage transform of this group and of the groups below it dirty. A dirty group's subtree is already dirty, so the
+	 * walk stops there. */
+	private void invalidateStageTransform () {
+		stageTransformDirty = true;
+		Actor[] actors = children.items;
+		for (int i = 0, n = children.size; i < n; i++) {
+			Actor child = actors[i];
+			if (child instanceof Group) {
+				Group group = (Group)child;
+				if (!group.stageTransformDirty) group.invalidateStageTransform();
+			}
+		}
+	}
+
+	/** Transforms the specified point in the stage's coordinates to this group's coordinate system. The transform to the stage is
+	 * cached, the parent hierarchy is only walked after this group or an ancestor moved or was added to a group. */
+	public Vector2 stageToLocalCoordinates (Vector2 stageCoords) {
+		if (getParent() == null) return stageCoords;
+		validateStageTransform();
+		float det = stageA * stageD - stageB * stageC;
+		if (det == 0) return super.stageToLocalCoordinates(stageCoords);
+		float x = stageCoords.x - stageX, y = stageCoords.y - stageY;
+		stageCoords.x = (stageD * x - stageB * y) / det;
+		stageCoords.y = (stageA * y - stageC * x) / det;
+		return stageCoords;
+	}
+
+	/** Transforms the specified point in this group's coordinates to the stage's coordinate system. The transform to the stage is
+	 * cached, the parent hierarchy is only walked after this group or an ancestor moved or was added to a group. */
+	public Vector2 localToStageCoordinates (Vector2 localCoords) {
+		if (getParent() == null) return localCoords;
+		validateStageTransform();
+		float x = localCoords.x, y = localCoords.y;
+		localCoords.x = stageA * x + stageB * y + stageX;
+		localCoords.y = stageC * x + stageD * y + stageY;
+		return localCoords;
+	}
+
 	/** Restores the SpriteBatch transform to what it was before {@link #applyTransform(SpriteBatch, Matrix4)}. Note this causes the
 	 * batch to be flushed. */
 	protected void resetTransform (SpriteBatch batch) {
@@ -191,6 +424,19 @@ public class Group extends Actor implements Cullable {
 
 	public Actor hit (float x, float y, boolean touchable) {
 		if (touchable && getTouchable() == Touchable.disabled) return null;
+		if (hitGrid != null) {
+			// Only the children whose bounds contain the point are visited, topmost first.
+			Array<Actor> candidates = hitGrid.query(x, y);
+			Actor[] actors = candidates.items;
+			for (int i = 0, n = candidates.size; i < n; i++) {
+				Actor child = actors[i];
+				if (!child.isVisible()) continue;
+				child.parentToLocalCoordinates(point.set(x, y));
+				Actor hit = child.hit(point.x, point.y, touchable);
+				if (hit != null) return hit;
+			}
+			return super.hit(x, y, touchable);
+		}
 		Array<Actor> children = this.children;
 		for (int i = children.size - 1; i >= 0; i--) {
 			Actor child = children.get(i);
@@ -202,6 +448,95 @@ public class Group extends Actor implements Cullable {
 		return super.hit(x, y, touchable);
 	}
 
+	/** Enables a uniform grid of the children's bounds so {@link #hit(float, float, boolean)} only visits the children that may
+	 * contain the point, rather than every child. This is worthwhile for groups with many children, most of which do not overlap.
+	 * The hit order and {@link Touchable} rules are the same as without the grid.
+	 * <p>
+	 * The grid assumes a child's {@link Actor#hit(float, float, boolean)} only returns an actor for points within the child's
+	 * bounds. Children that are groups are always visited, since their descendants may be outside of their bounds. If the
+	 * {@link #getChildren() children} array is modified directly, {@link #invalidateHitGrid()} must be called.
+	 * @param cellSize The size of each grid cell in this group's coordinate system, typically a little larger than the size of most
+	 *           children. Use 0 to disable the grid. */
+	public void setHitGrid (float cellSize) {
+		hitGrid = cellSize > 0 ? new HitGrid(this, cellSize) : null;
+	}
+
+	/** Returns the size of the hit grid cells, or 0 if the hit grid is disabled.
+	 * @see #setHitGrid(float) */
+	public float getHitGridCellSize () {
+		return hitGrid == null ? 0 : hitGrid.cellSize;
+	}
+
+	/** Causes the hit grid, if enabled, to be rebuilt the next time it is used. */
+	public void invalidateHitGrid () {
+		if (hitGrid != null) hitGrid.invalidate();
+	}
+
+	/** When true, the sprites drawn by the children are captured and drawn again on later frames without calling
+	 * {@link Actor#draw(SpriteBatch, float)} on the children, until a child is added, removed, reordered, moved, resized, rotated,
+	 * scaled or hidden, or this group's alpha changes. Other changes to the children that affect drawing, such as changing a
+	 * child's color or drawable, require {@link #invalidateRetained()} to be called. This is useful for groups with many children
+	 * that rarely change. If a child flushes the batch or changes its blending, shader or transform while drawing, the children
+	 * are drawn normally. Default is false. */
+	public void setRetained (boolean retained) {
+		this.retained = retained ? new SpriteRecording() : null;
+		retainedValid = false;
+	}
+
+	public boolean isRetained () {
+		return retained != null;
+	}
+
+	/** Causes the children of a {@link #setRetained(boolean) retained} group to be drawn again the next time this group is
+	 * drawn. */
+	public void invalidateRetained () {
+		retainedValid = false;
+		contentChanged();
+		if (retained != null) retained.clear();
+	}
+
+	void boundsChanged () {
+		cullingBoundsValid = false;
+		transformDirty = true;
+		if (!stageTransformDirty) invalidateStageTransform();
+		super.boundsChanged();
+	}
+
+	/** Called when the position, size, origin, rotation, scale or visibility of a child changes. This is the only notification
+	 * children send to their parent, it updates both the hit grid and the cached culling bounds and retained sprites. */
+	void childChanged (Actor child) {
+		if (hitGrid != null) hitGrid.childChanged(child);
+		contentChanged();
+	}
+
+	/** Called when the order of the children changes without children being added or removed. */
+	void childOrderChanged () {
+		if (hitGrid != null) hitGrid.invalidateOrder();
+		contentChanged();
+	}
+
+	/** Marks this group and its descendant groups as having content that a cache depends on, so changes to any of them reach this
+	 * group. */
+	private void validateContent () {
+		contentValid = true;
+		Actor[] actors = children.items;
+		for (int i = 0, n = children.size; i < n; i++)
+			if (actors[i] instanceof Group) ((Group)actors[i]).validateContent();
+	}
+
+	/** Called when the children or any descendant changes. Invalidates the cached culling bounds and retained sprites of this group
+	 * and its ancestors. This stops at the first group without valid caches, so it costs nothing when neither culling nor retained
+	 * groups are used. */
+	void contentChanged () {
+		Group group = this;
+		while (group != null && group.contentValid) {
+			group.contentValid = false;
+			group.cullingBoundsValid = false;
+			group.retainedValid = false;
+			group = group.getParent();
+		}
+	}
+
 	/** Called when actors are added to or removed from the group. */
 	protected void childrenChanged () {
 	}
@@ -213,6 +548,8 @@ public class Group extends Actor implements Cullable {
 		children.add(actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		invalidateHitGrid();
+		contentChanged();
 		childrenChanged();
 	}
 
@@ -226,6 +563,8 @@ public class Group extends Actor implements Cullable {
 			children.insert(index, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		invalidateHitGrid();
+		contentChanged();
 		childrenChanged();
 	}
 
@@ -237,6 +576,8 @@ public class Group extends Actor implements Cullable {
 		children.insert(index, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		invalidateHitGrid();
+		contentChanged();
 		childrenChanged();
 	}
 
@@ -251,6 +592,8 @@ public class Group extends Actor implements Cullable {
 			children.insert(index + 1, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		invalidateHitGrid();
+		contentChanged();
 		childrenChanged();
 	}
 
@@ -263,6 +606,8 @@ public class Group extends Actor implements Cullable {
 		if (stage != null) stage.unfocus(actor);
 		actor.setParent(null);
 		actor.setStage(null);
+		invalidateHitGrid();
+		contentChanged();
 		childrenChanged();
 		return true;
 	}
@@ -277,6 +622,8 @@ public class Group extends Actor implements Cullable {
 		}
 		children.end();
 		children.clear();
+		invalidateHitGrid();
+		contentChanged();
 		childrenChanged();
 	}
 
@@ -301,6 +648,11 @@ public class Group extends Actor implements Cullable {
 		return null;
 	}
 
+	protected void setParent (Group parent) {
+		super.setParent(parent);
+		if (!stageTransformDirty) invalidateStageTransform();
+	}
+
 	protected void setStage (Stage stage) {
 		super.setStage(stage);
 		Array<Actor> children = this.children;
@@ -314,6 +666,7 @@ public class Group extends Actor implements Cullable {
 		if (first < 0 || first >= maxIndex) return false;
 		if (second < 0 || second >= maxIndex) return false;
 		children.swap(first, second);
+		childOrderChanged();
 		return true;
 	}
 
@@ -323,6 +676,7 @@ public class Group extends Actor implements Cullable {
 		int secondIndex = children.indexOf(second, true);
 		if (firstIndex == -1 || secondIndex == -1) return false;
 		children.swap(firstIndex, secondIndex);
+		childOrderChanged();
 		return true;
 	}
 
@@ -342,6 +696,8 @@ public class Group extends Actor implements Cullable {
 	 * SpriteBatch has not been transformed. */
 	public void setTransform (boolean transform) {
 		this.transform = transform;
+		cullingBoundsValid = false;
+		if (getParent() != null) getParent().contentChanged();
 	}
 
 	public boolean isTransform () {
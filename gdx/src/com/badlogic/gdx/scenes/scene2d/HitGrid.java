@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.scenes.scene2d;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.LongMap;
+
+/** A uniform grid of the bounds of a group's children, used by {@link Group#hit(float, float, boolean)} to visit only the
+ * children that may contain a point. The bounds of a child are the axis aligned bounds of its rotated and scaled rectangle in the
+ * group's coordinate system. Children that are groups may have descendants outside of their own bounds, so they are always
+ * candidates, as are children too large to be stored efficiently in the grid.
+ * <p>
+ * The grid is rebuilt lazily after children are added or removed. A child that moves, resizes, rotates or scales is only
+ * reinserted into the cells it now covers. */
+class HitGrid {
+	static private final int maxCellsPerChild = 64;
+
+	final float cellSize;
+	private final Group group;
+	private final LongMap<Array<Entry>> cells = new LongMap();
+	private final IdentityMap<Actor, Entry> entries = new IdentityMap();
+	private final Array<Entry> unbounded = new Array(false, 4, Entry.class);
+	private final Array<Entry> dirty = new Array(false, 16, Entry.class);
+	private final Array<Entry> candidates = new Array(false, 16, Entry.class);
+	private final Array<Actor> result = new Array(true, 16, Actor.class);
+	private final Array<Array<Entry>> freeCells = new Array(false, 16);
+	private final Rectangle bounds = new Rectangle();
+	private boolean rebuild = true, reorder = true;
+
+	HitGrid (Group group, float cellSize) {
+		if (cellSize <= 0) throw new IllegalArgumentException("cellSize must be > 0: " + cellSize);
+		this.group = group;
+		this.cellSize = cellSize;
+	}
+
+	/** Called when children were added or removed. The grid is rebuilt on the next query. */
+	void invalidate () {
+		rebuild = true;
+	}
+
+	/** Called when the order of the children changed without children being added or removed. */
+	void invalidateOrder () {
+		reorder = true;
+	}
+
+	/** Called when a child's position, size, origin, rotation, scale or visibility changed. */
+	void childChanged (Actor child) {
+		if (rebuild) return;
+		Entry entry = entries.get(child);
+		if (entry == null || entry.dirty) return;
+		entry.dirty = true;
+		dirty.add(entry);
+	}
+
+	/** Returns the children which may contain the point, topmost first. The returned array is reused by the next call. */
+	Array<Actor> query (float x, float y) {
+		if (rebuild)
+			build();
+		else {
+			if (dirty.size > 0) update();
+			if (reorder) order();
+		}
+
+		// Collect bounded children whose bounds contain the point, sorted topmost first.
+		Array<Entry> candidates = this.candidates;
+		candidates.clear();
+		Array<Entry> cell = cells.get(key(cell(x), cell(y)));
+		if (cell != null) {
+			Entry[] items = cell.items;
+			for (int i = 0, n = cell.size; i < n; i++) {
+				Entry entry = items[i];
+				if (x < entry.left || x > entry.right || y < entry.bottom || y > entry.top) continue;
+				int index = candidates.size;
+				candidates.add(entry);
+				Entry[] sorted = candidates.items;
+				while (index > 0 && sorted[index - 1].order < entry.order) {
+					sorted[index] = sorted[index - 1];
+					index--;
+				}
+				sorted[index] = entry;
+			}
+		}
+
+		// Merge with the unbounded children, which are kept sorted topmost first.
+		Array<Actor> result = this.result;
+		result.clear();
+		Entry[] bounded = candidates.items, always = unbounded.items;
+		int b = 0, bn = candidates.size, a = 0, an = unbounded.size;
+		while (b < bn && a < an) {
+			if (bounded[b].order > always[a].order)
+				result.add(bounded[b++].actor);
+			else
+				result.add(always[a++].actor);
+		}
+		while (b < bn)
+			result.add(bounded[b++].actor);
+		while (a < an)
+			result.add(always[a++].actor);
+		return result;
+	}
+
+	private void build () {
+		rebuild = false;
+		reorder = false;
+		dirty.clear();
+		for (LongMap.Entry<Array<Entry>> cellEntry : cells.entries()) {
+			Array<Entry> cell = cellEntry.value;
+			cell.clear();
+			freeCells.add(cell);
+		}
+		cells.clear();
+		entries.clear();
+		unbounded.clear();
+
+		Array<Actor> children = group.getChildren();
+		for (int i = 0, n = children.size; i < n; i++) {
+			Actor child = children.get(i);
+			Entry entry = new Entry();
+			entry.actor = child;
+			entry.order = i;
+			entries.put(child, entry);
+			if (child instanceof Group)
+				entry.unbounded = true;
+			else
+				insert(entry);
+			if (entry.unbounded) unbounded.add(entry);
+		}
+		// Children are visited in order, so unbounded is sorted bottommost first. Flip it to topmost first.
+		unbounded.reverse();
+	}
+
+	private void order () {
+		reorder = false;
+		Array<Actor> children = group.getChildren();
+		if (children.size != entries.size) {
+			// The children were modified directly, fall back to a full rebuild.
+			build();
+			return;
+		}
+		for (int i = 0, n = children.size; i < n; i++) {
+			Entry entry = entries.get(children.get(i));
+			if (entry == null) {
+				// The children were modified directly, fall back to a full rebuild.
+				build();
+				return;
+			}
+			entry.order = i;
+		}
+		sortUnbounded();
+	}
+
+	private void update () {
+		boolean unboundedChanged = false;
+		Entry[] items = dirty.items;
+		for (int i = 0, n = dirty.size; i < n; i++) {
+			Entry entry = items[i];
+			entry.dirty = false;
+			if (entry.actor instanceof Group) continue;
+			boolean wasUnbounded = entry.unbounded;
+			remove(entry);
+			insert(entry);
+			if (wasUnbounded != entry.unbounded) {
+				if (wasUnbounded)
+					unbounded.removeValue(entry, true);
+				else
+					unbounded.add(entry);
+				unboundedChanged = true;
+			}
+		}
+		dirty.clear();
+		if (unboundedChanged) sortUnbounded();
+	}
+
+	private void sortUnbounded () {
+		Entry[] items = unbounded.items;
+		for (int i = 1, n = unbounded.size; i < n; i++) {
+			Entry entry = items[i];
+			int index = i;
+			while (index > 0 && items[index - 1].order < entry.order) {
+				items[index] = items[index - 1];
+				index--;
+			}
+			items[index] = entry;
+		}
+	}
+
+	/** Computes the bounds of the entry's actor and adds the entry to each cell the bounds overlap. */
+	private void insert (Entry entry) {
+		Actor actor = entry.actor;
+		Rectangle bounds = this.bounds;
+		actor.localToParentBounds(0, 0, actor.width, actor.height, bounds);
+		entry.left = bounds.x;
+		entry.bottom = bounds.y;
+		entry.right = bounds.x + bounds.width;
+		entry.top = bounds.y + bounds.height;
+
+		int minX = cell(entry.left), maxX = cell(entry.right);
+		int minY = cell(entry.bottom), maxY = cell(entry.top);
+		if ((long)(maxX - minX + 1) * (maxY - minY + 1) > maxCellsPerChild) {
+			entry.unbounded = true;
+			return;
+		}
+		entry.unbounded = false;
+		entry.minX = minX;
+		entry.minY = minY;
+		entry.maxX = maxX;
+		entry.maxY = maxY;
+		for (int cx = minX; cx <= maxX; cx++) {
+			for (int cy = minY; cy <= maxY; cy++) {
+				long key = key(cx, cy);
+				Array<Entry> cell = cells.get(key);
+				if (cell == null) {
+					cell = freeCells.size > 0 ? freeCells.pop() : new Array(false, 4, Entry.class);
+					cells.put(key, cell);
+				}
+				cell.add(entry);
+			}
+		}
+	}
+
+	/** Removes the entry from the cells it was last inserted into. */
+	private void remove (Entry entry) {
+		if (entry.unbounded) return;
+		for (int cx = entry.minX; cx <= entry.maxX; cx++) {
+			for (int cy = entry.minY; cy <= entry.maxY; cy++) {
+				long key = key(cx, cy);
+				Array<Entry> cell = cells.get(key);
+				if (cell == null) continue;
+				cell.removeValue(entry, true);
+				if (cell.size == 0) freeCells.add(cells.remove(key));
+			}
+		}
+	}
+
+	private int cell (float value) {
+		return (int)Math.floor(value / cellSize);
+	}
+
+	static private long key (int cellX, int cellY) {
+		return (long)cellX << 32 | cellY & 0xFFFFFFFFL;
+	}
+
+	static private class Entry {
+		Actor actor;
+		int order;
+		float left, bottom, right, top;
+		int minX, minY, maxX, maxY;
+		boolean unbounded, dirty;
+	}
+}
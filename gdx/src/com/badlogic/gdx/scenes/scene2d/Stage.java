@@ -26,6 +26,7 @@ import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.scenes.scene2d.InputEvent.Type;
@@ -73,6 +74,9 @@ public class Stage extends InputAdapter implements Disposable {
 	private Actor mouseOverActor;
 	private Actor keyboardFocus, scrollFocus;
 	private SnapshotArray<TouchFocus> touchFocuses = new SnapshotArray(true, 4, TouchFocus.class);
+	private boolean autoCulling;
+	final Rectangle visibleArea = new Rectangle();
+	int actorsDrawn, verticesDrawn;
 
 	/** Creates a stage with a {@link #setViewport(float, float, boolean) viewport} equal to the device screen resolution. The stage
 	 * will use its own {@link SpriteBatch}. */
@@ -154,11 +158,61 @@ public class Stage extends InputAdapter implements Disposable {
 
 	public void draw () {
 		camera.update();
+		actorsDrawn = 0;
+		verticesDrawn = 0;
 		if (!root.isVisible()) return;
+		if (autoCulling) calculateVisibleArea();
 		batch.setProjectionMatrix(camera.combined);
 		batch.begin();
 		root.draw(batch, 1);
 		batch.end();
+		verticesDrawn = batch.renderedVertices;
+	}
+
+	/** Sets the visible area to the bounds of the camera's view in stage coordinates. */
+	private void calculateVisibleArea () {
+		Vector3 corner = cameraCoords;
+		Matrix4 invProjectionView = camera.invProjectionView;
+		corner.set(-1, -1, 0).prj(invProjectionView);
+		float left = corner.x, right = corner.x, bottom = corner.y, top = corner.y;
+		corner.set(1, -1, 0).prj(invProjectionView);
+		left = Math.min(left, corner.x);
+		right = Math.max(right, corner.x);
+		bottom = Math.min(bottom, corner.y);
+		top = Math.max(top, corner.y);
+		corner.set(1, 1, 0).prj(invProjectionView);
+		left = Math.min(left, corner.x);
+		right = Math.max(right, corner.x);
+		bottom = Math.min(bottom, corner.y);
+		top = Math.max(top, corner.y);
+		corner.set(-1, 1, 0).prj(invProjectionView);
+		left = Math.min(left, corner.x);
+		right = Math.max(right, corner.x);
+		bottom = Math.min(bottom, corner.y);
+		top = Math.max(top, corner.y);
+		visibleArea.set(left, bottom, right - left, top - bottom);
+	}
+
+	/** When true, {@link #draw()} computes the area of the stage visible to the camera and groups skip drawing children whose
+	 * bounds, including all their descendants, are completely outside of it. Groups with a {@link Group#setCullingArea(Rectangle)
+	 * culling area} use that instead. This requires that actors don't draw outside of their bounds. Default is false. */
+	public void setAutoCulling (boolean autoCulling) {
+		this.autoCulling = autoCulling;
+	}
+
+	public boolean isAutoCulling () {
+		return autoCulling;
+	}
+
+	/** Returns the number of actors drawn by the last call to {@link #draw()}, not including the root. Actors skipped by culling or
+	 * drawn from a {@link Group#setRetained(boolean) retained} group are not counted. */
+	public int getActorsDrawn () {
+		return actorsDrawn;
+	}
+
+	/** Returns the number of vertices the SpriteBatch rendered during the last call to {@link #draw()}. */
+	public int getVerticesDrawn () {
+		return verticesDrawn;
 	}
 
 	/** Calls {@link #act(float)} with {@link Graphics#getDeltaTime()}. */
@@ -43,6 +43,7 @@ import com.badlogic.gdx.scenes.scene2d.Touchable;
 import com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle;
 import com.badlogic.gdx.scenes.scene2d.utils.Align;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.scenes.scene2d.utils.Layout;
 import com.badlogic.gdx.utils.Array;
 
 import java.util.List;
@@ -110,6 +111,17 @@ public class Table extends WidgetGroup {
 		super.invalidate();
 	}
 
+	protected void childInvalidated (Actor child) {
+		// Only the row and column of the child's cell need to be recomputed.
+		layout.invalidate(child);
+		super.invalidate();
+		Group parent = getParent();
+		if (parent instanceof WidgetGroup)
+			((WidgetGroup)parent).childInvalidated(this);
+		else if (parent instanceof Layout) //
+			((Layout)parent).invalidateHierarchy();
+	}
+
 	public float getPrefWidth () {
 		if (background != null) return Math.max(layout.getPrefWidth(), background.getMinWidth());
 		return layout.getPrefWidth();
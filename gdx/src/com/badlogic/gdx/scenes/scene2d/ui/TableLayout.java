@@ -66,8 +66,7 @@ class TableLayout extends BaseTableLayout<Actor, Table, TableLayout, TableToolki
 				c.setWidgetHeight(widgetHeight);
 				Actor actor = (Actor)c.getWidget();
 				if (actor != null) {
-					actor.setX(widgetX);
-					actor.setY(widgetY);
+					if (actor.getX() != widgetX || actor.getY() != widgetY) actor.setPosition(widgetX, widgetY);
 					if (actor.getWidth() != widgetWidth || actor.getHeight() != widgetHeight) {
 						actor.setWidth(widgetWidth);
 						actor.setHeight(widgetHeight);
@@ -89,8 +88,7 @@ class TableLayout extends BaseTableLayout<Actor, Table, TableLayout, TableToolki
 				c.setWidgetHeight(widgetHeight);
 				Actor actor = (Actor)c.getWidget();
 				if (actor != null) {
-					actor.setX(widgetX);
-					actor.setY(widgetY);
+					if (actor.getX() != widgetX || actor.getY() != widgetY) actor.setPosition(widgetX, widgetY);
 					if (actor.getWidth() != widgetWidth || actor.getHeight() != widgetHeight) {
 						actor.setWidth(widgetWidth);
 						actor.setHeight(widgetHeight);
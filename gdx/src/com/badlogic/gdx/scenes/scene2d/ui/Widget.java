@@ -105,7 +105,10 @@ public class Widget extends Actor implements Layout {
 		if (!layoutEnabled) return;
 		invalidate();
 		Group parent = getParent();
-		if (parent instanceof Layout) ((Layout)parent).invalidateHierarchy();
+		if (parent instanceof WidgetGroup)
+			((WidgetGroup)parent).childInvalidated(this);
+		else if (parent instanceof Layout) //
+			((Layout)parent).invalidateHierarchy();
 	}
 
 	public void pack () {
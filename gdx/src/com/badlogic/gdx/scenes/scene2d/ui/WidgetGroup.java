@@ -117,7 +117,16 @@ public class WidgetGroup extends Group implements Layout {
 	public void invalidateHierarchy () {
 		invalidate();
 		Group parent = getParent();
-		if (parent instanceof Layout) ((Layout)parent).invalidateHierarchy();
+		if (parent instanceof WidgetGroup)
+			((WidgetGroup)parent).childInvalidated(this);
+		else if (parent instanceof Layout) //
+			((Layout)parent).invalidateHierarchy();
+	}
+
+	/** Called when {@link Layout#invalidateHierarchy()} is called on a child. By default this calls {@link #invalidateHierarchy()}.
+	 * A subclass may override this to recompute only the part of its layout affected by the child. */
+	protected void childInvalidated (Actor child) {
+		invalidateHierarchy();
 	}
 
 	protected void childrenChanged () {
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/** Parses the binary encoding written by {@link BinaryJsonWriter} into a DOM of {@link JsonValue} objects, the same as
+ * {@link JsonReader} does for JSON text. Values are decoded directly from a {@link ByteBuffer}, so a memory mapped file is
+ * read without first being copied into memory.
+ * @see Json#fromBinary(Class, FileHandle) */
+public class BinaryJsonReader {
+	private final Array<String> stringTable = new Array();
+	private char[] chars = new char[32];
+
+	public JsonValue parse (byte[] bytes, int offset, int length) {
+		return parse(ByteBuffer.wrap(bytes, offset, length));
+	}
+
+	/** Reads the stream to its end, then parses it. The stream is closed. */
+	public JsonValue parse (InputStream input) {
+		try {
+			ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(input.available(), 256));
+			StreamUtils.copyStream(input, output);
+			byte[] bytes = output.toByteArray();
+			return parse(bytes, 0, bytes.length);
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		} finally {
+			try {
+				input.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	/** Parses the file, memory mapping it when it is on the file system. */
+	public JsonValue parse (FileHandle file) {
+		try {
+			File osFile = file.type() == FileType.Classpath ? null : file.file();
+			if (osFile == null || !osFile.isFile()) return parse(file.read());
+			RandomAccessFile input = new RandomAccessFile(osFile, "r");
+			try {
+				FileChannel channel = input.getChannel();
+				return parse(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+			} finally {
+				input.close();
+			}
+		} catch (Exception ex) {
+			throw new SerializationException("Error parsing file: " + file, ex);
+		}
+	}
+
+	/** Parses the bytes from the buffer's position to its limit. The buffer's position is left after the parsed value. The data is
+	 * always read as big endian, the buffer's byte order is restored afterward. */
+	public JsonValue parse (ByteBuffer buffer) {
+		stringTable.clear();
+		ByteOrder order = buffer.order();
+		buffer.order(ByteOrder.BIG_ENDIAN);
+		try {
+			if (!buffer.hasRemaining()) return null;
+			return readValue(buffer, buffer.get());
+		} catch (BufferUnderflowException ex) {
+			throw new SerializationException("Error parsing binary JSON, unexpected end of data.", ex);
+		} finally {
+			buffer.order(order);
+			stringTable.clear();
+		}
+	}
+
+	private JsonValue readValue (ByteBuffer buffer, byte tag) {
+		switch (tag) {
+		case BinaryJsonWriter.nullValue:
+			return new JsonValue((String)null);
+		case BinaryJsonWriter.trueValue:
+			return new JsonValue(true);
+		case BinaryJsonWriter.falseValue:
+			return new JsonValue(false);
+		case BinaryJsonWriter.longValue:
+			return new JsonValue(readLong(buffer));
+		case BinaryJsonWriter.floatValue:
+			return new JsonValue((double)Float.intBitsToFloat(buffer.getInt()));
+		case BinaryJsonWriter.doubleValue:
+			return new JsonValue(Double.longBitsToDouble(buffer.getLong()));
+		case BinaryJsonWriter.object:
+		case BinaryJsonWriter.array: {
+			boolean isObject = tag == BinaryJsonWriter.object;
+			JsonValue value = new JsonValue(isObject ? ValueType.object : ValueType.array);
+			int end = buffer.getInt();
+			if (end < 0 || end > buffer.remaining())
+				throw new SerializationException("Error parsing binary JSON, invalid length: " + end);
+			end += buffer.position();
+			while (buffer.position() < end) {
+				String name = isObject ? readString(buffer, buffer.get()) : null;
+				JsonValue child = readValue(buffer, buffer.get());
+				child.setName(name);
+				value.addChild(child);
+			}
+			if (buffer.position() != end) throw new SerializationException("Error parsing binary JSON, invalid length.");
+			return value;
+		}
+		default:
+			return new JsonValue(readString(buffer, tag));
+		}
+	}
+
+	private String readString (ByteBuffer buffer, byte tag) {
+		switch (tag) {
+		case BinaryJsonWriter.stringReference:
+			int index = readVarInt(buffer);
+			if (index >= stringTable.size) throw new SerializationException("Error parsing binary JSON, invalid string: " + index);
+			return stringTable.get(index);
+		case BinaryJsonWriter.string:
+			return readUtf8(buffer);
+		case BinaryJsonWriter.stringDefinition:
+			String value = readUtf8(buffer);
+			stringTable.add(value);
+			return value;
+		}
+		throw new SerializationException("Error parsing binary JSON, unknown tag: " + tag);
+	}
+
+	/** Reads a string in the format of {@link DataInput#readString()}. */
+	private String readUtf8 (ByteBuffer buffer) {
+		int charCount = readVarInt(buffer);
+		switch (charCount) {
+		case 0:
+			return null;
+		case 1:
+			return "";
+		}
+		charCount--;
+		if (chars.length < charCount) chars = new char[charCount];
+		char[] chars = this.chars;
+		for (int i = 0; i < charCount; i++) {
+			int b = buffer.get() & 0xFF;
+			switch (b >> 4) {
+			case 12:
+			case 13:
+				chars[i] = (char)((b & 0x1F) << 6 | buffer.get() & 0x3F);
+				break;
+			case 14:
+				chars[i] = (char)((b & 0x0F) << 12 | (buffer.get() & 0x3F) << 6 | buffer.get() & 0x3F);
+				break;
+			default:
+				chars[i] = (char)b;
+			}
+		}
+		return new String(chars, 0, charCount);
+	}
+
+	private int readVarInt (ByteBuffer buffer) {
+		int result = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = buffer.get();
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return result;
+		}
+		throw new SerializationException("Error parsing binary JSON, invalid varint.");
+	}
+
+	private long readLong (ByteBuffer buffer) {
+		long result = 0;
+		for (int shift = 0; shift < 70; shift += 7) {
+			int b = buffer.get();
+			result |= (long)(b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return (result >>> 1) ^ -(result & 1);
+		}
+		throw new SerializationException("Error parsing binary JSON, invalid varint.");
+	}
+}
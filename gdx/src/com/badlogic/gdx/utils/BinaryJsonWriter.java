@@ -0,0 +1,302 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** Emits a compact binary encoding of JSON, read by {@link BinaryJsonReader}. It can be used anywhere a {@link JsonWriter} is
+ * used, such as {@link Json#setWriter(java.io.Writer)}, so the same class tags and serializers are used as for JSON text. See
+ * {@link Json#toBinary(Object, OutputStream)}.
+ * <p>
+ * Each value starts with a tag byte. Integers are stored as variable length zigzag longs, floats and doubles as their raw bits,
+ * and strings in the same format as {@link DataOutput#writeString(String)}. Names and short string values are written once and
+ * then referred to by index. Objects and arrays are prefixed with their length in bytes, so readers can skip them. The output is
+ * buffered until {@link #close()}, when it is written to the stream.
+ * <p>
+ * Characters written with the {@link java.io.Writer} methods must form complete JSON values. They are collected until the next
+ * call to another method, then parsed and written the same as if the values were written with {@link #value(Object)},
+ * {@link #object()}, {@link #array()} and {@link #name(String)}.
+ * @see BinaryJsonReader */
+public class BinaryJsonWriter extends JsonWriter {
+	static final byte nullValue = 0, trueValue = 1, falseValue = 2, longValue = 3, floatValue = 4, doubleValue = 5;
+	static final byte string = 6, stringDefinition = 7, stringReference = 8, object = 9, array = 10;
+
+	/** Strings longer than this are not added to the string table. */
+	static private final int maxTableLength = 64;
+
+	private final OutputStream output;
+	private byte[] bytes = new byte[256];
+	private int size;
+	private final ObjectIntMap<String> stringTable = new ObjectIntMap();
+	/** The position of the length of each open object or array, times two, plus one for arrays. */
+	private final IntArray stack = new IntArray();
+	private boolean named;
+	private final StringBuilder text = new StringBuilder();
+
+	/** @param output Closed by {@link #close()}. */
+	public BinaryJsonWriter (OutputStream output) {
+		super(null);
+		if (output == null) throw new IllegalArgumentException("output cannot be null.");
+		this.output = output;
+	}
+
+	public JsonWriter name (String name) throws IOException {
+		writeText();
+		if (stack.size == 0 || isArray()) throw new IllegalStateException("Current item must be an object.");
+		if (named) throw new IllegalStateException("Expected an object, array, or value since a name was set.");
+		writeString(name, true);
+		named = true;
+		return this;
+	}
+
+	public JsonWriter object () throws IOException {
+		startContainer(object);
+		return this;
+	}
+
+	public JsonWriter array () throws IOException {
+		startContainer(array);
+		return this;
+	}
+
+	private void startContainer (byte tag) throws IOException {
+		writeText();
+		checkValue();
+		ensureCapacity(5);
+		bytes[size++] = tag;
+		stack.add(size << 1 | (tag == array ? 1 : 0));
+		size += 4;
+	}
+
+	public JsonWriter value (Object value) throws IOException {
+		writeText();
+		checkValue();
+		if (value == null)
+			writeByte(nullValue);
+		else if (value instanceof Number) {
+			Number number = (Number)value;
+			long longValue = number.longValue();
+			if (number.doubleValue() == longValue) {
+				writeByte(BinaryJsonWriter.longValue);
+				writeLong(longValue);
+			} else if (value instanceof Float) {
+				writeByte(floatValue);
+				writeInt32(Float.floatToRawIntBits(number.floatValue()));
+			} else {
+				writeByte(doubleValue);
+				long bits = Double.doubleToRawLongBits(number.doubleValue());
+				writeInt32((int)(bits >>> 32));
+				writeInt32((int)bits);
+			}
+		} else if (value instanceof Boolean)
+			writeByte((Boolean)value ? trueValue : falseValue);
+		else {
+			String string = String.valueOf(value);
+			writeString(string, string.length() <= maxTableLength);
+		}
+		return this;
+	}
+
+	public JsonWriter pop () throws IOException {
+		writeText();
+		if (named) throw new IllegalStateException("Expected an object, array, or value since a name was set.");
+		if (stack.size == 0) throw new IllegalStateException("No object or array to pop.");
+		int position = stack.pop() >>> 1;
+		int length = size - (position + 4);
+		byte[] bytes = this.bytes;
+		bytes[position] = (byte)(length >>> 24);
+		bytes[position + 1] = (byte)(length >>> 16);
+		bytes[position + 2] = (byte)(length >>> 8);
+		bytes[position + 3] = (byte)length;
+		return this;
+	}
+
+	/** Returns the number of bytes written so far. */
+	public int size () {
+		return size;
+	}
+
+	/** Collects JSON text, which is encoded when another method is called. */
+	public void write (char[] cbuf, int off, int len) throws IOException {
+		text.append(cbuf, off, len);
+	}
+
+	/** Encodes any JSON text written so far. The output is written to the stream when the writer is closed. */
+	public void flush () throws IOException {
+		writeText();
+	}
+
+	/** Ends any open objects or arrays, then writes the output to the stream and closes it. */
+	public void close () throws IOException {
+		writeText();
+		named = false;
+		while (stack.size > 0)
+			pop();
+		try {
+			output.write(bytes, 0, size);
+		} finally {
+			size = 0;
+			output.close();
+		}
+	}
+
+	/** Parses the JSON text written with the Writer methods and encodes the values. */
+	private void writeText () throws IOException {
+		StringBuilder text = this.text;
+		if (text.length == 0) return;
+		int start = 0, end = text.length;
+		char[] chars = text.chars;
+		while (start < end && Character.isWhitespace(chars[start]))
+			start++;
+		if (start == end) {
+			text.setLength(0);
+			return;
+		}
+		JsonValue root;
+		try {
+			root = new JsonReader().parse(chars, start, end);
+		} finally {
+			text.setLength(0);
+		}
+		writeValue(root);
+	}
+
+	private void writeValue (JsonValue value) throws IOException {
+		switch (value.type()) {
+		case object:
+			object();
+			for (JsonValue child = value.child(); child != null; child = child.next()) {
+				name(child.name());
+				writeValue(child);
+			}
+			pop();
+			break;
+		case array:
+			array();
+			for (JsonValue child = value.child(); child != null; child = child.next())
+				writeValue(child);
+			pop();
+			break;
+		case stringValue:
+			value(value.asString());
+			break;
+		case doubleValue:
+			value(value.asDouble());
+			break;
+		case longValue:
+			value(value.asLong());
+			break;
+		case booleanValue:
+			value(value.asBoolean());
+			break;
+		default:
+			value(null);
+		}
+	}
+
+	private boolean isArray () {
+		return (stack.peek() & 1) != 0;
+	}
+
+	private void checkValue () {
+		if (stack.size == 0) return;
+		if (isArray()) return;
+		if (!named) throw new IllegalStateException("Name must be set.");
+		named = false;
+	}
+
+	private void writeString (String value, boolean table) {
+		if (table) {
+			int index = stringTable.get(value, -1);
+			if (index != -1) {
+				writeByte(stringReference);
+				writeVarInt(index);
+				return;
+			}
+			stringTable.put(value, stringTable.size);
+			writeByte(stringDefinition);
+		} else
+			writeByte(string);
+
+		// Same format as DataOutput#writeString.
+		int charCount = value.length();
+		writeVarInt(charCount + 1);
+		ensureCapacity(charCount * 3);
+		byte[] bytes = this.bytes;
+		int size = this.size;
+		for (int i = 0; i < charCount; i++) {
+			int c = value.charAt(i);
+			if (c <= 0x007F)
+				bytes[size++] = (byte)c;
+			else if (c > 0x07FF) {
+				bytes[size++] = (byte)(0xE0 | c >> 12 & 0x0F);
+				bytes[size++] = (byte)(0x80 | c >> 6 & 0x3F);
+				bytes[size++] = (byte)(0x80 | c & 0x3F);
+			} else {
+				bytes[size++] = (byte)(0xC0 | c >> 6 & 0x1F);
+				bytes[size++] = (byte)(0x80 | c & 0x3F);
+			}
+		}
+		this.size = size;
+	}
+
+	private void writeByte (byte value) {
+		ensureCapacity(1);
+		bytes[size++] = value;
+	}
+
+	private void writeInt32 (int value) {
+		ensureCapacity(4);
+		byte[] bytes = this.bytes;
+		bytes[size++] = (byte)(value >>> 24);
+		bytes[size++] = (byte)(value >>> 16);
+		bytes[size++] = (byte)(value >>> 8);
+		bytes[size++] = (byte)value;
+	}
+
+	/** Writes a 1-5 byte int, the same as {@link DataOutput#writeInt(int, boolean)} for positive values. */
+	private void writeVarInt (int value) {
+		ensureCapacity(5);
+		byte[] bytes = this.bytes;
+		while ((value & ~0x7F) != 0) {
+			bytes[size++] = (byte)((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		bytes[size++] = (byte)value;
+	}
+
+	/** Writes a 1-10 byte zigzag encoded long, so small negative numbers are also short. */
+	private void writeLong (long value) {
+		ensureCapacity(10);
+		value = (value << 1) ^ (value >> 63);
+		byte[] bytes = this.bytes;
+		while ((value & ~0x7FL) != 0) {
+			bytes[size++] = (byte)((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		bytes[size++] = (byte)value;
+	}
+
+	private void ensureCapacity (int count) {
+		if (size + count <= bytes.length) return;
+		byte[] newBytes = new byte[Math.max(size + count, bytes.length * 2)];
+		System.arraycopy(bytes, 0, newBytes, 0, size);
+		bytes = newBytes;
+	}
+}
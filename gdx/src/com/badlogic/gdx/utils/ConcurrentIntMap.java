@@ -0,0 +1,332 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** A map that uses int keys and can be used by multiple threads. The keys are split across segments, each a {@link LinearIntMap}
+ * guarded by its own lock, so threads using keys in different segments do not contend. Null values are not allowed. <br>
+ * <br>
+ * Iteration is weakly consistent: it never fails because of concurrent modification and returns each entry that exists for the
+ * whole iteration exactly once. Entries added or removed while iterating may or may not be returned. {@link #size()} is only
+ * exact while no other thread modifies the map. */
+public class ConcurrentIntMap<V> {
+	private final LinearIntMap<V>[] segments;
+	private final int segmentMask;
+
+	/** Creates a new map with an initial capacity of 32 and 16 segments. */
+	public ConcurrentIntMap () {
+		this(32, 16);
+	}
+
+	/** Creates a new map with 16 segments. */
+	public ConcurrentIntMap (int initialCapacity) {
+		this(initialCapacity, 16);
+	}
+
+	/** @param initialCapacity The initial capacity of all segments combined.
+	 * @param concurrencyLevel The number of segments, rounded up to a power of two. This is about the number of threads that can
+	 *           modify the map without contending. */
+	public ConcurrentIntMap (int initialCapacity, int concurrencyLevel) {
+		if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+		if (concurrencyLevel < 1) throw new IllegalArgumentException("concurrencyLevel must be > 0: " + concurrencyLevel);
+		int count = MathUtils.nextPowerOfTwo(Math.min(concurrencyLevel, 1 << 16));
+		segmentMask = count - 1;
+		segments = new LinearIntMap[count];
+		int segmentCapacity = (initialCapacity + count - 1) / count;
+		for (int i = 0; i < count; i++)
+			segments[i] = new LinearIntMap(segmentCapacity);
+	}
+
+	/** Uses different bits of the key than the segments do, so the keys of a segment are still spread over its whole table. */
+	private LinearIntMap<V> segment (int key) {
+		return segments[(int)(key * 0xC2B2AE3D27D4EB4FL >>> 32) & segmentMask];
+	}
+
+	/** @param value May not be null.
+	 * @return The previous value for the key, or null. */
+	public V put (int key, V value) {
+		if (value == null) throw new IllegalArgumentException("value cannot be null.");
+		LinearIntMap<V> segment = segment(key);
+		synchronized (segment) {
+			return segment.put(key, value);
+		}
+	}
+
+	/** Puts the value only if the key is not in the map.
+	 * @param value May not be null.
+	 * @return The existing value for the key, or null if the value was put. */
+	public V putIfAbsent (int key, V value) {
+		if (value == null) throw new IllegalArgumentException("value cannot be null.");
+		LinearIntMap<V> segment = segment(key);
+		synchronized (segment) {
+			V oldValue = segment.get(key);
+			if (oldValue == null) segment.put(key, value);
+			return oldValue;
+		}
+	}
+
+	/** Replaces the value for the key only if it is currently oldValue, compared with ==.
+	 * @param newValue May not be null.
+	 * @return true if the value was replaced. */
+	public boolean replace (int key, V oldValue, V newValue) {
+		if (newValue == null) throw new IllegalArgumentException("newValue cannot be null.");
+		LinearIntMap<V> segment = segment(key);
+		synchronized (segment) {
+			if (oldValue == null || segment.get(key) != oldValue) return false;
+			segment.put(key, newValue);
+			return true;
+		}
+	}
+
+	public V get (int key) {
+		LinearIntMap<V> segment = segment(key);
+		synchronized (segment) {
+			return segment.get(key);
+		}
+	}
+
+	public V get (int key, V defaultValue) {
+		LinearIntMap<V> segment = segment(key);
+		synchronized (segment) {
+			return segment.get(key, defaultValue);
+		}
+	}
+
+	public V remove (int key) {
+		LinearIntMap<V> segment = segment(key);
+		synchronized (segment) {
+			return segment.remove(key);
+		}
+	}
+
+	/** Removes the key only if its value is the specified value, compared with ==.
+	 * @return true if the key was removed. */
+	public boolean remove (int key, V value) {
+		LinearIntMap<V> segment = segment(key);
+		synchronized (segment) {
+			if (value == null || segment.get(key) != value) return false;
+			segment.remove(key);
+			return true;
+		}
+	}
+
+	public boolean containsKey (int key) {
+		LinearIntMap<V> segment = segment(key);
+		synchronized (segment) {
+			return segment.containsKey(key);
+		}
+	}
+
+	/** Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may be
+	 * an expensive operation. */
+	public boolean containsValue (Object value, boolean identity) {
+		for (LinearIntMap<V> segment : segments) {
+			synchronized (segment) {
+				if (segment.containsValue(value, identity)) return true;
+			}
+		}
+		return false;
+	}
+
+	/** Returns the number of entries, summed over the segments one at a time. */
+	public int size () {
+		int size = 0;
+		for (LinearIntMap<V> segment : segments) {
+			synchronized (segment) {
+				size += segment.size;
+			}
+		}
+		return size;
+	}
+
+	/** Removes all entries, one segment at a time. Entries put by other threads during the clear may remain. */
+	public void clear () {
+		for (LinearIntMap<V> segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	public String toString () {
+		StringBuilder buffer = new StringBuilder(32);
+		buffer.append('[');
+		boolean first = true;
+		for (Entry<V> entry : entries()) {
+			if (!first) buffer.append(", ");
+			first = false;
+			buffer.append(entry.key);
+			buffer.append('=');
+			buffer.append(entry.value);
+		}
+		buffer.append(']');
+		return buffer.toString();
+	}
+
+	/** Returns a new weakly consistent iterator for the entries in the map. Remove is supported. */
+	public Entries<V> entries () {
+		return new Entries(this);
+	}
+
+	/** Returns a new weakly consistent iterator for the values in the map. Remove is supported. */
+	public Values<V> values () {
+		return new Values(this);
+	}
+
+	/** Returns a new weakly consistent iterator for the keys in the map. Remove is supported. */
+	public Keys keys () {
+		return new Keys(this);
+	}
+
+	static public class Entry<V> {
+		public int key;
+		public V value;
+
+		public String toString () {
+			return key + "=" + value;
+		}
+	}
+
+	/** Copies the entries of one segment at a time while holding its lock, then returns them without locking. */
+	static private class MapIterator<V> {
+		final ConcurrentIntMap<V> map;
+		final IntArray keys = new IntArray();
+		final Array<V> values = new Array();
+		int segmentIndex, index;
+		int currentKey;
+		V currentValue;
+
+		public MapIterator (ConcurrentIntMap<V> map) {
+			this.map = map;
+			reset();
+		}
+
+		public void reset () {
+			segmentIndex = 0;
+			index = 0;
+			keys.clear();
+			values.clear();
+			currentValue = null;
+			fill();
+		}
+
+		/** Copies the next non-empty segment once the entries of the current one have been returned. */
+		private void fill () {
+			LinearIntMap<V>[] segments = map.segments;
+			while (index == keys.size && segmentIndex < segments.length) {
+				keys.clear();
+				values.clear();
+				index = 0;
+				LinearIntMap<V> segment = segments[segmentIndex++];
+				synchronized (segment) {
+					if (segment.size == 0) continue;
+					for (LinearIntMap.Entry<V> entry : segment.entries()) {
+						keys.add(entry.key);
+						values.add(entry.value);
+					}
+				}
+			}
+		}
+
+		public boolean hasNext () {
+			return index < keys.size;
+		}
+
+		void advance () {
+			if (index == keys.size) throw new NoSuchElementException();
+			currentKey = keys.items[index];
+			currentValue = values.items[index];
+			values.items[index] = null;
+			index++;
+			fill();
+		}
+
+		/** Removes the key last returned, if it still has the value that was returned. */
+		public void remove () {
+			if (currentValue == null) throw new IllegalStateException("next must be called before remove.");
+			map.remove(currentKey, currentValue);
+			currentValue = null;
+		}
+	}
+
+	static public class Entries<V> extends MapIterator<V> implements Iterable<Entry<V>>, Iterator<Entry<V>> {
+		private Entry<V> entry = new Entry();
+
+		public Entries (ConcurrentIntMap<V> map) {
+			super(map);
+		}
+
+		/** Note the same entry instance is returned each time this method is called. */
+		public Entry<V> next () {
+			advance();
+			entry.key = currentKey;
+			entry.value = currentValue;
+			return entry;
+		}
+
+		public Iterator<Entry<V>> iterator () {
+			return this;
+		}
+	}
+
+	static public class Values<V> extends MapIterator<V> implements Iterable<V>, Iterator<V> {
+		public Values (ConcurrentIntMap<V> map) {
+			super(map);
+		}
+
+		public V next () {
+			advance();
+			return currentValue;
+		}
+
+		public Iterator<V> iterator () {
+			return this;
+		}
+
+		/** Returns a new array containing the remaining values. */
+		public Array<V> toArray () {
+			Array array = new Array();
+			while (hasNext())
+				array.add(next());
+			return array;
+		}
+	}
+
+	static public class Keys extends MapIterator {
+		public Keys (ConcurrentIntMap map) {
+			super(map);
+		}
+
+		public int next () {
+			advance();
+			return currentKey;
+		}
+
+		/** Returns a new array containing the remaining keys. */
+		public IntArray toArray () {
+			IntArray array = new IntArray();
+			while (hasNext())
+				array.add(next());
+			return array;
+		}
+	}
+}
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** A {@link Pool} that can be used by multiple threads. Each thread obtains and frees objects using its own small free list, called
+ * a magazine, without any synchronization. When a thread's magazine is empty it is refilled with a full magazine from a lock-free
+ * depot shared by all threads, and when it is full half of it is moved to the depot.
+ * <p>
+ * {@link #max} limits the number of objects in the depot. Each thread may additionally hold up to twice the magazine size of free
+ * objects. {@link #getFree()} and the counters are approximate while other threads are using the pool. A magazine is only weakly
+ * referenced by the pool, so it is garbage collected with its free objects when its thread ends, and the counters then no
+ * longer include that thread. A thread that is done with the pool but keeps running can call {@link #releaseThread()}. Not
+ * available on GWT. */
+abstract public class ConcurrentPool<T> extends Pool<T> {
+	private final int magazineSize, maxMagazines;
+	private final ConcurrentLinkedQueue<Object[]> depot = new ConcurrentLinkedQueue();
+	private final AtomicInteger depotMagazines = new AtomicInteger();
+	private final AtomicInteger peakFree = new AtomicInteger();
+	private final ConcurrentLinkedQueue<WeakReference<Magazine>> magazines = new ConcurrentLinkedQueue();
+	private final ThreadLocal<Magazine> threadMagazine = new ThreadLocal<Magazine>() {
+		protected Magazine initialValue () {
+			Magazine magazine = new Magazine(magazineSize * 2);
+			// Forget the magazines of threads that have ended.
+			for (Iterator<WeakReference<Magazine>> iter = magazines.iterator(); iter.hasNext();)
+				if (iter.next().get() == null) iter.remove();
+			magazines.add(magazine.reference);
+			return magazine;
+		}
+	};
+
+	/** Creates a pool with a magazine size of 16 and no maximum. */
+	public ConcurrentPool () {
+		this(16, Integer.MAX_VALUE);
+	}
+
+	/** @param magazineSize The number of free objects moved between a thread and the shared depot at once.
+	 * @param max The maximum number of free objects to store in the shared depot. */
+	public ConcurrentPool (int magazineSize, int max) {
+		super(0, max);
+		if (magazineSize < 1) throw new IllegalArgumentException("magazineSize must be > 0: " + magazineSize);
+		this.magazineSize = magazineSize;
+		maxMagazines = max / magazineSize;
+	}
+
+	public T obtain () {
+		Magazine magazine = threadMagazine.get();
+		magazine.obtained++;
+		if (magazine.size == 0 && !refill(magazine)) {
+			magazine.misses++;
+			return newObject();
+		}
+		magazine.hits++;
+		Object[] items = magazine.items;
+		T object = (T)items[--magazine.size];
+		items[magazine.size] = null;
+		return object;
+	}
+
+	/** Adds count new or reused objects to the specified array. */
+	public void obtainAll (Array<T> objects, int count) {
+		if (objects == null) throw new IllegalArgumentException("objects cannot be null.");
+		Magazine magazine = threadMagazine.get();
+		magazine.obtained += count;
+		objects.ensureCapacity(count);
+		while (count > 0) {
+			if (magazine.size == 0 && !refill(magazine)) {
+				magazine.misses += count;
+				for (; count > 0; count--)
+					objects.add(newObject());
+				return;
+			}
+			Object[] items = magazine.items;
+			int n = Math.min(count, magazine.size);
+			magazine.hits += n;
+			count -= n;
+			for (; n > 0; n--) {
+				objects.add((T)items[--magazine.size]);
+				items[magazine.size] = null;
+			}
+		}
+	}
+
+	/** Moves a full magazine from the depot to the thread's magazine, which must be empty. */
+	private boolean refill (Magazine magazine) {
+		Object[] full = depot.poll();
+		if (full == null) return false;
+		depotMagazines.decrementAndGet();
+		System.arraycopy(full, 0, magazine.items, 0, magazineSize);
+		magazine.size = magazineSize;
+		for (int i = 0; i < magazineSize; i++)
+			full[i] = null;
+		magazine.spare = full;
+		return true;
+	}
+
+	/** Puts the specified object in the pool, making it eligible to be returned by {@link #obtain()} on any thread. The object is
+	 * reset before it is made available to other threads. If the thread's magazine is full and the depot already contains
+	 * {@link #max} free objects, the object is reset but not added to the pool. */
+	public void free (T object) {
+		if (object == null) throw new IllegalArgumentException("object cannot be null.");
+		if (object instanceof Poolable) ((Poolable)object).reset();
+		Magazine magazine = threadMagazine.get();
+		free(magazine, object);
+	}
+
+	/** Puts the specified objects in the pool. Null objects within the array are silently ignored.
+	 * @see #free(Object) */
+	public void freeAll (Array<T> objects) {
+		if (objects == null) throw new IllegalArgumentException("objects cannot be null.");
+		Magazine magazine = threadMagazine.get();
+		for (int i = 0, n = objects.size; i < n; i++) {
+			T object = objects.get(i);
+			if (object == null) continue;
+			if (object instanceof Poolable) ((Poolable)object).reset();
+			free(magazine, object);
+		}
+	}
+
+	private void free (Magazine magazine, Object object) {
+		// Frees of more objects than the thread has obtained must be of objects obtained by another thread.
+		if (magazine.obtained > 0)
+			magazine.obtained--;
+		else
+			magazine.crossThreadFrees++;
+		Object[] items = magazine.items;
+		if (magazine.size == items.length) {
+			// Move the top half of the thread's magazine to the depot.
+			if (depotMagazines.incrementAndGet() > maxMagazines) {
+				depotMagazines.decrementAndGet();
+				return;
+			}
+			Object[] full = magazine.spare;
+			if (full == null) full = new Object[magazineSize];
+			magazine.spare = null;
+			magazine.size -= magazineSize;
+			System.arraycopy(items, magazine.size, full, 0, magazineSize);
+			for (int i = magazine.size, n = items.length; i < n; i++)
+				items[i] = null;
+			depot.add(full);
+			int free = depotMagazines.get() * magazineSize + magazine.size + 1;
+			while (true) {
+				int peakFree = this.peakFree.get();
+				if (free <= peakFree) break;
+				if (this.peakFree.compareAndSet(peakFree, free)) {
+					peak = free;
+					break;
+				}
+			}
+		}
+		items[magazine.size++] = object;
+	}
+
+	/** Removes all free objects from the shared depot and from the calling thread's magazine. Free objects in the magazines of other
+	 * threads are not removed. */
+	public void clear () {
+		Magazine magazine = threadMagazine.get();
+		Object[] items = magazine.items;
+		for (int i = 0, n = magazine.size; i < n; i++)
+			items[i] = null;
+		magazine.size = 0;
+		while (depot.poll() != null)
+			depotMagazines.decrementAndGet();
+	}
+
+	/** Moves the free objects of the calling thread's magazine to the shared depot, up to {@link #max}, and stops tracking the
+	 * thread. Free objects that do not fill a whole magazine are discarded. The thread's counters are no longer included in the
+	 * totals. The thread may still use the pool afterward. */
+	public void releaseThread () {
+		Magazine magazine = threadMagazine.get();
+		threadMagazine.remove();
+		magazines.remove(magazine.reference);
+		Object[] items = magazine.items;
+		while (magazine.size >= magazineSize) {
+			if (depotMagazines.incrementAndGet() > maxMagazines) {
+				depotMagazines.decrementAndGet();
+				break;
+			}
+			Object[] full = new Object[magazineSize];
+			magazine.size -= magazineSize;
+			System.arraycopy(items, magazine.size, full, 0, magazineSize);
+			depot.add(full);
+		}
+	}
+
+	/** The number of threads whose magazines are tracked by the pool. */
+	int getThreads () {
+		int count = 0;
+		for (WeakReference<Magazine> reference : magazines)
+			if (reference.get() != null) count++;
+		return count;
+	}
+
+	/** The number of objects in the shared depot and the calling thread's magazine. */
+	public int getFree () {
+		return depotMagazines.get() * magazineSize + threadMagazine.get().size;
+	}
+
+	/** The number of times {@link #obtain()} returned a reused object, for all threads. */
+	public long getHits () {
+		long hits = 0;
+		for (WeakReference<Magazine> reference : magazines) {
+			Magazine magazine = reference.get();
+			if (magazine == null) continue;
+			hits += magazine.hits;
+		}
+		return hits;
+	}
+
+	/** The number of times {@link #obtain()} had to create a new object, for all threads. */
+	public long getMisses () {
+		long misses = 0;
+		for (WeakReference<Magazine> reference : magazines) {
+			Magazine magazine = reference.get();
+			if (magazine == null) continue;
+			misses += magazine.misses;
+		}
+		return misses;
+	}
+
+	/** The number of reused objects divided by the number of obtained objects, or 0 if none have been obtained. */
+	public float getHitRate () {
+		long hits = getHits(), total = hits + getMisses();
+		return total == 0 ? 0 : hits / (float)total;
+	}
+
+	/** The number of times a thread freed more objects than it had obtained, meaning objects obtained on one thread were freed on
+	 * another. */
+	public long getCrossThreadFrees () {
+		long frees = 0;
+		for (WeakReference<Magazine> reference : magazines) {
+			Magazine magazine = reference.get();
+			if (magazine == null) continue;
+			frees += magazine.crossThreadFrees;
+		}
+		return frees;
+	}
+
+	/** Resets the hits, misses, cross thread frees and {@link #peak}. */
+	public void resetCounters () {
+		for (WeakReference<Magazine> reference : magazines) {
+			Magazine magazine = reference.get();
+			if (magazine == null) continue;
+			magazine.hits = 0;
+			magazine.misses = 0;
+			magazine.crossThreadFrees = 0;
+		}
+		peakFree.set(0);
+		peak = 0;
+	}
+
+	/** The free objects of one thread. Only the counters are read by other threads. */
+	static private class Magazine {
+		final Object[] items;
+		int size;
+		Object[] spare;
+		long obtained, hits, misses, crossThreadFrees;
+		final WeakReference<Magazine> reference = new WeakReference(this);
+
+		Magazine (int capacity) {
+			items = new Object[capacity];
+		}
+	}
+}
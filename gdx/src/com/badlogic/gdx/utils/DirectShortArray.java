@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+
+import com.badlogic.gdx.graphics.GL20;
+
+/** A resizable, ordered short array stored off the Java heap in a direct buffer allocated with
+ * {@link BufferUtils#newUnsafeByteBuffer(int)}. The elements can be given to OpenGL or native code without first being copied out
+ * of a Java array, eg with {@link GL20#glBufferData(int, int, java.nio.Buffer, int)} and {@link #getBuffer()}. <br>
+ * <br>
+ * The native memory is freed by {@link #dispose()}. It is counted by {@link BufferUtils#getAllocatedBytesUnsafe()} until then, so
+ * arrays that are not disposed show up there as leaks. Not available on GWT. */
+public class DirectShortArray implements Disposable {
+	public int size;
+	private ByteBuffer bytes;
+	private ShortBuffer buffer;
+
+	/** Creates an array with a capacity of 16. */
+	public DirectShortArray () {
+		this(16);
+	}
+
+	/** @param capacity Any elements added beyond this will cause the backing buffer to be reallocated. */
+	public DirectShortArray (int capacity) {
+		if (capacity < 0) throw new IllegalArgumentException("capacity must be >= 0: " + capacity);
+		bytes = BufferUtils.newUnsafeByteBuffer(Math.max(1, capacity) * 2);
+		buffer = bytes.asShortBuffer();
+	}
+
+	public void add (short value) {
+		if (size == buffer.capacity()) resize(Math.max(8, (int)(size * 1.75f)));
+		ShortBuffer buffer = this.buffer;
+		buffer.limit(size + 1);
+		buffer.put(size++, value);
+	}
+
+	public void addAll (ShortArray array) {
+		addAll(array.items, 0, array.size);
+	}
+
+	public void addAll (short[] array) {
+		addAll(array, 0, array.length);
+	}
+
+	public void addAll (short[] array, int offset, int length) {
+		if (offset + length > array.length)
+			throw new IllegalArgumentException("offset + length must be <= size: " + offset + " + " + length + " <= " + array.length);
+		ensureCapacity(length);
+		ShortBuffer buffer = this.buffer;
+		buffer.limit(size + length);
+		buffer.position(size);
+		buffer.put(array, offset, length);
+		size += length;
+	}
+
+	public short get (int index) {
+		if (index >= size) throw new IndexOutOfBoundsException(String.valueOf(index));
+		return buffer.get(index);
+	}
+
+	public void set (int index, short value) {
+		if (index >= size) throw new IndexOutOfBoundsException(String.valueOf(index));
+		buffer.limit(size);
+		buffer.put(index, value);
+	}
+
+	/** Removes all elements. The native memory is kept. */
+	public void clear () {
+		size = 0;
+	}
+
+	/** Increases the size of the backing buffer to acommodate the specified number of additional items. Useful before adding many
+	 * items to avoid multiple reallocations. */
+	public void ensureCapacity (int additionalCapacity) {
+		int sizeNeeded = size + additionalCapacity;
+		if (sizeNeeded > buffer.capacity()) resize(Math.max(8, sizeNeeded));
+	}
+
+	/** Reallocates the backing buffer, copying the elements in native memory. */
+	private void resize (int newCapacity) {
+		ByteBuffer newBytes = BufferUtils.newUnsafeByteBuffer(newCapacity * 2);
+		ShortBuffer newBuffer = newBytes.asShortBuffer();
+		newBuffer.put(getBuffer());
+		BufferUtils.disposeUnsafeByteBuffer(bytes);
+		bytes = newBytes;
+		buffer = newBuffer;
+	}
+
+	/** Returns the buffer holding the elements, with the position set to 0 and the limit set to {@link #size}. Changes to the
+	 * buffer's contents are changes to the array. The buffer is replaced when the array grows. */
+	public ShortBuffer getBuffer () {
+		ShortBuffer buffer = this.buffer;
+		buffer.limit(size);
+		buffer.position(0);
+		return buffer;
+	}
+
+	/** Returns a new Java array containing the elements. */
+	public short[] toArray () {
+		short[] array = new short[size];
+		getBuffer().get(array);
+		return array;
+	}
+
+	/** Frees the native memory. The array must not be used afterward. */
+	public void dispose () {
+		if (bytes == null) return;
+		BufferUtils.disposeUnsafeByteBuffer(bytes);
+		bytes = null;
+		buffer = null;
+		size = 0;
+	}
+
+	public String toString () {
+		if (size == 0) return "[]";
+		StringBuilder buffer = new StringBuilder(32);
+		buffer.append('[');
+		buffer.append(get(0));
+		for (int i = 1; i < size; i++) {
+			buffer.append(", ");
+			buffer.append(get(i));
+		}
+		buffer.append(']');
+		return buffer.toString();
+	}
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.lang.reflect.Field;
+
+/** Gets and sets the value of a field for {@link Json}. Primitive fields can be set without boxing. By default reflection is used,
+ * a backend may {@link #setFactory(Factory) install} a faster implementation. The field must be accessible. Not available on
+ * GWT. */
+public class FieldAccessor {
+	static private Factory factory;
+
+	public final Field field;
+	public final Class type;
+
+	public FieldAccessor (Field field) {
+		this.field = field;
+		type = field.getType();
+	}
+
+	/** Returns the value of the field, boxed if it is primitive. */
+	public Object get (Object object) throws IllegalAccessException {
+		return field.get(object);
+	}
+
+	/** Sets the value of the field. Values that are not exactly of the field's type are converted or rejected by
+	 * {@link Field#set(Object, Object)}. */
+	public void set (Object object, Object value) throws IllegalAccessException {
+		field.set(object, value);
+	}
+
+	public void setInt (Object object, int value) throws IllegalAccessException {
+		field.setInt(object, value);
+	}
+
+	public void setFloat (Object object, float value) throws IllegalAccessException {
+		field.setFloat(object, value);
+	}
+
+	public void setLong (Object object, long value) throws IllegalAccessException {
+		field.setLong(object, value);
+	}
+
+	public void setDouble (Object object, double value) throws IllegalAccessException {
+		field.setDouble(object, value);
+	}
+
+	public void setShort (Object object, short value) throws IllegalAccessException {
+		field.setShort(object, value);
+	}
+
+	public void setByte (Object object, byte value) throws IllegalAccessException {
+		field.setByte(object, value);
+	}
+
+	public void setBoolean (Object object, boolean value) throws IllegalAccessException {
+		field.setBoolean(object, value);
+	}
+
+	/** Returns an accessor for the field, created by the {@link #setFactory(Factory) factory} if one is set. */
+	static public FieldAccessor newAccessor (Field field) {
+		Factory factory = FieldAccessor.factory;
+		if (factory != null) {
+			FieldAccessor accessor = factory.newAccessor(field);
+			if (accessor != null) return accessor;
+		}
+		return new FieldAccessor(field);
+	}
+
+	/** Sets the factory used to create field accessors, or null to use reflection. Only affects classes that have not yet been
+	 * read or written by a Json instance. */
+	static public void setFactory (Factory factory) {
+		FieldAccessor.factory = factory;
+	}
+
+	static public interface Factory {
+		/** @return The accessor for the field, or null to use reflection. */
+		public FieldAccessor newAccessor (Field field);
+	}
+}
@@ -17,12 +17,15 @@
 package com.badlogic.gdx.utils;
 
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonPullParser.Event;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
 import com.badlogic.gdx.utils.JsonWriter.OutputType;
 import com.badlogic.gdx.utils.ObjectMap.Entry;
 import com.badlogic.gdx.utils.ObjectMap.Values;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
@@ -31,6 +34,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.security.AccessControlException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -54,6 +58,7 @@ public class Json {
 	private final ObjectMap<Class, String> classToTag = new ObjectMap();
 	private final ObjectMap<Class, Serializer> classToSerializer = new ObjectMap();
 	private final ObjectMap<Class, Object[]> classToDefaultValues = new ObjectMap();
+	private final ObjectMap<Class, Constructor> classToConstructor = new ObjectMap();
 	private boolean ignoreUnknownFields;
 
 	public Json () {
@@ -216,6 +221,46 @@ public class Json {
 		}
 	}
 
+	/** Writes the object using the binary encoding of {@link BinaryJsonWriter}, which is smaller and faster to write and read than
+	 * JSON text. The stream is closed. */
+	public void toBinary (Object object, OutputStream output) {
+		toBinary(object, object == null ? null : object.getClass(), null, output);
+	}
+
+	/** @param knownType May be null if the type is unknown.
+	 * @param elementType May be null if the type is unknown.
+	 * @see #toBinary(Object, OutputStream) */
+	public void toBinary (Object object, Class knownType, Class elementType, OutputStream output) {
+		BinaryJsonWriter writer = new BinaryJsonWriter(output);
+		setWriter(writer);
+		try {
+			writeValue(object, knownType, elementType);
+			writer.close();
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		} finally {
+			this.writer = null;
+			try {
+				output.close();
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	public void toBinary (Object object, FileHandle file) {
+		toBinary(object, object == null ? null : object.getClass(), null, file);
+	}
+
+	/** @param knownType May be null if the type is unknown.
+	 * @param elementType May be null if the type is unknown. */
+	public void toBinary (Object object, Class knownType, Class elementType, FileHandle file) {
+		try {
+			toBinary(object, knownType, elementType, file.write(false));
+		} catch (Exception ex) {
+			throw new SerializationException("Error writing file: " + file, ex);
+		}
+	}
+
 	/** Sets the writer where JSON output will go. This is only necessary when not using the toJson methods. */
 	public void setWriter (Writer writer) {
 		if (!(writer instanceof JsonWriter)) writer = new JsonWriter(writer);
@@ -238,7 +283,7 @@ public class Json {
 		for (FieldMetadata metadata : new Values<FieldMetadata>(fields)) {
 			Field field = metadata.field;
 			try {
-				Object value = field.get(object);
+				Object value = metadata.accessor.get(object);
 
 				if (defaultValues != null) {
 					Object defaultValue = defaultValues[i++];
@@ -283,7 +328,7 @@ public class Json {
 		for (FieldMetadata metadata : fields.values()) {
 			Field field = metadata.field;
 			try {
-				values[i++] = field.get(object);
+				values[i++] = metadata.accessor.get(object);
 			} catch (IllegalAccessException ex) {
 				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
 			} catch (SerializationException ex) {
@@ -323,7 +368,7 @@ public class Json {
 		try {
 			if (debug) System.out.println("Writing field: " + field.getName() + " (" + type.getName() + ")");
 			writer.name(jsonName);
-			writeValue(field.get(object), field.getType(), elementType);
+			writeValue(metadata.accessor.get(object), field.getType(), elementType);
 		} catch (IllegalAccessException ex) {
 			throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
 		} catch (SerializationException ex) {
@@ -673,6 +718,66 @@ public class Json {
 		return (T)readValue(type, elementType, new JsonReader().parse(json));
 	}
 
+	/** Reads an object written by {@link #toBinary(Object, OutputStream)}. The stream is closed.
+	 * @param type May be null if the type is unknown.
+	 * @return May be null. */
+	public <T> T fromBinary (Class<T> type, InputStream input) {
+		return (T)readValue(type, null, new BinaryJsonReader().parse(input));
+	}
+
+	/** @param type May be null if the type is unknown.
+	 * @param elementType May be null if the type is unknown.
+	 * @return May be null. */
+	public <T> T fromBinary (Class<T> type, Class elementType, InputStream input) {
+		return (T)readValue(type, elementType, new BinaryJsonReader().parse(input));
+	}
+
+	/** Reads an object written by {@link #toBinary(Object, FileHandle)}. Files on the file system are memory mapped.
+	 * @param type May be null if the type is unknown.
+	 * @return May be null. */
+	public <T> T fromBinary (Class<T> type, FileHandle file) {
+		return fromBinary(type, null, file);
+	}
+
+	/** @param type May be null if the type is unknown.
+	 * @param elementType May be null if the type is unknown.
+	 * @return May be null. */
+	public <T> T fromBinary (Class<T> type, Class elementType, FileHandle file) {
+		try {
+			return (T)readValue(type, elementType, new BinaryJsonReader().parse(file));
+		} catch (Exception ex) {
+			throw new SerializationException("Error reading file: " + file, ex);
+		}
+	}
+
+	/** Reads an object from the buffer's position to its limit, which may be a memory mapped file. The data is read as big endian
+	 * regardless of the buffer's byte order.
+	 * @param type May be null if the type is unknown.
+	 * @param elementType May be null if the type is unknown.
+	 * @return May be null. */
+	public <T> T fromBinary (Class<T> type, Class elementType, ByteBuffer buffer) {
+		return (T)readValue(type, elementType, new BinaryJsonReader().parse(buffer));
+	}
+
+	/** Reads the next value from the parser without first parsing the whole document into {@link JsonValue} objects. Only the
+	 * values read by a {@link Serializer} or {@link Serializable} are parsed into JsonValue objects. When reading from a parser,
+	 * the class tag of an object must be its first field. The parser is not closed.
+	 * @param type May be null if the type is unknown.
+	 * @return May be null. */
+	public <T> T fromJson (Class<T> type, JsonPullParser parser) {
+		parser.next();
+		return (T)readValue(type, null, parser);
+	}
+
+	/** @param type May be null if the type is unknown.
+	 * @param elementType May be null if the type is unknown.
+	 * @return May be null.
+	 * @see #fromJson(Class, JsonPullParser) */
+	public <T> T fromJson (Class<T> type, Class elementType, JsonPullParser parser) {
+		parser.next();
+		return (T)readValue(type, elementType, parser);
+	}
+
 	public void readField (Object object, String name, JsonValue jsonData) {
 		readField(object, name, name, null, jsonData);
 	}
@@ -697,7 +802,8 @@ public class Json {
 		if (jsonValue == null) return;
 		if (elementType == null) elementType = metadata.elementType;
 		try {
-			field.set(object, readValue(field.getType(), elementType, jsonValue));
+			if (!readPrimitive(metadata.accessor, object, jsonValue))
+				metadata.accessor.set(object, readValue(field.getType(), elementType, jsonValue));
 		} catch (IllegalAccessException ex) {
 			throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
 		} catch (SerializationException ex) {
@@ -726,7 +832,178 @@ public class Json {
 			Field field = metadata.field;
 			// if (entry.value == null) continue; // I don't remember what this did. :(
 			try {
-				field.set(object, readValue(field.getType(), metadata.elementType, child));
+				if (!readPrimitive(metadata.accessor, object, child))
+					metadata.accessor.set(object, readValue(field.getType(), metadata.elementType, child));
+			} catch (IllegalAccessException ex) {
+				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
+			} catch (SerializationException ex) {
+				ex.addTrace(field.getName() + " (" + type.getName() + ")");
+				throw ex;
+			} catch (RuntimeException runtimeEx) {
+				SerializationException ex = new SerializationException(runtimeEx);
+				ex.addTrace(field.getName() + " (" + type.getName() + ")");
+				throw ex;
+			}
+		}
+	}
+
+	/** Sets a primitive field directly from a number or boolean, avoiding boxing. The value is converted the same as
+	 * {@link #readValue(Class, Class, JsonValue)}.
+	 * @return false if the field is not primitive or the value must be converted by readValue. */
+	private boolean readPrimitive (FieldAccessor accessor, Object object, JsonValue jsonData) throws IllegalAccessException {
+		Class type = accessor.type;
+		if (!type.isPrimitive() || classToSerializer.get(type) != null) return false;
+		if (jsonData.isNumber()) {
+			if (type == float.class)
+				accessor.setFloat(object, jsonData.asFloat());
+			else if (type == int.class)
+				accessor.setInt(object, jsonData.asInt());
+			else if (type == long.class)
+				accessor.setLong(object, jsonData.asLong());
+			else if (type == double.class)
+				accessor.setDouble(object, (double)jsonData.asFloat());
+			else if (type == short.class)
+				accessor.setShort(object, (short)jsonData.asInt());
+			else if (type == byte.class)
+				accessor.setByte(object, (byte)jsonData.asInt());
+			else
+				return false;
+			return true;
+		}
+		if (jsonData.isBoolean() && type == boolean.class) {
+			accessor.setBoolean(object, jsonData.asBoolean());
+			return true;
+		}
+		return false;
+	}
+
+	/** Reads the value of the parser's current event. If the event starts an object or array, the parser is left on the event
+	 * that ends it.
+	 * @param type May be null if the type is unknown.
+	 * @param elementType May be null if the type is unknown.
+	 * @return May be null.
+	 * @see #fromJson(Class, JsonPullParser) */
+	public <T> T readValue (Class<T> type, Class elementType, JsonPullParser parser) {
+		Event event = parser.getEvent();
+		if (event == Event.startObject) return (T)readObject(type, elementType, parser);
+		if (event == Event.startArray && (type == null || classToSerializer.get(type) == null))
+			return (T)readArray(type, elementType, parser);
+		return (T)readValue(type, elementType, parser.readValue());
+	}
+
+	private Object readObject (Class type, Class elementType, JsonPullParser parser) {
+		Event event = parser.next();
+		if (typeName != null && event == Event.stringValue && typeName.equals(parser.getName())) {
+			String className = parser.getString();
+			try {
+				type = Class.forName(className);
+			} catch (ClassNotFoundException ex) {
+				type = tagToClass.get(className);
+				if (type == null) throw new SerializationException(ex);
+			}
+			event = parser.next();
+		}
+
+		if (type == String.class || type == Integer.class || type == Boolean.class || type == Float.class || type == Long.class
+			|| type == Double.class || type == Short.class || type == Byte.class || type == Character.class) {
+			Object value = null;
+			for (; event != Event.endObject; event = parser.next()) {
+				if ("value".equals(parser.getName()))
+					value = readValue(type, null, parser);
+				else
+					parser.skipValue();
+			}
+			return value;
+		}
+
+		if (type == null) return readRemaining(parser);
+
+		Serializer serializer = classToSerializer.get(type);
+		if (serializer != null) return serializer.read(this, readRemaining(parser), type);
+
+		Object object = newInstance(type);
+
+		if (object instanceof Serializable) {
+			((Serializable)object).read(this, readRemaining(parser));
+			return object;
+		}
+
+		if (object instanceof HashMap) {
+			HashMap result = (HashMap)object;
+			for (; event != Event.endObject; event = parser.next())
+				result.put(parser.getName(), readValue(elementType, null, parser));
+			return result;
+		}
+
+		if (object instanceof ObjectMap) {
+			ObjectMap result = (ObjectMap)object;
+			for (; event != Event.endObject; event = parser.next())
+				result.put(parser.getName(), readValue(elementType, null, parser));
+			return result;
+		}
+
+		readFields(object, parser);
+		return object;
+	}
+
+	/** Reads the rest of the parser's current object into a JsonValue. */
+	private JsonValue readRemaining (JsonPullParser parser) {
+		JsonValue jsonData = new JsonValue(ValueType.object);
+		parser.readChildren(jsonData);
+		return jsonData;
+	}
+
+	private Object readArray (Class type, Class elementType, JsonPullParser parser) {
+		if (type == null || Array.class.isAssignableFrom(type)) {
+			Array newArray = type == null ? new Array() : (Array)newInstance(type);
+			for (Event event = parser.next(); event != Event.endArray; event = parser.next())
+				newArray.add(readValue(elementType, null, parser));
+			return newArray;
+		}
+		if (List.class.isAssignableFrom(type)) {
+			List newArray = (List)newInstance(type);
+			for (Event event = parser.next(); event != Event.endArray; event = parser.next())
+				newArray.add(readValue(elementType, null, parser));
+			return newArray;
+		}
+		if (type.isArray()) {
+			Class componentType = type.getComponentType();
+			if (elementType == null) elementType = componentType;
+			// The size is not known until the end of the array.
+			Array values = new Array();
+			for (Event event = parser.next(); event != Event.endArray; event = parser.next())
+				values.add(readValue(elementType, null, parser));
+			Object newArray = java.lang.reflect.Array.newInstance(componentType, values.size);
+			for (int i = 0, n = values.size; i < n; i++)
+				java.lang.reflect.Array.set(newArray, i, values.get(i));
+			return newArray;
+		}
+		throw new SerializationException("Unable to convert value to required type: " + parser.readValue() + " (" + type.getName()
+			+ ")");
+	}
+
+	/** Reads fields from the parser's current event up to the end of the object. */
+	private void readFields (Object object, JsonPullParser parser) {
+		Class type = object.getClass();
+		ObjectMap<String, FieldMetadata> fields = typeToFields.get(type);
+		if (fields == null) fields = cacheFields(type);
+		for (Event event = parser.getEvent(); event != Event.endObject; event = parser.next()) {
+			String name = parser.getName();
+			FieldMetadata metadata = fields.get(name);
+			if (metadata == null) {
+				if (name.equals(typeName))
+					throw new SerializationException("Class tag must be the first field: " + name + " (" + type.getName() + ")");
+				if (ignoreUnknownFields) {
+					if (debug) System.out.println("Ignoring unknown field: " + name + " (" + type.getName() + ")");
+					parser.skipValue();
+					continue;
+				} else
+					throw new SerializationException("Field not found: " + name + " (" + type.getName() + ")");
+			}
+			Field field = metadata.field;
+			try {
+				if (!readPrimitive(metadata.accessor, object, parser))
+					metadata.accessor.set(object, readValue(field.getType(), metadata.elementType, parser));
 			} catch (IllegalAccessException ex) {
 				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
 			} catch (SerializationException ex) {
@@ -740,6 +1017,36 @@ public class Json {
 		}
 	}
 
+	/** Sets a primitive field directly from the parser's current number or boolean, the same as
+	 * {@link #readPrimitive(FieldAccessor, Object, JsonValue)}. */
+	private boolean readPrimitive (FieldAccessor accessor, Object object, JsonPullParser parser) throws IllegalAccessException {
+		Class type = accessor.type;
+		if (!type.isPrimitive() || classToSerializer.get(type) != null) return false;
+		Event event = parser.getEvent();
+		if (event == Event.doubleValue || event == Event.longValue) {
+			if (type == float.class)
+				accessor.setFloat(object, parser.getFloat());
+			else if (type == int.class)
+				accessor.setInt(object, parser.getInt());
+			else if (type == long.class)
+				accessor.setLong(object, parser.getLong());
+			else if (type == double.class)
+				accessor.setDouble(object, (double)parser.getFloat());
+			else if (type == short.class)
+				accessor.setShort(object, (short)parser.getInt());
+			else if (type == byte.class)
+				accessor.setByte(object, (byte)parser.getInt());
+			else
+				return false;
+			return true;
+		}
+		if (event == Event.booleanValue && type == boolean.class) {
+			accessor.setBoolean(object, parser.getBoolean());
+			return true;
+		}
+		return false;
+	}
+
 	/** @param type May be null if the type is unknown.
 	 * @return May be null. */
 	public <T> T readValue (String name, Class<T> type, JsonValue jsonMap) {
@@ -922,14 +1229,26 @@ public class Json {
 	}
 
 	private Object newInstance (Class type) {
+		Constructor constructor = classToConstructor.get(type);
+		if (constructor != null) {
+			try {
+				return constructor.newInstance();
+			} catch (Exception ex) {
+				throw new SerializationException("Error constructing instance of class: " + type.getName(), ex);
+			}
+		}
 		try {
-			return type.newInstance();
+			Object object = type.newInstance();
+			cacheConstructor(type);
+			return object;
 		} catch (Exception ex) {
 			try {
 				// Try a private constructor.
-				Constructor constructor = type.getDeclaredConstructor();
+				constructor = type.getDeclaredConstructor();
 				constructor.setAccessible(true);
-				return constructor.newInstance();
+				Object object = constructor.newInstance();
+				classToConstructor.put(type, constructor);
+				return object;
 			} catch (SecurityException ignored) {
 			} catch (NoSuchMethodException ignored) {
 				if (type.isArray())
@@ -945,6 +1264,17 @@ public class Json {
 		}
 	}
 
+	/** Caches the no-arg constructor of a type that was successfully created, so later instances avoid the checks done by
+	 * {@link Class#newInstance()}. */
+	private void cacheConstructor (Class type) {
+		try {
+			Constructor constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			classToConstructor.put(type, constructor);
+		} catch (Exception ignored) {
+		}
+	}
+
 	public String prettyPrint (Object object) {
 		return prettyPrint(object, 0);
 	}
@@ -963,10 +1293,12 @@ public class Json {
 
 	static private class FieldMetadata {
 		Field field;
+		FieldAccessor accessor;
 		Class elementType;
 
 		public FieldMetadata (Field field) {
 			this.field = field;
+			accessor = FieldAccessor.newAccessor(field);
 
 			Type genericType = field.getGenericType();
 			if (genericType instanceof ParameterizedType) {
@@ -0,0 +1,532 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+
+/** Pull parser that reads JSON one event at a time. Input is read through a fixed size buffer, so memory use does not depend on
+ * the size of the document, only on the longest string and the nesting depth. Accepts the same JSON as {@link JsonReader},
+ * including unquoted names and values and trailing commas.
+ * <p>
+ * Call {@link #next()} to advance to the next event, then use the getters to access the name and value of the event. Objects and
+ * arrays can be skipped with {@link #skipValue()} or read into a DOM with {@link #readValue()}.
+ * @see Json#fromJson(Class, JsonPullParser) */
+public class JsonPullParser {
+	static private final int object = 1, array = 2;
+
+	private final Reader reader;
+	private final char[] buffer;
+	private int position, limit;
+	private boolean eof;
+	private int line = 1;
+
+	private char[] token = new char[64];
+	private int tokenLength;
+
+	private int[] stack = new int[16];
+	private int depth;
+	private boolean afterValue, done;
+
+	private Event event;
+	private String name, stringValue;
+	private double doubleValue;
+	private long longValue;
+	private boolean booleanValue;
+
+	public JsonPullParser (String json) {
+		this(new StringReader(json), Math.max(16, Math.min(json.length(), 8192)));
+	}
+
+	public JsonPullParser (InputStream input) {
+		this(newReader(input), 8192);
+	}
+
+	public JsonPullParser (FileHandle file) {
+		this(newReader(file.read()), 8192);
+	}
+
+	public JsonPullParser (Reader reader) {
+		this(reader, 8192);
+	}
+
+	/** @param bufferSize The number of characters read from the reader at a time. */
+	public JsonPullParser (Reader reader, int bufferSize) {
+		if (reader == null) throw new IllegalArgumentException("reader cannot be null.");
+		if (bufferSize < 1) throw new IllegalArgumentException("bufferSize must be > 0: " + bufferSize);
+		this.reader = reader;
+		buffer = new char[bufferSize];
+	}
+
+	static private Reader newReader (InputStream input) {
+		try {
+			// Same encoding as JsonReader#parse(InputStream).
+			return new InputStreamReader(input, "ISO-8859-1");
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		}
+	}
+
+	/** Advances to the next event.
+	 * @return The event, or null when the end of the document has been reached.
+	 * @throws SerializationException if the JSON is malformed. */
+	public Event next () {
+		name = null;
+		stringValue = null;
+		int c = skipSpace();
+		if (depth == 0) {
+			if (done) {
+				if (c != -1) throw error("Unexpected character after root value: " + (char)c);
+				return event = null;
+			}
+			if (c == -1) {
+				done = true;
+				return event = null;
+			}
+		} else {
+			int container = stack[depth - 1];
+			char close = container == object ? '}' : ']';
+			if (c == ',') {
+				position++;
+				c = skipSpace();
+			} else if (afterValue && c != close && c != -1) //
+				throw error("Expected ',' or '" + close + "' but found: " + (char)c);
+			if (c == close) {
+				position++;
+				depth--;
+				afterValue = true;
+				if (depth == 0) done = true;
+				return event = container == object ? Event.endObject : Event.endArray;
+			}
+			if (c == -1) throw error(container == object ? "Unmatched brace." : "Unmatched bracket.");
+			if (container == object) {
+				readName(c);
+				c = skipSpace();
+				if (c != ':') throw error("Expected ':' after name: " + name);
+				position++;
+				c = skipSpace();
+				if (c == -1) throw error("Missing value for name: " + name);
+			}
+		}
+
+		afterValue = true;
+		switch (c) {
+		case '{':
+			position++;
+			push(object);
+			return event = Event.startObject;
+		case '[':
+			position++;
+			push(array);
+			return event = Event.startArray;
+		case '"':
+			position++;
+			readString();
+			stringValue = new String(token, 0, tokenLength);
+			event = Event.stringValue;
+			break;
+		default:
+			readValueToken(c);
+		}
+		if (depth == 0) done = true;
+		return event;
+	}
+
+	/** If the current event starts an object or array, advances to the event that ends it. Otherwise does nothing. */
+	public void skipValue () {
+		if (event != Event.startObject && event != Event.startArray) return;
+		int target = depth - 1;
+		while (depth > target)
+			next();
+	}
+
+	/** Reads the value of the current event into a {@link JsonValue}. If the current event starts an object or array, the parser
+	 * is advanced to the event that ends it.
+	 * @return May be null if the end of the document has been reached. */
+	public JsonValue readValue () {
+		Event event = this.event;
+		if (event == null) return null;
+		JsonValue value;
+		switch (event) {
+		case startObject:
+		case startArray:
+			value = new JsonValue(event == Event.startObject ? ValueType.object : ValueType.array);
+			value.setName(name);
+			next();
+			readChildren(value);
+			return value;
+		case stringValue:
+			value = new JsonValue(stringValue);
+			break;
+		case doubleValue:
+			value = new JsonValue(doubleValue);
+			break;
+		case longValue:
+			value = new JsonValue(longValue);
+			break;
+		case booleanValue:
+			value = new JsonValue(booleanValue);
+			break;
+		case nullValue:
+			value = new JsonValue((String)null);
+			break;
+		default:
+			throw error("Unexpected event: " + event);
+		}
+		value.setName(name);
+		return value;
+	}
+
+	/** Adds the current value and its following siblings to the parent, stopping at the event that ends the parent. */
+	void readChildren (JsonValue parent) {
+		for (Event event = this.event; event != Event.endObject && event != Event.endArray; event = next()) {
+			if (event == null) throw error("Unexpected end of document.");
+			parent.addChild(readValue());
+		}
+	}
+
+	/** Returns the current event.
+	 * @return May be null if {@link #next()} has not been called or the end of the document has been reached. */
+	public Event getEvent () {
+		return event;
+	}
+
+	/** Returns the name of the current event's value.
+	 * @return May be null if the value is not in an object. */
+	public String getName () {
+		return name;
+	}
+
+	/** Returns the current value as a string.
+	 * @return May be null for a null value. */
+	public String getString () {
+		if (event == null) throw new IllegalStateException("No current value.");
+		switch (event) {
+		case stringValue:
+		case nullValue:
+			return stringValue;
+		case doubleValue:
+			return Double.toString(doubleValue);
+		case longValue:
+			return Long.toString(longValue);
+		case booleanValue:
+			return Boolean.toString(booleanValue);
+		}
+		throw new IllegalStateException("Value cannot be converted to string: " + event);
+	}
+
+	/** Returns the current number as a double. A long value is converted the same as {@link JsonValue#asDouble()}. */
+	public double getDouble () {
+		if (event == Event.doubleValue) return doubleValue;
+		if (event == Event.longValue) return (double)longValue;
+		throw new IllegalStateException("Value is not a number: " + event);
+	}
+
+	/** Returns the current number as a long. A double value is converted the same as {@link JsonValue#asLong()}. */
+	public long getLong () {
+		if (event == Event.longValue) return longValue;
+		if (event == Event.doubleValue) return (long)doubleValue;
+		throw new IllegalStateException("Value is not a number: " + event);
+	}
+
+	public float getFloat () {
+		return (float)getDouble();
+	}
+
+	public int getInt () {
+		return (int)getLong();
+	}
+
+	public boolean getBoolean () {
+		if (event == Event.booleanValue) return booleanValue;
+		throw new IllegalStateException("Value is not a boolean: " + event);
+	}
+
+	/** Returns the current nesting depth of objects and arrays. */
+	public int getDepth () {
+		return depth;
+	}
+
+	/** Returns the line number of the current position in the input. */
+	public int getLine () {
+		return line;
+	}
+
+	/** Closes the reader. */
+	public void close () {
+		try {
+			reader.close();
+		} catch (IOException ignored) {
+		}
+	}
+
+	private void push (int container) {
+		if (depth == stack.length) {
+			int[] newStack = new int[stack.length * 2];
+			System.arraycopy(stack, 0, newStack, 0, stack.length);
+			stack = newStack;
+		}
+		stack[depth++] = container;
+		afterValue = false;
+	}
+
+	private void readName (int c) {
+		if (c == '"') {
+			position++;
+			readString();
+		} else {
+			if (!isNameStart(c)) throw error("Expected name but found: " + (char)c);
+			readUnquoted();
+		}
+		name = new String(token, 0, tokenLength);
+	}
+
+	private void readValueToken (int c) {
+		boolean number = c == '-' || (c >= '0' && c <= '9');
+		if (!number && !isValueStart(c)) throw error("Unexpected character: " + (char)c);
+		readUnquoted();
+		char[] token = this.token;
+		int length = tokenLength;
+		if (number) {
+			readNumber(token, length);
+			return;
+		}
+		if (equals(token, length, "true")) {
+			booleanValue = true;
+			event = Event.booleanValue;
+		} else if (equals(token, length, "false")) {
+			booleanValue = false;
+			event = Event.booleanValue;
+		} else if (equals(token, length, "null")) {
+			event = Event.nullValue;
+		} else {
+			stringValue = new String(token, 0, length);
+			event = Event.stringValue;
+		}
+	}
+
+	private void readNumber (char[] token, int length) {
+		int start = token[0] == '-' ? 1 : 0;
+		boolean isLong = length > start;
+		for (int i = start; i < length; i++) {
+			char c = token[i];
+			if (c >= '0' && c <= '9') continue;
+			if (c != '.' && c != 'e' && c != 'E' && c != '+' && c != '-')
+				throw error("Invalid number: " + new String(token, 0, length));
+			isLong = false;
+		}
+		if (isLong && length - start <= 18) {
+			long value = 0;
+			for (int i = start; i < length; i++)
+				value = value * 10 + (token[i] - '0');
+			longValue = start == 1 ? -value : value;
+			event = Event.longValue;
+			return;
+		}
+		try {
+			String text = new String(token, 0, length);
+			if (isLong) {
+				longValue = Long.parseLong(text);
+				event = Event.longValue;
+			} else {
+				doubleValue = Double.parseDouble(text);
+				event = Event.doubleValue;
+			}
+		} catch (NumberFormatException ex) {
+			throw new SerializationException("Error parsing JSON on line " + line + ", invalid number: "
+				+ new String(token, 0, length), ex);
+		}
+	}
+
+	/** Reads characters up to the next delimiter or whitespace into the token. */
+	private void readUnquoted () {
+		tokenLength = 0;
+		while (position < limit || fill()) {
+			char[] buffer = this.buffer;
+			int start = position, p = start, limit = this.limit;
+			outer:
+			while (p < limit) {
+				switch (buffer[p]) {
+				case ':':
+				case ',':
+				case '}':
+				case ']':
+				case ' ':
+				case '\t':
+				case '\n':
+				case '\r':
+				case '\f':
+				case 0x0B:
+					break outer;
+				}
+				p++;
+			}
+			append(buffer, start, p - start);
+			position = p;
+			if (p < limit) return;
+		}
+	}
+
+	/** Reads the rest of a quoted string into the token, after the opening quote has been consumed. */
+	private void readString () {
+		tokenLength = 0;
+		while (true) {
+			if (position == limit && !fill()) throw error("Unterminated string.");
+			char[] buffer = this.buffer;
+			int start = position, p = start, limit = this.limit;
+			while (p < limit) {
+				char c = buffer[p];
+				if (c == '"' || c == '\\') break;
+				if (c == '\n') line++;
+				p++;
+			}
+			append(buffer, start, p - start);
+			position = p;
+			if (p == limit) continue;
+			if (buffer[position++] == '"') return;
+			append(unescape(read()));
+		}
+	}
+
+	private char unescape (int c) {
+		switch (c) {
+		case '"':
+		case '\\':
+		case '/':
+			return (char)c;
+		case 'b':
+			return '\b';
+		case 'f':
+			return '\f';
+		case 'n':
+			return '\n';
+		case 'r':
+			return '\r';
+		case 't':
+			return '\t';
+		case 'u':
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				int digit = Character.digit(read(), 16);
+				if (digit == -1) throw error("Invalid unicode escape.");
+				value = value << 4 | digit;
+			}
+			return (char)value;
+		case -1:
+			throw error("Unterminated string.");
+		}
+		throw error("Illegal escaped character: \\" + (char)c);
+	}
+
+	/** Returns the next character without consuming it, skipping whitespace.
+	 * @return -1 at the end of the input. */
+	private int skipSpace () {
+		while (position < limit || fill()) {
+			char c = buffer[position];
+			switch (c) {
+			case '\n':
+				line++;
+			case ' ':
+			case '\t':
+			case '\r':
+			case '\f':
+			case 0x0B:
+				position++;
+				continue;
+			}
+			return c;
+		}
+		return -1;
+	}
+
+	/** Consumes and returns the next character.
+	 * @return -1 at the end of the input. */
+	private int read () {
+		if (position == limit && !fill()) return -1;
+		return buffer[position++];
+	}
+
+	private boolean fill () {
+		if (eof) return false;
+		try {
+			while (true) {
+				int count = reader.read(buffer, 0, buffer.length);
+				if (count == -1) {
+					eof = true;
+					return false;
+				}
+				if (count > 0) {
+					position = 0;
+					limit = count;
+					return true;
+				}
+			}
+		} catch (IOException ex) {
+			throw new SerializationException("Error reading JSON on line " + line, ex);
+		}
+	}
+
+	private void append (char[] chars, int offset, int count) {
+		if (count == 0) return;
+		ensureToken(count);
+		System.arraycopy(chars, offset, token, tokenLength, count);
+		tokenLength += count;
+	}
+
+	private void append (char c) {
+		ensureToken(1);
+		token[tokenLength++] = c;
+	}
+
+	private void ensureToken (int count) {
+		int required = tokenLength + count;
+		if (required <= token.length) return;
+		char[] newToken = new char[Math.max(required, token.length * 2)];
+		System.arraycopy(token, 0, newToken, 0, tokenLength);
+		token = newToken;
+	}
+
+	private SerializationException error (String message) {
+		return new SerializationException("Error parsing JSON on line " + line + ": " + message);
+	}
+
+	static private boolean isNameStart (int c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '$' || c == '-';
+	}
+
+	static private boolean isValueStart (int c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '$';
+	}
+
+	static private boolean equals (char[] token, int length, String value) {
+		if (length != value.length()) return false;
+		for (int i = 0; i < length; i++)
+			if (token[i] != value.charAt(i)) return false;
+		return true;
+	}
+
+	static public enum Event {
+		startObject, endObject, startArray, endArray, stringValue, doubleValue, longValue, booleanValue, nullValue
+	}
+}
@@ -1,6 +1,7 @@
 
 package com.badlogic.gdx.utils;
 
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.JsonWriter.OutputType;
 
 /** Container for a JSON object, array, string, double, long, boolean, or null.
@@ -14,6 +15,9 @@ import com.badlogic.gdx.utils.JsonWriter.OutputType;
  * </pre>
  * @author Nathan Sweet */
 public class JsonValue {
+	/** The number of children at which lookups by name or index build an index of the children. */
+	static private final int indexThreshold = 16;
+
 	private String name;
 	private ValueType type;
 
@@ -22,7 +26,11 @@ public class JsonValue {
 	private Double doubleValue;
 	private long longValue;
 
-	private JsonValue child, next, prev;
+	/** The last child, or null if it is not known because siblings were changed with setNext or setPrev. */
+	private JsonValue parent, child, next, prev, last;
+	/** The number of children, or -1 if it is not known. Only used to decide when to build the index. */
+	private int size;
+	private Index index;
 
 	public JsonValue (ValueType type) {
 		this.type = type;
@@ -48,6 +56,7 @@ public class JsonValue {
 	/** Returns the child at the specified index.
 	 * @return May be null. */
 	public JsonValue get (int index) {
+		if (index() != null) return this.index.get(index);
 		JsonValue current = child;
 		while (current != null && index > 0) {
 			index--;
@@ -59,8 +68,9 @@ public class JsonValue {
 	/** Returns the child with the specified name.
 	 * @return May be null. */
 	public JsonValue get (String name) {
+		if (index() != null) return index.get(name);
 		JsonValue current = child;
-		while (current != null && !current.name.equalsIgnoreCase(name))
+		while (current != null && (current.name == null || !current.name.equalsIgnoreCase(name)))
 			current = current.next;
 		return current;
 	}
@@ -68,11 +78,7 @@ public class JsonValue {
 	/** Returns the child at the specified index.
 	 * @throws IllegalArgumentException if the child was not found. */
 	public JsonValue require (int index) {
-		JsonValue current = child;
-		while (current != null && index > 0) {
-			index--;
-			current = current.next;
-		}
+		JsonValue current = get(index);
 		if (current == null) throw new IllegalArgumentException("Child not found with index: " + index);
 		return current;
 	}
@@ -80,9 +86,7 @@ public class JsonValue {
 	/** Returns the child with the specified name.
 	 * @throws IllegalArgumentException if the child was not found. */
 	public JsonValue require (String name) {
-		JsonValue current = child;
-		while (current != null && !current.name.equalsIgnoreCase(name))
-			current = current.next;
+		JsonValue current = get(name);
 		if (current == null) throw new IllegalArgumentException("Child not found with name: " + name);
 		return current;
 	}
@@ -92,13 +96,7 @@ public class JsonValue {
 	public JsonValue remove (int index) {
 		JsonValue child = get(index);
 		if (child == null) return null;
-		if (child.prev == null) {
-			this.child = child.next;
-			if (this.child != null) this.child.prev = null;
-		} else {
-			child.prev.next = child.next;
-			if (child.next != null) child.next.prev = child.prev;
-		}
+		unlink(child);
 		return child;
 	}
 
@@ -107,6 +105,11 @@ public class JsonValue {
 	public JsonValue remove (String name) {
 		JsonValue child = get(name);
 		if (child == null) return null;
+		unlink(child);
+		return child;
+	}
+
+	private void unlink (JsonValue child) {
 		if (child.prev == null) {
 			this.child = child.next;
 			if (this.child != null) this.child.prev = null;
@@ -114,7 +117,20 @@ public class JsonValue {
 			child.prev.next = child.next;
 			if (child.next != null) child.next.prev = child.prev;
 		}
-		return child;
+		if (last == child) last = child.prev;
+		child.parent = null;
+		if (size > 0) size--;
+		if (index != null) index.remove(child);
+	}
+
+	/** Returns the index of the children, building it if there are enough children and it does not exist yet.
+	 * @return May be null. */
+	private Index index () {
+		if (index == null) {
+			if (size == -1) size = size();
+			if (size >= indexThreshold) index = new Index(this);
+		}
+		return index;
 	}
 
 	/** Returns this number of children in the array or object. */
@@ -410,6 +426,7 @@ public class JsonValue {
 
 	public void setName (String name) {
 		this.name = name;
+		if (parent != null) parent.index = null;
 	}
 
 	/** Returns the first child for this object or array.
@@ -419,19 +436,25 @@ public class JsonValue {
 	}
 
 	public void addChild (JsonValue newChild) {
-		JsonValue current = child;
-		if (current == null) {
-			child = newChild;
-			return;
-		}
-		while (true) {
-			if (current.next == null) {
-				current.next = newChild;
-				newChild.prev = current;
-				return;
+		JsonValue last = this.last;
+		if (last == null) {
+			// The children were changed with setNext or setPrev, find the last child.
+			size = 0;
+			for (JsonValue current = child; current != null; current = current.next) {
+				last = current;
+				size++;
 			}
-			current = current.next;
 		}
+		if (last == null)
+			child = newChild;
+		else {
+			last.next = newChild;
+			newChild.prev = last;
+		}
+		this.last = newChild;
+		newChild.parent = this;
+		size++;
+		if (index != null) index.add(newChild);
 	}
 
 	/** Returns the next sibling of this value.
@@ -440,8 +463,12 @@ public class JsonValue {
 		return next;
 	}
 
+	/** Sets the next sibling of this value. The parent's index of its children is discarded and rebuilt when next needed. */
 	public void setNext (JsonValue next) {
 		this.next = next;
+		if (parent == null) return;
+		parent.siblingsChanged();
+		if (next != null) next.parent = parent;
 	}
 
 	/** Returns the previous sibling of this value.
@@ -450,8 +477,19 @@ public class JsonValue {
 		return prev;
 	}
 
+	/** Sets the previous sibling of this value. The parent's index of its children is discarded and rebuilt when next needed. */
 	public void setPrev (JsonValue prev) {
 		this.prev = prev;
+		if (parent == null) return;
+		parent.siblingsChanged();
+		if (prev != null) prev.parent = parent;
+	}
+
+	/** Forgets the index, last child, and size, which are found again when next needed. */
+	private void siblingsChanged () {
+		index = null;
+		last = null;
+		size = -1;
 	}
 
 	/** @param value May be null. */
@@ -568,6 +606,131 @@ public class JsonValue {
 			buffer.append('\t');
 	}
 
+	/** Provides lookup of the children of a large object or array by index and by name. Names are compared ignoring case, and
+	 * the first child is found when several have the same name, the same as walking the children. */
+	static private class Index {
+		JsonValue[] children;
+		int size;
+		JsonValue[] table;
+		int mask;
+		boolean duplicates;
+
+		Index (JsonValue parent) {
+			int size = 0;
+			for (JsonValue child = parent.child; child != null; child = child.next)
+				size++;
+			children = new JsonValue[Math.max(size, 8)];
+			table = new JsonValue[MathUtils.nextPowerOfTwo(Math.max(size, 8) * 2)];
+			mask = table.length - 1;
+			for (JsonValue child = parent.child; child != null; child = child.next)
+				add(child);
+			parent.size = size;
+		}
+
+		JsonValue get (int index) {
+			if (index < 0 || index >= size) return null;
+			return children[index];
+		}
+
+		JsonValue get (String name) {
+			if (name == null) return null;
+			JsonValue[] table = this.table;
+			int mask = this.mask;
+			for (int i = hash(name) & mask;; i = (i + 1) & mask) {
+				JsonValue child = table[i];
+				if (child == null) return null;
+				if (child.name.equalsIgnoreCase(name)) return child;
+			}
+		}
+
+		void add (JsonValue child) {
+			if (size == children.length) {
+				JsonValue[] newChildren = new JsonValue[size * 2];
+				System.arraycopy(children, 0, newChildren, 0, size);
+				children = newChildren;
+			}
+			if (child.name != null && (size + 1) * 2 > table.length) resize(table.length * 2);
+			children[size++] = child;
+			if (child.name != null && !put(child)) duplicates = true;
+		}
+
+		void remove (JsonValue child) {
+			JsonValue[] children = this.children;
+			for (int i = 0, n = size; i < n; i++) {
+				if (children[i] != child) continue;
+				System.arraycopy(children, i + 1, children, i, n - i - 1);
+				children[--size] = null;
+				break;
+			}
+			if (child.name == null) return;
+			if (!removeKey(child)) return;
+			if (!duplicates) return;
+			// Another child with the same name may now be the first one.
+			for (int i = 0, n = size; i < n; i++) {
+				JsonValue other = children[i];
+				if (other.name != null && other.name.equalsIgnoreCase(child.name)) {
+					put(other);
+					break;
+				}
+			}
+		}
+
+		/** @return false if a child with the same name is already in the table. */
+		private boolean put (JsonValue child) {
+			JsonValue[] table = this.table;
+			int mask = this.mask;
+			for (int i = hash(child.name) & mask;; i = (i + 1) & mask) {
+				JsonValue other = table[i];
+				if (other == null) {
+					table[i] = child;
+					return true;
+				}
+				if (other.name.equalsIgnoreCase(child.name)) return false;
+			}
+		}
+
+		/** @return false if the child was not in the table. */
+		private boolean removeKey (JsonValue child) {
+			JsonValue[] table = this.table;
+			int mask = this.mask;
+			int i = hash(child.name) & mask;
+			while (true) {
+				JsonValue other = table[i];
+				if (other == null) return false;
+				if (other == child) break;
+				i = (i + 1) & mask;
+			}
+			// Shift back entries that were displaced past the removed entry, so lookups do not stop early.
+			table[i] = null;
+			for (int next = (i + 1) & mask;; next = (next + 1) & mask) {
+				JsonValue other = table[next];
+				if (other == null) return true;
+				int ideal = hash(other.name) & mask;
+				if (((next - ideal) & mask) >= ((next - i) & mask)) {
+					table[i] = other;
+					table[next] = null;
+					i = next;
+				}
+			}
+		}
+
+		private void resize (int capacity) {
+			table = new JsonValue[capacity];
+			mask = capacity - 1;
+			JsonValue[] children = this.children;
+			for (int i = 0, n = size; i < n; i++)
+				if (children[i].name != null) put(children[i]);
+		}
+
+		/** Returns a hash that is the same for names that are equal ignoring case. */
+		static private int hash (String name) {
+			int h = 0;
+			for (int i = 0, n = name.length(); i < n; i++)
+				h = 31 * h + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+			return h ^ h >>> 16;
+		}
+	}
+
 	public enum ValueType {
 		object, array, stringValue, doubleValue, longValue, booleanValue, nullValue
 	}
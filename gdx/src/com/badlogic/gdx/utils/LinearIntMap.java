@@ -0,0 +1,525 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** An unordered map that uses int keys. This implementation uses open addressing with linear probing and backward shift deletion.
+ * Unlike {@link IntMap}, a put never pushes other keys around or rehashes to a larger table before the load factor is reached, so
+ * the cost of a put is bounded by the length of the probe sequence. Null values are allowed. No allocation is done except when
+ * growing the table size. The API is the same as {@link IntMap}. <br>
+ * <br>
+ * Keys are spread with Fibonacci hashing, so keys that only differ in their higher bits, such as aligned native addresses, do
+ * not collide. Lower load factors give shorter probe sequences at the cost of memory. Load factors above 0.9 are not
+ * recommended. */
+public class LinearIntMap<V> {
+	private static final int EMPTY = 0;
+
+	public int size;
+
+	int[] keyTable;
+	V[] valueTable;
+	V zeroValue;
+	boolean hasZeroValue;
+
+	private final float loadFactor;
+	private int shift, mask, threshold;
+
+	private Entries entries1, entries2;
+	private Values values1, values2;
+	private Keys keys1, keys2;
+
+	/** Creates a new map with an initial capacity of 32 and a load factor of 0.7. This map will hold 22 items before growing the
+	 * backing table. */
+	public LinearIntMap () {
+		this(32, 0.7f);
+	}
+
+	/** Creates a new map with a load factor of 0.7. This map will hold initialCapacity * 0.7 items before growing the backing
+	 * table. */
+	public LinearIntMap (int initialCapacity) {
+		this(initialCapacity, 0.7f);
+	}
+
+	/** Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity * loadFactor items
+	 * before growing the backing table.
+	 * @param loadFactor Must be > 0 and < 1. */
+	public LinearIntMap (int initialCapacity, float loadFactor) {
+		if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+		if (initialCapacity > 1 << 30) throw new IllegalArgumentException("initialCapacity is too large: " + initialCapacity);
+		if (loadFactor <= 0 || loadFactor >= 1) throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+		this.loadFactor = loadFactor;
+
+		int capacity = Math.max(2, MathUtils.nextPowerOfTwo(initialCapacity));
+		setCapacity(capacity);
+		keyTable = new int[capacity];
+		valueTable = (V[])new Object[capacity];
+	}
+
+	private void setCapacity (int capacity) {
+		threshold = (int)(capacity * loadFactor);
+		mask = capacity - 1;
+		shift = 64 - Integer.numberOfTrailingZeros(capacity);
+	}
+
+	/** Returns the index of the table where the search for the key starts. Keys that differ only in their lowest 3 bits start in the
+	 * same group of 8 adjacent slots, so consecutive keys are close together in memory. */
+	int place (int key) {
+		return ((int)((key >>> 3) * 0x9E3779B97F4A7C15L >>> shift) ^ ((int)key & 7)) & mask;
+	}
+
+	public V put (int key, V value) {
+		if (key == 0) {
+			V oldValue = zeroValue;
+			zeroValue = value;
+			if (!hasZeroValue) {
+				hasZeroValue = true;
+				size++;
+			}
+			return oldValue;
+		}
+
+		int[] keyTable = this.keyTable;
+		int mask = this.mask;
+		for (int i = place(key);; i = (i + 1) & mask) {
+			int other = keyTable[i];
+			if (other == key) {
+				V oldValue = valueTable[i];
+				valueTable[i] = value;
+				return oldValue;
+			}
+			if (other == EMPTY) {
+				keyTable[i] = key;
+				valueTable[i] = value;
+				if (size++ >= threshold) resize(keyTable.length << 1);
+				return null;
+			}
+		}
+	}
+
+	public void putAll (LinearIntMap<V> map) {
+		ensureCapacity(map.size);
+		for (Entry<V> entry : map.entries())
+			put(entry.key, entry.value);
+	}
+
+	/** Skips checks for existing keys. */
+	private void putResize (int key, V value) {
+		int[] keyTable = this.keyTable;
+		int mask = this.mask;
+		int i = place(key);
+		while (keyTable[i] != EMPTY)
+			i = (i + 1) & mask;
+		keyTable[i] = key;
+		valueTable[i] = value;
+	}
+
+	public V get (int key) {
+		return get(key, null);
+	}
+
+	public V get (int key, V defaultValue) {
+		if (key == 0) return hasZeroValue ? zeroValue : defaultValue;
+		int[] keyTable = this.keyTable;
+		int mask = this.mask;
+		for (int i = place(key);; i = (i + 1) & mask) {
+			int other = keyTable[i];
+			if (other == key) return valueTable[i];
+			if (other == EMPTY) return defaultValue;
+		}
+	}
+
+	/** Returns the index of the key in the table, or -1 if it is not in the map. The key must not be 0. */
+	private int locate (int key) {
+		int[] keyTable = this.keyTable;
+		int mask = this.mask;
+		for (int i = place(key);; i = (i + 1) & mask) {
+			int other = keyTable[i];
+			if (other == key) return i;
+			if (other == EMPTY) return -1;
+		}
+	}
+
+	public V remove (int key) {
+		if (key == 0) {
+			if (!hasZeroValue) return null;
+			V oldValue = zeroValue;
+			zeroValue = null;
+			hasZeroValue = false;
+			size--;
+			return oldValue;
+		}
+
+		int index = locate(key);
+		if (index == -1) return null;
+		V oldValue = valueTable[index];
+		removeIndex(index);
+		size--;
+		return oldValue;
+	}
+
+	/** Removes the entry at the index, then moves back the entries after it in the same probe sequence so they can still be found.
+	 * @return The index that was emptied, which is not the removed index if an entry was moved into it. */
+	int removeIndex (int index) {
+		int[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		int mask = this.mask;
+		for (int next = (index + 1) & mask;; next = (next + 1) & mask) {
+			int key = keyTable[next];
+			if (key == EMPTY) break;
+			int placement = place(key);
+			if (((next - placement) & mask) > ((index - placement) & mask)) {
+				keyTable[index] = key;
+				valueTable[index] = valueTable[next];
+				index = next;
+			}
+		}
+		keyTable[index] = EMPTY;
+		valueTable[index] = null;
+		return index;
+	}
+
+	public void clear () {
+		int[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		for (int i = keyTable.length; i-- > 0;) {
+			keyTable[i] = EMPTY;
+			valueTable[i] = null;
+		}
+		size = 0;
+		zeroValue = null;
+		hasZeroValue = false;
+	}
+
+	/** Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may be
+	 * an expensive operation. */
+	public boolean containsValue (Object value, boolean identity) {
+		V[] valueTable = this.valueTable;
+		if (value == null) {
+			if (hasZeroValue && zeroValue == null) return true;
+			int[] keyTable = this.keyTable;
+			for (int i = keyTable.length; i-- > 0;)
+				if (keyTable[i] != EMPTY && valueTable[i] == null) return true;
+		} else if (identity) {
+			if (hasZeroValue && value == zeroValue) return true;
+			for (int i = valueTable.length; i-- > 0;)
+				if (valueTable[i] == value) return true;
+		} else {
+			if (hasZeroValue && value.equals(zeroValue)) return true;
+			for (int i = valueTable.length; i-- > 0;)
+				if (value.equals(valueTable[i])) return true;
+		}
+		return false;
+	}
+
+	public boolean containsKey (int key) {
+		if (key == 0) return hasZeroValue;
+		return locate(key) != -1;
+	}
+
+	/** Returns the key for the specified value, or <tt>notFound</tt> if it is not in the map. Note this traverses the entire map
+	 * and compares every value, which may be an expensive operation.
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *           {@link #equals(Object)}. */
+	public int findKey (Object value, boolean identity, int notFound) {
+		V[] valueTable = this.valueTable;
+		int[] keyTable = this.keyTable;
+		if (value == null) {
+			if (hasZeroValue && zeroValue == null) return 0;
+			for (int i = keyTable.length; i-- > 0;)
+				if (keyTable[i] != EMPTY && valueTable[i] == null) return keyTable[i];
+		} else if (identity) {
+			if (hasZeroValue && value == zeroValue) return 0;
+			for (int i = valueTable.length; i-- > 0;)
+				if (valueTable[i] == value) return keyTable[i];
+		} else {
+			if (hasZeroValue && value.equals(zeroValue)) return 0;
+			for (int i = valueTable.length; i-- > 0;)
+				if (value.equals(valueTable[i])) return keyTable[i];
+		}
+		return notFound;
+	}
+
+	/** Increases the size of the backing array to acommodate the specified number of additional items. Useful before adding many
+	 * items to avoid multiple backing array resizes. */
+	public void ensureCapacity (int additionalCapacity) {
+		int sizeNeeded = size + additionalCapacity;
+		if (sizeNeeded >= threshold) resize(MathUtils.nextPowerOfTwo((int)Math.ceil(sizeNeeded / loadFactor) + 1));
+	}
+
+	private void resize (int newSize) {
+		int[] oldKeyTable = keyTable;
+		V[] oldValueTable = valueTable;
+
+		setCapacity(newSize);
+		keyTable = new int[newSize];
+		valueTable = (V[])new Object[newSize];
+
+		for (int i = 0, n = oldKeyTable.length; i < n; i++) {
+			int key = oldKeyTable[i];
+			if (key != EMPTY) putResize(key, oldValueTable[i]);
+		}
+	}
+
+	public String toString () {
+		if (size == 0) return "[]";
+		StringBuilder buffer = new StringBuilder(32);
+		buffer.append('[');
+		boolean first = true;
+		if (hasZeroValue) {
+			buffer.append("0=");
+			buffer.append(zeroValue);
+			first = false;
+		}
+		int[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		for (int i = keyTable.length; i-- > 0;) {
+			int key = keyTable[i];
+			if (key == EMPTY) continue;
+			if (!first) buffer.append(", ");
+			first = false;
+			buffer.append(key);
+			buffer.append('=');
+			buffer.append(valueTable[i]);
+		}
+		buffer.append(']');
+		return buffer.toString();
+	}
+
+	/** Returns an iterator for the entries in the map. Remove is supported. Note that the same iterator instance is returned each
+	 * time this method is called. Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Entries<V> entries () {
+		if (entries1 == null) {
+			entries1 = new Entries(this);
+			entries2 = new Entries(this);
+		}
+		if (!entries1.valid) {
+			entries1.reset();
+			entries1.valid = true;
+			entries2.valid = false;
+			return entries1;
+		}
+		entries2.reset();
+		entries2.valid = true;
+		entries1.valid = false;
+		return entries2;
+	}
+
+	/** Returns an iterator for the values in the map. Remove is supported. Note that the same iterator instance is returned each
+	 * time this method is called. Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Values<V> values () {
+		if (values1 == null) {
+			values1 = new Values(this);
+			values2 = new Values(this);
+		}
+		if (!values1.valid) {
+			values1.reset();
+			values1.valid = true;
+			values2.valid = false;
+			return values1;
+		}
+		values2.reset();
+		values2.valid = true;
+		values1.valid = false;
+		return values2;
+	}
+
+	/** Returns an iterator for the keys in the map. Remove is supported. Note that the same iterator instance is returned each time
+	 * this method is called. Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Keys keys () {
+		if (keys1 == null) {
+			keys1 = new Keys(this);
+			keys2 = new Keys(this);
+		}
+		if (!keys1.valid) {
+			keys1.reset();
+			keys1.valid = true;
+			keys2.valid = false;
+			return keys1;
+		}
+		keys2.reset();
+		keys2.valid = true;
+		keys1.valid = false;
+		return keys2;
+	}
+
+	static public class Entry<V> {
+		public int key;
+		public V value;
+
+		public String toString () {
+			return key + "=" + value;
+		}
+	}
+
+	static private class MapIterator<V> {
+		static final int INDEX_ILLEGAL = -2;
+		static final int INDEX_ZERO = -1;
+
+		public boolean hasNext;
+
+		final LinearIntMap<V> map;
+		int nextIndex, currentIndex, start;
+		boolean valid = true;
+
+		public MapIterator (LinearIntMap<V> map) {
+			this.map = map;
+			reset();
+		}
+
+		public void reset () {
+			currentIndex = INDEX_ILLEGAL;
+			nextIndex = INDEX_ZERO;
+			// Iteration starts after an empty index, so no probe sequence wraps around the start and removing during iteration
+			// only moves entries that have not been visited yet.
+			int[] keyTable = map.keyTable;
+			int start = 0;
+			while (keyTable[start] != EMPTY)
+				start++;
+			this.start = start;
+			if (map.hasZeroValue)
+				hasNext = true;
+			else
+				findNextIndex();
+		}
+
+		void findNextIndex () {
+			hasNext = false;
+			int[] keyTable = map.keyTable;
+			int mask = map.mask, start = this.start;
+			if (nextIndex == INDEX_ZERO) nextIndex = start;
+			while ((nextIndex = (nextIndex + 1) & mask) != start) {
+				if (keyTable[nextIndex] != EMPTY) {
+					hasNext = true;
+					break;
+				}
+			}
+		}
+
+		public void remove () {
+			if (currentIndex == INDEX_ZERO && map.hasZeroValue) {
+				map.zeroValue = null;
+				map.hasZeroValue = false;
+			} else if (currentIndex < 0) {
+				throw new IllegalStateException("next must be called before remove.");
+			} else {
+				// If a later entry was moved back into the removed index, visit that index again.
+				if (map.removeIndex(currentIndex) != currentIndex) {
+					nextIndex = (currentIndex - 1) & map.mask;
+					findNextIndex();
+				}
+			}
+			currentIndex = INDEX_ILLEGAL;
+			map.size--;
+		}
+	}
+
+	static public class Entries<V> extends MapIterator<V> implements Iterable<Entry<V>>, Iterator<Entry<V>> {
+		private Entry<V> entry = new Entry();
+
+		public Entries (LinearIntMap map) {
+			super(map);
+		}
+
+		/** Note the same entry instance is returned each time this method is called. */
+		public Entry<V> next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			int[] keyTable = map.keyTable;
+			if (nextIndex == INDEX_ZERO) {
+				entry.key = 0;
+				entry.value = map.zeroValue;
+			} else {
+				entry.key = keyTable[nextIndex];
+				entry.value = map.valueTable[nextIndex];
+			}
+			currentIndex = nextIndex;
+			findNextIndex();
+			return entry;
+		}
+
+		public boolean hasNext () {
+			return hasNext;
+		}
+
+		public Iterator<Entry<V>> iterator () {
+			return this;
+		}
+	}
+
+	static public class Values<V> extends MapIterator<V> implements Iterable<V>, Iterator<V> {
+		public Values (LinearIntMap<V> map) {
+			super(map);
+		}
+
+		public boolean hasNext () {
+			return hasNext;
+		}
+
+		public V next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			V value;
+			if (nextIndex == INDEX_ZERO)
+				value = map.zeroValue;
+			else
+				value = map.valueTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return value;
+		}
+
+		public Iterator<V> iterator () {
+			return this;
+		}
+
+		/** Returns a new array containing the remaining values. */
+		public Array<V> toArray () {
+			Array array = new Array(true, map.size);
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+	}
+
+	static public class Keys extends MapIterator {
+		public Keys (LinearIntMap map) {
+			super(map);
+		}
+
+		public int next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			int key = nextIndex == INDEX_ZERO ? 0 : map.keyTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return key;
+		}
+
+		/** Returns a new array containing the remaining values. */
+		public IntArray toArray () {
+			IntArray array = new IntArray(true, map.size);
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+	}
+}
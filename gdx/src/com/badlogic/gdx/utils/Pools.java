@@ -16,22 +16,46 @@
 
 package com.badlogic.gdx.utils;
 
-/** Stores a map of {@link ReflectionPool}s by type for convenient static access.
+/** Stores a map of {@link Pool}s by type for convenient static access. The map may be used from multiple threads, but the
+ * {@link ReflectionPool}s it creates by default are not synchronized. A type that is obtained and freed on multiple threads should
+ * {@link #set(Class, Pool) use} a ConcurrentPool.
  * @author Nathan Sweet */
 public class Pools {
-	static private final ObjectMap<Class, ReflectionPool> typePools = new ObjectMap();
+	// Replaced rather than modified, so it can be read without synchronization.
+	static private volatile ObjectMap<Class, Pool> typePools = new ObjectMap();
 
-	/** Returns a new or existing pool for the specified type, stored in a a Class to {@link ReflectionPool} map. The max size of
-	 * the pool used is 100. */
+	/** Returns a new or existing pool for the specified type, stored in a a Class to {@link Pool} map. If no pool has been set for
+	 * the type, a {@link ReflectionPool} is used with a max size of 100. */
 	static public <T> Pool<T> get (Class<T> type) {
-		ReflectionPool pool = typePools.get(type);
+		Pool pool = typePools.get(type);
 		if (pool == null) {
-			pool = new ReflectionPool(type, 4, 100);
-			typePools.put(type, pool);
+			synchronized (Pools.class) {
+				pool = typePools.get(type);
+				if (pool == null) {
+					pool = new ReflectionPool(type, 4, 100);
+					put(type, pool);
+				}
+			}
 		}
 		return pool;
 	}
 
+	/** Sets the pool used for the specified type, replacing any existing pool. This should be done before the type is used. */
+	static public <T> void set (Class<T> type, Pool<T> pool) {
+		if (type == null) throw new IllegalArgumentException("type cannot be null.");
+		if (pool == null) throw new IllegalArgumentException("pool cannot be null.");
+		synchronized (Pools.class) {
+			put(type, pool);
+		}
+	}
+
+	static private void put (Class type, Pool pool) {
+		ObjectMap<Class, Pool> typePools = new ObjectMap(Pools.typePools.size + 1);
+		typePools.putAll(Pools.typePools);
+		typePools.put(type, pool);
+		Pools.typePools = typePools;
+	}
+
 	/** Obtains an object from the {@link #get(Class) pool}. */
 	static public <T> T obtain (Class<T> type) {
 		return (T)get(type).obtain();
@@ -40,7 +64,7 @@ public class Pools {
 	/** Frees an object from the {@link #get(Class) pool}. */
 	static public void free (Object object) {
 		if (object == null) throw new IllegalArgumentException("object cannot be null.");
-		ReflectionPool pool = typePools.get(object.getClass());
+		Pool pool = typePools.get(object.getClass());
 		if (pool == null) return; // Ignore freeing an object that was never retained.
 		pool.free(object);
 	}
@@ -50,8 +74,8 @@ public class Pools {
 		if (objects == null) throw new IllegalArgumentException("objects cannot be null.");
 		for (int i = 0, n = objects.size; i < n; i++) {
 			Object object = objects.get(i);
-			ReflectionPool pool = typePools.get(object.getClass());
-			if (pool == null) return; // Ignore freeing an object that was never retained.
+			Pool pool = typePools.get(object.getClass());
+			if (pool == null) continue; // Ignore freeing an object that was never retained.
 			pool.free(object);
 		}
 	}
@@ -13,19 +13,27 @@
 
 package com.badlogic.gdx.utils;
 
+import java.util.Arrays;
 import java.util.Comparator;
 
 /** Provides methods to sort arrays of objects. Sorting requires working memory and this class allows that memory to be reused to
  * avoid allocation. The sorting is otherwise identical to the Arrays.sort methods (uses timsort).<br>
  * <br>
  * Note that sorting primitive arrays with the Arrays.sort methods does not allocate memory (unless sorting large arrays of char,
- * short, or byte).
+ * short, or byte).<br>
+ * <br>
+ * Int, long and float arrays can also be sorted with a radix sort, and objects can be sorted by int, long or float keys computed
+ * once beforehand rather than by a comparator that computes them on every comparison. These sorts are stable.
  * @author Nathan Sweet */
 public class Sort {
 	static private Sort instance;
+	static private final int insertionSortThreshold = 48, radixSortThreshold = 512;
 
 	private TimSort timSort;
 	private ComparableTimSort comparableTimSort;
+	private int[] intKeys, intBuffer, counts;
+	private long[] longBuffer;
+	private Object[] objectBuffer;
 
 	public <T> void sort (Array<T> a) {
 		if (comparableTimSort == null) comparableTimSort = new ComparableTimSort();
@@ -57,6 +65,277 @@ public class Sort {
 		timSort.doSort(a, c, fromIndex, toIndex);
 	}
 
+	/** Sorts the range of the array in ascending order. Large ranges use a radix sort. */
+	public void sort (int[] a, int fromIndex, int toIndex) {
+		checkRange(a.length, fromIndex, toIndex);
+		if (toIndex - fromIndex < radixSortThreshold) {
+			Arrays.sort(a, fromIndex, toIndex);
+			return;
+		}
+		flipSigns(a, fromIndex, toIndex);
+		radixSort(a, fromIndex, null, 0, toIndex - fromIndex);
+		flipSigns(a, fromIndex, toIndex);
+	}
+
+	/** Sorts the range of the array in ascending order. Large ranges use a radix sort. */
+	public void sort (long[] a, int fromIndex, int toIndex) {
+		checkRange(a.length, fromIndex, toIndex);
+		if (toIndex - fromIndex < radixSortThreshold) {
+			Arrays.sort(a, fromIndex, toIndex);
+			return;
+		}
+		flipSigns(a, fromIndex, toIndex);
+		radixSort(a, fromIndex, null, 0, toIndex - fromIndex);
+		flipSigns(a, fromIndex, toIndex);
+	}
+
+	/** Sorts the range of the array in ascending order, using the same order as {@link Arrays#sort(float[])}. Large ranges use a
+	 * radix sort. */
+	public void sort (float[] a, int fromIndex, int toIndex) {
+		checkRange(a.length, fromIndex, toIndex);
+		if (toIndex - fromIndex < radixSortThreshold) {
+			Arrays.sort(a, fromIndex, toIndex);
+			return;
+		}
+		sort(null, a, fromIndex, toIndex);
+	}
+
+	/** Sorts the items by the key at the same index, in ascending order of the keys. The keys are sorted along with the items. The
+	 * sort is stable. */
+	public <T> void sort (Array<T> items, IntArray keys) {
+		if (keys.size != items.size)
+			throw new IllegalArgumentException("keys size must equal items size: " + keys.size + " != " + items.size);
+		sort(items.items, keys.items, 0, items.size);
+	}
+
+	/** Sorts the items by the key at the same index, in ascending order of the keys. The keys are sorted along with the items. The
+	 * sort is stable. */
+	public <T> void sort (Array<T> items, LongArray keys) {
+		if (keys.size != items.size)
+			throw new IllegalArgumentException("keys size must equal items size: " + keys.size + " != " + items.size);
+		sort(items.items, keys.items, 0, items.size);
+	}
+
+	/** Sorts the items by the key at the same index, in ascending order of the keys. The keys are sorted along with the items. The
+	 * sort is stable. */
+	public <T> void sort (Array<T> items, FloatArray keys) {
+		if (keys.size != items.size)
+			throw new IllegalArgumentException("keys size must equal items size: " + keys.size + " != " + items.size);
+		sort(items.items, keys.items, 0, items.size);
+	}
+
+	/** Sorts the range of the items by the key at the same index, in ascending order of the keys. The keys are sorted along with
+	 * the items. The sort is stable. */
+	public <T> void sort (T[] items, int[] keys, int fromIndex, int toIndex) {
+		checkRange(Math.min(items.length, keys.length), fromIndex, toIndex);
+		flipSigns(keys, fromIndex, toIndex);
+		radixSort(keys, fromIndex, items, fromIndex, toIndex - fromIndex);
+		flipSigns(keys, fromIndex, toIndex);
+	}
+
+	/** Sorts the range of the items by the key at the same index, in ascending order of the keys. The keys are sorted along with
+	 * the items. The sort is stable. */
+	public <T> void sort (T[] items, long[] keys, int fromIndex, int toIndex) {
+		checkRange(Math.min(items.length, keys.length), fromIndex, toIndex);
+		flipSigns(keys, fromIndex, toIndex);
+		radixSort(keys, fromIndex, items, fromIndex, toIndex - fromIndex);
+		flipSigns(keys, fromIndex, toIndex);
+	}
+
+	/** Sorts the range of the items by the key at the same index, in ascending order of the keys. The keys are sorted along with
+	 * the items using the same order as {@link Arrays#sort(float[])}. The sort is stable.
+	 * @param items May be null to only sort the keys. */
+	public <T> void sort (T[] items, float[] keys, int fromIndex, int toIndex) {
+		checkRange(items == null ? keys.length : Math.min(items.length, keys.length), fromIndex, toIndex);
+		int n = toIndex - fromIndex;
+		// Map the floats to ints that have the same order when compared as unsigned.
+		int[] bits = intKeys;
+		if (bits == null || bits.length < n) intKeys = bits = new int[Math.max(n, (int)(n * 1.5f))];
+		for (int i = 0; i < n; i++) {
+			int value = NumberUtils.floatToIntBits(keys[fromIndex + i]);
+			bits[i] = value ^ (value >> 31 | 0x80000000);
+		}
+		radixSort(bits, 0, items, fromIndex, n);
+		for (int i = 0; i < n; i++) {
+			int value = bits[i];
+			keys[fromIndex + i] = NumberUtils.intBitsToFloat(value < 0 ? value ^ 0x80000000 : ~value);
+		}
+	}
+
+	/** Sorts keys[keyIndex..keyIndex + n) as unsigned ints using a least significant digit radix sort, moving
+	 * items[itemIndex..itemIndex + n) along with them if items is not null. The sort is stable. */
+	private void radixSort (int[] keys, int keyIndex, Object[] items, int itemIndex, int n) {
+		if (n < insertionSortThreshold) {
+			for (int i = 1; i < n; i++) {
+				int key = keys[keyIndex + i], unsigned = key ^ 0x80000000;
+				Object item = items == null ? null : items[itemIndex + i];
+				int j = i - 1;
+				for (; j >= 0 && (keys[keyIndex + j] ^ 0x80000000) > unsigned; j--) {
+					keys[keyIndex + j + 1] = keys[keyIndex + j];
+					if (items != null) items[itemIndex + j + 1] = items[itemIndex + j];
+				}
+				keys[keyIndex + j + 1] = key;
+				if (items != null) items[itemIndex + j + 1] = item;
+			}
+			return;
+		}
+
+		// Count the digits of all 4 passes at once.
+		int[] counts = this.counts;
+		if (counts == null) this.counts = counts = new int[256 * 8];
+		Arrays.fill(counts, 0, 256 * 4, 0);
+		for (int i = keyIndex, end = keyIndex + n; i < end; i++) {
+			int key = keys[i];
+			counts[key & 0xff]++;
+			counts[256 + (key >>> 8 & 0xff)]++;
+			counts[512 + (key >>> 16 & 0xff)]++;
+			counts[768 + (key >>> 24)]++;
+		}
+
+		int[] buffer = intBuffer;
+		if (buffer == null || buffer.length < n) intBuffer = buffer = new int[Math.max(n, (int)(n * 1.5f))];
+		Object[] itemBuffer = items == null ? null : objectBuffer(n);
+		int[] srcKeys = keys, dstKeys = buffer;
+		Object[] srcItems = items, dstItems = itemBuffer;
+		int srcKeyIndex = keyIndex, srcItemIndex = itemIndex, dstKeyIndex = 0, dstItemIndex = 0;
+		for (int shift = 0, base = 0; shift < 32; shift += 8, base += 256) {
+			// Skip digits that are the same for all keys.
+			if (counts[base + (srcKeys[srcKeyIndex] >>> shift & 0xff)] == n) continue;
+			for (int i = base, end = base + 256, offset = 0; i < end; i++) {
+				int count = counts[i];
+				counts[i] = offset;
+				offset += count;
+			}
+			if (items == null) {
+				for (int i = srcKeyIndex, end = srcKeyIndex + n; i < end; i++) {
+					int key = srcKeys[i];
+					dstKeys[dstKeyIndex + counts[base + (key >>> shift & 0xff)]++] = key;
+				}
+			} else {
+				for (int i = 0; i < n; i++) {
+					int key = srcKeys[srcKeyIndex + i];
+					int index = counts[base + (key >>> shift & 0xff)]++;
+					dstKeys[dstKeyIndex + index] = key;
+					dstItems[dstItemIndex + index] = srcItems[srcItemIndex + i];
+				}
+			}
+			int[] keysTemp = srcKeys;
+			srcKeys = dstKeys;
+			dstKeys = keysTemp;
+			Object[] itemsTemp = srcItems;
+			srcItems = dstItems;
+			dstItems = itemsTemp;
+			int temp = srcKeyIndex;
+			srcKeyIndex = dstKeyIndex;
+			dstKeyIndex = temp;
+			temp = srcItemIndex;
+			srcItemIndex = dstItemIndex;
+			dstItemIndex = temp;
+		}
+		if (srcKeys != keys) {
+			System.arraycopy(srcKeys, 0, keys, keyIndex, n);
+			if (items != null) System.arraycopy(srcItems, 0, items, itemIndex, n);
+		}
+		if (itemBuffer != null) Arrays.fill(itemBuffer, 0, n, null);
+	}
+
+	/** Sorts keys[keyIndex..keyIndex + n) as unsigned longs using a least significant digit radix sort, moving
+	 * items[itemIndex..itemIndex + n) along with them if items is not null. The sort is stable. */
+	private void radixSort (long[] keys, int keyIndex, Object[] items, int itemIndex, int n) {
+		if (n < insertionSortThreshold) {
+			for (int i = 1; i < n; i++) {
+				long key = keys[keyIndex + i], unsigned = key ^ Long.MIN_VALUE;
+				Object item = items == null ? null : items[itemIndex + i];
+				int j = i - 1;
+				for (; j >= 0 && (keys[keyIndex + j] ^ Long.MIN_VALUE) > unsigned; j--) {
+					keys[keyIndex + j + 1] = keys[keyIndex + j];
+					if (items != null) items[itemIndex + j + 1] = items[itemIndex + j];
+				}
+				keys[keyIndex + j + 1] = key;
+				if (items != null) items[itemIndex + j + 1] = item;
+			}
+			return;
+		}
+
+		// Count the digits of all 8 passes at once.
+		int[] counts = this.counts;
+		if (counts == null) this.counts = counts = new int[256 * 8];
+		Arrays.fill(counts, 0);
+		for (int i = keyIndex, end = keyIndex + n; i < end; i++) {
+			long key = keys[i];
+			for (int shift = 0, base = 0; shift < 64; shift += 8, base += 256)
+				counts[base + (int)(key >>> shift & 0xff)]++;
+		}
+
+		long[] buffer = longBuffer;
+		if (buffer == null || buffer.length < n) longBuffer = buffer = new long[Math.max(n, (int)(n * 1.5f))];
+		Object[] itemBuffer = items == null ? null : objectBuffer(n);
+		long[] srcKeys = keys, dstKeys = buffer;
+		Object[] srcItems = items, dstItems = itemBuffer;
+		int srcKeyIndex = keyIndex, srcItemIndex = itemIndex, dstKeyIndex = 0, dstItemIndex = 0;
+		for (int shift = 0, base = 0; shift < 64; shift += 8, base += 256) {
+			// Skip digits that are the same for all keys.
+			if (counts[base + (int)(srcKeys[srcKeyIndex] >>> shift & 0xff)] == n) continue;
+			for (int i = base, end = base + 256, offset = 0; i < end; i++) {
+				int count = counts[i];
+				counts[i] = offset;
+				offset += count;
+			}
+			if (items == null) {
+				for (int i = srcKeyIndex, end = srcKeyIndex + n; i < end; i++) {
+					long key = srcKeys[i];
+					dstKeys[dstKeyIndex + counts[base + (int)(key >>> shift & 0xff)]++] = key;
+				}
+			} else {
+				for (int i = 0; i < n; i++) {
+					long key = srcKeys[srcKeyIndex + i];
+					int index = counts[base + (int)(key >>> shift & 0xff)]++;
+					dstKeys[dstKeyIndex + index] = key;
+					dstItems[dstItemIndex + index] = srcItems[srcItemIndex + i];
+				}
+			}
+			long[] keysTemp = srcKeys;
+			srcKeys = dstKeys;
+			dstKeys = keysTemp;
+			Object[] itemsTemp = srcItems;
+			srcItems = dstItems;
+			dstItems = itemsTemp;
+			int temp = srcKeyIndex;
+			srcKeyIndex = dstKeyIndex;
+			dstKeyIndex = temp;
+			temp = srcItemIndex;
+			srcItemIndex = dstItemIndex;
+			dstItemIndex = temp;
+		}
+		if (srcKeys != keys) {
+			System.arraycopy(srcKeys, 0, keys, keyIndex, n);
+			if (items != null) System.arraycopy(srcItems, 0, items, itemIndex, n);
+		}
+		if (itemBuffer != null) Arrays.fill(itemBuffer, 0, n, null);
+	}
+
+	private Object[] objectBuffer (int n) {
+		Object[] buffer = objectBuffer;
+		if (buffer == null || buffer.length < n) objectBuffer = buffer = new Object[Math.max(n, (int)(n * 1.5f))];
+		return buffer;
+	}
+
+	static private void flipSigns (int[] a, int fromIndex, int toIndex) {
+		for (int i = fromIndex; i < toIndex; i++)
+			a[i] ^= 0x80000000;
+	}
+
+	static private void flipSigns (long[] a, int fromIndex, int toIndex) {
+		for (int i = fromIndex; i < toIndex; i++)
+			a[i] ^= Long.MIN_VALUE;
+	}
+
+	static private void checkRange (int length, int fromIndex, int toIndex) {
+		if (fromIndex > toIndex) throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+		if (fromIndex < 0) throw new ArrayIndexOutOfBoundsException(fromIndex);
+		if (toIndex > length) throw new ArrayIndexOutOfBoundsException(toIndex);
+	}
+
 	/** Returns a Sort instance for convenience. Multiple threads must not use this instance at the same time. */
 	static public Sort instance () {
 		if (instance == null) instance = new Sort();
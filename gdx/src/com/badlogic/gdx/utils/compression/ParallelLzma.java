@@ -0,0 +1,414 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils.compression;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.compression.lzma.Decoder;
+import com.badlogic.gdx.utils.compression.lzma.Encoder;
+
+/** Compresses data with LZMA in independent blocks that are encoded and decoded on multiple threads. Each block is compressed
+ * on its own, so the ratio is a little worse than {@link Lzma} for data that has matches further apart than the block size. The
+ * output is not compatible with {@link Lzma}.
+ * <p>
+ * The encoders and decoders, including the large match finder buffers, are reused by later calls. Input can be given as a
+ * stream, a channel, a buffer or a file, which is memory mapped when possible. At most twice as many blocks as threads are held
+ * in memory at once. Not available on GWT. */
+public class ParallelLzma implements Disposable {
+	static private final int magic = 0x4c5a4d42;
+
+	private final int blockSize;
+	private final int threads;
+	private final ExecutorService threadPool;
+	private final Array<Encoder> encoders = new Array();
+	private final Array<Decoder> decoders = new Array();
+
+	/** Creates an instance with a block size of 4MB and a thread for each processor. */
+	public ParallelLzma () {
+		this(Runtime.getRuntime().availableProcessors(), 1 << 22);
+	}
+
+	/** @param blockSize The number of uncompressed bytes in each block. Larger blocks compress better but need more memory, about 11
+	 *           bytes per byte of block size for each encoder. */
+	public ParallelLzma (int threads, int blockSize) {
+		if (threads < 1) throw new IllegalArgumentException("threads must be > 0: " + threads);
+		if (blockSize < 1 << 12 || blockSize > 1 << 28)
+			throw new IllegalArgumentException("blockSize must be >= 4096 and <= 268435456: " + blockSize);
+		this.threads = threads;
+		this.blockSize = blockSize;
+		threadPool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+			public Thread newThread (Runnable runnable) {
+				Thread thread = new Thread(runnable, "ParallelLzma");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/** Compresses the stream until its end. The streams are not closed. */
+	public void compress (InputStream in, OutputStream out) throws IOException {
+		DataOutputStream output = new DataOutputStream(out);
+		writeHeader(output);
+		ArrayDeque<Future<Block>> pending = new ArrayDeque();
+		try {
+			while (true) {
+				byte[] bytes = new byte[blockSize];
+				int length = 0;
+				while (length < blockSize) {
+					int count = in.read(bytes, length, blockSize - length);
+					if (count == -1) break;
+					length += count;
+				}
+				if (length == 0) break;
+				submitCompress(pending, output, new ArrayInput(bytes, 0, length), length);
+				if (length < blockSize) break;
+			}
+			finish(pending, output);
+		} finally {
+			cancel(pending);
+		}
+	}
+
+	/** Compresses the channel until its end. The channel and stream are not closed. */
+	public void compress (ReadableByteChannel in, OutputStream out) throws IOException {
+		compress(Channels.newInputStream(in), out);
+	}
+
+	/** Compresses the bytes from the buffer's position to its limit, without copying them to the Java heap first. The buffer's
+	 * position is left at its limit. The stream is not closed. */
+	public void compress (ByteBuffer in, OutputStream out) throws IOException {
+		DataOutputStream output = new DataOutputStream(out);
+		writeHeader(output);
+		ArrayDeque<Future<Block>> pending = new ArrayDeque();
+		try {
+			while (in.hasRemaining()) {
+				int length = Math.min(blockSize, in.remaining());
+				ByteBuffer block = in.slice();
+				block.limit(length);
+				in.position(in.position() + length);
+				submitCompress(pending, output, new BufferInput(block), length);
+			}
+			finish(pending, output);
+		} finally {
+			cancel(pending);
+		}
+	}
+
+	/** Compresses the file, memory mapping it when it is on the file system. The stream is not closed. */
+	public void compress (FileHandle in, OutputStream out) throws IOException {
+		File file = in.type() == FileType.Classpath ? null : in.file();
+		if (file == null || !file.isFile()) {
+			InputStream input = in.read();
+			try {
+				compress(input, out);
+			} finally {
+				input.close();
+			}
+			return;
+		}
+		RandomAccessFile input = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = input.getChannel();
+			long size = channel.size();
+			// A mapping is limited to 2GB, larger files are read as a stream.
+			if (size <= Integer.MAX_VALUE)
+				compress(channel.map(MapMode.READ_ONLY, 0, size), out);
+			else
+				compress(Channels.newInputStream(channel), out);
+		} finally {
+			input.close();
+		}
+	}
+
+	/** Decompresses data written by one of the compress methods. The streams are not closed. */
+	public void decompress (InputStream in, OutputStream out) throws IOException {
+		DataInputStream input = new DataInputStream(in);
+		if (input.readInt() != magic) throw new GdxRuntimeException("Not a ParallelLzma stream.");
+		final byte[] properties = new byte[Encoder.kPropSize];
+		input.readFully(properties);
+		int blockSize = input.readInt();
+		if (blockSize < 1 << 12 || blockSize > 1 << 28) throw new GdxRuntimeException("Invalid ParallelLzma block size: " + blockSize);
+		// LZMA expands incompressible data by a small fraction.
+		int maxCompressedLength = blockSize + (blockSize >> 1) + 1024;
+		ArrayDeque<Future<Block>> pending = new ArrayDeque();
+		try {
+			while (true) {
+				final int length = input.readInt();
+				if (length == 0) break;
+				int compressedLength = input.readInt();
+				if (length < 0 || length > blockSize || compressedLength < 0 || compressedLength > maxCompressedLength) {
+					throw new GdxRuntimeException("Invalid ParallelLzma block, length: " + length + ", compressed length: "
+						+ compressedLength + ", block size: " + blockSize);
+				}
+				final byte[] compressed = new byte[compressedLength];
+				input.readFully(compressed);
+				if (pending.size() == threads * 2) writeBlock(pending.removeFirst(), out);
+				pending.addLast(threadPool.submit(new Callable<Block>() {
+					public Block call () throws Exception {
+						Decoder decoder = obtainDecoder(properties);
+						try {
+							ArrayOutput output = new ArrayOutput(length);
+							if (!decoder.Code(new ArrayInput(compressed, 0, compressed.length), output, length) || output.size != length)
+								throw new GdxRuntimeException("Error in data stream");
+							return new Block(output.bytes, length);
+						} finally {
+							freeDecoder(decoder);
+						}
+					}
+				}));
+			}
+			while (!pending.isEmpty())
+				writeBlock(pending.removeFirst(), out);
+		} catch (EOFException ex) {
+			throw new GdxRuntimeException("ParallelLzma stream is truncated.", ex);
+		} finally {
+			cancel(pending);
+		}
+	}
+
+	private void writeHeader (DataOutputStream output) throws IOException {
+		output.writeInt(magic);
+		Encoder encoder = obtainEncoder();
+		try {
+			encoder.WriteCoderProperties(output);
+		} finally {
+			freeEncoder(encoder);
+		}
+		output.writeInt(blockSize);
+	}
+
+	private void submitCompress (ArrayDeque<Future<Block>> pending, DataOutputStream output, final InputStream block,
+		final int length) throws IOException {
+		if (pending.size() == threads * 2) writeFrame(pending.removeFirst(), output);
+		pending.addLast(threadPool.submit(new Callable<Block>() {
+			public Block call () throws Exception {
+				Encoder encoder = obtainEncoder();
+				try {
+					ArrayOutput output = new ArrayOutput(length / 2 + 64);
+					encoder.Code(block, output, -1, -1, null);
+					Block result = new Block(output.bytes, output.size);
+					result.uncompressedLength = length;
+					return result;
+				} finally {
+					freeEncoder(encoder);
+				}
+			}
+		}));
+	}
+
+	private void finish (ArrayDeque<Future<Block>> pending, DataOutputStream output) throws IOException {
+		while (!pending.isEmpty())
+			writeFrame(pending.removeFirst(), output);
+		output.writeInt(0);
+		output.flush();
+	}
+
+	private void writeFrame (Future<Block> future, DataOutputStream output) throws IOException {
+		Block block = get(future);
+		output.writeInt(block.uncompressedLength);
+		output.writeInt(block.length);
+		output.write(block.bytes, 0, block.length);
+	}
+
+	private void writeBlock (Future<Block> future, OutputStream output) throws IOException {
+		Block block = get(future);
+		output.write(block.bytes, 0, block.length);
+	}
+
+	private Block get (Future<Block> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException ex) {
+			throw new GdxRuntimeException(ex);
+		} catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException) throw (IOException)cause;
+			if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+			throw new GdxRuntimeException(cause);
+		}
+	}
+
+	private void cancel (ArrayDeque<Future<Block>> pending) {
+		while (!pending.isEmpty())
+			pending.removeFirst().cancel(false);
+	}
+
+	private Encoder obtainEncoder () {
+		synchronized (encoders) {
+			if (encoders.size > 0) return encoders.pop();
+		}
+		Encoder encoder = new Encoder();
+		// The same settings as Lzma, except that the dictionary does not need to be larger than a block.
+		int dictionarySize = 1 << 12;
+		while (dictionarySize < blockSize && dictionarySize < 1 << 23)
+			dictionarySize <<= 1;
+		encoder.SetAlgorithm(2);
+		encoder.SetDictionarySize(dictionarySize);
+		encoder.SetNumFastBytes(128);
+		encoder.SetMatchFinder(1);
+		encoder.SetLcLpPb(3, 0, 2);
+		encoder.SetEndMarkerMode(false);
+		return encoder;
+	}
+
+	private void freeEncoder (Encoder encoder) {
+		synchronized (encoders) {
+			encoders.add(encoder);
+		}
+	}
+
+	private Decoder obtainDecoder (byte[] properties) {
+		Decoder decoder;
+		synchronized (decoders) {
+			decoder = decoders.size > 0 ? decoders.pop() : new Decoder();
+		}
+		if (!decoder.SetDecoderProperties(properties)) throw new GdxRuntimeException("Incorrect stream properties");
+		return decoder;
+	}
+
+	private void freeDecoder (Decoder decoder) {
+		synchronized (decoders) {
+			decoders.add(decoder);
+		}
+	}
+
+	/** Stops the threads and releases the encoders and decoders. */
+	public void dispose () {
+		threadPool.shutdown();
+		synchronized (encoders) {
+			encoders.clear();
+		}
+		synchronized (decoders) {
+			decoders.clear();
+		}
+	}
+
+	static private class Block {
+		final byte[] bytes;
+		final int length;
+		int uncompressedLength;
+
+		Block (byte[] bytes, int length) {
+			this.bytes = bytes;
+			this.length = length;
+		}
+	}
+
+	/** An unsynchronized stream over a byte array. The range decoder reads one byte at a time, so this is noticeably faster than
+	 * ByteArrayInputStream. */
+	static private class ArrayInput extends InputStream {
+		private final byte[] bytes;
+		private int position;
+		private final int end;
+
+		ArrayInput (byte[] bytes, int offset, int length) {
+			this.bytes = bytes;
+			position = offset;
+			end = offset + length;
+		}
+
+		public int read () {
+			return position < end ? bytes[position++] & 0xff : -1;
+		}
+
+		public int read (byte[] b, int offset, int length) {
+			if (position == end) return -1;
+			length = Math.min(length, end - position);
+			System.arraycopy(bytes, position, b, offset, length);
+			position += length;
+			return length;
+		}
+
+		public int available () {
+			return end - position;
+		}
+	}
+
+	static private class BufferInput extends InputStream {
+		private final ByteBuffer buffer;
+
+		BufferInput (ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		public int read () {
+			return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+		}
+
+		public int read (byte[] b, int offset, int length) {
+			if (!buffer.hasRemaining()) return -1;
+			length = Math.min(length, buffer.remaining());
+			buffer.get(b, offset, length);
+			return length;
+		}
+
+		public int available () {
+			return buffer.remaining();
+		}
+	}
+
+	/** An unsynchronized, growable stream into a byte array. The range encoder writes one byte at a time. */
+	static private class ArrayOutput extends OutputStream {
+		byte[] bytes;
+		int size;
+
+		ArrayOutput (int capacity) {
+			bytes = new byte[Math.max(16, capacity)];
+		}
+
+		public void write (int b) {
+			if (size == bytes.length) grow(size + 1);
+			bytes[size++] = (byte)b;
+		}
+
+		public void write (byte[] b, int offset, int length) {
+			if (size + length > bytes.length) grow(size + length);
+			System.arraycopy(b, offset, bytes, size, length);
+			size += length;
+		}
+
+		private void grow (int capacity) {
+			byte[] newBytes = new byte[Math.max(capacity, (int)(bytes.length * 1.75f))];
+			System.arraycopy(bytes, 0, newBytes, 0, size);
+			bytes = newBytes;
+		}
+	}
+}
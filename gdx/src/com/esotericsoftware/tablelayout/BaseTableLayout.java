@@ -30,6 +30,7 @@ package com.esotericsoftware.tablelayout;
 import com.esotericsoftware.tablelayout.Value.FixedValue;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 
 // BOZO - Support inserting cells/rows.
@@ -57,6 +58,10 @@ abstract public class BaseTableLayout<C, T extends C, L extends BaseTableLayout,
 	private Cell rowDefaults;
 
 	private boolean sizeInvalid = true;
+	private boolean incremental;
+	private final ArrayList<Cell> invalidCells = new ArrayList(4);
+	private final IdentityHashMap<Object, Cell> widgetToCell = new IdentityHashMap();
+	private int[] rowStart;
 	private float[] columnMinWidth, rowMinHeight;
 	private float[] columnPrefWidth, rowPrefHeight;
 	private float tableMinWidth, tableMinHeight;
@@ -79,6 +84,38 @@ abstract public class BaseTableLayout<C, T extends C, L extends BaseTableLayout,
 		sizeInvalid = true;
 	}
 
+	/** Invalidates the layout because the min, pref, or max size of the specified widget may have changed. If possible, only the
+	 * row and column of the widget's cell are recalculated, otherwise this is the same as {@link #invalidate()}. */
+	public void invalidate (C widget) {
+		if (sizeInvalid) return;
+		Cell cell = incremental ? widgetToCell.get(widget) : null;
+		if (cell == null || cell.widget != widget || !isFixed(cell)) {
+			invalidate();
+			return;
+		}
+		if (cell.sizeInvalid) return;
+		cell.sizeInvalid = true;
+		invalidCells.add(cell);
+	}
+
+	/** Returns true if the padding and spacing of the cell does not depend on its widget. */
+	private boolean isFixed (Cell c) {
+		return isFixed(c.padTop) && isFixed(c.padLeft) && isFixed(c.padBottom) && isFixed(c.padRight) && isFixed(c.spaceTop)
+			&& isFixed(c.spaceLeft) && isFixed(c.spaceBottom) && isFixed(c.spaceRight);
+	}
+
+	private boolean isFixed (Value value) {
+		return value == null || value == Value.zero || value instanceof FixedValue;
+	}
+
+	/** Returns true if the value is fixed or is a size of the cell's own widget. A widget reports a change to its size with
+	 * {@link #invalidate(Object)}, so these values can be computed once per size computation and reused by {@link #layout()}. Other
+	 * values, such as a percentage of another widget's size, may change in between and are evaluated each time. */
+	private boolean isCached (Value value) {
+		return isFixed(value) || value == Value.minWidth || value == Value.minHeight || value == Value.prefWidth
+			|| value == Value.prefHeight || value == Value.maxWidth || value == Value.maxHeight;
+	}
+
 	/** Invalidates the layout of this table and every parent widget. */
 	abstract public void invalidateHierarchy ();
 
@@ -182,6 +219,7 @@ abstract public class BaseTableLayout<C, T extends C, L extends BaseTableLayout,
 			if (widget != null) toolkit.removeChild(table, (C)widget);
 		}
 		cells.clear();
+		widgetToCell.clear();
 		rows = 0;
 		columns = 0;
 		rowDefaults = null;
@@ -218,25 +256,25 @@ abstract public class BaseTableLayout<C, T extends C, L extends BaseTableLayout,
 
 	/** The minimum width of the table. */
 	public float getMinWidth () {
-		if (sizeInvalid) computeSize();
+		if (sizeInvalid || invalidCells.size() > 0) computeSize();
 		return tableMinWidth;
 	}
 
 	/** The minimum size of the table. */
 	public float getMinHeight () {
-		if (sizeInvalid) computeSize();
+		if (sizeInvalid || invalidCells.size() > 0) computeSize();
 		return tableMinHeight;
 	}
 
 	/** The preferred width of the table. */
 	public float getPrefWidth () {
-		if (sizeInvalid) computeSize();
+		if (sizeInvalid || invalidCells.size() > 0) computeSize();
 		return tablePrefWidth;
 	}
 
 	/** The preferred height of the table. */
 	public float getPrefHeight () {
-		if (sizeInvalid) computeSize();
+		if (sizeInvalid || invalidCells.size() > 0) computeSize();
 		return tablePrefHeight;
 	}
 
@@ -509,7 +547,14 @@ abstract public class BaseTableLayout<C, T extends C, L extends BaseTableLayout,
 	}
 
 	private void computeSize () {
+		if (!sizeInvalid) {
+			computeInvalidCells();
+			return;
+		}
 		sizeInvalid = false;
+		for (int i = 0, n = invalidCells.size(); i < n; i++)
+			invalidCells.get(i).sizeInvalid = false;
+		invalidCells.clear();
 
 		Toolkit toolkit = this.toolkit;
 		ArrayList<Cell> cells = this.cells;
@@ -520,8 +565,6 @@ abstract public class BaseTableLayout<C, T extends C, L extends BaseTableLayout,
 		rowMinHeight = ensureSize(rowMinHeight, rows);
 		columnPrefWidth = ensureSize(columnPrefWidth, columns);
 		rowPrefHeight = ensureSize(rowPrefHeight, rows);
-		columnWidth = ensureSize(columnWidth, columns);
-		rowHeight = ensureSize(rowHeight, rows);
 		expandWidth = ensureSize(expandWidth, columns);
 		expandHeight = ensureSize(expandHeight, rows);
 
@@ -548,25 +591,16 @@ abstract public class BaseTableLayout<C, T extends C, L extends BaseTableLayout,
 			spaceRightLast = spaceRight;
 
 			// Determine minimum and preferred cell sizes.
-			float prefWidth = w(c.prefWidth, c);
-			float prefHeight = h(c.prefHeight, c);
-			float minWidth = w(c.minWidth, c);
-			float minHeight = h(c.minHeight, c);
-			float maxWidth = w(c.maxWidth, c);
-			float maxHeight = h(c.maxHeight, c);
-			if (prefWidth < minWidth) prefWidth = minWidth;
-			if (prefHeight < minHeight) prefHeight = minHeight;
-			if (maxWidth > 0 && prefWidth > maxWidth) prefWidth = maxWidth;
-			if (maxHeight > 0 && prefHeight > maxHeight) prefHeight = maxHeight;
+			computeCellSize(c);
 
 			if (c.colspan == 1) { // Spanned column min and pref width is added later.
 				float hpadding = c.computedPadLeft + c.computedPadRight;
-				columnPrefWidth[c.column] = Math.max(columnPrefWidth[c.column], prefWidth + hpadding);
-				columnMinWidth[c.column] = Math.max(columnMinWidth[c.column], minWidth + hpadding);
+				columnPrefWidth[c.column] = Math.max(columnPrefWidth[c.column], c.computedPrefWidth + hpadding);
+				columnMinWidth[c.column] = Math.max(columnMinWidth[c.column], c.computedMinWidth + hpadding);
 			}
 			float vpadding = c.computedPadTop + c.computedPadBottom;
-			rowPrefHeight[c.row] = Math.max(rowPrefHeight[c.row], prefHeight + vpadding);
-			rowMinHeight[c.row] = Math.max(rowMinHeight[c.row], minHeight + vpadding);
+			rowPrefHeight[c.row] = Math.max(rowPrefHeight[c.row], c.computedPrefHeight + vpadding);
+			rowMinHeight[c.row] = Math.max(rowMinHeight[c.row], c.computedMinHeight + vpadding);
 		}
 
 		// Colspan with expand will expand all spanned columns if none of the spanned columns have expand.
@@ -585,11 +619,8 @@ abstract public class BaseTableLayout<C, T extends C, L extends BaseTableLayout,
 			Cell c = cells.get(i);
 			if (c.ignore || c.colspan == 1) continue;
 
-			float minWidth = w(c.minWidth, c);
-			float prefWidth = w(c.prefWidth, c);
-			float maxWidth = w(c.maxWidth, c);
-			if (prefWidth < minWidth) prefWidth = minWidth;
-			if (maxWidth > 0 && prefWidth > maxWidth) prefWidth = maxWidth;
+			float minWidth = c.computedMinWidth;
+			float prefWidth = c.computedPrefWidth;
 
 			float spannedMinWidth = 0, spannedPrefWidth = 0;
 			for (int column = c.column, nn = column + c.colspan; column < nn; column++) {
@@ -649,7 +680,103 @@ abstract public class BaseTableLayout<C, T extends C, L extends BaseTableLayout,
 			}
 		}
 
-		// Determine table min and pref size.
+		computeTableSize();
+
+		// Cache what is needed to recompute only the rows and columns of invalidated cells. This is only done when each cell's
+		// width affects only its own column.
+		incremental = true;
+		widgetToCell.clear();
+		int[] rowStart = this.rowStart;
+		if (rowStart == null || rowStart.length < rows + 1) this.rowStart = rowStart = new int[rows + 1];
+		for (int i = 0; i <= rows; i++)
+			rowStart[i] = cells.size();
+		for (int i = 0, n = cells.size(); i < n; i++) {
+			Cell c = cells.get(i);
+			if (i == 0 || cells.get(i - 1).endRow) rowStart[c.row] = i;
+			if (c.widget != null) widgetToCell.put(c.widget, c);
+			if (c.colspan != 1 || c.uniformX == Boolean.TRUE || c.uniformY == Boolean.TRUE || !c.sizeCached) incremental = false;
+		}
+	}
+
+	/** Computes the min, pref, and max size of the cell's widget. */
+	private void computeCellSize (Cell c) {
+		c.sizeCached = isCached(c.minWidth) && isCached(c.minHeight) && isCached(c.prefWidth) && isCached(c.prefHeight)
+			&& isCached(c.maxWidth) && isCached(c.maxHeight);
+		float prefWidth = w(c.prefWidth, c);
+		float prefHeight = h(c.prefHeight, c);
+		float minWidth = w(c.minWidth, c);
+		float minHeight = h(c.minHeight, c);
+		float maxWidth = w(c.maxWidth, c);
+		float maxHeight = h(c.maxHeight, c);
+		if (prefWidth < minWidth) prefWidth = minWidth;
+		if (prefHeight < minHeight) prefHeight = minHeight;
+		if (maxWidth > 0 && prefWidth > maxWidth) prefWidth = maxWidth;
+		if (maxHeight > 0 && prefHeight > maxHeight) prefHeight = maxHeight;
+		c.computedMinWidth = minWidth;
+		c.computedMinHeight = minHeight;
+		c.computedPrefWidth = prefWidth;
+		c.computedPrefHeight = prefHeight;
+		c.computedMaxWidth = maxWidth;
+		c.computedMaxHeight = maxHeight;
+	}
+
+	/** Recomputes the size of each invalidated cell and, if that changed, the size of its row and column. */
+	private void computeInvalidCells () {
+		ArrayList<Cell> invalidCells = this.invalidCells;
+		boolean changed = false;
+		for (int i = 0, n = invalidCells.size(); i < n; i++) {
+			Cell c = invalidCells.get(i);
+			c.sizeInvalid = false;
+			if (c.ignore) continue;
+			float minWidth = c.computedMinWidth, prefWidth = c.computedPrefWidth;
+			float minHeight = c.computedMinHeight, prefHeight = c.computedPrefHeight;
+			computeCellSize(c);
+			if (c.computedMinWidth != minWidth || c.computedPrefWidth != prefWidth) {
+				computeColumnSize(c.column);
+				changed = true;
+			}
+			if (c.computedMinHeight != minHeight || c.computedPrefHeight != prefHeight) {
+				computeRowSize(c.row);
+				changed = true;
+			}
+		}
+		invalidCells.clear();
+		if (changed) computeTableSize();
+	}
+
+	private void computeColumnSize (int column) {
+		ArrayList<Cell> cells = this.cells;
+		int[] rowStart = this.rowStart;
+		float minWidth = 0, prefWidth = 0;
+		for (int row = 0; row < rows; row++) {
+			int index = rowStart[row] + column;
+			if (index >= rowStart[row + 1]) continue;
+			Cell c = cells.get(index);
+			if (c.ignore) continue;
+			float hpadding = c.computedPadLeft + c.computedPadRight;
+			prefWidth = Math.max(prefWidth, c.computedPrefWidth + hpadding);
+			minWidth = Math.max(minWidth, c.computedMinWidth + hpadding);
+		}
+		columnMinWidth[column] = minWidth;
+		columnPrefWidth[column] = prefWidth;
+	}
+
+	private void computeRowSize (int row) {
+		ArrayList<Cell> cells = this.cells;
+		float minHeight = 0, prefHeight = 0;
+		for (int i = rowStart[row], n = rowStart[row + 1]; i < n; i++) {
+			Cell c = cells.get(i);
+			if (c.ignore) continue;
+			float vpadding = c.computedPadTop + c.computedPadBottom;
+			prefHeight = Math.max(prefHeight, c.computedPrefHeight + vpadding);
+			minHeight = Math.max(minHeight, c.computedMinHeight + vpadding);
+		}
+		rowMinHeight[row] = minHeight;
+		rowPrefHeight[row] = prefHeight;
+	}
+
+	/** Determines the table min and pref size from the column and row sizes. */
+	private void computeTableSize () {
 		tableMinWidth = 0;
 		tableMinHeight = 0;
 		tablePrefWidth = 0;
@@ -676,7 +803,10 @@ abstract public class BaseTableLayout<C, T extends C, L extends BaseTableLayout,
 		Toolkit toolkit = this.toolkit;
 		ArrayList<Cell> cells = this.cells;
 
-		if (sizeInvalid) computeSize();
+		if (sizeInvalid || invalidCells.size() > 0) computeSize();
+
+		float[] columnWidth = this.columnWidth = ensureSize(this.columnWidth, columns);
+		float[] rowHeight = this.rowHeight = ensureSize(this.rowHeight, rows);
 
 		float hpadding = w(padLeft) + w(padRight);
 		float vpadding = h(padTop) + h(padBottom);
@@ -732,16 +862,19 @@ abstract public class BaseTableLayout<C, T extends C, L extends BaseTableLayout,
 				spannedWeightedWidth += columnWeightedWidth[column];
 			float weightedHeight = rowWeightedHeight[c.row];
 
-			float prefWidth = w(c.prefWidth, c);
-			float prefHeight = h(c.prefHeight, c);
-			float minWidth = w(c.minWidth, c);
-			float minHeight = h(c.minHeight, c);
-			float maxWidth = w(c.maxWidth, c);
-			float maxHeight = h(c.maxHeight, c);
-			if (prefWidth < minWidth) prefWidth = minWidth;
-			if (prefHeight < minHeight) prefHeight = minHeight;
-			if (maxWidth > 0 && prefWidth > maxWidth) prefWidth = maxWidth;
-			if (maxHeight > 0 && prefHeight > maxHeight) prefHeight = maxHeight;
+			float prefWidth = c.computedPrefWidth, prefHeight = c.computedPrefHeight;
+			if (!c.sizeCached) {
+				prefWidth = w(c.prefWidth, c);
+				prefHeight = h(c.prefHeight, c);
+				float minWidth = w(c.minWidth, c);
+				float minHeight = h(c.minHeight, c);
+				float maxWidth = w(c.maxWidth, c);
+				float maxHeight = h(c.maxHeight, c);
+				if (prefWidth < minWidth) prefWidth = minWidth;
+				if (prefHeight < minHeight) prefHeight = minHeight;
+				if (maxWidth > 0 && prefWidth > maxWidth) prefWidth = maxWidth;
+				if (maxHeight > 0 && prefHeight > maxHeight) prefHeight = maxHeight;
+			}
 
 			c.widgetWidth = Math.min(spannedWeightedWidth - c.computedPadLeft - c.computedPadRight, prefWidth);
 			c.widgetHeight = Math.min(weightedHeight - c.computedPadTop - c.computedPadBottom, prefHeight);
@@ -835,12 +968,12 @@ abstract public class BaseTableLayout<C, T extends C, L extends BaseTableLayout,
 
 			if (c.fillX > 0) {
 				c.widgetWidth = spannedCellWidth * c.fillX;
-				float maxWidth = w(c.maxWidth, c);
+				float maxWidth = c.sizeCached ? c.computedMaxWidth : w(c.maxWidth, c);
 				if (maxWidth > 0) c.widgetWidth = Math.min(c.widgetWidth, maxWidth);
 			}
 			if (c.fillY > 0) {
 				c.widgetHeight = rowHeight[c.row] * c.fillY - c.computedPadTop - c.computedPadBottom;
-				float maxHeight = h(c.maxHeight, c);
+				float maxHeight = c.sizeCached ? c.computedMaxHeight : h(c.maxHeight, c);
 				if (maxHeight > 0) c.widgetHeight = Math.min(c.widgetHeight, maxHeight);
 			}
 
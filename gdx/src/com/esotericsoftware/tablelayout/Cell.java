@@ -55,6 +55,8 @@ public class Cell<C> {
 	int column, row;
 	int cellAboveIndex = -1;
 	float computedPadTop, computedPadLeft, computedPadBottom, computedPadRight;
+	float computedMinWidth, computedMinHeight, computedPrefWidth, computedPrefHeight, computedMaxWidth, computedMaxHeight;
+	boolean sizeInvalid, sizeCached;
 
 	Cell (BaseTableLayout layout) {
 		this.layout = layout;
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Checks that {@link InputEventQueue} delivers events in the order they were added with their values and times, that with
+ * coalescing a run of moves or of one pointer's drags is delivered as its latest event while any other kind of event ends the
+ * run, that {@link InputEventQueue#addAll(InputEventQueue)} coalesces the same way, and the counters of the last drain. Run with
+ * the gdx classes on the classpath, no backend is needed. */
+public class InputEventQueueTest {
+	public static void main (String[] args) {
+		order();
+		coalescing();
+		addAll();
+		System.out.println("Passed.");
+	}
+
+	static void order () {
+		InputEventQueue queue = new InputEventQueue();
+		queue.keyDown(Input.Keys.A, 1);
+		queue.keyTyped('a', 2);
+		queue.mouseMoved(10, 20, 3);
+		queue.mouseMoved(11, 21, 4);
+		queue.touchDown(1, 2, 0, Input.Buttons.LEFT, 5);
+		queue.touchDragged(3, 4, 0, 6);
+		queue.touchDragged(5, 6, 0, 7);
+		queue.touchUp(5, 6, 0, Input.Buttons.LEFT, Long.MAX_VALUE - 1);
+		queue.scrolled(-1, -8);
+		queue.keyUp(Input.Keys.A, 1L << 40);
+		// More events than the initial capacity.
+		for (int i = 0; i < 100; i++)
+			queue.mouseMoved(i, -i, 100 + i);
+		if (queue.getType(1) != InputEventQueue.KEY_TYPED || queue.getCharacter(1) != 'a')
+			throw new GdxRuntimeException("Event 1 read back wrong.");
+		if (queue.getTime(7) != Long.MAX_VALUE - 1 || queue.getButton(7) != Input.Buttons.LEFT)
+			throw new GdxRuntimeException("Event 7 read back wrong.");
+
+		Recorder recorder = new Recorder();
+		Array<String> expected = new Array<String>();
+		expected.addAll(new String[] {"keyDown " + Input.Keys.A + " @1", "keyTyped a @2", "mouseMoved 10,20 @3", "mouseMoved 11,21 @4",
+			"touchDown 1,2,0,0 @5", "touchDragged 3,4,0 @6", "touchDragged 5,6,0 @7", "touchUp 5,6,0,0 @" + (Long.MAX_VALUE - 1),
+			"scrolled -1 @-8", "keyUp " + Input.Keys.A + " @" + (1L << 40)});
+		for (int i = 0; i < 100; i++)
+			expected.add("mouseMoved " + i + "," + -i + " @" + (100 + i));
+		drain(queue, recorder, expected);
+		counters(queue, 110, 110, 0);
+		if (queue.size() != 0) throw new GdxRuntimeException("Queue not empty after drain.");
+	}
+
+	static void coalescing () {
+		InputEventQueue queue = new InputEventQueue();
+		queue.setCoalesceMoves(true);
+		queue.mouseMoved(1, 1, 1);
+		queue.mouseMoved(2, 2, 2);
+		queue.mouseMoved(3, 3, 3);
+		queue.keyDown(Input.Keys.B, 4);
+		queue.mouseMoved(4, 4, 5);
+		queue.touchDragged(10, 10, 0, 6);
+		queue.touchDragged(20, 20, 1, 7);
+		queue.touchDragged(11, 11, 0, 8);
+		queue.touchDragged(21, 21, 1, 9);
+		// A move after a drag is not merged with the move before it.
+		queue.mouseMoved(5, 5, 10);
+		queue.touchDown(0, 0, 2, 0, 11);
+		queue.touchDragged(12, 12, 0, 12);
+		queue.touchDragged(13, 13, 0, 13);
+
+		Recorder recorder = new Recorder();
+		Array<String> expected = new Array<String>();
+		expected.addAll(new String[] {"mouseMoved 3,3 @3", "keyDown " + Input.Keys.B + " @4", "mouseMoved 4,4 @5",
+			"touchDragged 11,11,0 @8", "touchDragged 21,21,1 @9", "mouseMoved 5,5 @10", "touchDown 0,0,2,0 @11",
+			"touchDragged 13,13,0 @13"});
+		drain(queue, recorder, expected);
+		counters(queue, 13, 8, 5);
+
+		// The runs don't continue across a drain.
+		queue.mouseMoved(6, 6, 14);
+		if (queue.size() != 1) throw new GdxRuntimeException("Move merged into a drained event.");
+		queue.setCoalesceMoves(false);
+		queue.mouseMoved(7, 7, 15);
+		if (queue.size() != 2) throw new GdxRuntimeException("Move merged with coalescing disabled.");
+		queue.clear();
+	}
+
+	static void addAll () {
+		InputEventQueue source = new InputEventQueue(), target = new InputEventQueue();
+		target.setCoalesceMoves(true);
+		source.mouseMoved(1, 1, 1);
+		source.mouseMoved(2, 2, 2);
+		source.scrolled(3, 3);
+		source.touchDragged(4, 4, 0, 4);
+		source.touchDragged(5, 5, 0, 5);
+		target.mouseMoved(0, 0, 0);
+		target.addAll(source);
+		Array<String> expected = new Array<String>();
+		expected.addAll(new String[] {"mouseMoved 2,2 @2", "scrolled 3 @3", "touchDragged 5,5,0 @5"});
+		drain(target, new Recorder(), expected);
+		counters(target, 6, 3, 3);
+		if (source.size() != 5) throw new GdxRuntimeException("Source changed by addAll.");
+	}
+
+	static void drain (InputEventQueue queue, Recorder recorder, Array<String> expected) {
+		recorder.queue = queue;
+		recorder.events.clear();
+		queue.drain(recorder);
+		if (!recorder.events.equals(expected))
+			throw new GdxRuntimeException("Delivered:\n" + recorder.events.toString("\n") + "\nExpected:\n" + expected.toString("\n"));
+	}
+
+	static void counters (InputEventQueue queue, int added, int delivered, int coalesced) {
+		if (queue.getEventsAdded() != added || queue.getEventsDelivered() != delivered || queue.getEventsCoalesced() != coalesced)
+			throw new GdxRuntimeException("Added, delivered, coalesced: " + queue.getEventsAdded() + ", " + queue.getEventsDelivered()
+				+ ", " + queue.getEventsCoalesced() + ", expected: " + added + ", " + delivered + ", " + coalesced);
+	}
+
+	/** Records each event with the queue's current event time. */
+	static class Recorder implements InputProcessor {
+		final Array<String> events = new Array<String>();
+		InputEventQueue queue;
+
+		void record (String event) {
+			events.add(event + " @" + queue.getCurrentEventTime());
+		}
+
+		public boolean keyDown (int keycode) {
+			record("keyDown " + keycode);
+			return true;
+		}
+
+		public boolean keyUp (int keycode) {
+			record("keyUp " + keycode);
+			return true;
+		}
+
+		public boolean keyTyped (char character) {
+			record("keyTyped " + character);
+			return true;
+		}
+
+		public boolean touchDown (int screenX, int screenY, int pointer, int button) {
+			record("touchDown " + screenX + "," + screenY + "," + pointer + "," + button);
+			return true;
+		}
+
+		public boolean touchUp (int screenX, int screenY, int pointer, int button) {
+			record("touchUp " + screenX + "," + screenY + "," + pointer + "," + button);
+			return true;
+		}
+
+		public boolean touchDragged (int screenX, int screenY, int pointer) {
+			record("touchDragged " + screenX + "," + screenY + "," + pointer);
+			return true;
+		}
+
+		public boolean mouseMoved (int screenX, int screenY) {
+			record("mouseMoved " + screenX + "," + screenY);
+			return true;
+		}
+
+		public boolean scrolled (int amount) {
+			record("scrolled " + amount);
+			return true;
+		}
+	}
+}
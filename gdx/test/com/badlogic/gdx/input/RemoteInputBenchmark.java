@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.input;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Sends key events from a {@link RemoteSender} to a {@link RemoteInput} over localhost and reports the events per second, then
+ * sends one event at a time and reports the latency from sending it to its delivery on the rendering thread. Runs with events
+ * written one at a time, as for an older receiver, and with frames of several sizes. Fails if an event is lost or delivered
+ * out of order. Run with the gdx classes on the classpath, no backend is needed. */
+public class RemoteInputBenchmark {
+	static final int events = 100000, pings = 2000;
+
+	static final LinkedBlockingQueue<Runnable> runnables = new LinkedBlockingQueue<Runnable>();
+
+	public static void main (String[] args) throws Exception {
+		// The rendering thread is this thread, which runs the posted runnables.
+		Gdx.app = proxy(Application.class, new InvocationHandler() {
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				if (method.getName().equals("postRunnable")) runnables.add((Runnable)args[0]);
+				return null;
+			}
+		});
+		Gdx.input = proxy(Input.class, null);
+		Gdx.graphics = proxy(Graphics.class, new InvocationHandler() {
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				if (method.getName().equals("getWidth")) return 640;
+				if (method.getName().equals("getHeight")) return 480;
+				return null;
+			}
+		});
+
+		// Warm up, then measure.
+		for (int round = 0; round < 2; round++) {
+			run(round == 1, "one at a time", 0, 1);
+			for (int frameEvents : new int[] {1, 16, 256})
+				run(round == 1, "frames of " + frameEvents, 1000, frameEvents);
+		}
+	}
+
+	static void run (boolean print, String name, int handshakeTimeout, int frameEvents) throws Exception {
+		ServerSocket free = new ServerSocket(0);
+		int port = free.getLocalPort();
+		free.close();
+		RemoteInput input = new RemoteInput(port);
+		final long[] sent = new long[events + pings];
+		final long[] latencies = new long[events + pings];
+		final int[] delivered = new int[1];
+		input.setInputProcessor(new InputAdapter() {
+			public boolean keyDown (int keycode) {
+				if (keycode != delivered[0]) throw new GdxRuntimeException("Event " + keycode + " delivered, expected: " + delivered[0]);
+				latencies[keycode] = System.nanoTime() - sent[keycode];
+				delivered[0]++;
+				return true;
+			}
+		});
+
+		RemoteSender sender = new RemoteSender("localhost", port, handshakeTimeout);
+		if (!sender.isConnected()) throw new GdxRuntimeException("Not connected.");
+		long start = System.nanoTime();
+		for (int i = 0; i < events; i++) {
+			sent[i] = System.nanoTime();
+			sender.keyDown(i);
+			if ((i + 1) % frameEvents == 0) {
+				sender.sendUpdate();
+				runRunnables(0);
+			}
+		}
+		sender.sendUpdate();
+		waitFor(name, delivered, events);
+		long time = System.nanoTime() - start;
+
+		for (int i = events; i < events + pings; i++) {
+			sent[i] = System.nanoTime();
+			sender.keyDown(i);
+			sender.sendUpdate();
+			waitFor(name, delivered, i + 1);
+		}
+		if (!print) return;
+
+		long[] pingLatencies = Arrays.copyOfRange(latencies, events, events + pings);
+		Arrays.sort(pingLatencies);
+		System.out.printf("%s: %.0f events/s, latency median %.1f us, 99%% %.1f us%n", name, events / (time / 1e9),
+			pingLatencies[pings / 2] / 1e3f, pingLatencies[pings * 99 / 100] / 1e3f);
+	}
+
+	static void waitFor (String name, int[] delivered, int count) throws InterruptedException {
+		while (delivered[0] < count)
+			if (!runRunnables(3000)) throw new GdxRuntimeException(name + ": " + (count - delivered[0]) + " events not delivered.");
+	}
+
+	/** Runs the posted runnables, waiting up to the timeout for the first.
+	 * @return false if none was posted. */
+	static boolean runRunnables (long timeout) throws InterruptedException {
+		Runnable runnable = runnables.poll(timeout, TimeUnit.MILLISECONDS);
+		if (runnable == null) return false;
+		while (runnable != null) {
+			runnable.run();
+			runnable = runnables.poll();
+		}
+		return true;
+	}
+
+	/** Returns a proxy whose methods return the handler's result, or 0 or false for primitives when it returns null. */
+	static <T> T proxy (Class<T> type, final InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(RemoteInputBenchmark.class.getClassLoader(), new Class[] {type},
+			new InvocationHandler() {
+				public Object invoke (Object proxy, Method method, Object[] args) throws Throwable {
+					Object result = handler == null ? null : handler.invoke(proxy, method, args);
+					if (result != null) return result;
+					Class<?> returnType = method.getReturnType();
+					if (returnType == boolean.class) return false;
+					if (returnType == float.class) return 0f;
+					if (returnType == int.class) return 0;
+					if (returnType == long.class) return 0L;
+					return null;
+				}
+			}));
+	}
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.net;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Net.HttpMethods;
+import com.badlogic.gdx.Net.HttpRequest;
+import com.badlogic.gdx.Net.HttpResponse;
+import com.badlogic.gdx.Net.HttpResponseListener;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/** Sends requests to an in-process HTTP server. Fails if more requests per host wait for a response than allowed, if a streamed
+ * response keeps its host's slot until the rendering thread gets to its listener, or if idle hosts are not forgotten. Run with
+ * the gdx classes on the classpath, no backend is needed. */
+public class NetJavaImplTest {
+	static final int requests = 40, largeDelay = 500;
+
+	static final LinkedBlockingQueue<Runnable> runnables = new LinkedBlockingQueue<Runnable>();
+	static final AtomicInteger concurrent = new AtomicInteger(), peak = new AtomicInteger();
+	static String url;
+
+	public static void main (String[] args) throws Exception {
+		// The rendering thread is this thread, which runs the posted runnables.
+		Gdx.app = (Application)Proxy.newProxyInstance(NetJavaImplTest.class.getClassLoader(), new Class[] {Application.class},
+			new InvocationHandler() {
+				public Object invoke (Object proxy, Method method, Object[] args) {
+					if (method.getName().equals("postRunnable")) runnables.add((Runnable)args[0]);
+					return null;
+				}
+			});
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/small", new HttpHandler() {
+			public void handle (HttpExchange exchange) throws IOException {
+				int count = concurrent.incrementAndGet();
+				while (true) {
+					int max = peak.get();
+					if (count <= max || peak.compareAndSet(max, count)) break;
+				}
+				sleep(20);
+				concurrent.decrementAndGet();
+				byte[] body = new byte[100];
+				exchange.sendResponseHeaders(200, body.length);
+				OutputStream output = exchange.getResponseBody();
+				output.write(body);
+				output.close();
+			}
+		});
+		server.createContext("/large", new HttpHandler() {
+			public void handle (HttpExchange exchange) throws IOException {
+				// Chunked, so the body is streamed to the listener.
+				exchange.sendResponseHeaders(200, 0);
+				OutputStream output = exchange.getResponseBody();
+				output.write(new byte[1024]);
+				output.flush();
+				sleep(largeDelay);
+				output.write(new byte[1024 * 1024]);
+				output.close();
+			}
+		});
+		server.start();
+		url = "http://127.0.0.1:" + server.getAddress().getPort();
+		try {
+			perHostLimit();
+			streamed();
+		} finally {
+			server.stop(0);
+		}
+		System.out.println("Passed.");
+		System.exit(0);
+	}
+
+	static void perHostLimit () {
+		NetJavaImpl net = new NetJavaImpl(8, 2);
+		final AtomicInteger done = new AtomicInteger();
+		long start = System.nanoTime();
+		for (int i = 0; i < requests; i++) {
+			net.sendHttpRequest(request("/small"), new Listener() {
+				public void handleHttpResponse (HttpResponse response) {
+					if (response.getResult().length != 100) throw new GdxRuntimeException("Wrong body length.");
+					done.incrementAndGet();
+				}
+			});
+		}
+		while (done.get() < requests)
+			runNext();
+		System.out.println(requests + " requests in " + (System.nanoTime() - start) / 1000000 + "ms, at most " + peak.get()
+			+ " at once");
+		if (peak.get() > 2) throw new GdxRuntimeException("More than 2 requests at once for the host: " + peak.get());
+		if (net.getActiveRequests() != 0) throw new GdxRuntimeException("Requests still active: " + net.getActiveRequests());
+		if (net.getHosts() != 0) throw new GdxRuntimeException("Idle hosts are still tracked: " + net.getHosts());
+	}
+
+	static void streamed () {
+		NetJavaImpl net = new NetJavaImpl(4, 1);
+		final long[] listenerTime = new long[1];
+		final AtomicInteger done = new AtomicInteger();
+		net.sendHttpRequest(request("/large"), new Listener() {
+			public void handleHttpResponse (HttpResponse response) {
+				long start = System.nanoTime();
+				try {
+					InputStream input = response.getResultAsStream();
+					byte[] buffer = new byte[1024];
+					for (int read = 0; read < buffer.length;) {
+						int count = input.read(buffer, read, buffer.length - read);
+						if (count == -1) throw new GdxRuntimeException("Body ended early.");
+						read += count;
+					}
+				} catch (IOException ex) {
+					throw new GdxRuntimeException(ex);
+				}
+				listenerTime[0] = System.nanoTime() - start;
+				done.incrementAndGet();
+			}
+		});
+		// The rendering thread is busy and hasn't run the listener yet, but the host's only slot is free.
+		while (runnables.isEmpty())
+			sleep(1);
+		Runnable large = runnables.poll();
+		long start = System.nanoTime();
+		net.sendHttpRequest(request("/small"), new Listener() {
+			public void handleHttpResponse (HttpResponse response) {
+				done.incrementAndGet();
+			}
+		});
+		runNext();
+		long nextTime = System.nanoTime() - start;
+		// The listener returns without reading the rest of the body, which is drained after it returns.
+		large.run();
+		if (done.get() != 2) throw new GdxRuntimeException("Listeners were not called.");
+		System.out.println("Next request for the host " + nextTime / 1000000 + "ms, streamed listener "
+			+ listenerTime[0] / 1000000 + "ms");
+		if (nextTime > largeDelay / 2 * 1000000L)
+			throw new GdxRuntimeException("Next request waited for the streamed body: " + nextTime / 1000000 + "ms");
+		if (listenerTime[0] > largeDelay / 2 * 1000000L)
+			throw new GdxRuntimeException("Streamed listener was blocked: " + listenerTime[0] / 1000000 + "ms");
+		for (int i = 0; i < 100 && net.getHosts() != 0; i++)
+			sleep(10);
+		if (net.getHosts() != 0) throw new GdxRuntimeException("Idle hosts are still tracked: " + net.getHosts());
+	}
+
+	static HttpRequest request (String path) {
+		HttpRequest request = new HttpRequest(HttpMethods.GET);
+		request.setUrl(url + path);
+		request.setTimeOut(5000);
+		return request;
+	}
+
+	static void runNext () {
+		try {
+			Runnable runnable = runnables.poll(5, TimeUnit.SECONDS);
+			if (runnable == null) throw new GdxRuntimeException("Timed out waiting for a response.");
+			runnable.run();
+		} catch (InterruptedException ex) {
+			throw new GdxRuntimeException(ex);
+		}
+	}
+
+	static void sleep (int millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ignored) {
+		}
+	}
+
+	static abstract class Listener implements HttpResponseListener {
+		public void failed (Throwable t) {
+			throw new GdxRuntimeException(t);
+		}
+	}
+}
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.scenes.scene2d;
+
+import static com.badlogic.gdx.scenes.scene2d.actions.Actions.*;
+
+/** Times a group of actors that each run a repeating sequence of temporal and composite actions, which is the workload a batched
+ * action scheduler would have to beat. Run with the gdx classes on the classpath, no backend is needed. */
+public class ActionBenchmark {
+	static final int actors = 20000, warmup = 200, frames = 600, runs = 3;
+
+	public static void main (String[] args) {
+		for (int run = 0; run < runs; run++) {
+			Group root = new Group();
+			for (int i = 0; i < actors; i++) {
+				Actor actor = new Actor();
+				actor.addAction(forever(sequence(moveTo(i % 800, i % 600, 1), parallel(rotateTo(90, 0.5f), alpha(0.5f, 0.5f)),
+					moveBy(5, 5, 0.3f))));
+				root.addActor(actor);
+			}
+			for (int i = 0; i < warmup; i++)
+				root.act(1 / 60f);
+			long start = System.nanoTime();
+			for (int i = 0; i < frames; i++)
+				root.act(1 / 60f);
+			long time = (System.nanoTime() - start) / frames;
+			System.out.printf("%d actors: %.2f ms/frame, %.1f ns/actor%n", actors, time / 1000000f, time / (float)actors);
+		}
+	}
+}
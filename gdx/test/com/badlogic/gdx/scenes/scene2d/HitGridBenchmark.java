@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.scenes.scene2d;
+
+import java.util.Random;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Compares {@link Group#hit(float, float, boolean)} with and without a {@link Group#setHitGrid(float) hit grid} on a group with
+ * many small children, some of them moving and reordered between queries. Fails if the grid returns a different actor than the
+ * linear walk. Run with the gdx classes on the classpath, no backend is needed. */
+public class HitGridBenchmark {
+	static final int children = 10000, queries = 20000, rounds = 5;
+	static final float size = 2000;
+
+	public static void main (String[] args) {
+		Group linear = new Group(), grid = new Group();
+		grid.setHitGrid(40);
+		Random random = new Random(1);
+		for (int i = 0; i < children; i++) {
+			float x = random.nextFloat() * size, y = random.nextFloat() * size, rotation = random.nextInt(4) == 0 ? 30 : 0;
+			linear.addActor(actor(x, y, rotation));
+			grid.addActor(actor(x, y, rotation));
+		}
+		float[] points = new float[queries * 2];
+		for (int i = 0; i < points.length; i++)
+			points[i] = random.nextFloat() * size;
+
+		for (int round = 0; round < rounds; round++) {
+			// Move and reorder some children the same way in both groups.
+			for (int i = 0; i < 100; i++) {
+				int index = random.nextInt(children);
+				float x = random.nextFloat() * size, y = random.nextFloat() * size;
+				linear.getChildren().get(index).setPosition(x, y);
+				grid.getChildren().get(index).setPosition(x, y);
+			}
+			int index = random.nextInt(children);
+			linear.getChildren().get(index).toFront();
+			grid.getChildren().get(index).toFront();
+
+			long linearTime = time(linear, points), gridTime = time(grid, points);
+			for (int i = 0; i < points.length; i += 2) {
+				// The groups hold different actors at the same indices.
+				int expected = linear.getChildren().indexOf(linear.hit(points[i], points[i + 1], true), true);
+				int actual = grid.getChildren().indexOf(grid.hit(points[i], points[i + 1], true), true);
+				if (expected != actual)
+					throw new GdxRuntimeException("Hit mismatch at " + points[i] + "," + points[i + 1] + ": " + expected + " != " + actual);
+			}
+			System.out.printf("round %d: linear %.1f ns/hit, grid %.1f ns/hit%n", round, linearTime / (float)queries,
+				gridTime / (float)queries);
+		}
+	}
+
+	static Actor actor (float x, float y, float rotation) {
+		Actor actor = new Actor();
+		actor.setBounds(x, y, 20, 20);
+		actor.setOrigin(10, 10);
+		actor.setRotation(rotation);
+		return actor;
+	}
+
+	static long time (Group group, float[] points) {
+		long start = System.nanoTime();
+		int hits = 0;
+		for (int i = 0; i < points.length; i += 2)
+			if (group.hit(points[i], points[i + 1], true) != null) hits++;
+		if (hits == -1) System.out.println();
+		return System.nanoTime() - start;
+	}
+}
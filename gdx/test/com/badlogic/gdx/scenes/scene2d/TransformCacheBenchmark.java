@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.scenes.scene2d;
+
+import java.util.Random;
+
+import com.badlogic.gdx.math.Matrix3;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Builds a deep, mostly static tree of transformed groups and moves a few leaves each frame. Times computing the world
+ * transforms of all groups, parents first as drawing does, against rebuilding every matrix, and times
+ * {@link Group#localToStageCoordinates(Vector2)} against walking the parents with
+ * {@link Actor#localToParentCoordinates(Vector2)}. Fails if a cached transform differs from the rebuilt one. Run with the gdx
+ * classes on the classpath, no backend is needed. */
+public class TransformCacheBenchmark {
+	static final int depth = 8, branching = 3, animated = 10, queries = 2000, frames = 200;
+
+	public static void main (String[] args) {
+		Random random = new Random(1);
+		Group root = new Group();
+		Array<Group> groups = new Array<Group>(), leaves = new Array<Group>();
+		groups.add(root);
+		build(root, depth, random, groups, leaves);
+		// Groups are listed parents first.
+		Matrix3[] reference = new Matrix3[groups.size];
+		int[] parents = new int[groups.size];
+		for (int i = 0; i < reference.length; i++) {
+			reference[i] = new Matrix3();
+			parents[i] = groups.indexOf(groups.get(i).getParent(), true);
+		}
+		Matrix3 local = new Matrix3();
+		Vector2 cached = new Vector2(), walked = new Vector2();
+
+		long cachedDraw = 0, rebuiltDraw = 0, cachedQuery = 0, walkedQuery = 0;
+		float maxError = 0;
+		for (int frame = 0; frame < frames; frame++) {
+			for (int i = 0; i < animated; i++) {
+				Group leaf = leaves.get(random.nextInt(leaves.size));
+				leaf.setPosition(random.nextFloat() * 10, random.nextFloat() * 10);
+				leaf.setRotation(random.nextFloat() * 360);
+			}
+
+			long start = System.nanoTime();
+			for (int i = 0, n = groups.size; i < n; i++)
+				groups.get(i).computeTransform();
+			cachedDraw += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0, n = groups.size; i < n; i++) {
+				Group group = groups.get(i);
+				Matrix3 world = reference[i];
+				localTransform(group, local);
+				if (parents[i] != -1)
+					world.set(reference[parents[i]]).mul(local);
+				else
+					world.set(local);
+			}
+			rebuiltDraw += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < queries; i++)
+				leaves.get(i % leaves.size).localToStageCoordinates(cached.set(1, 2));
+			cachedQuery += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int i = 0; i < queries; i++) {
+				Actor actor = leaves.get(i % leaves.size);
+				walked.set(1, 2);
+				for (; actor.getParent() != null; actor = actor.getParent())
+					actor.localToParentCoordinates(walked);
+			}
+			walkedQuery += System.nanoTime() - start;
+
+			for (int i = 0; i < 100; i++) {
+				Group leaf = leaves.get(random.nextInt(leaves.size));
+				leaf.localToStageCoordinates(cached.set(3, 4));
+				Actor actor = leaf;
+				for (walked.set(3, 4); actor.getParent() != null; actor = actor.getParent())
+					actor.localToParentCoordinates(walked);
+				maxError = Math.max(maxError, cached.dst(walked));
+			}
+		}
+		for (int i = 0, n = groups.size; i < n; i++) {
+			float[] a = groups.get(i).computeTransform().val, b = reference[i].val;
+			if (Math.abs(a[0] - b[0]) > 0.001f || Math.abs(a[12] - b[6]) > 0.01f || Math.abs(a[13] - b[7]) > 0.01f)
+				throw new GdxRuntimeException("Cached world transform differs for group " + i);
+		}
+		if (maxError > 0.01f) throw new GdxRuntimeException("Cached stage coordinates differ by " + maxError);
+
+		System.out.println(groups.size + " groups, " + animated + " animated leaves, " + frames + " frames");
+		System.out.printf("world transforms: cached %.1f us/frame, rebuilt %.1f us/frame%n", cachedDraw / 1000f / frames,
+			rebuiltDraw / 1000f / frames);
+		System.out.printf("local to stage: cached %.1f ns/query, walked %.1f ns/query%n", cachedQuery / (float)frames / queries,
+			walkedQuery / (float)frames / queries);
+	}
+
+	static void build (Group parent, int depth, Random random, Array<Group> groups, Array<Group> leaves) {
+		for (int i = 0; i < branching; i++) {
+			Group group = new Group();
+			group.setPosition(random.nextFloat() * 100, random.nextFloat() * 100);
+			group.setOrigin(5, 5);
+			group.setRotation(random.nextFloat() * 10);
+			parent.addActor(group);
+			groups.add(group);
+			if (depth > 1)
+				build(group, depth - 1, random, groups, leaves);
+			else
+				leaves.add(group);
+		}
+	}
+
+	/** The transform {@link Group#computeTransform()} builds from the group's position, rotation, scale and origin. */
+	static void localTransform (Group group, Matrix3 local) {
+		float originX = group.getOriginX(), originY = group.getOriginY();
+		local.setToTranslation(originX, originY);
+		local.rotate(group.getRotation());
+		local.scale(group.getScaleX(), group.getScaleY());
+		local.translate(-originX, -originY);
+		local.trn(group.getX(), group.getY());
+	}
+}
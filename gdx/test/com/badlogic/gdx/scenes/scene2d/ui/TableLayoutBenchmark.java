@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.scenes.scene2d.ui;
+
+import java.util.Random;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.esotericsoftware.tablelayout.Cell;
+import com.esotericsoftware.tablelayout.Value;
+
+/** Changes one widget per frame in a 1000 row table and compares laying out only the changed cell's row and column with
+ * invalidating the whole table. Fails if the two tables place any widget differently, or if a cell sized by a percentage of
+ * another actor does not follow that actor's width. Run with the gdx classes on the classpath, no backend is needed. */
+public class TableLayoutBenchmark {
+	static final int rows = 1000, columns = 3, frames = 200, rounds = 10;
+
+	public static void main (String[] args) {
+		Array<SizedWidget> incrementalWidgets = new Array<SizedWidget>(), fullWidgets = new Array<SizedWidget>();
+		Table incremental = table(incrementalWidgets), full = table(fullWidgets);
+		Random random = new Random(1);
+		for (int round = 0; round < rounds; round++) {
+			long incrementalTime = 0, fullTime = 0;
+			for (int frame = 0; frame < frames; frame++) {
+				int index = random.nextInt(incrementalWidgets.size);
+				float width = 5 + random.nextInt(80), height = 5 + random.nextInt(40);
+
+				long start = System.nanoTime();
+				incrementalWidgets.get(index).setPrefSize(width, height);
+				incremental.validate();
+				incrementalTime += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				SizedWidget widget = fullWidgets.get(index);
+				widget.prefWidth = width;
+				widget.prefHeight = height;
+				full.invalidate();
+				full.validate();
+				fullTime += System.nanoTime() - start;
+
+				compare(incrementalWidgets, fullWidgets);
+			}
+			System.out.printf("round %d: incremental %.1f us/frame, full %.1f us/frame%n", round, incrementalTime / 1000f / frames,
+				fullTime / 1000f / frames);
+		}
+
+		// A cell sized relative to an actor outside the table must be evaluated again when another cell changes.
+		Actor anchor = new Actor();
+		Table table = table(incrementalWidgets);
+		SizedWidget relative = new SizedWidget(10, 10);
+		table.add(relative).width(Value.percentWidth(0.5f, anchor));
+		table.validate();
+		for (int frame = 0; frame < frames; frame++) {
+			anchor.setWidth(10 + random.nextInt(50) * 2); // Even, so rounding does not move the half.
+			incrementalWidgets.get(random.nextInt(incrementalWidgets.size)).setPrefSize(5 + random.nextInt(80), 5 + random.nextInt(40));
+			table.validate();
+			if (relative.getWidth() != anchor.getWidth() * 0.5f)
+				throw new GdxRuntimeException("Relative width " + relative.getWidth() + " != " + anchor.getWidth() * 0.5f);
+		}
+		System.out.println("Passed.");
+	}
+
+	static Table table (Array<SizedWidget> widgets) {
+		widgets.clear();
+		Random random = new Random(2);
+		Table table = new Table();
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				SizedWidget widget = new SizedWidget(10 + random.nextInt(50), 10 + random.nextInt(20));
+				widgets.add(widget);
+				Cell cell = table.add(widget);
+				if (column == 1 && row % 7 == 0) cell.expandX().fillX();
+				if (column == 2) cell.pad(2).space(3);
+			}
+			table.row();
+		}
+		table.setSize(800, rows * 60);
+		table.validate();
+		return table;
+	}
+
+	static void compare (Array<SizedWidget> incremental, Array<SizedWidget> full) {
+		for (int i = 0; i < incremental.size; i++) {
+			Actor a = incremental.get(i), b = full.get(i);
+			if (a.getX() != b.getX() || a.getY() != b.getY() || a.getWidth() != b.getWidth() || a.getHeight() != b.getHeight())
+				throw new GdxRuntimeException("Widget " + i + " bounds differ: " + a + " " + a.getX() + "," + a.getY() + " "
+					+ a.getWidth() + "x" + a.getHeight() + " != " + b.getX() + "," + b.getY() + " " + b.getWidth() + "x" + b.getHeight());
+		}
+	}
+
+	static class SizedWidget extends Widget {
+		float prefWidth, prefHeight;
+
+		SizedWidget (float prefWidth, float prefHeight) {
+			this.prefWidth = prefWidth;
+			this.prefHeight = prefHeight;
+		}
+
+		void setPrefSize (float prefWidth, float prefHeight) {
+			this.prefWidth = prefWidth;
+			this.prefHeight = prefHeight;
+			invalidateHierarchy();
+		}
+
+		public float getMinWidth () {
+			return prefWidth / 2;
+		}
+
+		public float getMinHeight () {
+			return prefHeight / 2;
+		}
+
+		public float getPrefWidth () {
+			return prefWidth;
+		}
+
+		public float getPrefHeight () {
+			return prefHeight;
+		}
+	}
+}
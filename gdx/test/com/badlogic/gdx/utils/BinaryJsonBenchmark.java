@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/** Compares the size and the write and read times of {@link Json#toBinary(Object, java.io.OutputStream)} with
+ * {@link Json#toJson(Object)} for a document of many small objects. Fails if either encoding does not read back the objects
+ * written. Run with the gdx classes on the classpath, no backend is needed. */
+public class BinaryJsonBenchmark {
+	static final int objects = 20000, rounds = 10;
+
+	public static void main (String[] args) throws Exception {
+		Random random = new Random(1);
+		Document document = new Document();
+		for (int i = 0; i < objects; i++) {
+			Item item = new Item();
+			item.id = random.nextInt(100000);
+			item.count = random.nextLong();
+			item.x = random.nextFloat();
+			item.y = random.nextFloat() * 1000;
+			item.visible = random.nextBoolean();
+			item.name = "item" + i;
+			item.type = random.nextBoolean() ? "sprite" : "sound";
+			document.items.add(item);
+		}
+
+		Json json = new Json();
+		json.setElementType(Document.class, "items", Item.class);
+		long bestTextWrite = Long.MAX_VALUE, bestTextRead = Long.MAX_VALUE, bestBinaryWrite = Long.MAX_VALUE;
+		long bestBinaryRead = Long.MAX_VALUE;
+		int textSize = 0, binarySize = 0;
+		for (int round = 0; round < rounds; round++) {
+			long start = System.nanoTime();
+			String text = json.toJson(document);
+			bestTextWrite = Math.min(bestTextWrite, System.nanoTime() - start);
+			textSize = text.getBytes("UTF-8").length;
+
+			start = System.nanoTime();
+			check(document, json.fromJson(Document.class, text));
+			bestTextRead = Math.min(bestTextRead, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			ByteArrayOutputStream output = new ByteArrayOutputStream(textSize);
+			json.toBinary(document, output);
+			bestBinaryWrite = Math.min(bestBinaryWrite, System.nanoTime() - start);
+			byte[] bytes = output.toByteArray();
+			binarySize = bytes.length;
+
+			start = System.nanoTime();
+			check(document, json.fromBinary(Document.class, null, ByteBuffer.wrap(bytes)));
+			bestBinaryRead = Math.min(bestBinaryRead, System.nanoTime() - start);
+		}
+		System.out.printf("json: %d bytes, write %.1f ms, read %.1f ms%n", textSize, bestTextWrite / 1e6, bestTextRead / 1e6);
+		System.out.printf("binary: %d bytes, write %.1f ms, read %.1f ms%n", binarySize, bestBinaryWrite / 1e6,
+			bestBinaryRead / 1e6);
+		System.out.println("Passed.");
+	}
+
+	static void check (Document expected, Document actual) {
+		if (actual.items.size != expected.items.size) throw new GdxRuntimeException("Read " + actual.items.size + " items.");
+		for (int i = 0; i < actual.items.size; i++)
+			if (!actual.items.get(i).equals(expected.items.get(i))) throw new GdxRuntimeException("Item " + i + " differs.");
+	}
+
+	static public class Document {
+		public Array<Item> items = new Array<Item>();
+	}
+
+	static public class Item {
+		public int id;
+		public long count;
+		public float x, y;
+		public boolean visible;
+		public String name, type;
+
+		public boolean equals (Object object) {
+			Item other = (Item)object;
+			return id == other.id && count == other.count && x == other.x && y == other.y && visible == other.visible
+				&& name.equals(other.name) && type.equals(other.type);
+		}
+	}
+}
@@ -0,0 +1,370 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+/** Records the start, end and result of every operation that 1 to 16 threads perform on a few keys of {@link ConcurrentIntMap},
+ * {@link ConcurrentLongMap} and {@link ConcurrentObjectMap}, then searches for an order of the operations on each key that agrees
+ * with both the results and the real time order of the operations. Fails if no such order exists for some key. Every value put
+ * is unique, which keeps the search short. Run with the gdx classes on the classpath, no backend is needed. */
+public class ConcurrentMapLinearizabilityTest {
+	static final int keys = 8, operations = 1000;
+	static final int PUT = 0, PUT_IF_ABSENT = 1, REPLACE = 2, GET = 3, REMOVE = 4, REMOVE_VALUE = 5;
+	static final Integer[] values = new Integer[16 * operations + 1];
+	static {
+		for (int i = 1; i < values.length; i++)
+			values[i] = Integer.valueOf(i);
+	}
+
+	public static void main (String[] args) throws Exception {
+		// The search recurses once per operation on a key.
+		final ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<Throwable>();
+		Thread thread = new Thread(null, new Runnable() {
+			public void run () {
+				try {
+					checkChecker();
+					for (int type = 0; type < 3; type++)
+						for (int threads = 1; threads <= 16; threads *= 2)
+							test(type, threads);
+				} catch (Throwable ex) {
+					errors.add(ex);
+				}
+			}
+		}, "Linearizability", 256 * 1024 * 1024);
+		thread.start();
+		thread.join();
+		if (!errors.isEmpty()) throw new GdxRuntimeException(errors.peek());
+		System.out.println("Passed.");
+	}
+
+	static void test (int type, int threads) throws Exception {
+		final TestMap map = newMap(type);
+		final Array<Array<Operation>> histories = new Array<Array<Operation>>();
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final int thread = t;
+			final Array<Operation> history = new Array<Operation>(operations);
+			histories.add(history);
+			workers[t] = new Thread() {
+				public void run () {
+					Random random = new Random(thread);
+					int[] seen = new int[keys];
+					try {
+						start.await();
+					} catch (InterruptedException ignored) {
+					}
+					for (int i = 0; i < operations; i++) {
+						Operation op = new Operation();
+						op.type = random.nextInt(6);
+						op.key = random.nextInt(keys);
+						// Replace and remove with a value are given the value the thread last saw, so they sometimes succeed.
+						op.newValue = thread * operations + i + 1;
+						op.argument = op.type == REPLACE || op.type == REMOVE_VALUE ? seen[op.key] : op.newValue;
+						op.start = System.nanoTime();
+						perform(map, op);
+						op.end = System.nanoTime();
+						if (op.result > 0) seen[op.key] = op.result;
+						history.add(op);
+					}
+				}
+			};
+			workers[t].start();
+		}
+		start.countDown();
+		for (Thread worker : workers)
+			worker.join();
+
+		Array<Array<Operation>> byKey = new Array<Array<Operation>>();
+		for (int i = 0; i < keys; i++)
+			byKey.add(new Array<Operation>());
+		for (Array<Operation> history : histories)
+			for (Operation op : history)
+				byKey.get(op.key).add(op);
+		for (int key = 0; key < keys; key++) {
+			if (!linearizable(byKey.get(key)))
+				throw new GdxRuntimeException(map + ", " + threads + " threads: history of key " + key + " is not linearizable.");
+		}
+		System.out.println(map + ", " + threads + " threads: linearizable");
+	}
+
+	static void perform (TestMap map, Operation op) {
+		Integer value = values[op.argument];
+		switch (op.type) {
+		case PUT:
+			op.result = toInt(map.put(op.key, value));
+			break;
+		case PUT_IF_ABSENT:
+			op.result = toInt(map.putIfAbsent(op.key, value));
+			break;
+		case REPLACE:
+			op.result = map.replace(op.key, value, values[op.newValue]) ? 1 : 0;
+			break;
+		case GET:
+			op.result = toInt(map.get(op.key));
+			break;
+		case REMOVE:
+			op.result = toInt(map.remove(op.key));
+			break;
+		case REMOVE_VALUE:
+			op.result = map.remove(op.key, value) ? 1 : 0;
+			break;
+		}
+	}
+
+	static int toInt (Integer value) {
+		return value == null ? 0 : value;
+	}
+
+	/** Returns the value of the key after the operation is applied to a key with the specified value, 0 meaning absent, or -1 if
+	 * the operation could not have returned its result. */
+	static int apply (Operation op, int state) {
+		switch (op.type) {
+		case PUT:
+			return op.result == state ? op.argument : -1;
+		case PUT_IF_ABSENT:
+			if (op.result != state) return -1;
+			return state == 0 ? op.argument : state;
+		case REPLACE:
+			boolean replaced = state != 0 && state == op.argument;
+			if (replaced != (op.result == 1)) return -1;
+			return replaced ? op.newValue : state;
+		case GET:
+			return op.result == state ? state : -1;
+		case REMOVE:
+			return op.result == state ? 0 : -1;
+		default:
+			boolean removed = state != 0 && state == op.argument;
+			if (removed != (op.result == 1)) return -1;
+			return removed ? 0 : state;
+		}
+	}
+
+	/** Searches for an order of the operations that is consistent with their results, in which no operation comes before another
+	 * that ended before it started. */
+	static boolean linearizable (Array<Operation> history) {
+		Operation[] ops = history.toArray(Operation.class);
+		Arrays.sort(ops, new Comparator<Operation>() {
+			public int compare (Operation o1, Operation o2) {
+				return o1.start < o2.start ? -1 : (o1.start > o2.start ? 1 : 0);
+			}
+		});
+		return search(ops, new BitSet(ops.length), ops.length, 0, new HashSet<State>());
+	}
+
+	static boolean search (Operation[] ops, BitSet done, int remaining, int state, HashSet<State> visited) {
+		if (remaining == 0) return true;
+		if (!visited.add(new State((BitSet)done.clone(), state))) return false;
+		// An operation may come next if it started before every remaining operation ended.
+		long minEnd = Long.MAX_VALUE;
+		for (int i = done.nextClearBit(0); i < ops.length; i = done.nextClearBit(i + 1)) {
+			if (ops[i].start > minEnd) break;
+			minEnd = Math.min(minEnd, ops[i].end);
+		}
+		for (int i = done.nextClearBit(0); i < ops.length; i = done.nextClearBit(i + 1)) {
+			if (ops[i].start > minEnd) break;
+			int next = apply(ops[i], state);
+			if (next == -1) continue;
+			done.set(i);
+			if (search(ops, done, remaining - 1, next, visited)) return true;
+			done.clear(i);
+		}
+		return false;
+	}
+
+	/** Checks that the search rejects a get that misses a put which ended before the get started, and accepts it if they overlap. */
+	static void checkChecker () {
+		Array<Operation> history = new Array<Operation>();
+		history.add(operation(PUT, 1, 0, 0, 10));
+		history.add(operation(GET, 0, 0, 20, 30));
+		if (linearizable(history)) throw new GdxRuntimeException("Stale get accepted.");
+		history.get(1).start = 5;
+		if (!linearizable(history)) throw new GdxRuntimeException("Overlapping get rejected.");
+	}
+
+	static Operation operation (int type, int argument, int result, long start, long end) {
+		Operation op = new Operation();
+		op.type = type;
+		op.argument = argument;
+		op.result = result;
+		op.start = start;
+		op.end = end;
+		return op;
+	}
+
+	static TestMap newMap (int type) {
+		switch (type) {
+		case 0:
+			return new TestMap() {
+				final ConcurrentIntMap<Integer> map = new ConcurrentIntMap<Integer>();
+
+				int key (int key) {
+					return key * 0x10001;
+				}
+
+				Integer put (int key, Integer value) {
+					return map.put(key(key), value);
+				}
+
+				Integer putIfAbsent (int key, Integer value) {
+					return map.putIfAbsent(key(key), value);
+				}
+
+				boolean replace (int key, Integer oldValue, Integer newValue) {
+					return map.replace(key(key), oldValue, newValue);
+				}
+
+				Integer get (int key) {
+					return map.get(key(key));
+				}
+
+				Integer remove (int key) {
+					return map.remove(key(key));
+				}
+
+				boolean remove (int key, Integer value) {
+					return map.remove(key(key), value);
+				}
+
+				public String toString () {
+					return "ConcurrentIntMap";
+				}
+			};
+		case 1:
+			return new TestMap() {
+				final ConcurrentLongMap<Integer> map = new ConcurrentLongMap<Integer>();
+
+				long key (int key) {
+					return key * 0x100000001L;
+				}
+
+				Integer put (int key, Integer value) {
+					return map.put(key(key), value);
+				}
+
+				Integer putIfAbsent (int key, Integer value) {
+					return map.putIfAbsent(key(key), value);
+				}
+
+				boolean replace (int key, Integer oldValue, Integer newValue) {
+					return map.replace(key(key), oldValue, newValue);
+				}
+
+				Integer get (int key) {
+					return map.get(key(key));
+				}
+
+				Integer remove (int key) {
+					return map.remove(key(key));
+				}
+
+				boolean remove (int key, Integer value) {
+					return map.remove(key(key), value);
+				}
+
+				public String toString () {
+					return "ConcurrentLongMap";
+				}
+			};
+		default:
+			return new TestMap() {
+				final ConcurrentObjectMap<String, Integer> map = new ConcurrentObjectMap<String, Integer>();
+				final String[] names = new String[keys];
+				{
+					for (int i = 0; i < keys; i++)
+						names[i] = "key" + i;
+				}
+
+				Integer put (int key, Integer value) {
+					return map.put(names[key], value);
+				}
+
+				Integer putIfAbsent (int key, Integer value) {
+					return map.putIfAbsent(names[key], value);
+				}
+
+				boolean replace (int key, Integer oldValue, Integer newValue) {
+					return map.replace(names[key], oldValue, newValue);
+				}
+
+				Integer get (int key) {
+					return map.get(names[key]);
+				}
+
+				Integer remove (int key) {
+					return map.remove(names[key]);
+				}
+
+				boolean remove (int key, Integer value) {
+					return map.remove(names[key], value);
+				}
+
+				public String toString () {
+					return "ConcurrentObjectMap";
+				}
+			};
+		}
+	}
+
+	static abstract class TestMap {
+		abstract Integer put (int key, Integer value);
+
+		abstract Integer putIfAbsent (int key, Integer value);
+
+		abstract boolean replace (int key, Integer oldValue, Integer newValue);
+
+		abstract Integer get (int key);
+
+		abstract Integer remove (int key);
+
+		abstract boolean remove (int key, Integer value);
+	}
+
+	static class Operation {
+		/** The argument is the value to put, or the value to compare for replace and remove with a value. The new value is unique
+		 * to the operation. Values and results are 0 for null and false and 1 for true. */
+		int type, key, argument, newValue, result;
+		long start, end;
+	}
+
+	static class State {
+		final BitSet done;
+		final int value;
+
+		State (BitSet done, int value) {
+			this.done = done;
+			this.value = value;
+		}
+
+		public int hashCode () {
+			return done.hashCode() * 31 + value;
+		}
+
+		public boolean equals (Object object) {
+			State other = (State)object;
+			return value == other.value && done.equals(other.done);
+		}
+	}
+}
@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** Puts, removes and gets keys of {@link ConcurrentIntMap}, {@link ConcurrentLongMap} and {@link ConcurrentObjectMap} from many
+ * threads while another thread iterates. Each thread owns some keys and checks every result against its own record of them, all
+ * threads increment shared counters with {@link ConcurrentIntMap#replace(int, Object, Object) replace}, and the iterating thread
+ * checks that keys no thread changes are returned exactly once. Fails on any mismatch. Run with the gdx classes on the classpath,
+ * no backend is needed. */
+public class ConcurrentMapStressTest {
+	static final int threads = 8, ownedKeys = 2000, sharedKeys = 16, stableKeys = 1000, iterations = 300000;
+
+	public static void main (String[] args) throws Exception {
+		final ConcurrentIntMap<Integer> intMap = new ConcurrentIntMap<Integer>();
+		test("ConcurrentIntMap", new TestMap() {
+			public Integer put (long key, Integer value) {
+				return intMap.put((int)key, value);
+			}
+
+			public Integer putIfAbsent (long key, Integer value) {
+				return intMap.putIfAbsent((int)key, value);
+			}
+
+			public boolean replace (long key, Integer oldValue, Integer newValue) {
+				return intMap.replace((int)key, oldValue, newValue);
+			}
+
+			public Integer get (long key) {
+				return intMap.get((int)key);
+			}
+
+			public Integer remove (long key) {
+				return intMap.remove((int)key);
+			}
+
+			public int size () {
+				return intMap.size();
+			}
+
+			public LongArray keys () {
+				LongArray keys = new LongArray();
+				for (ConcurrentIntMap.Entry<Integer> entry : intMap.entries())
+					keys.add(entry.key);
+				return keys;
+			}
+		});
+
+		final ConcurrentLongMap<Integer> longMap = new ConcurrentLongMap<Integer>();
+		test("ConcurrentLongMap", new TestMap() {
+			public Integer put (long key, Integer value) {
+				return longMap.put(key, value);
+			}
+
+			public Integer putIfAbsent (long key, Integer value) {
+				return longMap.putIfAbsent(key, value);
+			}
+
+			public boolean replace (long key, Integer oldValue, Integer newValue) {
+				return longMap.replace(key, oldValue, newValue);
+			}
+
+			public Integer get (long key) {
+				return longMap.get(key);
+			}
+
+			public Integer remove (long key) {
+				return longMap.remove(key);
+			}
+
+			public int size () {
+				return longMap.size();
+			}
+
+			public LongArray keys () {
+				LongArray keys = new LongArray();
+				for (ConcurrentLongMap.Entry<Integer> entry : longMap.entries())
+					keys.add(entry.key);
+				return keys;
+			}
+		});
+
+		final ConcurrentObjectMap<Long, Integer> objectMap = new ConcurrentObjectMap<Long, Integer>();
+		test("ConcurrentObjectMap", new TestMap() {
+			public Integer put (long key, Integer value) {
+				return objectMap.put(key, value);
+			}
+
+			public Integer putIfAbsent (long key, Integer value) {
+				return objectMap.putIfAbsent(key, value);
+			}
+
+			public boolean replace (long key, Integer oldValue, Integer newValue) {
+				return objectMap.replace(key, oldValue, newValue);
+			}
+
+			public Integer get (long key) {
+				return objectMap.get(key);
+			}
+
+			public Integer remove (long key) {
+				return objectMap.remove(key);
+			}
+
+			public int size () {
+				return objectMap.size();
+			}
+
+			public LongArray keys () {
+				LongArray keys = new LongArray();
+				for (ConcurrentObjectMap.Entry<Long, Integer> entry : objectMap.entries())
+					keys.add(entry.key);
+				return keys;
+			}
+		});
+		System.out.println("Passed.");
+	}
+
+	static void test (String name, final TestMap map) throws Exception {
+		// Keys are spread so each segment holds keys of every thread. Stable keys are negative and never changed.
+		for (int i = 0; i < stableKeys; i++)
+			map.put(stableKey(i), i);
+		for (int i = 0; i < sharedKeys; i++)
+			map.put(sharedKey(i), 0);
+
+		final ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<Throwable>();
+		final AtomicBoolean done = new AtomicBoolean();
+		final Array<HashMap<Long, Integer>> owned = new Array<HashMap<Long, Integer>>();
+		final int[][] increments = new int[threads][sharedKeys];
+
+		Thread iterator = new Thread() {
+			public void run () {
+				try {
+					int passes = 0;
+					while (!done.get() || passes == 0) {
+						LongArray keys = map.keys();
+						int[] seen = new int[stableKeys];
+						for (int i = 0; i < keys.size; i++) {
+							long key = keys.get(i);
+							if (key < 0) seen[(int)(-key - 1)]++;
+						}
+						for (int i = 0; i < stableKeys; i++)
+							if (seen[i] != 1) throw new GdxRuntimeException("Stable key returned " + seen[i] + " times: " + stableKey(i));
+						passes++;
+					}
+				} catch (Throwable ex) {
+					errors.add(ex);
+				}
+			}
+		};
+		iterator.start();
+
+		long start = System.nanoTime();
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final int thread = t;
+			final HashMap<Long, Integer> expected = new HashMap<Long, Integer>();
+			owned.add(expected);
+			workers[t] = new Thread() {
+				public void run () {
+					try {
+						Random random = new Random(thread);
+						for (int i = 0; i < iterations; i++) {
+							long key = ownedKey(thread, random.nextInt(ownedKeys));
+							Integer value = random.nextInt(1000);
+							switch (random.nextInt(6)) {
+							case 0:
+							case 1:
+								check(map.put(key, value), expected.put(key, value), key);
+								break;
+							case 2:
+								check(map.remove(key), expected.remove(key), key);
+								break;
+							case 3:
+								Integer existing = expected.get(key);
+								check(map.putIfAbsent(key, value), existing, key);
+								if (existing == null) expected.put(key, value);
+								break;
+							case 4:
+								check(map.get(key), expected.get(key), key);
+								break;
+							case 5:
+								// Increment a shared counter, retrying when another thread changed it first.
+								int index = random.nextInt(sharedKeys);
+								while (true) {
+									Integer old = map.get(sharedKey(index));
+									if (map.replace(sharedKey(index), old, old + 1)) break;
+								}
+								increments[thread][index]++;
+								break;
+							}
+						}
+					} catch (Throwable ex) {
+						errors.add(ex);
+					}
+				}
+			};
+			workers[t].start();
+		}
+		for (Thread worker : workers)
+			worker.join();
+		long time = System.nanoTime() - start;
+		done.set(true);
+		iterator.join();
+		if (!errors.isEmpty()) throw new GdxRuntimeException(name + " failed.", errors.peek());
+
+		int size = stableKeys + sharedKeys;
+		for (int t = 0; t < threads; t++) {
+			for (java.util.Map.Entry<Long, Integer> entry : owned.get(t).entrySet())
+				check(map.get(entry.getKey()), entry.getValue(), entry.getKey());
+			size += owned.get(t).size();
+		}
+		for (int i = 0; i < sharedKeys; i++) {
+			int total = 0;
+			for (int t = 0; t < threads; t++)
+				total += increments[t][i];
+			check(map.get(sharedKey(i)), total, sharedKey(i));
+		}
+		if (map.size() != size) throw new GdxRuntimeException(name + " size " + map.size() + " != " + size);
+		if (map.keys().size != size) throw new GdxRuntimeException(name + " iterated " + map.keys().size + " != " + size);
+		System.out.println(name + ": " + threads + " threads, " + iterations + " operations each, " + time / 1000000 + "ms");
+	}
+
+	static long ownedKey (int thread, int index) {
+		return index * threads + thread;
+	}
+
+	static long sharedKey (int index) {
+		return ownedKeys * threads + index;
+	}
+
+	static long stableKey (int index) {
+		return -index - 1;
+	}
+
+	static void check (Integer actual, Integer expected, long key) {
+		if (actual == null ? expected != null : !actual.equals(expected))
+			throw new GdxRuntimeException("Key " + key + ": expected " + expected + " but was " + actual);
+	}
+
+	static interface TestMap {
+		public Integer put (long key, Integer value);
+
+		public Integer putIfAbsent (long key, Integer value);
+
+		public boolean replace (long key, Integer oldValue, Integer newValue);
+
+		public Integer get (long key);
+
+		public Integer remove (long key);
+
+		public int size ();
+
+		public LongArray keys ();
+	}
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+/** Compares obtaining and freeing objects with a {@link ConcurrentPool}, a {@link Pool} guarded by a lock, and plain allocation
+ * with 1 to 8 threads. A plain unsynchronized {@link Pool} is also timed with a single thread. Each thread obtains a batch of
+ * objects, touches them, and frees them again. Run with the gdx classes on the classpath, no backend is needed. */
+public class ConcurrentPoolBenchmark {
+	static final int batch = 32, iterations = 200000, rounds = 3;
+
+	public static void main (String[] args) throws Exception {
+		for (int round = 0; round < rounds; round++) {
+			System.out.printf("round %d: pool %.1f ns/object%n", round, time(1, new Pool<Item>() {
+				protected Item newObject () {
+					return new Item();
+				}
+			}));
+			for (int threads = 1; threads <= 8; threads *= 2) {
+				double concurrent = time(threads, new ConcurrentPool<Item>() {
+					protected Item newObject () {
+						return new Item();
+					}
+				});
+				double locked = time(threads, new Pool<Item>() {
+					protected Item newObject () {
+						return new Item();
+					}
+
+					public synchronized Item obtain () {
+						return super.obtain();
+					}
+
+					public synchronized void free (Item object) {
+						super.free(object);
+					}
+				});
+				double allocated = time(threads, null);
+				System.out.printf("round %d, %d threads: concurrent %.1f, locked %.1f, new %.1f ns/object%n", round, threads,
+					concurrent, locked, allocated);
+			}
+		}
+	}
+
+	/** Returns the wall time per obtained object, or allocates each object if the pool is null. */
+	static double time (int threads, final Pool<Item> pool) throws Exception {
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			workers[t] = new Thread() {
+				public void run () {
+					Item[] items = new Item[batch];
+					for (int i = 0; i < iterations; i++) {
+						for (int n = 0; n < batch; n++) {
+							Item item = pool == null ? new Item() : pool.obtain();
+							item.values[n & 7] = n;
+							items[n] = item;
+						}
+						for (int n = 0; n < batch; n++) {
+							if (pool != null) pool.free(items[n]);
+							items[n] = null;
+						}
+					}
+				}
+			};
+		}
+		long start = System.nanoTime();
+		for (Thread worker : workers)
+			worker.start();
+		for (Thread worker : workers)
+			worker.join();
+		return (System.nanoTime() - start) / (double)(threads * iterations * batch);
+	}
+
+	static class Item implements Poolable {
+		final float[] values = new float[8];
+
+		public void reset () {
+			for (int i = 0; i < values.length; i++)
+				values[i] = 0;
+		}
+	}
+}
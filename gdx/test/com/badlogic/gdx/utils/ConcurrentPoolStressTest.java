@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+/** Obtains and frees objects of a {@link ConcurrentPool} from many threads, handing some objects to other threads to be freed.
+ * Fails if an object is obtained while it is still in use, if a freed object was not reset, if the free objects exceed the
+ * limit, or if the magazines of ended threads are not released. Run with the gdx classes on the classpath, no backend is
+ * needed. */
+public class ConcurrentPoolStressTest {
+	static final int threads = 8, iterations = 200000, shortThreads = 500, max = 256;
+
+	public static void main (String[] args) throws Exception {
+		final AtomicInteger created = new AtomicInteger();
+		final ConcurrentPool<Item> pool = new ConcurrentPool<Item>(16, max) {
+			protected Item newObject () {
+				created.incrementAndGet();
+				return new Item();
+			}
+		};
+		final ConcurrentLinkedQueue<Item> handoff = new ConcurrentLinkedQueue<Item>();
+		final ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<Throwable>();
+
+		long start = System.nanoTime();
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			final int seed = t;
+			workers[t] = new Thread() {
+				public void run () {
+					try {
+						Random random = new Random(seed);
+						Array<Item> held = new Array<Item>();
+						for (int i = 0; i < iterations; i++) {
+							switch (random.nextInt(4)) {
+							case 0:
+							case 1:
+								held.add(obtain(pool));
+								break;
+							case 2:
+								if (held.size > 0) pool.free(held.removeIndex(random.nextInt(held.size)).release());
+								break;
+							case 3:
+								// Free an object obtained by another thread.
+								if (held.size > 0) handoff.add(held.pop());
+								Item item = handoff.poll();
+								if (item != null) pool.free(item.release());
+								break;
+							}
+							if (held.size > 64) {
+								for (Item item : held)
+									item.release();
+								pool.freeAll(held);
+								held.clear();
+							}
+						}
+						for (Item item : held)
+							item.release();
+						pool.freeAll(held);
+					} catch (Throwable ex) {
+						errors.add(ex);
+					}
+				}
+			};
+			workers[t].start();
+		}
+		for (Thread worker : workers)
+			worker.join();
+		if (!errors.isEmpty()) throw new GdxRuntimeException(errors.peek());
+		long time = System.nanoTime() - start;
+
+		// The main thread frees what is left from the handoff queue.
+		for (Item item; (item = handoff.poll()) != null;)
+			pool.free(item.release());
+		if (pool.getFree() > max + 32)
+			throw new GdxRuntimeException("Too many free objects: " + pool.getFree() + " > " + (max + 32));
+
+		System.out.println(threads + " threads, " + iterations + " iterations: " + time / 1000000 + "ms, " + created.get()
+			+ " created, hit rate " + pool.getHitRate() + ", cross thread frees " + pool.getCrossThreadFrees());
+
+		// Magazines of ended threads must be garbage collected.
+		for (int i = 0; i < shortThreads; i++) {
+			Thread thread = new Thread() {
+				public void run () {
+					pool.free(obtain(pool).release());
+				}
+			};
+			thread.start();
+			thread.join();
+		}
+		int tracked = 0;
+		for (int i = 0; i < 20; i++) {
+			System.gc();
+			Thread.sleep(50);
+			tracked = pool.getThreads();
+			if (tracked < shortThreads / 2) break;
+		}
+		if (tracked >= shortThreads / 2) throw new GdxRuntimeException("Magazines of ended threads are still tracked: " + tracked);
+
+		// A released thread is no longer tracked and its free objects are in the depot.
+		Array<Item> items = new Array<Item>();
+		pool.clear();
+		for (int i = 0; i < 32; i++)
+			items.add(obtain(pool).release());
+		pool.freeAll(items);
+		int before = pool.getThreads();
+		pool.releaseThread();
+		if (pool.getThreads() != before - 1) throw new GdxRuntimeException("Thread was not released.");
+		if (pool.getFree() != 32) throw new GdxRuntimeException("Free objects were not moved to the depot: " + pool.getFree());
+		System.out.println("Passed.");
+	}
+
+	static Item obtain (ConcurrentPool<Item> pool) {
+		Item item = pool.obtain();
+		if (item.dirty) throw new GdxRuntimeException("Obtained an object that was not reset.");
+		if (item.inUse.getAndIncrement() != 0) throw new GdxRuntimeException("Obtained an object that is in use.");
+		item.dirty = true;
+		return item;
+	}
+
+	static class Item implements Poolable {
+		final AtomicInteger inUse = new AtomicInteger();
+		boolean dirty;
+
+		Item release () {
+			if (inUse.decrementAndGet() != 0) throw new GdxRuntimeException("Freed an object that is not in use.");
+			return this;
+		}
+
+		public void reset () {
+			dirty = false;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+import com.badlogic.gdx.utils.JsonPullParser.Event;
+
+/** Reads a generated 100MB document, or the size in MB given as the first argument, with {@link JsonPullParser} and with
+ * {@link JsonReader}, reporting the throughput and the peak heap of each. The document is generated while it is read, so it does
+ * not occupy the heap itself. Fails if the two parsers do not see the same values. JsonReader may run out of memory with a small
+ * heap, which is reported rather than failing. Run with the gdx classes on the classpath, no backend is needed. */
+public class JsonPullParserBenchmark {
+	static long size = 100 * 1024 * 1024;
+
+	/** @param args The size of the document in MB, 100 by default. */
+	public static void main (String[] args) {
+		if (args.length > 0) size = Long.parseLong(args[0]) * 1024 * 1024;
+		long start = System.nanoTime();
+		resetPeak();
+		JsonPullParser parser = new JsonPullParser(new DocumentReader());
+		long pullSum = 0, count = 0;
+		Event event;
+		while ((event = parser.next()) != null) {
+			if (event == Event.longValue && "id".equals(parser.getName())) {
+				pullSum += parser.getLong();
+				count++;
+			}
+		}
+		report("JsonPullParser", System.nanoTime() - start);
+
+		long domSum = 0;
+		try {
+			start = System.nanoTime();
+			resetPeak();
+			JsonValue root = new JsonReader().parse(new DocumentReader());
+			for (JsonValue item = root.get("items").child(); item != null; item = item.next())
+				domSum += item.getLong("id");
+			report("JsonReader", System.nanoTime() - start);
+		} catch (OutOfMemoryError ex) {
+			System.out.println("JsonReader: out of memory with a " + Runtime.getRuntime().maxMemory() / 1024 / 1024 + " MB heap");
+			domSum = pullSum;
+		}
+		if (domSum != pullSum) throw new GdxRuntimeException("Sum of ids differs: " + pullSum + " != " + domSum);
+		System.out.println(count + " objects. Passed.");
+	}
+
+	static void resetPeak () {
+		System.gc();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+	}
+
+	static void report (String name, long time) {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+		System.out.printf("%s: %.1f MB/s, peak heap %d MB%n", name, size / 1048576.0 / (time / 1e9), peak / 1024 / 1024);
+	}
+
+	/** Generates {items:[{id:0,name:"item 0",x:0.5,tags:["a","b"],visible:true},...]} of about {@link #size} characters. */
+	static class DocumentReader extends Reader {
+		private final StringBuilder pending = new StringBuilder();
+		private int pendingIndex, item;
+		private long written;
+		private boolean ended;
+
+		public DocumentReader () {
+			pending.append("{items:[");
+		}
+
+		public int read (char[] chars, int offset, int length) {
+			if (pendingIndex == pending.length()) {
+				if (ended) return -1;
+				pending.setLength(0);
+				pendingIndex = 0;
+				if (written >= size) {
+					pending.append("]}");
+					ended = true;
+				} else {
+					for (int i = 0; i < 100; i++, item++) {
+						pending.append("{id:").append(item).append(",name:\"item ").append(item).append("\",x:").append(item % 100 / 8f);
+						pending.append(",tags:[\"a\",\"b\"],visible:").append(item % 2 == 0).append("},\n");
+					}
+				}
+			}
+			int count = Math.min(length, pending.length() - pendingIndex);
+			pending.getChars(pendingIndex, pendingIndex + count, chars, offset);
+			pendingIndex += count;
+			written += count;
+			return count;
+		}
+
+		public void close () {
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+/** Changes the children of a {@link JsonValue} with {@link JsonValue#setNext(JsonValue)} and {@link JsonValue#setPrev(JsonValue)}
+ * and then adds, removes and looks up children, with few children and with enough children to build the index. Fails if the
+ * lookups do not match a walk of the siblings. Run with the gdx classes on the classpath, no backend is needed. */
+public class JsonValueTest {
+	public static void main (String[] args) {
+		for (int count : new int[] {3, 40}) {
+			// Truncate the children, then add more.
+			JsonValue parent = object(count);
+			parent.get(count / 2).setNext(null);
+			check(parent, count / 2 + 1);
+			parent.addChild(value("added"));
+			check(parent, count / 2 + 2);
+			if (!"added".equals(parent.get(count / 2 + 1).name())) throw new GdxRuntimeException("Child added after a detached child.");
+			for (int i = 0; i < count; i++)
+				parent.addChild(value("more" + i));
+			check(parent, count / 2 + 2 + count);
+
+			// Insert a child between two others, then add and remove children.
+			parent = object(count);
+			JsonValue first = parent.get(0), second = parent.get(1), inserted = value("inserted");
+			first.setNext(inserted);
+			inserted.setPrev(first);
+			inserted.setNext(second);
+			second.setPrev(inserted);
+			check(parent, count + 1);
+			parent.addChild(value("added"));
+			check(parent, count + 2);
+			if (parent.get("added") != parent.get(count + 1)) throw new GdxRuntimeException("Child not added last.");
+			parent.remove("added");
+			parent.remove(0);
+			check(parent, count);
+			parent.addChild(value("again"));
+			check(parent, count + 1);
+		}
+		System.out.println("Passed.");
+	}
+
+	static JsonValue object (int count) {
+		JsonValue parent = new JsonValue(ValueType.object);
+		for (int i = 0; i < count; i++)
+			parent.addChild(value("child" + i));
+		return parent;
+	}
+
+	static JsonValue value (String name) {
+		JsonValue value = new JsonValue(name.length());
+		value.setName(name);
+		return value;
+	}
+
+	/** Checks the lookups by index and name against a walk of the siblings. */
+	static void check (JsonValue parent, int size) {
+		if (parent.size() != size) throw new GdxRuntimeException("Size " + parent.size() + " != " + size);
+		int i = 0;
+		for (JsonValue child = parent.child(); child != null; child = child.next(), i++) {
+			if (parent.get(i) != child) throw new GdxRuntimeException("Child " + i + " != " + child.name());
+			if (parent.get(child.name()) != child) throw new GdxRuntimeException("Child named " + child.name() + " not found.");
+			if (child.next() != null && child.next().prev() != child) throw new GdxRuntimeException("Broken prev: " + child.name());
+		}
+		if (parent.get(size) != null) throw new GdxRuntimeException("Child found past the end.");
+	}
+}
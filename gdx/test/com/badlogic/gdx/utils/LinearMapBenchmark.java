@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Random;
+
+/** Compares {@link LongMap} with {@link LinearLongMap} and {@link IntMap} with {@link LinearIntMap} for aligned native addresses,
+ * random keys and sequential keys. Puts, gets and removes the same keys in both maps and fails if they return different values.
+ * Prints the time of each operation and the slowest single put, which includes any rehash. Run with the gdx classes on the
+ * classpath, no backend is needed. */
+public class LinearMapBenchmark {
+	static final int count = 100000, rounds = 7;
+
+	public static void main (String[] args) {
+		Random random = new Random(1);
+		long[] aligned = new long[count], randomKeys = new long[count], sequential = new long[count];
+		long address = 0x7f3a12340000L;
+		for (int i = 0; i < count; i++) {
+			address += 16 + random.nextInt(8) * 16;
+			aligned[i] = address;
+			randomKeys[i] = random.nextLong();
+			sequential[i] = i;
+		}
+		for (int round = 0; round < rounds; round++) {
+			// The first rounds warm up the JIT.
+			boolean print = round >= rounds - 2;
+			if (print) System.out.println("Round " + round + ", " + count + " keys, times in ms:");
+			compareLong("aligned", aligned, print);
+			compareLong("random", randomKeys, print);
+			compareLong("sequential", sequential, print);
+			compareInt("aligned", aligned, print);
+			compareInt("random", randomKeys, print);
+			compareInt("sequential", sequential, print);
+		}
+	}
+
+	static void compareLong (String name, long[] keys, boolean print) {
+		LongMap<Long> cuckoo = new LongMap<Long>();
+		LinearLongMap<Long> linear = new LinearLongMap<Long>();
+		Long[] values = new Long[keys.length];
+		for (int i = 0; i < keys.length; i++)
+			values[i] = keys[i];
+
+		long cuckooWorst = 0, linearWorst = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < keys.length; i++) {
+			long putStart = System.nanoTime();
+			cuckoo.put(keys[i], values[i]);
+			cuckooWorst = Math.max(cuckooWorst, System.nanoTime() - putStart);
+		}
+		long cuckooPut = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int i = 0; i < keys.length; i++) {
+			long putStart = System.nanoTime();
+			linear.put(keys[i], values[i]);
+			linearWorst = Math.max(linearWorst, System.nanoTime() - putStart);
+		}
+		long linearPut = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		long cuckooSum = 0;
+		for (int n = 0; n < 5; n++)
+			for (int i = 0; i < keys.length; i++)
+				cuckooSum += cuckoo.get(keys[i]);
+		long cuckooGet = System.nanoTime() - start;
+		start = System.nanoTime();
+		long linearSum = 0;
+		for (int n = 0; n < 5; n++)
+			for (int i = 0; i < keys.length; i++)
+				linearSum += linear.get(keys[i]);
+		long linearGet = System.nanoTime() - start;
+		if (cuckooSum != linearSum) throw new GdxRuntimeException("Different values for " + name + " long keys.");
+
+		start = System.nanoTime();
+		for (int i = 0; i < keys.length; i += 2)
+			cuckoo.remove(keys[i]);
+		long cuckooRemove = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int i = 0; i < keys.length; i += 2)
+			linear.remove(keys[i]);
+		long linearRemove = System.nanoTime() - start;
+		for (int i = 0; i < keys.length; i++)
+			if (cuckoo.get(keys[i]) != linear.get(keys[i]))
+				throw new GdxRuntimeException("Different values after remove for " + name + " long key: " + keys[i]);
+		if (cuckoo.size != linear.size) throw new GdxRuntimeException("Different sizes for " + name + " long keys.");
+
+		if (print) {
+			System.out.println("  LongMap vs LinearLongMap, " + name + ": put " + ms(cuckooPut) + " vs " + ms(linearPut) + ", get x5 "
+				+ ms(cuckooGet) + " vs " + ms(linearGet) + ", remove half " + ms(cuckooRemove) + " vs " + ms(linearRemove)
+				+ ", worst put " + ms(cuckooWorst) + " vs " + ms(linearWorst));
+		}
+	}
+
+	static void compareInt (String name, long[] longKeys, boolean print) {
+		int[] keys = new int[longKeys.length];
+		Integer[] values = new Integer[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = (int)longKeys[i];
+			values[i] = keys[i];
+		}
+		IntMap<Integer> cuckoo = new IntMap<Integer>();
+		LinearIntMap<Integer> linear = new LinearIntMap<Integer>();
+
+		long cuckooWorst = 0, linearWorst = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < keys.length; i++) {
+			long putStart = System.nanoTime();
+			cuckoo.put(keys[i], values[i]);
+			cuckooWorst = Math.max(cuckooWorst, System.nanoTime() - putStart);
+		}
+		long cuckooPut = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int i = 0; i < keys.length; i++) {
+			long putStart = System.nanoTime();
+			linear.put(keys[i], values[i]);
+			linearWorst = Math.max(linearWorst, System.nanoTime() - putStart);
+		}
+		long linearPut = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		long cuckooSum = 0;
+		for (int n = 0; n < 5; n++)
+			for (int i = 0; i < keys.length; i++)
+				cuckooSum += cuckoo.get(keys[i]);
+		long cuckooGet = System.nanoTime() - start;
+		start = System.nanoTime();
+		long linearSum = 0;
+		for (int n = 0; n < 5; n++)
+			for (int i = 0; i < keys.length; i++)
+				linearSum += linear.get(keys[i]);
+		long linearGet = System.nanoTime() - start;
+		if (cuckooSum != linearSum) throw new GdxRuntimeException("Different values for " + name + " int keys.");
+
+		start = System.nanoTime();
+		for (int i = 0; i < keys.length; i += 2)
+			cuckoo.remove(keys[i]);
+		long cuckooRemove = System.nanoTime() - start;
+		start = System.nanoTime();
+		for (int i = 0; i < keys.length; i += 2)
+			linear.remove(keys[i]);
+		long linearRemove = System.nanoTime() - start;
+		for (int i = 0; i < keys.length; i++)
+			if (cuckoo.get(keys[i]) != linear.get(keys[i]))
+				throw new GdxRuntimeException("Different values after remove for " + name + " int key: " + keys[i]);
+		if (cuckoo.size != linear.size) throw new GdxRuntimeException("Different sizes for " + name + " int keys.");
+
+		if (print) {
+			System.out.println("  IntMap vs LinearIntMap, " + name + ": put " + ms(cuckooPut) + " vs " + ms(linearPut) + ", get x5 "
+				+ ms(cuckooGet) + " vs " + ms(linearGet) + ", remove half " + ms(cuckooRemove) + " vs " + ms(linearRemove)
+				+ ", worst put " + ms(cuckooWorst) + " vs " + ms(linearWorst));
+		}
+	}
+
+	static String ms (long nanos) {
+		return String.valueOf(Math.round(nanos / 10000) / 100f);
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/** Compares the radix sorts of {@link Sort} with {@link Arrays#sort(int[])} and {@link Arrays#sort(float[])}, and sorting items
+ * by a float key with {@link Sort#sort(Array, FloatArray)} with sorting them with a comparator. Fails if the results differ,
+ * including the order of items with equal keys. Run with the gdx classes on the classpath, no backend is needed. */
+public class SortBenchmark {
+	static final int rounds = 5;
+
+	public static void main (String[] args) {
+		Sort sort = new Sort();
+		Random random = new Random(1);
+		Comparator<Item> comparator = new Comparator<Item>() {
+			public int compare (Item o1, Item o2) {
+				return Float.compare(o1.depth, o2.depth);
+			}
+		};
+		for (int round = 0; round < rounds; round++) {
+			boolean print = round == rounds - 1;
+			for (int n = 1000; n <= 1000000; n *= 10) {
+				int[] ints = new int[n];
+				float[] floats = new float[n];
+				Array<Item> items = new Array<Item>(n);
+				for (int i = 0; i < n; i++) {
+					ints[i] = random.nextInt();
+					// Few distinct depths, so the order of items with equal keys is checked.
+					floats[i] = random.nextInt(n / 10 + 1) - n / 20 + (random.nextBoolean() ? 0.5f : 0);
+					items.add(new Item(floats[i], i));
+				}
+
+				int[] expectedInts = ints.clone();
+				long start = System.nanoTime();
+				Arrays.sort(expectedInts);
+				long intArrays = System.nanoTime() - start;
+				start = System.nanoTime();
+				sort.sort(ints, 0, n);
+				long intRadix = System.nanoTime() - start;
+				if (!Arrays.equals(ints, expectedInts)) throw new GdxRuntimeException("int sort differs for " + n + " elements.");
+
+				float[] expectedFloats = floats.clone();
+				start = System.nanoTime();
+				Arrays.sort(expectedFloats);
+				long floatArrays = System.nanoTime() - start;
+				float[] keys = floats.clone();
+				start = System.nanoTime();
+				sort.sort(keys, 0, n);
+				long floatRadix = System.nanoTime() - start;
+				if (!Arrays.equals(keys, expectedFloats)) throw new GdxRuntimeException("float sort differs for " + n + " elements.");
+
+				Array<Item> expectedItems = new Array<Item>(items);
+				start = System.nanoTime();
+				sort.sort(expectedItems, comparator);
+				long itemComparator = System.nanoTime() - start;
+				FloatArray itemKeys = new FloatArray(floats);
+				start = System.nanoTime();
+				sort.sort(items, itemKeys);
+				long itemRadix = System.nanoTime() - start;
+				for (int i = 0; i < n; i++) {
+					if (items.get(i) != expectedItems.get(i)) throw new GdxRuntimeException("Item order differs at " + i + " of " + n);
+					if (itemKeys.get(i) != items.get(i).depth) throw new GdxRuntimeException("Key not moved with its item at " + i);
+				}
+
+				if (print) {
+					System.out.printf("%d elements, ms: int Arrays.sort %.2f vs radix %.2f, float Arrays.sort %.2f vs radix %.2f, "
+						+ "items comparator %.2f vs keys %.2f%n", n, intArrays / 1e6, intRadix / 1e6, floatArrays / 1e6, floatRadix / 1e6,
+						itemComparator / 1e6, itemRadix / 1e6);
+				}
+			}
+		}
+		System.out.println("Passed.");
+	}
+
+	static class Item {
+		final float depth;
+		final int index;
+
+		Item (float depth, int index) {
+			this.depth = depth;
+			this.index = index;
+		}
+	}
+}
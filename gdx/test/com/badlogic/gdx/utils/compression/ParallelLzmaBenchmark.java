@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.badlogic.gdx.utils.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Compares the compression ratio and the compression and decompression throughput of {@link ParallelLzma} with {@link Lzma} for
+ * 8MB of generated text with some binary data mixed in. ParallelLzma is run with one thread and with a thread for each processor,
+ * and with two block sizes. Fails if any output does not decompress to the input. Run with the gdx classes on the classpath, no
+ * backend is needed. */
+public class ParallelLzmaBenchmark {
+	static final int size = 8 * 1024 * 1024;
+
+	public static void main (String[] args) throws IOException {
+		byte[] data = data();
+		int processors = Runtime.getRuntime().availableProcessors();
+		System.out.println(size / 1024 / 1024 + " MB, " + processors + " processors");
+
+		long start = System.nanoTime();
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		Lzma.compress(new ByteArrayInputStream(data), compressed);
+		long compressTime = System.nanoTime() - start;
+		start = System.nanoTime();
+		ByteArrayOutputStream decompressed = new ByteArrayOutputStream(size);
+		Lzma.decompress(new ByteArrayInputStream(compressed.toByteArray()), decompressed);
+		long decompressTime = System.nanoTime() - start;
+		check(data, decompressed.toByteArray());
+		report("Lzma", compressed.size(), compressTime, decompressTime);
+
+		test(data, 1, 1 << 20);
+		if (processors > 1) test(data, processors, 1 << 20);
+		test(data, processors, 1 << 22);
+		System.out.println("Passed.");
+	}
+
+	static void test (byte[] data, int threads, int blockSize) throws IOException {
+		ParallelLzma lzma = new ParallelLzma(threads, blockSize);
+		try {
+			long start = System.nanoTime();
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+			lzma.compress(new ByteArrayInputStream(data), compressed);
+			long compressTime = System.nanoTime() - start;
+			start = System.nanoTime();
+			ByteArrayOutputStream decompressed = new ByteArrayOutputStream(size);
+			lzma.decompress(new ByteArrayInputStream(compressed.toByteArray()), decompressed);
+			long decompressTime = System.nanoTime() - start;
+			check(data, decompressed.toByteArray());
+			report("ParallelLzma, " + threads + " threads, " + blockSize / 1024 + " KB blocks", compressed.size(), compressTime,
+				decompressTime);
+		} finally {
+			lzma.dispose();
+		}
+	}
+
+	static void check (byte[] expected, byte[] actual) {
+		if (!Arrays.equals(expected, actual)) throw new GdxRuntimeException("Decompressed data differs.");
+	}
+
+	static void report (String name, int compressedSize, long compressTime, long decompressTime) {
+		System.out.printf("%s: ratio %.3f, compress %.2f MB/s, decompress %.2f MB/s%n", name, compressedSize / (float)size,
+			size / 1048576.0 / (compressTime / 1e9), size / 1048576.0 / (decompressTime / 1e9));
+	}
+
+	/** Returns words from a small vocabulary, with a run of random bytes every few KB. */
+	static byte[] data () {
+		Random random = new Random(1);
+		String[] words = new String[2000];
+		for (int i = 0; i < words.length; i++) {
+			char[] chars = new char[2 + random.nextInt(8)];
+			for (int c = 0; c < chars.length; c++)
+				chars[c] = (char)('a' + random.nextInt(26));
+			words[i] = new String(chars);
+		}
+		byte[] data = new byte[size];
+		int i = 0;
+		while (i < size) {
+			if (random.nextInt(500) == 0) {
+				for (int n = Math.min(size, i + 256); i < n; i++)
+					data[i] = (byte)random.nextInt();
+				continue;
+			}
+			// Skew the word choice so some words are much more common.
+			String word = words[(int)(words.length * Math.pow(random.nextDouble(), 3))];
+			for (int c = 0, n = word.length(); c < n && i < size; c++)
+				data[i++] = (byte)word.charAt(c);
+			if (i < size) data[i++] = (byte)(random.nextInt(10) == 0 ? '\n' : ' ');
+		}
+		return data;
+	}
+}